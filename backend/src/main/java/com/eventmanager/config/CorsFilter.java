@@ -23,7 +23,10 @@ public class CorsFilter implements ContainerResponseFilter {
         
         // Allow common headers
         responseContext.getHeaders().add("Access-Control-Allow-Headers", 
-            "Origin, Content-Type, Accept, Authorization, X-Requested-With");
+            "Origin, Content-Type, Accept, Authorization, X-Requested-With, If-None-Match, If-Modified-Since");
+
+        // Let the frontend read conditional GET validators
+        responseContext.getHeaders().add("Access-Control-Expose-Headers", "ETag, Last-Modified");
         
         // Allow credentials
         responseContext.getHeaders().add("Access-Control-Allow-Credentials", "true");
@@ -16,7 +16,12 @@ public class JacksonConfig implements ContextResolver<ObjectMapper> {
     private final ObjectMapper objectMapper;
 
     public JacksonConfig() {
-        objectMapper = new ObjectMapper();
+        objectMapper = createObjectMapper();
+    }
+
+    // The application's JSON settings, also used where JSON is written outside JAX-RS
+    public static ObjectMapper createObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
         
         // Register Java 8 time module for LocalDateTime support
         objectMapper.registerModule(new JavaTimeModule());
@@ -26,6 +31,7 @@ public class JacksonConfig implements ContextResolver<ObjectMapper> {
         
         // Don't fail on empty beans
         objectMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        return objectMapper;
     }
 
     @Override
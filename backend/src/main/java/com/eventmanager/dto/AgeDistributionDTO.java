@@ -0,0 +1,122 @@
+package com.eventmanager.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO with the age distribution of an event's participants (pending and confirmed registrations),
+ * ages counted on the event's start date
+ */
+public class AgeDistributionDTO {
+
+    private Long eventId;
+    private LocalDate ageDate;
+    private long participantCount;
+    private long minorCount;
+    private long unknownCount;
+    private List<AgeBracketDTO> brackets;
+
+    // Constructors
+    public AgeDistributionDTO() {
+    }
+
+    public AgeDistributionDTO(Long eventId, LocalDate ageDate, long participantCount, long minorCount,
+                              long unknownCount, List<AgeBracketDTO> brackets) {
+        this.eventId = eventId;
+        this.ageDate = ageDate;
+        this.participantCount = participantCount;
+        this.minorCount = minorCount;
+        this.unknownCount = unknownCount;
+        this.brackets = brackets;
+    }
+
+    // Getters and Setters
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public LocalDate getAgeDate() {
+        return ageDate;
+    }
+
+    public void setAgeDate(LocalDate ageDate) {
+        this.ageDate = ageDate;
+    }
+
+    public long getParticipantCount() {
+        return participantCount;
+    }
+
+    public void setParticipantCount(long participantCount) {
+        this.participantCount = participantCount;
+    }
+
+    public long getMinorCount() {
+        return minorCount;
+    }
+
+    public void setMinorCount(long minorCount) {
+        this.minorCount = minorCount;
+    }
+
+    public long getUnknownCount() {
+        return unknownCount;
+    }
+
+    public void setUnknownCount(long unknownCount) {
+        this.unknownCount = unknownCount;
+    }
+
+    public List<AgeBracketDTO> getBrackets() {
+        return brackets;
+    }
+
+    public void setBrackets(List<AgeBracketDTO> brackets) {
+        this.brackets = brackets;
+    }
+
+    // Number of participants aged minAge..maxAge (maxAge null for the open-ended top bracket)
+    public static class AgeBracketDTO {
+
+        private int minAge;
+        private Integer maxAge;
+        private long count;
+
+        public AgeBracketDTO() {
+        }
+
+        public AgeBracketDTO(int minAge, Integer maxAge, long count) {
+            this.minAge = minAge;
+            this.maxAge = maxAge;
+            this.count = count;
+        }
+
+        public int getMinAge() {
+            return minAge;
+        }
+
+        public void setMinAge(int minAge) {
+            this.minAge = minAge;
+        }
+
+        public Integer getMaxAge() {
+            return maxAge;
+        }
+
+        public void setMaxAge(Integer maxAge) {
+            this.maxAge = maxAge;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+    }
+}
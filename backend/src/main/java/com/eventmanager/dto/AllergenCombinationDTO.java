@@ -0,0 +1,47 @@
+package com.eventmanager.dto;
+
+import java.util.List;
+
+// DTO for one distinct combination of allergens and the number of participants who have exactly it
+public class AllergenCombinationDTO {
+
+    private List<Long> allergenIds;
+    private List<String> allergenNames;
+    private int count;
+
+    // Default constructor
+    public AllergenCombinationDTO() {
+    }
+
+    // Constructor with fields
+    public AllergenCombinationDTO(List<Long> allergenIds, List<String> allergenNames, int count) {
+        this.allergenIds = allergenIds;
+        this.allergenNames = allergenNames;
+        this.count = count;
+    }
+
+    // Getters and Setters
+    public List<Long> getAllergenIds() {
+        return allergenIds;
+    }
+
+    public void setAllergenIds(List<Long> allergenIds) {
+        this.allergenIds = allergenIds;
+    }
+
+    public List<String> getAllergenNames() {
+        return allergenNames;
+    }
+
+    public void setAllergenNames(List<String> allergenNames) {
+        this.allergenNames = allergenNames;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+}
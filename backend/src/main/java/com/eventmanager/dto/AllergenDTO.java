@@ -24,13 +24,13 @@ public class AllergenDTO {
     // Computed fields
     private Boolean isGlobal;
     private Boolean isCritical;
-    private Integer affectedParticipantCount;
 
     // Default constructor
     public AllergenDTO() {
     }
 
-    // Constructor from entity
+    // Constructor from entity; participant counts are served by AllergenUsageDTO,
+    // as counting here would load all of the allergen's participants
     public AllergenDTO(Allergen allergen) {
         this.id = allergen.getId();
         this.name = allergen.getName();
@@ -38,7 +38,6 @@ public class AllergenDTO {
         this.severity = allergen.getSeverity();
         this.isGlobal = allergen.isGlobal();
         this.isCritical = allergen.isCritical();
-        this.affectedParticipantCount = allergen.getAffectedParticipantCount();
 
         if (allergen.getEvent() != null) {
             this.eventId = allergen.getEvent().getId();
@@ -120,12 +119,4 @@ public class AllergenDTO {
     public void setIsCritical(Boolean isCritical) {
         this.isCritical = isCritical;
     }
-
-    public Integer getAffectedParticipantCount() {
-        return affectedParticipantCount;
-    }
-
-    public void setAffectedParticipantCount(Integer affectedParticipantCount) {
-        this.affectedParticipantCount = affectedParticipantCount;
-    }
 }
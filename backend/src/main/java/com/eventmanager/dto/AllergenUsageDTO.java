@@ -0,0 +1,105 @@
+package com.eventmanager.dto;
+
+import com.eventmanager.entity.Allergen;
+import com.eventmanager.entity.AllergenSeverity;
+import com.eventmanager.entity.RegistrationStatus;
+import java.util.Map;
+
+/**
+ * DTO with an allergen and how many participants have it, in total and per registration status;
+ * participant details are paged separately (GET /api/allergens/{id}/participants)
+ */
+public class AllergenUsageDTO {
+
+    private Long id;
+    private String name;
+    private AllergenSeverity severity;
+    private Long eventId;
+    private Boolean isGlobal;
+    private Boolean isCritical;
+    private long participantCount;
+    private Map<RegistrationStatus, Long> statusCounts;
+
+    // Constructors
+    public AllergenUsageDTO() {
+    }
+
+    public AllergenUsageDTO(Allergen allergen, long participantCount, Map<RegistrationStatus, Long> statusCounts) {
+        this.id = allergen.getId();
+        this.name = allergen.getName();
+        this.severity = allergen.getSeverity();
+        this.isGlobal = allergen.isGlobal();
+        this.isCritical = allergen.isCritical();
+        this.participantCount = participantCount;
+        this.statusCounts = statusCounts;
+
+        if (allergen.getEvent() != null) {
+            this.eventId = allergen.getEvent().getId();
+        }
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public AllergenSeverity getSeverity() {
+        return severity;
+    }
+
+    public void setSeverity(AllergenSeverity severity) {
+        this.severity = severity;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public Boolean getIsGlobal() {
+        return isGlobal;
+    }
+
+    public void setIsGlobal(Boolean isGlobal) {
+        this.isGlobal = isGlobal;
+    }
+
+    public Boolean getIsCritical() {
+        return isCritical;
+    }
+
+    public void setIsCritical(Boolean isCritical) {
+        this.isCritical = isCritical;
+    }
+
+    public long getParticipantCount() {
+        return participantCount;
+    }
+
+    public void setParticipantCount(long participantCount) {
+        this.participantCount = participantCount;
+    }
+
+    public Map<RegistrationStatus, Long> getStatusCounts() {
+        return statusCounts;
+    }
+
+    public void setStatusCounts(Map<RegistrationStatus, Long> statusCounts) {
+        this.statusCounts = statusCounts;
+    }
+}
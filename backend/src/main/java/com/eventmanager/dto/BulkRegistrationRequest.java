@@ -0,0 +1,76 @@
+package com.eventmanager.dto;
+
+import com.eventmanager.entity.RegistrationStatus;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+// DTO for a bulk action over an event's registrations, selected by id list and/or filter
+public class BulkRegistrationRequest {
+
+    // Actions that can be applied to many registrations at once
+    public enum Action {
+        CONFIRM,
+        CANCEL,
+        WAITLIST,
+        DELETE
+    }
+
+    @NotNull(message = "Action is required")
+    private Action action;
+
+    @Size(max = 5000, message = "At most 5000 registration ids per request")
+    private List<Long> registrationIds;
+
+    // Filters, combined with the id list when both are given
+    private RegistrationStatus status;
+    private Long patrolId;
+
+    // Default constructor
+    public BulkRegistrationRequest() {
+    }
+
+    // Constructor with fields
+    public BulkRegistrationRequest(Action action, List<Long> registrationIds) {
+        this.action = action;
+        this.registrationIds = registrationIds;
+    }
+
+    // True when the request names registrations by id rather than only by filter
+    public boolean hasRegistrationIds() {
+        return registrationIds != null && !registrationIds.isEmpty();
+    }
+
+    // Getters and Setters
+    public Action getAction() {
+        return action;
+    }
+
+    public void setAction(Action action) {
+        this.action = action;
+    }
+
+    public List<Long> getRegistrationIds() {
+        return registrationIds;
+    }
+
+    public void setRegistrationIds(List<Long> registrationIds) {
+        this.registrationIds = registrationIds;
+    }
+
+    public RegistrationStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(RegistrationStatus status) {
+        this.status = status;
+    }
+
+    public Long getPatrolId() {
+        return patrolId;
+    }
+
+    public void setPatrolId(Long patrolId) {
+        this.patrolId = patrolId;
+    }
+}
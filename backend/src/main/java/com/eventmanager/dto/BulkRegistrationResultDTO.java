@@ -0,0 +1,132 @@
+package com.eventmanager.dto;
+
+import com.eventmanager.entity.RegistrationStatus;
+import java.util.ArrayList;
+import java.util.List;
+
+// DTO for the result of a bulk registration action, with one outcome per registration
+public class BulkRegistrationResultDTO {
+
+    // What happened to a single registration
+    public enum Result {
+        CHANGED,
+        UNCHANGED,
+        REJECTED,
+        NOT_FOUND
+    }
+
+    private BulkRegistrationRequest.Action action;
+    private int changed;
+    private List<Outcome> outcomes = new ArrayList<>();
+
+    // Default constructor
+    public BulkRegistrationResultDTO() {
+    }
+
+    // Constructor with fields
+    public BulkRegistrationResultDTO(BulkRegistrationRequest.Action action) {
+        this.action = action;
+    }
+
+    // Record the outcome for one registration
+    public void add(Outcome outcome) {
+        outcomes.add(outcome);
+        if (outcome.getResult() == Result.CHANGED) {
+            changed++;
+        }
+    }
+
+    // Getters and Setters
+    public BulkRegistrationRequest.Action getAction() {
+        return action;
+    }
+
+    public void setAction(BulkRegistrationRequest.Action action) {
+        this.action = action;
+    }
+
+    public int getChanged() {
+        return changed;
+    }
+
+    public void setChanged(int changed) {
+        this.changed = changed;
+    }
+
+    public List<Outcome> getOutcomes() {
+        return outcomes;
+    }
+
+    public void setOutcomes(List<Outcome> outcomes) {
+        this.outcomes = outcomes;
+    }
+
+    // Outcome for one registration: status before and after (null after a delete)
+    public static class Outcome {
+
+        private Long registrationId;
+        private Result result;
+        private RegistrationStatus previousStatus;
+        private RegistrationStatus status;
+
+        // Why a registration was rejected, when the status alone does not tell
+        private String reason;
+
+        public Outcome() {
+        }
+
+        public Outcome(Long registrationId, Result result, RegistrationStatus previousStatus,
+                       RegistrationStatus status) {
+            this.registrationId = registrationId;
+            this.result = result;
+            this.previousStatus = previousStatus;
+            this.status = status;
+        }
+
+        public Outcome(Long registrationId, Result result, RegistrationStatus previousStatus,
+                       RegistrationStatus status, String reason) {
+            this(registrationId, result, previousStatus, status);
+            this.reason = reason;
+        }
+
+        public Long getRegistrationId() {
+            return registrationId;
+        }
+
+        public void setRegistrationId(Long registrationId) {
+            this.registrationId = registrationId;
+        }
+
+        public Result getResult() {
+            return result;
+        }
+
+        public void setResult(Result result) {
+            this.result = result;
+        }
+
+        public RegistrationStatus getPreviousStatus() {
+            return previousStatus;
+        }
+
+        public void setPreviousStatus(RegistrationStatus previousStatus) {
+            this.previousStatus = previousStatus;
+        }
+
+        public RegistrationStatus getStatus() {
+            return status;
+        }
+
+        public void setStatus(RegistrationStatus status) {
+            this.status = status;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public void setReason(String reason) {
+            this.reason = reason;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.eventmanager.dto;
+
+import java.util.List;
+
+/**
+ * DTO with the reference data the frontend loads on startup: troops, food allergies
+ * and allergens that are not tied to an event
+ */
+public class CatalogDTO {
+
+    private List<CatalogItemDTO> troops;
+    private List<CatalogItemDTO> foodAllergies;
+    private List<AllergenDTO> globalAllergens;
+
+    // Constructors
+    public CatalogDTO() {
+    }
+
+    public CatalogDTO(List<CatalogItemDTO> troops, List<CatalogItemDTO> foodAllergies,
+                      List<AllergenDTO> globalAllergens) {
+        this.troops = troops;
+        this.foodAllergies = foodAllergies;
+        this.globalAllergens = globalAllergens;
+    }
+
+    // Getters and Setters
+    public List<CatalogItemDTO> getTroops() {
+        return troops;
+    }
+
+    public void setTroops(List<CatalogItemDTO> troops) {
+        this.troops = troops;
+    }
+
+    public List<CatalogItemDTO> getFoodAllergies() {
+        return foodAllergies;
+    }
+
+    public void setFoodAllergies(List<CatalogItemDTO> foodAllergies) {
+        this.foodAllergies = foodAllergies;
+    }
+
+    public List<AllergenDTO> getGlobalAllergens() {
+        return globalAllergens;
+    }
+
+    public void setGlobalAllergens(List<AllergenDTO> globalAllergens) {
+        this.globalAllergens = globalAllergens;
+    }
+
+    // A troop or food allergy, in the same shape as GET /api/troops and /api/food-allergies
+    public static class CatalogItemDTO {
+
+        private Long id;
+        private String name;
+        private Integer sortOrder;
+
+        public CatalogItemDTO() {
+        }
+
+        public CatalogItemDTO(Long id, String name, Integer sortOrder) {
+            this.id = id;
+            this.name = name;
+            this.sortOrder = sortOrder;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getSortOrder() {
+            return sortOrder;
+        }
+
+        public void setSortOrder(Integer sortOrder) {
+            this.sortOrder = sortOrder;
+        }
+    }
+}
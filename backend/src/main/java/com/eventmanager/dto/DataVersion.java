@@ -0,0 +1,37 @@
+package com.eventmanager.dto;
+
+import java.time.LocalDateTime;
+
+// Cheap fingerprint of the data behind a response, used for conditional GET (ETag / Last-Modified)
+public class DataVersion {
+
+    private final String tag;
+    private final LocalDateTime lastModified;
+
+    // lastModified may be null when the underlying tables have no reliable modification time
+    public DataVersion(String tag, LocalDateTime lastModified) {
+        this.tag = tag;
+        this.lastModified = lastModified;
+    }
+
+    // Build a version from its parts, e.g. of("event", id, updatedAt, registrationVersion)
+    public static DataVersion of(LocalDateTime lastModified, Object... parts) {
+        StringBuilder tag = new StringBuilder();
+        for (Object part : parts) {
+            if (!tag.isEmpty()) {
+                tag.append('-');
+            }
+            tag.append(part);
+        }
+        return new DataVersion(tag.toString(), lastModified);
+    }
+
+    // Getters
+    public String getTag() {
+        return tag;
+    }
+
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,50 @@
+package com.eventmanager.dto;
+
+import com.eventmanager.entity.Event;
+
+// Read-only projection of an event together with its grouped registration counts
+public class EventSummary {
+
+    private final Event event;
+    private final long totalCount;
+    private final long confirmedCount;
+    private final long pendingCount;
+    private final long waitlistCount;
+    private final long cancelledCount;
+
+    // Constructor used by the JPQL constructor expression in EventRepository
+    public EventSummary(Event event, Long totalCount, Long confirmedCount, Long pendingCount,
+                        Long waitlistCount, Long cancelledCount) {
+        this.event = event;
+        this.totalCount = totalCount != null ? totalCount : 0;
+        this.confirmedCount = confirmedCount != null ? confirmedCount : 0;
+        this.pendingCount = pendingCount != null ? pendingCount : 0;
+        this.waitlistCount = waitlistCount != null ? waitlistCount : 0;
+        this.cancelledCount = cancelledCount != null ? cancelledCount : 0;
+    }
+
+    // Getters
+    public Event getEvent() {
+        return event;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getConfirmedCount() {
+        return confirmedCount;
+    }
+
+    public long getPendingCount() {
+        return pendingCount;
+    }
+
+    public long getWaitlistCount() {
+        return waitlistCount;
+    }
+
+    public long getCancelledCount() {
+        return cancelledCount;
+    }
+}
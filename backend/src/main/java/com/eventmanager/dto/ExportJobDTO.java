@@ -0,0 +1,110 @@
+package com.eventmanager.dto;
+
+import java.time.LocalDateTime;
+
+// DTO describing an export job: its state while running, then where its file can be downloaded
+public class ExportJobDTO {
+
+    // Lifecycle of an export job
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private String jobId;
+    private Long eventId;
+    private ExportType type;
+    private State state;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+
+    // Set when COMPLETED
+    private Long size;
+
+    // Set when FAILED
+    private String error;
+
+    // Default constructor
+    public ExportJobDTO() {
+    }
+
+    // Constructor with fields
+    public ExportJobDTO(String jobId, Long eventId, ExportType type, State state, LocalDateTime createdAt,
+                        LocalDateTime finishedAt, Long size, String error) {
+        this.jobId = jobId;
+        this.eventId = eventId;
+        this.type = type;
+        this.state = state;
+        this.createdAt = createdAt;
+        this.finishedAt = finishedAt;
+        this.size = size;
+        this.error = error;
+    }
+
+    // Getters and Setters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public ExportType getType() {
+        return type;
+    }
+
+    public void setType(ExportType type) {
+        this.type = type;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,32 @@
+package com.eventmanager.dto;
+
+// Spreadsheet exports that can be produced by an export job
+public enum ExportType {
+    REGISTRATIONS_XLSX("deltagare", "xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+    REGISTRATIONS_CSV("deltagare", "csv", "text/csv; charset=UTF-8"),
+    ALLERGY_REPORT_XLSX("allergirapport", "xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+    ALLERGY_REPORT_CSV("allergirapport", "csv", "text/csv; charset=UTF-8");
+
+    private final String filePrefix;
+    private final String extension;
+    private final String mediaType;
+
+    ExportType(String filePrefix, String extension, String mediaType) {
+        this.filePrefix = filePrefix;
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    // Download file name, e.g. deltagare-event-12.xlsx
+    public String fileName(Long eventId) {
+        return filePrefix + "-event-" + eventId + "." + extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+}
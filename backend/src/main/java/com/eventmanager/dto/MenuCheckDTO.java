@@ -0,0 +1,133 @@
+package com.eventmanager.dto;
+
+import java.util.List;
+
+/**
+ * DTO answering which participants of an event cannot eat a dish with the given allergens
+ */
+public class MenuCheckDTO {
+
+    private Long eventId;
+    private List<Long> allergenIds;
+    private int participantCount;
+    private int affectedCount;
+    private int safeCount;
+    private List<AffectedParticipantDTO> affected;
+
+    // Allergen combinations of the affected participants, largest group first
+    private List<AllergenCombinationDTO> combinations;
+
+    // Constructors
+    public MenuCheckDTO() {
+    }
+
+    public MenuCheckDTO(Long eventId, List<Long> allergenIds, int participantCount,
+                        List<AffectedParticipantDTO> affected, List<AllergenCombinationDTO> combinations) {
+        this.eventId = eventId;
+        this.allergenIds = allergenIds;
+        this.participantCount = participantCount;
+        this.affectedCount = affected.size();
+        this.safeCount = participantCount - affected.size();
+        this.affected = affected;
+        this.combinations = combinations;
+    }
+
+    // Getters and Setters
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public List<Long> getAllergenIds() {
+        return allergenIds;
+    }
+
+    public void setAllergenIds(List<Long> allergenIds) {
+        this.allergenIds = allergenIds;
+    }
+
+    public int getParticipantCount() {
+        return participantCount;
+    }
+
+    public void setParticipantCount(int participantCount) {
+        this.participantCount = participantCount;
+    }
+
+    public int getAffectedCount() {
+        return affectedCount;
+    }
+
+    public void setAffectedCount(int affectedCount) {
+        this.affectedCount = affectedCount;
+    }
+
+    public int getSafeCount() {
+        return safeCount;
+    }
+
+    public void setSafeCount(int safeCount) {
+        this.safeCount = safeCount;
+    }
+
+    public List<AffectedParticipantDTO> getAffected() {
+        return affected;
+    }
+
+    public void setAffected(List<AffectedParticipantDTO> affected) {
+        this.affected = affected;
+    }
+
+    public List<AllergenCombinationDTO> getCombinations() {
+        return combinations;
+    }
+
+    public void setCombinations(List<AllergenCombinationDTO> combinations) {
+        this.combinations = combinations;
+    }
+
+    /**
+     * Inner class for a participant who cannot eat the dish, with the dish allergens they have
+     */
+    public static class AffectedParticipantDTO {
+        private Long id;
+        private String fullName;
+        private List<String> allergens;
+
+        public AffectedParticipantDTO() {
+        }
+
+        public AffectedParticipantDTO(Long id, String fullName, List<String> allergens) {
+            this.id = id;
+            this.fullName = fullName;
+            this.allergens = allergens;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getFullName() {
+            return fullName;
+        }
+
+        public void setFullName(String fullName) {
+            this.fullName = fullName;
+        }
+
+        public List<String> getAllergens() {
+            return allergens;
+        }
+
+        public void setAllergens(List<String> allergens) {
+            this.allergens = allergens;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.eventmanager.dto;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+// Opaque keyset cursor holding the sort keys of the last row on a page
+public class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final List<String> keys;
+
+    private PageCursor(List<String> keys) {
+        this.keys = keys;
+    }
+
+    // Encode sort keys into an opaque, URL-safe cursor string
+    public static String encode(Object... keys) {
+        List<String> parts = new ArrayList<>(keys.length);
+        for (Object key : keys) {
+            parts.add(URLEncoder.encode(key != null ? key.toString() : "", StandardCharsets.UTF_8));
+        }
+        byte[] raw = String.join(SEPARATOR, parts).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    // Decode a cursor, returns null for an absent cursor
+    public static PageCursor decode(String cursor, int expectedKeys) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != expectedKeys) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            List<String> keys = new ArrayList<>(parts.length);
+            for (String part : parts) {
+                keys.add(URLDecoder.decode(part, StandardCharsets.UTF_8));
+            }
+            return new PageCursor(keys);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public String getString(int index) {
+        return keys.get(index);
+    }
+
+    public Long getLong(int index) {
+        try {
+            return Long.valueOf(keys.get(index));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public LocalDateTime getDateTime(int index) {
+        try {
+            return LocalDateTime.parse(keys.get(index));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.eventmanager.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Data Transfer Object for one keyset-paginated page of results
+public class PageDTO<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private List<T> items;
+    private int limit;
+    private boolean hasMore;
+    private String nextCursor;
+
+    // Default constructor
+    public PageDTO() {
+    }
+
+    public PageDTO(List<T> items, int limit, boolean hasMore, String nextCursor) {
+        this.items = items;
+        this.limit = limit;
+        this.hasMore = hasMore;
+        this.nextCursor = nextCursor;
+    }
+
+    // Build a page from rows fetched with limit + 1 (the extra row signals more data)
+    public static <E, T> PageDTO<T> of(List<E> rows, int limit, Function<E, T> mapper,
+                                       Function<E, String> cursorOf) {
+        boolean hasMore = rows.size() > limit;
+        List<E> pageRows = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(pageRows.get(pageRows.size() - 1)) : null;
+        return new PageDTO<>(pageRows.stream().map(mapper).toList(), limit, hasMore, nextCursor);
+    }
+
+    // Clamp a requested page size to [1, MAX_LIMIT], defaulting when absent
+    public static int normalizeLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
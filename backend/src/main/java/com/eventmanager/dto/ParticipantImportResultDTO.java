@@ -0,0 +1,92 @@
+package com.eventmanager.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// DTO for the result of a participant file import, with an error report per rejected row
+public class ParticipantImportResultDTO {
+
+    private int rowsRead;
+    private int imported;
+    private int failed;
+
+    // Only the first errors are listed for very large files; failed has the full count
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    // Default constructor
+    public ParticipantImportResultDTO() {
+    }
+
+    // Getters and Setters
+    public int getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(int rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    // Why a row of the file was not imported (row numbers as shown in the spreadsheet)
+    public static class RowError {
+
+        private int row;
+        private List<String> messages;
+
+        public RowError() {
+        }
+
+        public RowError(int row, List<String> messages) {
+            this.row = row;
+            this.messages = messages;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public void setRow(int row) {
+            this.row = row;
+        }
+
+        public List<String> getMessages() {
+            return messages;
+        }
+
+        public void setMessages(List<String> messages) {
+            this.messages = messages;
+        }
+    }
+}
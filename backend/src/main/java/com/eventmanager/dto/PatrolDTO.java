@@ -1,6 +1,7 @@
 package com.eventmanager.dto;
 
 import com.eventmanager.entity.Patrol;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -25,6 +26,9 @@ public class PatrolDTO {
     @Size(max = 20, message = "Contact phone cannot exceed 20 characters")
     private String contactPhone;
 
+    @Min(value = 0, message = "Registration quota cannot be negative")
+    private Integer registrationQuota;
+
     private Long eventId;
     private String eventName;
 
@@ -43,6 +47,7 @@ public class PatrolDTO {
         this.contactPerson = patrol.getContactPerson();
         this.contactEmail = patrol.getContactEmail();
         this.contactPhone = patrol.getContactPhone();
+        this.registrationQuota = patrol.getRegistrationQuota();
         this.participantCount = patrol.getParticipantCount();
 
         if (patrol.getEvent() != null) {
@@ -51,6 +56,21 @@ public class PatrolDTO {
         }
     }
 
+    // Constructor from a summary projection; does not touch the patrol's participants or event
+    public PatrolDTO(PatrolSummary summary) {
+        Patrol patrol = summary.getPatrol();
+        this.id = patrol.getId();
+        this.name = patrol.getName();
+        this.description = patrol.getDescription();
+        this.contactPerson = patrol.getContactPerson();
+        this.contactEmail = patrol.getContactEmail();
+        this.contactPhone = patrol.getContactPhone();
+        this.registrationQuota = patrol.getRegistrationQuota();
+        this.participantCount = (int) summary.getParticipantCount();
+        this.eventId = summary.getEventId();
+        this.eventName = summary.getEventName();
+    }
+
     // Convert DTO to entity
     public Patrol toEntity() {
         Patrol patrol = new Patrol();
@@ -60,6 +80,7 @@ public class PatrolDTO {
         patrol.setContactPerson(this.contactPerson);
         patrol.setContactEmail(this.contactEmail);
         patrol.setContactPhone(this.contactPhone);
+        patrol.setRegistrationQuota(this.registrationQuota);
         return patrol;
     }
 
@@ -70,6 +91,7 @@ public class PatrolDTO {
         patrol.setContactPerson(this.contactPerson);
         patrol.setContactEmail(this.contactEmail);
         patrol.setContactPhone(this.contactPhone);
+        patrol.setRegistrationQuota(this.registrationQuota);
     }
 
     // Getters and Setters
@@ -121,6 +143,14 @@ public class PatrolDTO {
         this.contactPhone = contactPhone;
     }
 
+    public Integer getRegistrationQuota() {
+        return registrationQuota;
+    }
+
+    public void setRegistrationQuota(Integer registrationQuota) {
+        this.registrationQuota = registrationQuota;
+    }
+
     public Long getEventId() {
         return eventId;
     }
@@ -0,0 +1,37 @@
+package com.eventmanager.dto;
+
+import com.eventmanager.entity.Patrol;
+
+// Read-only projection of a patrol together with its event's name and grouped participant count
+public class PatrolSummary {
+
+    private final Patrol patrol;
+    private final Long eventId;
+    private final String eventName;
+    private final long participantCount;
+
+    // Constructor used by the JPQL constructor expression in PatrolRepository
+    public PatrolSummary(Patrol patrol, Long eventId, String eventName, Long participantCount) {
+        this.patrol = patrol;
+        this.eventId = eventId;
+        this.eventName = eventName;
+        this.participantCount = participantCount != null ? participantCount : 0;
+    }
+
+    // Getters
+    public Patrol getPatrol() {
+        return patrol;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+
+    public long getParticipantCount() {
+        return participantCount;
+    }
+}
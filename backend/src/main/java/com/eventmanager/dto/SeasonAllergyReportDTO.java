@@ -0,0 +1,305 @@
+package com.eventmanager.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for the allergy report of all events in a date range (kitchen planning)
+ */
+public class SeasonAllergyReportDTO {
+
+    private LocalDate from;
+    private LocalDate to;
+    private List<SeasonEventDTO> events;
+    private List<SeasonAllergyGroupDTO> allergies;
+
+    // Distinct participants, counted once however many events they attend
+    private int totalParticipantsWithAllergies;
+    private LocalDateTime generatedAt;
+
+    // Constructors
+    public SeasonAllergyReportDTO() {
+    }
+
+    public SeasonAllergyReportDTO(LocalDate from, LocalDate to, List<SeasonEventDTO> events,
+                                  List<SeasonAllergyGroupDTO> allergies, int totalParticipantsWithAllergies) {
+        this.from = from;
+        this.to = to;
+        this.events = events;
+        this.allergies = allergies;
+        this.totalParticipantsWithAllergies = totalParticipantsWithAllergies;
+        this.generatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public List<SeasonEventDTO> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<SeasonEventDTO> events) {
+        this.events = events;
+    }
+
+    public List<SeasonAllergyGroupDTO> getAllergies() {
+        return allergies;
+    }
+
+    public void setAllergies(List<SeasonAllergyGroupDTO> allergies) {
+        this.allergies = allergies;
+    }
+
+    public int getTotalParticipantsWithAllergies() {
+        return totalParticipantsWithAllergies;
+    }
+
+    public void setTotalParticipantsWithAllergies(int totalParticipantsWithAllergies) {
+        this.totalParticipantsWithAllergies = totalParticipantsWithAllergies;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(LocalDateTime generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+
+    /**
+     * Inner class for an event included in the report
+     */
+    public static class SeasonEventDTO {
+        private Long eventId;
+        private String eventName;
+        private LocalDateTime startDate;
+        private LocalDateTime endDate;
+        private int participantsWithAllergies;
+
+        public SeasonEventDTO() {
+        }
+
+        public SeasonEventDTO(Long eventId, String eventName, LocalDateTime startDate, LocalDateTime endDate,
+                              int participantsWithAllergies) {
+            this.eventId = eventId;
+            this.eventName = eventName;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.participantsWithAllergies = participantsWithAllergies;
+        }
+
+        public Long getEventId() {
+            return eventId;
+        }
+
+        public void setEventId(Long eventId) {
+            this.eventId = eventId;
+        }
+
+        public String getEventName() {
+            return eventName;
+        }
+
+        public void setEventName(String eventName) {
+            this.eventName = eventName;
+        }
+
+        public LocalDateTime getStartDate() {
+            return startDate;
+        }
+
+        public void setStartDate(LocalDateTime startDate) {
+            this.startDate = startDate;
+        }
+
+        public LocalDateTime getEndDate() {
+            return endDate;
+        }
+
+        public void setEndDate(LocalDateTime endDate) {
+            this.endDate = endDate;
+        }
+
+        public int getParticipantsWithAllergies() {
+            return participantsWithAllergies;
+        }
+
+        public void setParticipantsWithAllergies(int participantsWithAllergies) {
+            this.participantsWithAllergies = participantsWithAllergies;
+        }
+    }
+
+    /**
+     * Inner class for one allergy across all events.
+     * count is the number of event attendances (a participant at two camps is catered for twice).
+     */
+    public static class SeasonAllergyGroupDTO {
+        private String allergyName;
+        private int count;
+        private List<EventCountDTO> eventCounts;
+        private List<SeasonParticipantDTO> participants;
+
+        public SeasonAllergyGroupDTO() {
+        }
+
+        public SeasonAllergyGroupDTO(String allergyName, int count, List<EventCountDTO> eventCounts,
+                                     List<SeasonParticipantDTO> participants) {
+            this.allergyName = allergyName;
+            this.count = count;
+            this.eventCounts = eventCounts;
+            this.participants = participants;
+        }
+
+        public String getAllergyName() {
+            return allergyName;
+        }
+
+        public void setAllergyName(String allergyName) {
+            this.allergyName = allergyName;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public List<EventCountDTO> getEventCounts() {
+            return eventCounts;
+        }
+
+        public void setEventCounts(List<EventCountDTO> eventCounts) {
+            this.eventCounts = eventCounts;
+        }
+
+        public List<SeasonParticipantDTO> getParticipants() {
+            return participants;
+        }
+
+        public void setParticipants(List<SeasonParticipantDTO> participants) {
+            this.participants = participants;
+        }
+    }
+
+    /**
+     * Inner class for the number of participants with an allergy at one event
+     */
+    public static class EventCountDTO {
+        private Long eventId;
+        private int count;
+
+        public EventCountDTO() {
+        }
+
+        public EventCountDTO(Long eventId, int count) {
+            this.eventId = eventId;
+            this.count = count;
+        }
+
+        public Long getEventId() {
+            return eventId;
+        }
+
+        public void setEventId(Long eventId) {
+            this.eventId = eventId;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+
+    /**
+     * Inner class for a participant with an allergy at one event
+     */
+    public static class SeasonParticipantDTO {
+        private Long id;
+        private String fullName;
+        private String patrol;
+        private String otherInfo;
+        private Long eventId;
+        private String eventName;
+
+        public SeasonParticipantDTO() {
+        }
+
+        public SeasonParticipantDTO(Long id, String fullName, String patrol, String otherInfo,
+                                    Long eventId, String eventName) {
+            this.id = id;
+            this.fullName = fullName;
+            this.patrol = patrol;
+            this.otherInfo = otherInfo;
+            this.eventId = eventId;
+            this.eventName = eventName;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getFullName() {
+            return fullName;
+        }
+
+        public void setFullName(String fullName) {
+            this.fullName = fullName;
+        }
+
+        public String getPatrol() {
+            return patrol;
+        }
+
+        public void setPatrol(String patrol) {
+            this.patrol = patrol;
+        }
+
+        public String getOtherInfo() {
+            return otherInfo;
+        }
+
+        public void setOtherInfo(String otherInfo) {
+            this.otherInfo = otherInfo;
+        }
+
+        public Long getEventId() {
+            return eventId;
+        }
+
+        public void setEventId(Long eventId) {
+            this.eventId = eventId;
+        }
+
+        public String getEventName() {
+            return eventName;
+        }
+
+        public void setEventName(String eventName) {
+            this.eventName = eventName;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.eventmanager.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.HashSet;
+import java.util.Set;
+
+// DTO for a one-call event signup: participant, allergens and registration in one request
+public class SignupRequest {
+
+    @NotNull(message = "Participant is required")
+    @Valid
+    private ParticipantDTO participant;
+
+    private Set<Long> allergenIds = new HashSet<>();
+
+    @Size(max = 1000, message = "Notes cannot exceed 1000 characters")
+    private String notes;
+
+    // When false, a full event rejects the signup instead of putting it on the waitlist
+    private boolean allowWaitlist = true;
+
+    // Default constructor
+    public SignupRequest() {
+    }
+
+    // Getters and Setters
+    public ParticipantDTO getParticipant() {
+        return participant;
+    }
+
+    public void setParticipant(ParticipantDTO participant) {
+        this.participant = participant;
+    }
+
+    public Set<Long> getAllergenIds() {
+        return allergenIds;
+    }
+
+    public void setAllergenIds(Set<Long> allergenIds) {
+        this.allergenIds = allergenIds;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+
+    public boolean isAllowWaitlist() {
+        return allowWaitlist;
+    }
+
+    public void setAllowWaitlist(boolean allowWaitlist) {
+        this.allowWaitlist = allowWaitlist;
+    }
+}
@@ -0,0 +1,68 @@
+package com.eventmanager.dto;
+
+import com.eventmanager.entity.RegistrationStatus;
+
+// DTO returned from a signup: IDs of the created participant and registration and the admitted status
+public class SignupResponse {
+
+    private Long registrationId;
+    private Long participantId;
+    private Long eventId;
+    private RegistrationStatus status;
+
+    // Set instead of the IDs and status when a batch entry was turned away (event or patrol full)
+    private String rejectionReason;
+
+    // Default constructor
+    public SignupResponse() {
+    }
+
+    // Constructor with fields
+    public SignupResponse(Long registrationId, Long participantId, Long eventId, RegistrationStatus status) {
+        this.registrationId = registrationId;
+        this.participantId = participantId;
+        this.eventId = eventId;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public Long getRegistrationId() {
+        return registrationId;
+    }
+
+    public void setRegistrationId(Long registrationId) {
+        this.registrationId = registrationId;
+    }
+
+    public Long getParticipantId() {
+        return participantId;
+    }
+
+    public void setParticipantId(Long participantId) {
+        this.participantId = participantId;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public RegistrationStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(RegistrationStatus status) {
+        this.status = status;
+    }
+
+    public String getRejectionReason() {
+        return rejectionReason;
+    }
+
+    public void setRejectionReason(String rejectionReason) {
+        this.rejectionReason = rejectionReason;
+    }
+}
@@ -0,0 +1,89 @@
+package com.eventmanager.dto;
+
+// DTO describing a queued signup: its place in line while waiting, then its outcome
+public class SignupTicketDTO {
+
+    // Lifecycle of a queued signup
+    public enum State {
+        QUEUED,
+        COMPLETED,
+        FAILED
+    }
+
+    private String ticketId;
+    private Long eventId;
+    private State state;
+
+    // Number of submissions ahead of this one, including itself (only while QUEUED)
+    private Long position;
+
+    // Set when COMPLETED
+    private SignupResponse result;
+
+    // Set when FAILED
+    private String error;
+
+    // Default constructor
+    public SignupTicketDTO() {
+    }
+
+    // Constructor with fields
+    public SignupTicketDTO(String ticketId, Long eventId, State state, Long position,
+                           SignupResponse result, String error) {
+        this.ticketId = ticketId;
+        this.eventId = eventId;
+        this.state = state;
+        this.position = position;
+        this.result = result;
+        this.error = error;
+    }
+
+    // Getters and Setters
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public void setTicketId(String ticketId) {
+        this.ticketId = ticketId;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public Long getPosition() {
+        return position;
+    }
+
+    public void setPosition(Long position) {
+        this.position = position;
+    }
+
+    public SignupResponse getResult() {
+        return result;
+    }
+
+    public void setResult(SignupResponse result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,70 @@
+package com.eventmanager.dto;
+
+import com.eventmanager.entity.RegistrationStatus;
+
+// DTO for a registration's place on its event's waitlist
+public class WaitlistPositionDTO {
+
+    private Long registrationId;
+    private Long eventId;
+    private RegistrationStatus status;
+
+    // 1-based place in line, null when the registration is not waitlisted
+    private Integer position;
+    private Integer waitlistSize;
+
+    // Default constructor
+    public WaitlistPositionDTO() {
+    }
+
+    // Constructor with fields
+    public WaitlistPositionDTO(Long registrationId, Long eventId, RegistrationStatus status,
+                               Integer position, Integer waitlistSize) {
+        this.registrationId = registrationId;
+        this.eventId = eventId;
+        this.status = status;
+        this.position = position;
+        this.waitlistSize = waitlistSize;
+    }
+
+    // Getters and Setters
+    public Long getRegistrationId() {
+        return registrationId;
+    }
+
+    public void setRegistrationId(Long registrationId) {
+        this.registrationId = registrationId;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public RegistrationStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(RegistrationStatus status) {
+        this.status = status;
+    }
+
+    public Integer getPosition() {
+        return position;
+    }
+
+    public void setPosition(Integer position) {
+        this.position = position;
+    }
+
+    public Integer getWaitlistSize() {
+        return waitlistSize;
+    }
+
+    public void setWaitlistSize(Integer waitlistSize) {
+        this.waitlistSize = waitlistSize;
+    }
+}
@@ -80,11 +80,6 @@ public class Allergen {
         return severity == AllergenSeverity.CRITICAL || severity == AllergenSeverity.HIGH;
     }
 
-    // Helper method to get affected participant count
-    public int getAffectedParticipantCount() {
-        return participants != null ? participants.size() : 0;
-    }
-
     // Getters and Setters
     public Long getId() {
         return id;
@@ -70,6 +70,22 @@ public class Event {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Denormalized registration counters, maintained by RegistrationRepository/EventRepository
+    @Column(name = "registration_count", nullable = false, insertable = false, updatable = false)
+    private Integer registrationCount = 0;
+
+    @Column(name = "confirmed_count", nullable = false, insertable = false, updatable = false)
+    private Integer confirmedCount = 0;
+
+    @Column(name = "pending_count", nullable = false, insertable = false, updatable = false)
+    private Integer pendingCount = 0;
+
+    @Column(name = "waitlist_count", nullable = false, insertable = false, updatable = false)
+    private Integer waitlistCount = 0;
+
+    @Column(name = "cancelled_count", nullable = false, insertable = false, updatable = false)
+    private Integer cancelledCount = 0;
+
     // Bidirectional relationship with Registration
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Registration> registrations = new ArrayList<>();
@@ -215,6 +231,46 @@ public class Event {
         return updatedAt;
     }
 
+    public Integer getRegistrationCount() {
+        return registrationCount;
+    }
+
+    public void setRegistrationCount(Integer registrationCount) {
+        this.registrationCount = registrationCount;
+    }
+
+    public Integer getConfirmedCount() {
+        return confirmedCount;
+    }
+
+    public void setConfirmedCount(Integer confirmedCount) {
+        this.confirmedCount = confirmedCount;
+    }
+
+    public Integer getPendingCount() {
+        return pendingCount;
+    }
+
+    public void setPendingCount(Integer pendingCount) {
+        this.pendingCount = pendingCount;
+    }
+
+    public Integer getWaitlistCount() {
+        return waitlistCount;
+    }
+
+    public void setWaitlistCount(Integer waitlistCount) {
+        this.waitlistCount = waitlistCount;
+    }
+
+    public Integer getCancelledCount() {
+        return cancelledCount;
+    }
+
+    public void setCancelledCount(Integer cancelledCount) {
+        this.cancelledCount = cancelledCount;
+    }
+
     public List<Registration> getRegistrations() {
         return registrations;
     }
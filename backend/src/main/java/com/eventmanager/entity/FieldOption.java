@@ -9,8 +9,11 @@ import jakarta.validation.constraints.Size;
 @Table(name = "field_options")
 public class FieldOption {
 
+    // Pooled table generator (see V12 migration) so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "field_option_ids")
+    @TableGenerator(name = "field_option_ids", table = "id_generators", pkColumnName = "entity",
+            valueColumnName = "next_id", pkColumnValue = "field_options", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -29,8 +29,11 @@ import java.util.List;
 })
 public class FormField {
 
+    // Pooled table generator (see V12 migration) so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "form_field_ids")
+    @TableGenerator(name = "form_field_ids", table = "id_generators", pkColumnName = "entity",
+            valueColumnName = "next_id", pkColumnValue = "form_fields", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Event is required")
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.BatchSize;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Period;
@@ -13,6 +14,7 @@ import java.util.Set;
 // JPA Entity representing a participant in an event
 @Entity
 @Table(name = "participants")
+@EntityListeners(ParticipantWriteListener.class)
 @NamedQueries({
     @NamedQuery(
         name = "Participant.findAll",
@@ -35,10 +37,20 @@ import java.util.Set;
         query = "SELECT DISTINCT p FROM Participant p LEFT JOIN FETCH p.allergens WHERE p.id = :id"
     )
 })
+// Patrol and allergens are what ParticipantDTO reads; list queries load them with this graph
+@NamedEntityGraph(
+    name = Participant.WITH_PATROL_AND_ALLERGENS,
+    attributeNodes = {@NamedAttributeNode("patrol"), @NamedAttributeNode("allergens")}
+)
 public class Participant {
 
+    public static final String WITH_PATROL_AND_ALLERGENS = "Participant.withPatrolAndAllergens";
+
+    // Pooled table generator (see V12 migration) so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "participant_ids")
+    @TableGenerator(name = "participant_ids", table = "id_generators", pkColumnName = "entity",
+            valueColumnName = "next_id", pkColumnValue = "participants", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "First name is required")
@@ -108,7 +120,9 @@ public class Participant {
     private Set<Registration> registrations = new HashSet<>();
 
     // Many-to-many relationship with Allergen
+    // Batch fetched, so a page of participants loads all their allergens in one query
     @ManyToMany
+    @BatchSize(size = 500)
     @JoinTable(
         name = "participant_allergens",
         joinColumns = @JoinColumn(name = "participant_id"),
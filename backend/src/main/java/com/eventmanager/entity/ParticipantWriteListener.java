@@ -0,0 +1,28 @@
+package com.eventmanager.entity;
+
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener announcing participant writes as ParticipantWritten CDI events,
+ * so state derived from participants (such as the search index) can follow them.
+ */
+public class ParticipantWriteListener {
+
+    @Inject
+    private Event<ParticipantWritten> participantWritten;
+
+    @PostPersist
+    @PostUpdate
+    void written(Participant participant) {
+        participantWritten.fire(new ParticipantWritten(participant, false));
+    }
+
+    @PostRemove
+    void removed(Participant participant) {
+        participantWritten.fire(new ParticipantWritten(participant, true));
+    }
+}
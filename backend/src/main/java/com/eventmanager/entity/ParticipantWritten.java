@@ -0,0 +1,49 @@
+package com.eventmanager.entity;
+
+/**
+ * CDI event fired by ParticipantWriteListener when a participant was inserted, updated or deleted.
+ * Carries the participant's searchable values as they were written; observers that must only see
+ * committed data observe it AFTER_SUCCESS.
+ */
+public final class ParticipantWritten {
+
+    private final Long participantId;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String personalNumber;
+    private final boolean removed;
+
+    public ParticipantWritten(Participant participant, boolean removed) {
+        this.participantId = participant.getId();
+        this.firstName = participant.getFirstName();
+        this.lastName = participant.getLastName();
+        this.email = participant.getEmail();
+        this.personalNumber = participant.getPersonalNumber();
+        this.removed = removed;
+    }
+
+    public Long getParticipantId() {
+        return participantId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPersonalNumber() {
+        return personalNumber;
+    }
+
+    public boolean isRemoved() {
+        return removed;
+    }
+}
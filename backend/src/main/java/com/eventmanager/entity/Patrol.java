@@ -50,6 +50,10 @@ public class Patrol {
     @Column(name = "contact_phone", length = 20)
     private String contactPhone;
 
+    // Optional cap on active (pending/confirmed) registrations from this patrol per event
+    @Column(name = "registration_quota")
+    private Integer registrationQuota;
+
     // Many-to-one relationship with Event
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id")
@@ -128,6 +132,14 @@ public class Patrol {
         this.contactPhone = contactPhone;
     }
 
+    public Integer getRegistrationQuota() {
+        return registrationQuota;
+    }
+
+    public void setRegistrationQuota(Integer registrationQuota) {
+        this.registrationQuota = registrationQuota;
+    }
+
     public Event getEvent() {
         return event;
     }
@@ -41,8 +41,11 @@ import java.time.LocalDateTime;
 })
 public class Registration {
 
+    // Pooled table generator (see V12 migration) so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "registration_ids")
+    @TableGenerator(name = "registration_ids", table = "id_generators", pkColumnName = "entity",
+            valueColumnName = "next_id", pkColumnValue = "registrations", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Event is required")
@@ -71,11 +74,22 @@ public class Registration {
     @Column(length = 1000)
     private String notes;
 
+    // Status as last read from or written to the database (used to maintain event counters)
+    @Transient
+    private RegistrationStatus persistedStatus;
+
     @PrePersist
     protected void onCreate() {
         registrationDate = LocalDateTime.now();
     }
 
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    protected void onSynced() {
+        persistedStatus = status;
+    }
+
     // Default constructor required by JPA
     public Registration() {
     }
@@ -88,7 +102,7 @@ public class Registration {
 
     // Helper method to confirm registration
     public void confirm() {
-        if (this.status == RegistrationStatus.PENDING || this.status == RegistrationStatus.WAITLIST) {
+        if (this.status.canBeConfirmed()) {
             this.status = RegistrationStatus.CONFIRMED;
             this.confirmationDate = LocalDateTime.now();
         }
@@ -96,7 +110,7 @@ public class Registration {
 
     // Helper method to cancel registration
     public void cancel() {
-        if (this.status != RegistrationStatus.CANCELLED) {
+        if (this.status.canBeCancelled()) {
             this.status = RegistrationStatus.CANCELLED;
             this.cancellationDate = LocalDateTime.now();
         }
@@ -104,7 +118,7 @@ public class Registration {
 
     // Helper method to put on waitlist
     public void putOnWaitlist() {
-        if (this.status == RegistrationStatus.PENDING) {
+        if (this.status.canBeWaitlisted()) {
             this.status = RegistrationStatus.WAITLIST;
         }
     }
@@ -167,6 +181,14 @@ public class Registration {
         this.cancellationDate = cancellationDate;
     }
 
+    public RegistrationStatus getPersistedStatus() {
+        return persistedStatus;
+    }
+
+    public void setPersistedStatus(RegistrationStatus persistedStatus) {
+        this.persistedStatus = persistedStatus;
+    }
+
     public String getNotes() {
         return notes;
     }
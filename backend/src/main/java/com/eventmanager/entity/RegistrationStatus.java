@@ -5,5 +5,20 @@ public enum RegistrationStatus {
     PENDING,
     CONFIRMED,
     CANCELLED,
-    WAITLIST
+    WAITLIST;
+
+    // Only pending and waitlisted registrations can be confirmed
+    public boolean canBeConfirmed() {
+        return this == PENDING || this == WAITLIST;
+    }
+
+    // Any registration that is not already cancelled can be cancelled
+    public boolean canBeCancelled() {
+        return this != CANCELLED;
+    }
+
+    // Only registrations holding a seat can be moved to the waitlist
+    public boolean canBeWaitlisted() {
+        return this == PENDING || this == CONFIRMED;
+    }
 }
@@ -0,0 +1,9 @@
+package com.eventmanager.exception;
+
+// Exception thrown when too many export jobs are waiting or running to accept another one
+public class ExportQueueFullException extends RuntimeException {
+
+    public ExportQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package com.eventmanager.exception;
 
+import jakarta.ejb.EJBException;
 import jakarta.json.Json;
 import jakarta.json.JsonObject;
 import jakarta.validation.ConstraintViolationException;
@@ -15,6 +16,11 @@ public class GlobalExceptionHandler implements ExceptionMapper<Exception> {
 
     @Override
     public Response toResponse(Exception exception) {
+        // EJB business methods (@Stateless, @Singleton) wrap unchecked exceptions in an EJBException
+        if (exception instanceof EJBException && exception.getCause() instanceof Exception cause) {
+            return toResponse(cause);
+        }
+
         // Handle ResourceNotFoundException
         if (exception instanceof ResourceNotFoundException) {
             return buildResponse(Response.Status.NOT_FOUND, exception.getMessage());
@@ -25,6 +31,16 @@ public class GlobalExceptionHandler implements ExceptionMapper<Exception> {
             return buildResponse(Response.Status.CONFLICT, exception.getMessage());
         }
 
+        // Handle SignupQueueFullException (client should retry later)
+        if (exception instanceof SignupQueueFullException) {
+            return buildResponse(Response.Status.SERVICE_UNAVAILABLE, exception.getMessage());
+        }
+
+        // Handle ExportQueueFullException (client should retry later)
+        if (exception instanceof ExportQueueFullException) {
+            return buildResponse(Response.Status.SERVICE_UNAVAILABLE, exception.getMessage());
+        }
+
         // Handle IllegalArgumentException
         if (exception instanceof IllegalArgumentException) {
             return buildResponse(Response.Status.BAD_REQUEST, exception.getMessage());
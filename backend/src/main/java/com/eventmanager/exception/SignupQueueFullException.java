@@ -0,0 +1,9 @@
+package com.eventmanager.exception;
+
+// Exception thrown when the signup intake queue for an event cannot accept more submissions
+public class SignupQueueFullException extends RuntimeException {
+
+    public SignupQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -2,12 +2,19 @@ package com.eventmanager.repository;
 
 import com.eventmanager.entity.Allergen;
 import com.eventmanager.entity.AllergenSeverity;
+import com.eventmanager.entity.RegistrationStatus;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
 import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 // Repository for Allergen entity using Jakarta Persistence
@@ -23,12 +30,48 @@ public class AllergenRepository {
             .getResultList();
     }
 
+    // Find id and name of the global allergens and those of an event, used as an in-memory lookup table by imports
+    public List<Object[]> findIdsAndNames(Long eventId) {
+        return em.createQuery(
+                "SELECT a.id, a.name FROM Allergen a WHERE a.event IS NULL OR a.event.id = :eventId", Object[].class)
+            .setParameter("eventId", eventId)
+            .getResultList();
+    }
+
+    // Reference to a allergen by ID without loading it
+    public Allergen getReference(Long id) {
+        return em.getReference(Allergen.class, id);
+    }
+
     // Find allergen by ID
     public Optional<Allergen> findById(Long id) {
         Allergen allergen = em.find(Allergen.class, id);
         return Optional.ofNullable(allergen);
     }
 
+    // Find allergens by IDs in one query (missing IDs are simply absent from the result)
+    public List<Allergen> findByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return em.createQuery("SELECT a FROM Allergen a WHERE a.id IN :ids", Allergen.class)
+            .setParameter("ids", ids)
+            .getResultList();
+    }
+
+    // Find allergens by IDs among the global ones and those of the event, in one query
+    // (missing IDs and allergens of other events are simply absent from the result)
+    public List<Allergen> findByIdsForEvent(Collection<Long> ids, Long eventId) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return em.createQuery("SELECT a FROM Allergen a WHERE a.id IN :ids "
+                + "AND (a.event IS NULL OR a.event.id = :eventId)", Allergen.class)
+            .setParameter("ids", ids)
+            .setParameter("eventId", eventId)
+            .getResultList();
+    }
+
     // Find allergens by event ID
     public List<Allergen> findByEventId(Long eventId) {
         return em.createNamedQuery("Allergen.findByEvent", Allergen.class)
@@ -59,18 +102,57 @@ public class AllergenRepository {
             .getResultList();
     }
 
-    // Find allergen by ID with participants eagerly loaded
-    public Optional<Allergen> findByIdWithParticipants(Long id) {
-        try {
-            Allergen allergen = em.createQuery(
-                "SELECT a FROM Allergen a LEFT JOIN FETCH a.participants WHERE a.id = :id",
-                Allergen.class)
-                .setParameter("id", id)
-                .getSingleResult();
-            return Optional.of(allergen);
-        } catch (NoResultException e) {
-            return Optional.empty();
+    // Find one keyset page of allergens ordered by (name, id)
+    // Fetches limit + 1 rows so the caller can tell whether another page exists
+    public List<Allergen> findPage(Long eventId, AllergenSeverity severity, String afterName, Long afterId, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
+
+        if (eventId != null) {
+            conditions.add("a.event.id = :eventId");
+            params.put("eventId", eventId);
+        }
+        if (severity != null) {
+            conditions.add("a.severity = :severity");
+            params.put("severity", severity);
+        }
+        if (afterId != null) {
+            conditions.add("(a.name > :afterName OR (a.name = :afterName AND a.id > :afterId))");
+            params.put("afterName", afterName);
+            params.put("afterId", afterId);
+        }
+
+        String jpql = "SELECT a FROM Allergen a"
+            + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+            + " ORDER BY a.name, a.id";
+        TypedQuery<Allergen> query = em.createQuery(jpql, Allergen.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit + 1).getResultList();
+    }
+
+    // Count the participants of every used allergen in one grouped query over participant_allergens.
+    // Each row holds the allergen ID, its participant count and one count per RegistrationStatus
+    // (in declaration order). For an event only participants registered to it are counted; otherwise
+    // every participant is, and counts towards each status they hold at some event
+    public List<Object[]> countUsage(Long eventId) {
+        StringBuilder sql = new StringBuilder("SELECT pa.allergen_id, COUNT(DISTINCT pa.participant_id)");
+        for (RegistrationStatus status : RegistrationStatus.values()) {
+            sql.append(", COUNT(DISTINCT CASE WHEN r.status = '").append(status.name())
+                .append("' THEN pa.participant_id END)");
+        }
+        sql.append(" FROM participant_allergens pa")
+            .append(eventId != null ? " JOIN" : " LEFT JOIN")
+            .append(" registrations r ON r.participant_id = pa.participant_id")
+            .append(eventId != null ? " AND r.event_id = ?" : "")
+            .append(" GROUP BY pa.allergen_id");
+
+        Query query = em.createNativeQuery(sql.toString());
+        if (eventId != null) {
+            query.setParameter(1, eventId);
         }
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        return rows;
     }
 
     // Save a new allergen
@@ -1,18 +1,88 @@
 package com.eventmanager.repository;
 
+import com.eventmanager.dto.DataVersion;
+import com.eventmanager.dto.EventSummary;
 import com.eventmanager.entity.Event;
+import com.eventmanager.entity.RegistrationStatus;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
 import jakarta.transaction.Transactional;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import org.hibernate.query.NativeQuery;
 
 // Repository for Event entity using Jakarta Persistence
 @ApplicationScoped
 public class EventRepository {
 
+    // Loads events with per-status registration counts in a single grouped query
+    private static final String SUMMARY_SELECT = """
+            SELECT NEW com.eventmanager.dto.EventSummary(
+                e,
+                COUNT(r),
+                SUM(CASE WHEN r.status = :confirmed THEN 1 ELSE 0 END),
+                SUM(CASE WHEN r.status = :pending THEN 1 ELSE 0 END),
+                SUM(CASE WHEN r.status = :waitlist THEN 1 ELSE 0 END),
+                SUM(CASE WHEN r.status = :cancelled THEN 1 ELSE 0 END))
+            FROM Event e LEFT JOIN e.registrations r
+            """;
+
+    // Actual registration counts per event, used to detect and repair counter drift
+    private static final String ACTUAL_COUNTS_JOIN = """
+            events e
+            LEFT JOIN (
+                SELECT event_id,
+                       COUNT(*) AS total,
+                       SUM(status = 'CONFIRMED') AS confirmed,
+                       SUM(status = 'PENDING') AS pending,
+                       SUM(status = 'WAITLIST') AS waitlist,
+                       SUM(status = 'CANCELLED') AS cancelled
+                FROM registrations
+                GROUP BY event_id
+            ) c ON c.event_id = e.id
+            """;
+
+    private static final String COUNTER_DRIFT_CONDITION = """
+            e.registration_count <> COALESCE(c.total, 0)
+               OR e.confirmed_count <> COALESCE(c.confirmed, 0)
+               OR e.pending_count <> COALESCE(c.pending, 0)
+               OR e.waitlist_count <> COALESCE(c.waitlist, 0)
+               OR e.cancelled_count <> COALESCE(c.cancelled, 0)
+            """;
+
+    // Waitlisted registrations of an event in FIFO order, with the quota of the participant's
+    // patrol (null when unlimited) and the patrol's current number of active registrations
+    private static final String WAITLIST_CANDIDATES_SQL = """
+            SELECT r.id, p.patrol_id, pt.registration_quota, COALESCE(c.active, 0)
+            FROM registrations r
+            JOIN participants p ON p.id = r.participant_id
+            LEFT JOIN patrols pt ON pt.id = p.patrol_id
+            LEFT JOIN (
+                SELECT ap.patrol_id, COUNT(*) AS active
+                FROM registrations ar
+                JOIN participants ap ON ap.id = ar.participant_id
+                WHERE ar.event_id = :eventId AND ar.status IN ('PENDING', 'CONFIRMED') AND ap.patrol_id IS NOT NULL
+                GROUP BY ap.patrol_id
+            ) c ON c.patrol_id = p.patrol_id
+            WHERE r.event_id = :eventId AND r.status = 'WAITLIST'
+            ORDER BY r.registration_date, r.id
+            """;
+
+    // Marks the event's registrations as changed, feeding its data version
+    private static final String REGISTRATIONS_CHANGED =
+            "registration_version = registration_version + 1, registrations_changed_at = CURRENT_TIMESTAMP(3)";
+
+    // Marks the event's waitlist as changed; set wherever waitlist_count moves
+    private static final String WAITLIST_CHANGED = "waitlist_version = waitlist_version + 1";
+
     @PersistenceContext(unitName = "eventPU")
     private EntityManager em;
 
@@ -42,6 +112,58 @@ public class EventRepository {
                 .getResultList();
     }
 
+    // Find all events with registration counts, ordered by start date descending
+    public List<EventSummary> findAllSummaries() {
+        return createSummaryQuery(SUMMARY_SELECT + " GROUP BY e ORDER BY e.startDate DESC")
+                .getResultList();
+    }
+
+    // Find upcoming events with registration counts (start date > now)
+    public List<EventSummary> findUpcomingSummaries() {
+        return createSummaryQuery(SUMMARY_SELECT + " WHERE e.startDate > :now GROUP BY e ORDER BY e.startDate ASC")
+                .setParameter("now", LocalDateTime.now())
+                .getResultList();
+    }
+
+    // Find active events with registration counts
+    public List<EventSummary> findActiveSummaries() {
+        return createSummaryQuery(SUMMARY_SELECT + " WHERE e.active = true GROUP BY e ORDER BY e.startDate DESC")
+                .getResultList();
+    }
+
+    // Find one keyset page of events ordered by start date descending (id breaks ties)
+    // Fetches limit + 1 rows so the caller can tell whether another page exists
+    public List<Event> findPage(Boolean active, LocalDateTime from, LocalDateTime to,
+                                LocalDateTime afterStartDate, Long afterId, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
+
+        if (active != null) {
+            conditions.add("e.active = :active");
+            params.put("active", active);
+        }
+        if (from != null) {
+            conditions.add("e.startDate >= :from");
+            params.put("from", from);
+        }
+        if (to != null) {
+            conditions.add("e.startDate <= :to");
+            params.put("to", to);
+        }
+        if (afterId != null) {
+            conditions.add("(e.startDate < :afterStartDate OR (e.startDate = :afterStartDate AND e.id < :afterId))");
+            params.put("afterStartDate", afterStartDate);
+            params.put("afterId", afterId);
+        }
+
+        String jpql = "SELECT e FROM Event e"
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY e.startDate DESC, e.id DESC";
+        TypedQuery<Event> query = em.createQuery(jpql, Event.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit + 1).getResultList();
+    }
+
     // Save a new event
     @Transactional
     public Event save(Event event) {
@@ -53,10 +175,15 @@ public class EventRepository {
         }
     }
 
-    // Update an existing event
+    // Update an existing event and bump its edit version, which tells edits within one second of
+    // updated_at apart in the event's data version (the merged changes are flushed first)
     @Transactional
     public Event update(Event event) {
-        return em.merge(event);
+        Event merged = em.merge(event);
+        eventsUpdate("UPDATE events SET edit_version = edit_version + 1, updated_at = updated_at WHERE id = ?")
+                .setParameter(1, merged.getId())
+                .executeUpdate();
+        return merged;
     }
 
     // Delete an event by ID
@@ -89,8 +216,395 @@ public class EventRepository {
                 .getResultList();
     }
 
+    // Find events that take place (at least partly) in [from, to), ordered by start date
+    public List<Event> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        return em.createQuery(
+                        "SELECT e FROM Event e WHERE e.startDate < :to AND e.endDate >= :from "
+                                + "ORDER BY e.startDate ASC, e.id ASC",
+                        Event.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList();
+    }
+
+    // Add delta to the total and per-status registration counters of an event
+    // (updated_at is pinned so counter changes don't look like event edits)
+    @Transactional
+    public void adjustRegistrationCounters(Long eventId, RegistrationStatus status, int delta) {
+        String column = counterColumn(status);
+        eventsUpdate("UPDATE events SET registration_count = registration_count + ?, "
+                        + column + " = " + column + " + ?, " + REGISTRATIONS_CHANGED
+                        + (status == RegistrationStatus.WAITLIST ? ", " + WAITLIST_CHANGED : "")
+                        + ", updated_at = updated_at WHERE id = ?")
+                .setParameter(1, delta)
+                .setParameter(2, delta)
+                .setParameter(3, eventId)
+                .executeUpdate();
+    }
+
+    // Lock the event row ahead of a multi-row registration change, false if the event does not exist
+    @Transactional
+    public boolean lockForRegistrationChange(Long eventId) {
+        return !em.createNativeQuery("SELECT id FROM events WHERE id = ? FOR UPDATE")
+                .setParameter(1, eventId)
+                .getResultList()
+                .isEmpty();
+    }
+
+    // Seats left for active (pending + confirmed) registrations, Integer.MAX_VALUE when capacity is unlimited;
+    // read after lockForRegistrationChange so the counters cannot move underneath the caller
+    public int countFreeSeats(Long eventId) {
+        Object[] row = (Object[]) em.createNativeQuery(
+                        "SELECT capacity, confirmed_count, pending_count FROM events WHERE id = ?")
+                .setParameter(1, eventId)
+                .getSingleResult();
+        int capacity = row[0] != null ? ((Number) row[0]).intValue() : 0;
+        if (capacity <= 0) {
+            return Integer.MAX_VALUE;
+        }
+        return Math.max(capacity - ((Number) row[1]).intValue() - ((Number) row[2]).intValue(), 0);
+    }
+
+    // Apply per-status counter deltas from a bulk change in one UPDATE;
+    // the total changes by the sum of the deltas (non-zero only for deletes)
+    @Transactional
+    public void applyRegistrationCounterDeltas(Long eventId, Map<RegistrationStatus, Integer> deltas) {
+        StringBuilder sql = new StringBuilder("UPDATE events SET registration_count = registration_count + ?");
+        List<Integer> values = new ArrayList<>();
+        values.add(deltas.values().stream().mapToInt(Integer::intValue).sum());
+        for (Map.Entry<RegistrationStatus, Integer> delta : deltas.entrySet()) {
+            String column = counterColumn(delta.getKey());
+            sql.append(", ").append(column).append(" = ").append(column).append(" + ?");
+            values.add(delta.getValue());
+        }
+        if (deltas.containsKey(RegistrationStatus.WAITLIST)) {
+            sql.append(", ").append(WAITLIST_CHANGED);
+        }
+        sql.append(", ").append(REGISTRATIONS_CHANGED).append(", updated_at = updated_at WHERE id = ?");
+
+        Query query = eventsUpdate(sql.toString());
+        for (int i = 0; i < values.size(); i++) {
+            query.setParameter(i + 1, values.get(i));
+        }
+        query.setParameter(values.size() + 1, eventId);
+        query.executeUpdate();
+    }
+
+    // Atomically take a seat for a new PENDING registration if the event has capacity left.
+    // Active (pending + confirmed) registrations count against capacity; null or 0 means unlimited.
+    // The UPDATE holds the event row lock until commit, so call it right before inserting the registration.
+    @Transactional
+    public boolean tryReserveSeat(Long eventId) {
+        int updated = eventsUpdate("UPDATE events SET registration_count = registration_count + 1, "
+                        + "pending_count = pending_count + 1, " + REGISTRATIONS_CHANGED + ", updated_at = updated_at "
+                        + "WHERE id = ? AND (capacity IS NULL OR capacity = 0 OR confirmed_count + pending_count < capacity)")
+                .setParameter(1, eventId)
+                .executeUpdate();
+        return updated == 1;
+    }
+
+    // Native UPDATE declared to touch only the events table (plus any tables its subquery reads),
+    // so Hibernate flushes pending changes to those first but leaves other queued inserts to be batched
+    private Query eventsUpdate(String sql, String... readTables) {
+        NativeQuery<?> query = em.createNativeQuery(sql).unwrap(NativeQuery.class).addSynchronizedQuerySpace("events");
+        for (String table : readTables) {
+            query.addSynchronizedQuerySpace(table);
+        }
+        return query;
+    }
+
+    // Promote the oldest waitlisted registrations (FIFO by registration date) to PENDING while the
+    // event has free seats, in one batched UPDATE. Registrations whose patrol has reached its
+    // registration quota keep their place on the waitlist. Returns the number of promoted registrations.
+    @Transactional
+    public int promoteWaitlisted(Long eventId) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = em.createNativeQuery(
+                        "SELECT capacity, confirmed_count, pending_count, waitlist_count FROM events WHERE id = ? FOR UPDATE")
+                .setParameter(1, eventId)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Object[] row = rows.get(0);
+        int waitlisted = ((Number) row[3]).intValue();
+        if (waitlisted <= 0) {
+            return 0;
+        }
+        int capacity = row[0] != null ? ((Number) row[0]).intValue() : 0;
+        int freeSeats = capacity <= 0
+                ? waitlisted
+                : capacity - ((Number) row[1]).intValue() - ((Number) row[2]).intValue();
+        if (freeSeats <= 0) {
+            return 0;
+        }
+
+        List<Long> promotedIds = selectPromotable(eventId, freeSeats);
+        if (promotedIds.isEmpty()) {
+            return 0;
+        }
+        int promoted = em.createNativeQuery("UPDATE registrations SET status = 'PENDING' WHERE id IN (:ids)")
+                .setParameter("ids", promotedIds)
+                .executeUpdate();
+        if (promoted > 0) {
+            eventsUpdate("UPDATE events SET waitlist_count = waitlist_count - ?, pending_count = pending_count + ?, "
+                            + WAITLIST_CHANGED + ", " + REGISTRATIONS_CHANGED + ", updated_at = updated_at WHERE id = ?")
+                    .setParameter(1, promoted)
+                    .setParameter(2, promoted)
+                    .setParameter(3, eventId)
+                    .executeUpdate();
+        }
+        return promoted;
+    }
+
+    // Pick up to freeSeats waitlisted registrations in FIFO order, counting each promotion against
+    // its patrol's quota (active registrations of the patrol's participants at this event)
+    private List<Long> selectPromotable(Long eventId, int freeSeats) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> candidates = em.createNativeQuery(WAITLIST_CANDIDATES_SQL)
+                .setParameter("eventId", eventId)
+                .getResultList();
+        List<Long> promotable = new ArrayList<>();
+        Map<Long, Long> activeByPatrol = new HashMap<>();
+        for (Object[] candidate : candidates) {
+            if (promotable.size() == freeSeats) {
+                break;
+            }
+            if (candidate[2] != null) {
+                long patrolId = ((Number) candidate[1]).longValue();
+                long active = activeByPatrol.computeIfAbsent(patrolId, id -> ((Number) candidate[3]).longValue());
+                if (active >= ((Number) candidate[2]).longValue()) {
+                    continue;
+                }
+                activeByPatrol.put(patrolId, active + 1);
+            }
+            promotable.add(((Number) candidate[0]).longValue());
+        }
+        return promotable;
+    }
+
+    // Registration change counters of every event the participant is registered to, by event id
+    public Map<Long, Long> findRegistrationVersionsForParticipant(Long participantId) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = em.createNativeQuery("SELECT id, registration_version FROM events "
+                        + "WHERE id IN (SELECT r.event_id FROM registrations r WHERE r.participant_id = ?)")
+                .setParameter(1, participantId)
+                .getResultList();
+        Map<Long, Long> versions = new HashMap<>();
+        for (Object[] row : rows) {
+            versions.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        return versions;
+    }
+
+    // Current registration change counter of an event, empty if the event does not exist
+    public Optional<Long> findRegistrationVersion(Long eventId) {
+        @SuppressWarnings("unchecked")
+        List<Number> rows = em.createNativeQuery("SELECT registration_version FROM events WHERE id = ?")
+                .setParameter(1, eventId)
+                .getResultList();
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0).longValue());
+    }
+
+    // Current waitlist change counter of an event, empty if the event does not exist
+    public Optional<Long> findWaitlistVersion(Long eventId) {
+        @SuppressWarnings("unchecked")
+        List<Number> rows = em.createNativeQuery("SELECT waitlist_version FROM events WHERE id = ?")
+                .setParameter(1, eventId)
+                .getResultList();
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0).longValue());
+    }
+
+    // Find IDs of events where the participant holds a seat (pending or confirmed registration)
+    public List<Long> findEventIdsWithActiveRegistration(Long participantId) {
+        @SuppressWarnings("unchecked")
+        List<Number> ids = em.createNativeQuery("SELECT DISTINCT event_id FROM registrations "
+                        + "WHERE participant_id = ? AND status IN ('PENDING', 'CONFIRMED')")
+                .setParameter(1, participantId)
+                .getResultList();
+        return ids.stream().map(Number::longValue).toList();
+    }
+
+    // Move one registration between per-status counters (total is unchanged)
+    @Transactional
+    public void moveRegistrationCounter(Long eventId, RegistrationStatus from, RegistrationStatus to) {
+        if (from == to) {
+            return;
+        }
+        String fromColumn = counterColumn(from);
+        String toColumn = counterColumn(to);
+        eventsUpdate("UPDATE events SET " + fromColumn + " = " + fromColumn + " - 1, "
+                        + toColumn + " = " + toColumn + " + 1, " + REGISTRATIONS_CHANGED
+                        + (from == RegistrationStatus.WAITLIST || to == RegistrationStatus.WAITLIST
+                                ? ", " + WAITLIST_CHANGED : "")
+                        + ", updated_at = updated_at WHERE id = ?")
+                .setParameter(1, eventId)
+                .executeUpdate();
+    }
+
+    // Find IDs of events whose counters differ from the actual registration counts
+    public List<Long> findEventIdsWithCounterDrift() {
+        @SuppressWarnings("unchecked")
+        List<Number> ids = em.createNativeQuery(
+                        "SELECT e.id FROM " + ACTUAL_COUNTS_JOIN + " WHERE " + COUNTER_DRIFT_CONDITION)
+                .getResultList();
+        return ids.stream().map(Number::longValue).toList();
+    }
+
+    // Recompute drifted counters from the registrations table, returns number of repaired events
+    @Transactional
+    public int reconcileRegistrationCounters() {
+        return em.createNativeQuery("UPDATE " + ACTUAL_COUNTS_JOIN + """
+                        SET e.registration_count = COALESCE(c.total, 0),
+                            e.confirmed_count = COALESCE(c.confirmed, 0),
+                            e.pending_count = COALESCE(c.pending, 0),
+                            e.waitlist_count = COALESCE(c.waitlist, 0),
+                            e.cancelled_count = COALESCE(c.cancelled, 0),
+                            e.registration_version = e.registration_version + 1,
+                            e.registrations_changed_at = CURRENT_TIMESTAMP(3),
+                            e.waitlist_version = e.waitlist_version + 1,
+                            e.updated_at = e.updated_at
+                        WHERE
+                        """ + COUNTER_DRIFT_CONDITION)
+                .executeUpdate();
+    }
+
+    // Bump the registration version of an event whose roster changed without a counter change
+    @Transactional
+    public void touchRegistrationVersion(Long eventId) {
+        eventsUpdate("UPDATE events SET " + REGISTRATIONS_CHANGED + ", updated_at = updated_at WHERE id = ?")
+                .setParameter(1, eventId)
+                .executeUpdate();
+    }
+
+    // Remove a participant's registrations from the counters of their events,
+    // called before the participant (and, by cascade, the registrations) is deleted
+    @Transactional
+    public void releaseRegistrationsOfParticipant(Long participantId) {
+        em.createNativeQuery("""
+                        UPDATE events e
+                            JOIN (
+                                SELECT event_id,
+                                       COUNT(*) AS total,
+                                       SUM(status = 'CONFIRMED') AS confirmed,
+                                       SUM(status = 'PENDING') AS pending,
+                                       SUM(status = 'WAITLIST') AS waitlist,
+                                       SUM(status = 'CANCELLED') AS cancelled
+                                FROM registrations
+                                WHERE participant_id = ?
+                                GROUP BY event_id
+                            ) c ON c.event_id = e.id
+                        SET e.registration_count = e.registration_count - c.total,
+                            e.confirmed_count = e.confirmed_count - c.confirmed,
+                            e.pending_count = e.pending_count - c.pending,
+                            e.waitlist_count = e.waitlist_count - c.waitlist,
+                            e.cancelled_count = e.cancelled_count - c.cancelled,
+                            e.registration_version = e.registration_version + 1,
+                            e.registrations_changed_at = CURRENT_TIMESTAMP(3),
+                            e.waitlist_version = e.waitlist_version + 1,
+                            e.updated_at = e.updated_at
+                        """)
+                .setParameter(1, participantId)
+                .executeUpdate();
+    }
+
+    // Bump the registration version of every event the participant is registered to
+    @Transactional
+    public void touchRegistrationVersionForParticipant(Long participantId) {
+        eventsUpdate("UPDATE events SET " + REGISTRATIONS_CHANGED + ", updated_at = updated_at "
+                        + "WHERE id IN (SELECT r.event_id FROM registrations r WHERE r.participant_id = ?)", "registrations")
+                .setParameter(1, participantId)
+                .executeUpdate();
+    }
+
+    // Bump the registration version of every event with registered participants who have the allergen
+    @Transactional
+    public void touchRegistrationVersionForAllergen(Long allergenId) {
+        eventsUpdate("UPDATE events SET " + REGISTRATIONS_CHANGED + ", updated_at = updated_at "
+                        + "WHERE id IN (SELECT r.event_id FROM registrations r "
+                        + "JOIN participant_allergens pa ON pa.participant_id = r.participant_id WHERE pa.allergen_id = ?)",
+                        "registrations", "participant_allergens")
+                .setParameter(1, allergenId)
+                .executeUpdate();
+    }
+
+    // Bump the registration version of every event with registered participants from the patrol
+    @Transactional
+    public void touchRegistrationVersionForPatrol(Long patrolId) {
+        eventsUpdate("UPDATE events SET " + REGISTRATIONS_CHANGED + ", updated_at = updated_at "
+                        + "WHERE id IN (SELECT r.event_id FROM registrations r "
+                        + "JOIN participants p ON r.participant_id = p.id WHERE p.patrol_id = ?)",
+                        "registrations", "participants")
+                .setParameter(1, patrolId)
+                .executeUpdate();
+    }
+
+    // Data version of a single event: its own updated_at and edit counter plus the registration change counter
+    public Optional<DataVersion> findVersion(Long id) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = em.createNativeQuery("SELECT updated_at, edit_version, registration_version, "
+                        + "registrations_changed_at FROM events WHERE id = ?")
+                .setParameter(1, id)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] row = rows.get(0);
+        LocalDateTime updatedAt = toLocalDateTime(row[0]);
+        long editVersion = ((Number) row[1]).longValue();
+        long registrationVersion = ((Number) row[2]).longValue();
+        LocalDateTime lastModified = latest(updatedAt, toLocalDateTime(row[3]));
+        return Optional.of(DataVersion.of(lastModified, "e" + id, updatedAt, editVersion, registrationVersion));
+    }
+
+    // Data version of the event list: changes when any event is added, removed, edited or gets registrations
+    public DataVersion findListVersion() {
+        Object[] row = (Object[]) em.createNativeQuery("""
+                        SELECT COUNT(*), COALESCE(MAX(id), 0), MAX(updated_at), COALESCE(SUM(edit_version), 0),
+                               COALESCE(SUM(registration_version), 0), MAX(registrations_changed_at)
+                        FROM events
+                        """)
+                .getSingleResult();
+        LocalDateTime updatedAt = toLocalDateTime(row[2]);
+        return DataVersion.of(latest(updatedAt, toLocalDateTime(row[5])),
+                "events", row[0], row[1], updatedAt, row[3], row[4]);
+    }
+
     // Flush pending changes
     public void flush() {
         em.flush();
     }
+
+    // Map a registration status to its counter column on the events table
+    private static String counterColumn(RegistrationStatus status) {
+        return switch (status) {
+            case CONFIRMED -> "confirmed_count";
+            case PENDING -> "pending_count";
+            case WAITLIST -> "waitlist_count";
+            case CANCELLED -> "cancelled_count";
+        };
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b != null && b.isAfter(a) ? b : a;
+    }
+
+    // Create a summary query with the status parameters bound
+    private TypedQuery<EventSummary> createSummaryQuery(String jpql) {
+        return em.createQuery(jpql, EventSummary.class)
+                .setParameter("confirmed", RegistrationStatus.CONFIRMED)
+                .setParameter("pending", RegistrationStatus.PENDING)
+                .setParameter("waitlist", RegistrationStatus.WAITLIST)
+                .setParameter("cancelled", RegistrationStatus.CANCELLED);
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.eventmanager.repository;
 
+import com.eventmanager.dto.DataVersion;
 import com.eventmanager.entity.FoodAllergy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityManager;
@@ -71,4 +72,12 @@ public class FoodAllergyRepository {
         }
         return false;
     }
-}
\ No newline at end of file
+
+    // Data version of the food allergy list: row count plus a checksum over all rows
+    public DataVersion findVersion() {
+        Object[] row = (Object[]) em.createNativeQuery(
+                        "SELECT COUNT(*), COALESCE(SUM(CRC32(CONCAT_WS('|', id, name, sort_order))), 0) FROM food_allergies")
+                .getSingleResult();
+        return DataVersion.of(null, "food-allergies", row[0], row[1]);
+    }
+}
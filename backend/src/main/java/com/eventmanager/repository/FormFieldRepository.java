@@ -1,5 +1,6 @@
 package com.eventmanager.repository;
 
+import com.eventmanager.dto.DataVersion;
 import com.eventmanager.entity.FormField;
 import com.eventmanager.entity.FieldType;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -114,4 +115,24 @@ public class FormFieldRepository {
         query.setParameter("eventId", eventId);
         return query.getSingleResult();
     }
-}
\ No newline at end of file
+
+    // Data version of an event's form: field/option counts plus checksums over their rows
+    public DataVersion findVersionByEventId(Long eventId) {
+        Object[] row = (Object[]) em.createNativeQuery("""
+                        SELECT
+                            (SELECT COUNT(*) FROM form_fields f WHERE f.event_id = :eventId),
+                            (SELECT COALESCE(SUM(CRC32(CONCAT_WS('|', f.id, f.updated_at, f.label, f.field_type,
+                                    f.sort_order, f.required, f.visible, f.parent_field_id, f.trigger_value,
+                                    f.row_index, f.col_position, f.col_width))), 0)
+                             FROM form_fields f WHERE f.event_id = :eventId),
+                            (SELECT COUNT(*) FROM field_options o
+                             JOIN form_fields f ON o.field_id = f.id WHERE f.event_id = :eventId),
+                            (SELECT COALESCE(SUM(CRC32(CONCAT_WS('|', o.id, o.field_id, o.value, o.label, o.sort_order))), 0)
+                             FROM field_options o
+                             JOIN form_fields f ON o.field_id = f.id WHERE f.event_id = :eventId)
+                        """)
+                .setParameter("eventId", eventId)
+                .getSingleResult();
+        return DataVersion.of(null, "form" + eventId, row[0], row[1], row[2], row[3]);
+    }
+}
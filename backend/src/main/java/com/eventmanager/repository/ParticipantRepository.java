@@ -1,24 +1,36 @@
 package com.eventmanager.repository;
 
 import com.eventmanager.entity.Participant;
+import com.eventmanager.entity.RegistrationStatus;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
 import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import org.hibernate.Session;
+import org.hibernate.jpa.SpecHints;
 
 // Repository for Participant entity using Jakarta Persistence
 @ApplicationScoped
 public class ParticipantRepository {
 
+    private static final List<RegistrationStatus> ACTIVE_STATUSES =
+        List.of(RegistrationStatus.PENDING, RegistrationStatus.CONFIRMED);
+
     @PersistenceContext(unitName = "eventPU")
     private EntityManager em;
 
     // Find all participants ordered by name
     public List<Participant> findAll() {
-        return em.createNamedQuery("Participant.findAll", Participant.class)
+        return withPatrolAndAllergens(em.createNamedQuery("Participant.findAll", Participant.class))
             .getResultList();
     }
 
@@ -42,18 +54,55 @@ public class ParticipantRepository {
 
     // Find participants by patrol ID
     public List<Participant> findByPatrolId(Long patrolId) {
-        return em.createNamedQuery("Participant.findByPatrol", Participant.class)
+        return withPatrolAndAllergens(em.createNamedQuery("Participant.findByPatrol", Participant.class))
             .setParameter("patrolId", patrolId)
             .getResultList();
     }
 
     // Find participants by event ID
     public List<Participant> findByEventId(Long eventId) {
-        return em.createNamedQuery("Participant.findByEvent", Participant.class)
+        return withPatrolAndAllergens(em.createNamedQuery("Participant.findByEvent", Participant.class))
             .setParameter("eventId", eventId)
             .getResultList();
     }
 
+    // Find one keyset page of participants ordered by (lastName, firstName, id)
+    // Fetches limit + 1 rows so the caller can tell whether another page exists.
+    // The patrol is joined; allergens are batch fetched (see Participant.allergens) on first access,
+    // as fetching a collection would make Hibernate paginate in memory
+    public List<Participant> findPage(Long patrolId, Long eventId, Long allergenId,
+                                      String afterLastName, String afterFirstName, Long afterId, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
+
+        if (patrolId != null) {
+            conditions.add("p.patrol.id = :patrolId");
+            params.put("patrolId", patrolId);
+        }
+        if (eventId != null) {
+            conditions.add("EXISTS (SELECT r.id FROM Registration r WHERE r.participant = p AND r.event.id = :eventId)");
+            params.put("eventId", eventId);
+        }
+        if (allergenId != null) {
+            conditions.add("EXISTS (SELECT a.id FROM p.allergens a WHERE a.id = :allergenId)");
+            params.put("allergenId", allergenId);
+        }
+        if (afterId != null) {
+            conditions.add("(p.lastName > :afterLastName OR (p.lastName = :afterLastName AND "
+                + "(p.firstName > :afterFirstName OR (p.firstName = :afterFirstName AND p.id > :afterId))))");
+            params.put("afterLastName", afterLastName);
+            params.put("afterFirstName", afterFirstName);
+            params.put("afterId", afterId);
+        }
+
+        String jpql = "SELECT p FROM Participant p LEFT JOIN FETCH p.patrol"
+            + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+            + " ORDER BY p.lastName, p.firstName, p.id";
+        TypedQuery<Participant> query = em.createQuery(jpql, Participant.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit + 1).getResultList();
+    }
+
     // Find participant by email
     public Optional<Participant> findByEmail(String email) {
         try {
@@ -68,21 +117,58 @@ public class ParticipantRepository {
 
     // Find participants with allergens
     public List<Participant> findWithAllergens() {
-        return em.createQuery(
-            "SELECT DISTINCT p FROM Participant p LEFT JOIN FETCH p.allergens WHERE SIZE(p.allergens) > 0 ORDER BY p.lastName, p.firstName",
-            Participant.class)
+        return withPatrolAndAllergens(em.createQuery(
+            "SELECT p FROM Participant p WHERE SIZE(p.allergens) > 0 ORDER BY p.lastName, p.firstName",
+            Participant.class))
             .getResultList();
     }
 
-    // Find minors (under 18)
-    public List<Participant> findMinors() {
-        return em.createQuery(
-            "SELECT p FROM Participant p WHERE p.birthDate IS NOT NULL ORDER BY p.lastName, p.firstName",
-            Participant.class)
-            .getResultList()
-            .stream()
-            .filter(Participant::isMinor)
-            .toList();
+    // Find participants born in (bornAfter, bornUntil], either end open when null, ordered by name.
+    // With an event, only participants with a pending or confirmed registration for it.
+    // Age conditions become birth date ranges: under 18 on day D means born after D minus 18 years
+    public List<Participant> findByBirthDateRange(Long eventId, LocalDate bornAfter, LocalDate bornUntil) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
+
+        conditions.add("p.birthDate IS NOT NULL");
+        if (bornAfter != null) {
+            conditions.add("p.birthDate > :bornAfter");
+            params.put("bornAfter", bornAfter);
+        }
+        if (bornUntil != null) {
+            conditions.add("p.birthDate <= :bornUntil");
+            params.put("bornUntil", bornUntil);
+        }
+        if (eventId != null) {
+            conditions.add("EXISTS (SELECT r.id FROM Registration r WHERE r.participant = p "
+                + "AND r.event.id = :eventId AND r.status IN :statuses)");
+            params.put("eventId", eventId);
+            params.put("statuses", ACTIVE_STATUSES);
+        }
+
+        TypedQuery<Participant> query = withPatrolAndAllergens(em.createQuery(
+            "SELECT p FROM Participant p WHERE " + String.join(" AND ", conditions)
+                + " ORDER BY p.lastName, p.firstName, p.id",
+            Participant.class));
+        params.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    // Count an event's participants with a pending or confirmed registration per birth date;
+    // participants without a birth date are counted under a null key
+    public Map<LocalDate, Long> countByBirthDate(Long eventId) {
+        List<Object[]> rows = em.createQuery(
+            "SELECT p.birthDate, COUNT(p) FROM Registration r JOIN r.participant p "
+                + "WHERE r.event.id = :eventId AND r.status IN :statuses GROUP BY p.birthDate",
+            Object[].class)
+            .setParameter("eventId", eventId)
+            .setParameter("statuses", ACTIVE_STATUSES)
+            .getResultList();
+        Map<LocalDate, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((LocalDate) row[0], (Long) row[1]);
+        }
+        return counts;
     }
 
     // Save a new participant
@@ -122,18 +208,76 @@ public class ParticipantRepository {
             .getSingleResult();
     }
 
-    // Search participants by name
-    public List<Participant> searchByName(String searchTerm) {
-        String pattern = "%" + searchTerm.toLowerCase() + "%";
-        return em.createQuery(
-            "SELECT p FROM Participant p WHERE LOWER(p.firstName) LIKE :pattern OR LOWER(p.lastName) LIKE :pattern ORDER BY p.lastName, p.firstName",
-            Participant.class)
-            .setParameter("pattern", pattern)
+    // Find participants by ID with patrol and allergens loaded, in no particular order
+    public List<Participant> findByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return withPatrolAndAllergens(em.createQuery(
+            "SELECT p FROM Participant p WHERE p.id IN :ids", Participant.class))
+            .setParameter("ids", ids)
+            .getResultList();
+    }
+
+    // Searchable values (id, first name, last name, email, personal number) of all participants, for the search index
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findSearchValues() {
+        return em.createNativeQuery("SELECT id, first_name, last_name, email, personal_number FROM participants")
             .getResultList();
     }
 
+    // Link an allergen to a participant with a single insert; false if the participant
+    // does not exist or already has the allergen
+    public boolean insertAllergen(Long participantId, Long allergenId) {
+        return em.createNativeQuery("""
+                INSERT INTO participant_allergens (participant_id, allergen_id)
+                SELECT p.id, ? FROM participants p
+                WHERE p.id = ? AND NOT EXISTS (
+                    SELECT 1 FROM participant_allergens pa WHERE pa.participant_id = p.id AND pa.allergen_id = ?)
+                """)
+            .setParameter(1, allergenId)
+            .setParameter(2, participantId)
+            .setParameter(3, allergenId)
+            .executeUpdate() > 0;
+    }
+
+    // Unlink an allergen from a participant with a single delete; false if they were not linked
+    public boolean deleteAllergen(Long participantId, Long allergenId) {
+        return em.createNativeQuery("DELETE FROM participant_allergens WHERE participant_id = ? AND allergen_id = ?")
+            .setParameter(1, participantId)
+            .setParameter(2, allergenId)
+            .executeUpdate() > 0;
+    }
+
+    // Insert new participants and their allergen links, one JDBC batch per chunk.
+    // Pooled ids let Hibernate batch the inserts; the participants are detached after
+    // the flush so large imports don't pile up managed entities.
+    @Transactional
+    public void insertBatch(List<Participant> participants) {
+        if (participants.isEmpty()) {
+            return;
+        }
+        Session session = em.unwrap(Session.class);
+        Integer batchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(participants.size());
+        try {
+            participants.forEach(em::persist);
+            em.flush();
+        } finally {
+            session.setJdbcBatchSize(batchSize);
+        }
+        participants.forEach(em::detach);
+    }
+
     // Flush pending changes
     public void flush() {
         em.flush();
     }
+
+    // Load patrol and allergens with the participants in the same query, so mapping them
+    // to DTOs needs no further queries and works outside the transaction
+    private TypedQuery<Participant> withPatrolAndAllergens(TypedQuery<Participant> query) {
+        return query.setHint(SpecHints.HINT_SPEC_FETCH_GRAPH,
+            em.getEntityGraph(Participant.WITH_PATROL_AND_ALLERGENS));
+    }
 }
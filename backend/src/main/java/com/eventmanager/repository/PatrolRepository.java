@@ -1,40 +1,118 @@
 package com.eventmanager.repository;
 
+import com.eventmanager.dto.PatrolSummary;
 import com.eventmanager.entity.Patrol;
+import com.eventmanager.entity.RegistrationStatus;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
 import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 // Repository for Patrol entity using Jakarta Persistence
 @ApplicationScoped
 public class PatrolRepository {
 
+    // Patrol list queries: event name and participant count in one grouped query,
+    // instead of loading each patrol's event and participants collection
+    private static final String SUMMARY_SELECT = """
+        SELECT NEW com.eventmanager.dto.PatrolSummary(p, e.id, e.name, COUNT(pa))
+        FROM Patrol p LEFT JOIN p.event e LEFT JOIN p.participants pa
+        """;
+    private static final String SUMMARY_GROUP_BY = " GROUP BY p, e.id, e.name";
+
     @PersistenceContext(unitName = "eventPU")
     private EntityManager em;
 
-    // Find all patrols ordered by name
-    public List<Patrol> findAll() {
-        return em.createNamedQuery("Patrol.findAll", Patrol.class)
+    // Find all patrols with event names and participant counts, ordered by name
+    public List<PatrolSummary> findAllSummaries() {
+        return em.createQuery(SUMMARY_SELECT + SUMMARY_GROUP_BY + " ORDER BY p.name, p.id", PatrolSummary.class)
+            .getResultList();
+    }
+
+    // Find one patrol with its event name and participant count
+    public Optional<PatrolSummary> findSummaryById(Long id) {
+        return em.createQuery(SUMMARY_SELECT + " WHERE p.id = :id" + SUMMARY_GROUP_BY, PatrolSummary.class)
+            .setParameter("id", id)
+            .getResultStream()
+            .findFirst();
+    }
+
+    // Find id and name of every patrol of an event, used as an in-memory lookup table by imports
+    public List<Object[]> findIdsAndNames(Long eventId) {
+        return em.createQuery("SELECT p.id, p.name FROM Patrol p WHERE p.event.id = :eventId", Object[].class)
+            .setParameter("eventId", eventId)
             .getResultList();
     }
 
+    // Reference to a patrol by ID without loading it
+    public Patrol getReference(Long id) {
+        return em.getReference(Patrol.class, id);
+    }
+
     // Find patrol by ID
     public Optional<Patrol> findById(Long id) {
         Patrol patrol = em.find(Patrol.class, id);
         return Optional.ofNullable(patrol);
     }
 
-    // Find patrols by event ID
-    public List<Patrol> findByEventId(Long eventId) {
-        return em.createNamedQuery("Patrol.findByEvent", Patrol.class)
+    // Take a write lock on a patrol row for the rest of the transaction (serializes quota checks)
+    public void lockForUpdate(Patrol patrol) {
+        em.lock(patrol, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    // Count active (pending/confirmed) registrations of the patrol's participants for an event
+    public long countActiveRegistrations(Long patrolId, Long eventId) {
+        return em.createQuery(
+                "SELECT COUNT(r) FROM Registration r WHERE r.event.id = :eventId "
+                    + "AND r.participant.patrol.id = :patrolId AND r.status IN :statuses",
+                Long.class)
+            .setParameter("eventId", eventId)
+            .setParameter("patrolId", patrolId)
+            .setParameter("statuses", List.of(RegistrationStatus.PENDING, RegistrationStatus.CONFIRMED))
+            .getSingleResult();
+    }
+
+    // Find an event's patrols with participant counts, ordered by name
+    public List<PatrolSummary> findSummariesByEventId(Long eventId) {
+        return em.createQuery(
+                SUMMARY_SELECT + " WHERE p.event.id = :eventId" + SUMMARY_GROUP_BY + " ORDER BY p.name, p.id",
+                PatrolSummary.class)
             .setParameter("eventId", eventId)
             .getResultList();
     }
 
+    // Find one keyset page of patrols with event names and participant counts, ordered by (name, id)
+    // Fetches limit + 1 rows so the caller can tell whether another page exists
+    public List<PatrolSummary> findSummaryPage(Long eventId, String afterName, Long afterId, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
+
+        if (eventId != null) {
+            conditions.add("p.event.id = :eventId");
+            params.put("eventId", eventId);
+        }
+        if (afterId != null) {
+            conditions.add("(p.name > :afterName OR (p.name = :afterName AND p.id > :afterId))");
+            params.put("afterName", afterName);
+            params.put("afterId", afterId);
+        }
+
+        String jpql = SUMMARY_SELECT
+            + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+            + SUMMARY_GROUP_BY + " ORDER BY p.name, p.id";
+        TypedQuery<PatrolSummary> query = em.createQuery(jpql, PatrolSummary.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit + 1).getResultList();
+    }
+
     // Find patrol by name and event ID
     public Optional<Patrol> findByNameAndEventId(String name, Long eventId) {
         try {
@@ -48,20 +126,6 @@ public class PatrolRepository {
         }
     }
 
-    // Find patrol by ID with participants eagerly loaded
-    public Optional<Patrol> findByIdWithParticipants(Long id) {
-        try {
-            Patrol patrol = em.createQuery(
-                "SELECT p FROM Patrol p LEFT JOIN FETCH p.participants WHERE p.id = :id",
-                Patrol.class)
-                .setParameter("id", id)
-                .getSingleResult();
-            return Optional.of(patrol);
-        } catch (NoResultException e) {
-            return Optional.empty();
-        }
-    }
-
     // Save a new patrol
     @Transactional
     public Patrol save(Patrol patrol) {
@@ -108,12 +172,12 @@ public class PatrolRepository {
             .getSingleResult();
     }
 
-    // Search patrols by name
-    public List<Patrol> searchByName(String searchTerm) {
+    // Search patrols by name, with event names and participant counts
+    public List<PatrolSummary> searchSummariesByName(String searchTerm) {
         String pattern = "%" + searchTerm.toLowerCase() + "%";
         return em.createQuery(
-            "SELECT p FROM Patrol p WHERE LOWER(p.name) LIKE :pattern ORDER BY p.name",
-            Patrol.class)
+            SUMMARY_SELECT + " WHERE LOWER(p.name) LIKE :pattern" + SUMMARY_GROUP_BY + " ORDER BY p.name, p.id",
+            PatrolSummary.class)
             .setParameter("pattern", pattern)
             .getResultList();
     }
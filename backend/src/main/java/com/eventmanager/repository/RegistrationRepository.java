@@ -3,6 +3,7 @@ package com.eventmanager.repository;
 import com.eventmanager.entity.Registration;
 import com.eventmanager.entity.RegistrationStatus;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceContext;
@@ -17,6 +18,9 @@ public class RegistrationRepository {
     @PersistenceContext(unitName = "eventPU")
     private EntityManager em;
 
+    @Inject
+    private EventRepository eventRepository;
+
     // Find all registrations ordered by date descending
     public List<Registration> findAll() {
         return em.createNamedQuery("Registration.findAll", Registration.class)
@@ -106,29 +110,66 @@ public class RegistrationRepository {
         return count > 0;
     }
 
-    // Save a new registration
+    // Save a new registration (keeps the event's registration counters in sync)
     @Transactional
     public Registration save(Registration registration) {
         if (registration.getId() == null) {
-            em.persist(registration);
-            return registration;
+            // Counter first: the event row lock is taken before the insert's foreign key check
+            eventRepository.adjustRegistrationCounters(
+                registration.getEvent().getId(), registration.getStatus(), 1);
+            return saveReserved(registration);
         } else {
-            return em.merge(registration);
+            return update(registration);
         }
     }
 
-    // Update an existing registration
+    // Save a new registration whose event counters were already adjusted
+    // (see EventRepository.tryReserveSeat)
+    @Transactional
+    public Registration saveReserved(Registration registration) {
+        em.persist(registration);
+        registration.setPersistedStatus(registration.getStatus());
+        return registration;
+    }
+
+    // Update an existing registration (moves the event counter if the status changed)
     @Transactional
     public Registration update(Registration registration) {
-        return em.merge(registration);
+        RegistrationStatus previousStatus = registration.getPersistedStatus();
+        if (previousStatus == null) {
+            previousStatus = findStatusById(registration.getId());
+        }
+        Registration merged = em.merge(registration);
+        if (previousStatus != null && previousStatus != merged.getStatus()) {
+            eventRepository.moveRegistrationCounter(
+                merged.getEvent().getId(), previousStatus, merged.getStatus());
+            // A cancelled seat goes to the waitlist; a move to the waitlist is an admin decision and
+            // does not pull others up (the demoted registration would be first in line again)
+            if (holdsSeat(previousStatus) && merged.getStatus() == RegistrationStatus.CANCELLED) {
+                eventRepository.promoteWaitlisted(merged.getEvent().getId());
+            }
+        } else {
+            eventRepository.touchRegistrationVersion(merged.getEvent().getId());
+        }
+        merged.setPersistedStatus(merged.getStatus());
+        registration.setPersistedStatus(merged.getStatus());
+        return merged;
     }
 
-    // Delete a registration by ID
+    // Delete a registration by ID (decrements the event's registration counters)
     @Transactional
     public void deleteById(Long id) {
         Registration registration = em.find(Registration.class, id);
         if (registration != null) {
+            RegistrationStatus status = registration.getPersistedStatus() != null
+                ? registration.getPersistedStatus()
+                : registration.getStatus();
+            Long eventId = registration.getEvent().getId();
             em.remove(registration);
+            eventRepository.adjustRegistrationCounters(eventId, status, -1);
+            if (holdsSeat(status)) {
+                eventRepository.promoteWaitlisted(eventId);
+            }
         }
     }
 
@@ -162,6 +203,43 @@ public class RegistrationRepository {
             .getResultList();
     }
 
+    // Waitlisted registrations of an event as (id, registration_date) rows in FIFO order
+    public List<Object[]> findWaitlistOrder(Long eventId) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = em.createNativeQuery("""
+                SELECT id, registration_date FROM registrations
+                WHERE event_id = ? AND status = 'WAITLIST'
+                ORDER BY registration_date, id
+                """)
+            .setParameter(1, eventId)
+            .getResultList();
+        return rows;
+    }
+
+    // Read event ID, status and registration date of a registration as one row, empty if not found
+    public Optional<Object[]> findWaitlistKey(Long id) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = em.createNativeQuery(
+                "SELECT event_id, status, registration_date FROM registrations WHERE id = ?")
+            .setParameter(1, id)
+            .getResultList();
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    // Pending and confirmed registrations occupy a seat
+    private static boolean holdsSeat(RegistrationStatus status) {
+        return status == RegistrationStatus.PENDING || status == RegistrationStatus.CONFIRMED;
+    }
+
+    // Read the stored status of a registration without touching the persistence context
+    private RegistrationStatus findStatusById(Long id) {
+        @SuppressWarnings("unchecked")
+        List<String> result = em.createNativeQuery("SELECT status FROM registrations WHERE id = ?")
+            .setParameter(1, id)
+            .getResultList();
+        return result.isEmpty() ? null : RegistrationStatus.valueOf(result.get(0));
+    }
+
     // Flush pending changes
     public void flush() {
         em.flush();
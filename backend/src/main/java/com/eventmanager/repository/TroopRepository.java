@@ -1,5 +1,6 @@
 package com.eventmanager.repository;
 
+import com.eventmanager.dto.DataVersion;
 import com.eventmanager.entity.Troop;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityManager;
@@ -71,4 +72,12 @@ public class TroopRepository {
         }
         return false;
     }
-}
\ No newline at end of file
+
+    // Data version of the troop list: row count plus a checksum over all rows
+    public DataVersion findVersion() {
+        Object[] row = (Object[]) em.createNativeQuery(
+                        "SELECT COUNT(*), COALESCE(SUM(CRC32(CONCAT_WS('|', id, name, sort_order))), 0) FROM troops")
+                .getSingleResult();
+        return DataVersion.of(null, "troops", row[0], row[1]);
+    }
+}
@@ -1,6 +1,9 @@
 package com.eventmanager.rest;
 
 import com.eventmanager.dto.AllergenDTO;
+import com.eventmanager.dto.AllergenUsageDTO;
+import com.eventmanager.dto.PageDTO;
+import com.eventmanager.dto.ParticipantDTO;
 import com.eventmanager.entity.AllergenSeverity;
 import com.eventmanager.service.AllergenService;
 import jakarta.inject.Inject;
@@ -20,10 +23,23 @@ public class AllergenResource {
     @Inject
     private AllergenService allergenService;
 
-    // GET /api/allergens - List all allergens
+    // GET /api/allergens - List all allergens, or a keyset page when paging/filter params are given
     @GET
-    public List<AllergenDTO> getAllAllergens() {
-        return allergenService.findAll();
+    public Response getAllAllergens(@QueryParam("cursor") String cursor,
+                                    @QueryParam("limit") Integer limit,
+                                    @QueryParam("eventId") Long eventId,
+                                    @QueryParam("severity") AllergenSeverity severity) {
+        if (cursor == null && limit == null && eventId == null && severity == null) {
+            return Response.ok(allergenService.findAll()).build();
+        }
+        return Response.ok(allergenService.findPage(cursor, limit, eventId, severity)).build();
+    }
+
+    // GET /api/allergens/usage - Every allergen with participant counts per registration status
+    @GET
+    @Path("/usage")
+    public List<AllergenUsageDTO> getAllergenUsage(@QueryParam("eventId") Long eventId) {
+        return allergenService.getUsage(eventId);
     }
 
     // GET /api/allergens/{id} - Get allergen by ID
@@ -33,6 +49,16 @@ public class AllergenResource {
         return allergenService.findById(id);
     }
 
+    // GET /api/allergens/{id}/participants - One keyset page of the allergen's participants
+    @GET
+    @Path("/{id}/participants")
+    public PageDTO<ParticipantDTO> getAllergenParticipants(@PathParam("id") Long id,
+                                                          @QueryParam("eventId") Long eventId,
+                                                          @QueryParam("cursor") String cursor,
+                                                          @QueryParam("limit") Integer limit) {
+        return allergenService.findParticipants(id, eventId, cursor, limit);
+    }
+
     // GET /api/allergens/critical - Get critical allergens (HIGH/CRITICAL severity)
     @GET
     @Path("/critical")
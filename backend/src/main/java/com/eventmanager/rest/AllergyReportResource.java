@@ -1,15 +1,20 @@
 package com.eventmanager.rest;
 
 import com.eventmanager.dto.AllergyReportDTO;
+import com.eventmanager.service.AllergyReportRenderer;
 import com.eventmanager.service.AllergyReportService;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
-import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Optional;
 
 /**
  * REST resource for allergy report endpoints
@@ -21,82 +26,61 @@ public class AllergyReportResource {
     @Inject
     private AllergyReportService allergyReportService;
 
+    @Context
+    private Request request;
+
+    @Context
+    private HttpHeaders headers;
+
     /**
      * Get allergy report as JSON
      */
     @GET
     public Response getAllergyReport(@PathParam("eventId") Long eventId) {
-        try {
-            AllergyReportDTO report = allergyReportService.generateReport(eventId);
-            return Response.ok(report).build();
-        } catch (IllegalArgumentException e) {
-            return Response.status(Response.Status.NOT_FOUND)
-                .entity("{\"error\": \"Event not found\"}")
-                .build();
-        } catch (Exception e) {
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                .entity("{\"error\": \"" + e.getMessage() + "\"}")
-                .build();
-        }
+        return allergyReportService.getReportVersion(eventId)
+            .map(version -> ConditionalGet.respond(request, headers, version, ConditionalGet.privateRevalidate(),
+                () -> allergyReportService.getReport(eventId, version)))
+            .orElseGet(this::eventNotFound);
     }
 
     /**
-     * Export allergy report as Excel file (.xlsx)
+     * Export allergy report as a file: /excel or /xlsx, /csv, /json.
+     * The report is built (or taken from the cache) once and rendered in the requested format.
      */
     @GET
-    @Path("/excel")
-    @Produces("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
-    public Response exportExcel(@PathParam("eventId") Long eventId) {
-        try {
-            byte[] excelBytes = allergyReportService.generateExcel(eventId);
-            
-            // Get event name for filename
-            AllergyReportDTO report = allergyReportService.generateReport(eventId);
-            String filename = "allergirapport-" + sanitizeFilename(report.getEventName()) + ".xlsx";
-            String encodedFilename = URLEncoder.encode(filename, StandardCharsets.UTF_8);
-            
-            return Response.ok(excelBytes)
-                .header("Content-Disposition", "attachment; filename=\"" + filename + "\"; filename*=UTF-8''" + encodedFilename)
-                .header("Content-Type", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
-                .build();
-        } catch (IllegalArgumentException e) {
+    @Path("/{format}")
+    @Produces({"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "text/csv", MediaType.APPLICATION_JSON})
+    public Response export(@PathParam("eventId") Long eventId, @PathParam("format") String format) {
+        Optional<AllergyReportRenderer> renderer =
+            allergyReportService.findRenderer("excel".equalsIgnoreCase(format) ? "xlsx" : format);
+        if (renderer.isEmpty()) {
             return Response.status(Response.Status.NOT_FOUND)
-                .entity("{\"error\": \"Event not found\"}")
-                .type(MediaType.APPLICATION_JSON)
-                .build();
-        } catch (IOException e) {
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                .entity("{\"error\": \"Failed to generate Excel file\"}")
+                .entity("{\"error\": \"Unknown report format: " + format + "\"}")
                 .type(MediaType.APPLICATION_JSON)
                 .build();
         }
-    }
 
-    /**
-     * Export allergy report as CSV file
-     */
-    @GET
-    @Path("/csv")
-    @Produces("text/csv; charset=UTF-8")
-    public Response exportCSV(@PathParam("eventId") Long eventId) {
+        AllergyReportDTO report;
         try {
-            String csvContent = allergyReportService.generateCSV(eventId);
-            
-            // Get event name for filename
-            AllergyReportDTO report = allergyReportService.generateReport(eventId);
-            String filename = "allergirapport-" + sanitizeFilename(report.getEventName()) + ".csv";
-            String encodedFilename = URLEncoder.encode(filename, StandardCharsets.UTF_8);
-            
-            return Response.ok(csvContent)
-                .header("Content-Disposition", "attachment; filename=\"" + filename + "\"; filename*=UTF-8''" + encodedFilename)
-                .header("Content-Type", "text/csv; charset=UTF-8")
-                .build();
+            report = allergyReportService.getReport(eventId);
         } catch (IllegalArgumentException e) {
-            return Response.status(Response.Status.NOT_FOUND)
-                .entity("{\"error\": \"Event not found\"}")
-                .type(MediaType.APPLICATION_JSON)
-                .build();
+            return eventNotFound();
         }
+
+        String filename = "allergirapport-" + sanitizeFilename(report.getEventName()) + "." + renderer.get().getFormat();
+        String encodedFilename = URLEncoder.encode(filename, StandardCharsets.UTF_8);
+        StreamingOutput body = output -> renderer.get().render(report, output);
+
+        return Response.ok(body, renderer.get().getMediaType())
+            .header("Content-Disposition", "attachment; filename=\"" + filename + "\"; filename*=UTF-8''" + encodedFilename)
+            .build();
+    }
+
+    private Response eventNotFound() {
+        return Response.status(Response.Status.NOT_FOUND)
+            .entity("{\"error\": \"Event not found\"}")
+            .type(MediaType.APPLICATION_JSON)
+            .build();
     }
 
     /**
@@ -0,0 +1,38 @@
+package com.eventmanager.rest;
+
+import com.eventmanager.dto.DataVersion;
+import com.eventmanager.service.CatalogService;
+import com.eventmanager.service.CatalogSnapshot;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+
+// REST resource for the reference data bundle the frontend loads on startup
+@Path("/catalog")
+@Produces(MediaType.APPLICATION_JSON)
+public class CatalogResource {
+
+    @Inject
+    private CatalogService catalogService;
+
+    @Context
+    private Request request;
+
+    @Context
+    private HttpHeaders headers;
+
+    // GET /api/catalog - Troops, food allergies and global allergens from the cached snapshot
+    @GET
+    public Response getCatalog() {
+        CatalogSnapshot snapshot = catalogService.getSnapshot();
+        return ConditionalGet.respond(request, headers, new DataVersion(snapshot.getTag(), null),
+                ConditionalGet.referenceData(), () -> (StreamingOutput) snapshot::writeTo);
+    }
+}
@@ -0,0 +1,60 @@
+package com.eventmanager.rest;
+
+import com.eventmanager.dto.DataVersion;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.function.Supplier;
+
+// Conditional GET support: answers 304 Not Modified from a data version before the body is built
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    // Event and roster data: personal data, clients must revalidate on every use
+    static CacheControl privateRevalidate() {
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+        cacheControl.setNoTransform(false);
+        return cacheControl;
+    }
+
+    // Shared reference data (troops, food allergies, form fields, catalog): cacheable anywhere, revalidated on use
+    static CacheControl referenceData() {
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setNoCache(true);
+        cacheControl.setNoTransform(false);
+        return cacheControl;
+    }
+
+    // Evaluate If-None-Match / If-Modified-Since and only build the body when the client's copy is stale.
+    // If-None-Match takes precedence (RFC 9110, 13.2.2): Last-Modified only has second precision, so a
+    // client holding an outdated tag must get the new body even if its date is not older
+    static Response respond(Request request, HttpHeaders headers, DataVersion version, CacheControl cacheControl,
+                            Supplier<?> body) {
+        EntityTag tag = new EntityTag(version.getTag());
+        Date lastModified = version.getLastModified() != null
+                ? Date.from(version.getLastModified().atZone(ZoneId.systemDefault()).toInstant())
+                : null;
+
+        boolean byDate = lastModified != null && headers.getHeaderString(HttpHeaders.IF_NONE_MATCH) == null;
+        Response.ResponseBuilder notModified = byDate
+                ? request.evaluatePreconditions(lastModified, tag)
+                : request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.cacheControl(cacheControl).build();
+        }
+
+        Response.ResponseBuilder ok = Response.ok(body.get()).tag(tag).cacheControl(cacheControl);
+        if (lastModified != null) {
+            ok.lastModified(lastModified);
+        }
+        return ok.build();
+    }
+}
@@ -1,14 +1,26 @@
 package com.eventmanager.rest;
 
+import com.eventmanager.dto.DataVersion;
 import com.eventmanager.dto.EventDTO;
 import com.eventmanager.dto.EventPatchDTO;
+import com.eventmanager.dto.SignupRequest;
+import com.eventmanager.dto.SignupResponse;
+import com.eventmanager.dto.SignupTicketDTO;
 import com.eventmanager.service.EventService;
+import com.eventmanager.service.SignupQueue;
+import com.eventmanager.service.SignupService;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
-import java.util.List;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
 
 /**
  * REST resource for Event operations
@@ -21,14 +33,45 @@ public class EventResource {
     @Inject
     private EventService eventService;
 
+    @Inject
+    private SignupService signupService;
+
+    @Inject
+    private SignupQueue signupQueue;
+
+    @Context
+    private Request request;
+
+    @Context
+    private HttpHeaders headers;
+
+    /**
+     * List events. Without paging or filter parameters the full list is returned;
+     * with cursor, limit, active, from or to a keyset page is returned instead.
+     */
     @GET
-    public List<EventDTO> getAllEvents() {
-        return eventService.findAll();
+    public Response getAllEvents(@QueryParam("cursor") String cursor,
+                                 @QueryParam("limit") Integer limit,
+                                 @QueryParam("active") Boolean active,
+                                 @QueryParam("from") String from,
+                                 @QueryParam("to") String to) {
+        LocalDateTime fromDate = parseDateTime(from);
+        LocalDateTime toDate = parseDateTime(to);
+        boolean paged = cursor != null || limit != null || active != null || fromDate != null || toDate != null;
+        return ConditionalGet.respond(request, headers, eventService.getListVersion(),
+                ConditionalGet.privateRevalidate(), () -> paged
+                        ? eventService.findPage(cursor, limit, active, fromDate, toDate)
+                        : eventService.findAll());
     }
 
     @GET
     @Path("/{id}")
     public Response getEvent(@PathParam("id") Long id) {
+        Optional<DataVersion> version = eventService.getVersion(id);
+        if (version.isPresent()) {
+            return ConditionalGet.respond(request, headers, version.get(), ConditionalGet.privateRevalidate(),
+                    () -> eventService.findById(id));
+        }
         return eventService.findByIdOptional(id)
                 .map(event -> Response.ok(event).build())
                 .orElse(Response.status(Response.Status.NOT_FOUND).build());
@@ -40,6 +83,40 @@ public class EventResource {
         return Response.status(Response.Status.CREATED).entity(created).build();
     }
 
+    /**
+     * Sign up a new participant in one call: participant, allergens and registration are
+     * created together. Returns 201 with status PENDING, or WAITLIST when the event or the
+     * participant's patrol quota is full (409 instead if allowWaitlist is false).
+     */
+    @POST
+    @Path("/{id}/signup")
+    public Response signup(@PathParam("id") Long id, @Valid SignupRequest request) {
+        SignupResponse response = signupService.signup(id, request);
+        return Response.status(Response.Status.CREATED).entity(response).build();
+    }
+
+    /**
+     * Queue a signup for a registration opening. Returns 202 with a ticket right away;
+     * the outcome is polled from the Location URL. 503 when the event's queue is full.
+     */
+    @POST
+    @Path("/{id}/signup/queue")
+    public Response queueSignup(@PathParam("id") Long id, @Valid SignupRequest request) {
+        SignupTicketDTO ticket = signupQueue.submit(id, request);
+        return Response.accepted(ticket)
+                .location(URI.create("/api/events/" + id + "/signup/queue/" + ticket.getTicketId()))
+                .build();
+    }
+
+    // Poll a queued signup: position while queued, then the registration outcome
+    @GET
+    @Path("/{id}/signup/queue/{ticketId}")
+    public Response getSignupTicket(@PathParam("id") Long id, @PathParam("ticketId") String ticketId) {
+        return signupQueue.getTicket(id, ticketId)
+                .map(ticket -> Response.ok(ticket).build())
+                .orElse(Response.status(Response.Status.NOT_FOUND).build());
+    }
+
     @PUT
     @Path("/{id}")
     public Response updateEvent(@PathParam("id") Long id, @Valid EventDTO eventDTO) {
@@ -68,4 +145,15 @@ public class EventResource {
         }
         return Response.status(Response.Status.NOT_FOUND).build();
     }
-}
\ No newline at end of file
+
+    private LocalDateTime parseDateTime(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date-time: " + value);
+        }
+    }
+}
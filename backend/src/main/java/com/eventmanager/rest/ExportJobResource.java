@@ -0,0 +1,83 @@
+package com.eventmanager.rest;
+
+import com.eventmanager.dto.ExportJobDTO;
+import com.eventmanager.dto.ExportType;
+import com.eventmanager.service.ExportJobService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.net.URI;
+import java.util.Optional;
+
+/**
+ * REST resource for background export jobs: submit, poll, download
+ */
+@Path("/events/{eventId}/exports")
+@Produces(MediaType.APPLICATION_JSON)
+public class ExportJobResource {
+
+    @Inject
+    private ExportJobService exportJobService;
+
+    /**
+     * Start an export (or join an identical running one). Returns 202 with the job;
+     * its state is polled from the Location URL. 503 when too many exports are in progress.
+     */
+    @POST
+    public Response submit(@PathParam("eventId") Long eventId, @QueryParam("type") ExportType type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Query parameter 'type' is required");
+        }
+        ExportJobDTO job = exportJobService.submit(eventId, type);
+        return Response.accepted(job)
+                .location(URI.create("/api/events/" + eventId + "/exports/" + job.getJobId()))
+                .build();
+    }
+
+    // Poll an export job
+    @GET
+    @Path("/{jobId}")
+    public Response getJob(@PathParam("eventId") Long eventId, @PathParam("jobId") String jobId) {
+        return exportJobService.getJob(eventId, jobId)
+                .map(job -> Response.ok(job).build())
+                .orElse(Response.status(Response.Status.NOT_FOUND).build());
+    }
+
+    /**
+     * Download the file of a completed job. The cached file is handed to the container as is,
+     * which sends it without copying it through the heap. 409 while the job is still running.
+     */
+    @GET
+    @Path("/{jobId}/file")
+    @Produces({"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "text/csv", MediaType.APPLICATION_JSON})
+    public Response download(@PathParam("eventId") Long eventId, @PathParam("jobId") String jobId) {
+        Optional<ExportJobDTO> job = exportJobService.getJob(eventId, jobId);
+        if (job.isEmpty()) {
+            return error(Response.Status.NOT_FOUND, "Export job not found");
+        }
+        if (job.get().getState() != ExportJobDTO.State.COMPLETED) {
+            return error(Response.Status.CONFLICT, "Export is not ready (" + job.get().getState() + ")");
+        }
+        Optional<java.nio.file.Path> file = exportJobService.getFile(eventId, jobId);
+        if (file.isEmpty()) {
+            return error(Response.Status.GONE, "Export file has expired, please export again");
+        }
+
+        ExportType type = job.get().getType();
+        String filename = type.fileName(eventId);
+        // The file name is derived from the data version, so it identifies the content
+        return Response.ok(file.get().toFile(), type.getMediaType())
+                .tag(new EntityTag(file.get().getFileName().toString()))
+                .header("Content-Disposition", "attachment; filename=\"" + filename + "\"")
+                .build();
+    }
+
+    private Response error(Response.Status status, String message) {
+        return Response.status(status)
+                .entity("{\"error\": \"" + message + "\"}")
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+}
@@ -2,10 +2,15 @@ package com.eventmanager.rest;
 
 import com.eventmanager.entity.FoodAllergy;
 import com.eventmanager.repository.FoodAllergyRepository;
+import com.eventmanager.service.CatalogChanged;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import java.util.List;
 import java.util.Map;
@@ -19,11 +24,23 @@ public class FoodAllergyResource {
     @Inject
     private FoodAllergyRepository allergyRepository;
 
+    @Inject
+    private Event<CatalogChanged> catalogChangedEvent;
+
+    @Context
+    private Request request;
+
+    @Context
+    private HttpHeaders headers;
+
     // Get all food allergies
     @GET
     public Response getAllAllergies() {
-        List<FoodAllergy> allergies = allergyRepository.findAll();
-        return Response.ok(allergies.stream().map(this::toDTO).toList()).build();
+        return ConditionalGet.respond(request, headers, allergyRepository.findVersion(),
+                ConditionalGet.referenceData(), () -> {
+            List<FoodAllergy> allergies = allergyRepository.findAll();
+            return allergies.stream().map(this::toDTO).toList();
+        });
     }
 
     // Get allergy by ID
@@ -60,6 +77,7 @@ public class FoodAllergyResource {
         allergy.setSortOrder(allergyRepository.getMaxSortOrder() + 1);
 
         FoodAllergy saved = allergyRepository.save(allergy);
+        catalogChangedEvent.fire(new CatalogChanged());
         return Response.status(Response.Status.CREATED).entity(toDTO(saved)).build();
     }
 
@@ -91,6 +109,7 @@ public class FoodAllergyResource {
                     }
 
                     FoodAllergy updated = allergyRepository.update(allergy);
+                    catalogChangedEvent.fire(new CatalogChanged());
                     return Response.ok(toDTO(updated)).build();
                 })
                 .orElse(Response.status(Response.Status.NOT_FOUND)
@@ -104,6 +123,7 @@ public class FoodAllergyResource {
     @Transactional
     public Response deleteAllergy(@PathParam("id") Long id) {
         if (allergyRepository.deleteById(id)) {
+            catalogChangedEvent.fire(new CatalogChanged());
             return Response.noContent().build();
         }
         return Response.status(Response.Status.NOT_FOUND)
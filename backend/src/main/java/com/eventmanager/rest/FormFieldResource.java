@@ -5,7 +5,10 @@ import com.eventmanager.service.FormFieldService;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import java.util.List;
 
@@ -18,11 +21,17 @@ public class FormFieldResource {
     @Inject
     private FormFieldService formFieldService;
 
+    @Context
+    private Request request;
+
+    @Context
+    private HttpHeaders headers;
+
     // Get all fields for an event
     @GET
     public Response getFields(@PathParam("eventId") Long eventId) {
-        List<FormFieldDTO> fields = formFieldService.getFieldsByEventId(eventId);
-        return Response.ok(fields).build();
+        return ConditionalGet.respond(request, headers, formFieldService.getFieldsVersion(eventId),
+                ConditionalGet.referenceData(), () -> formFieldService.getFieldsByEventId(eventId));
     }
 
     // Get a single field
@@ -0,0 +1,43 @@
+package com.eventmanager.rest;
+
+import com.eventmanager.dto.AllergenCombinationDTO;
+import com.eventmanager.dto.MenuCheckDTO;
+import com.eventmanager.service.AllergenIndexService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+
+import java.util.List;
+
+/**
+ * REST resource for menu safety checks against an event's participant allergies
+ */
+@Path("/events/{eventId}/menu")
+@Produces(MediaType.APPLICATION_JSON)
+public class MenuResource {
+
+    @Inject
+    private AllergenIndexService allergenIndexService;
+
+    // GET /api/events/{eventId}/menu/check?allergenId=1&allergenId=4 - Who cannot eat a dish with these allergens
+    @GET
+    @Path("/check")
+    public MenuCheckDTO checkMenu(@PathParam("eventId") Long eventId,
+                                  @QueryParam("allergenId") List<Long> allergenIds) {
+        if (allergenIds == null || allergenIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one allergenId is required");
+        }
+        return allergenIndexService.checkMenu(eventId, allergenIds);
+    }
+
+    // GET /api/events/{eventId}/menu/combinations - Distinct allergen combinations with head counts
+    @GET
+    @Path("/combinations")
+    public List<AllergenCombinationDTO> getCombinations(@PathParam("eventId") Long eventId) {
+        return allergenIndexService.getCombinations(eventId);
+    }
+}
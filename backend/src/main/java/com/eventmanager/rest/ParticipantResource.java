@@ -1,12 +1,19 @@
 package com.eventmanager.rest;
 
+import com.eventmanager.dto.AgeDistributionDTO;
 import com.eventmanager.dto.ParticipantDTO;
+import com.eventmanager.dto.ParticipantImportResultDTO;
+import com.eventmanager.service.ParticipantImportService;
+import com.eventmanager.service.ParticipantSearchService;
 import com.eventmanager.service.ParticipantService;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 import java.util.Set;
@@ -17,13 +24,28 @@ import java.util.Set;
 @Consumes(MediaType.APPLICATION_JSON)
 public class ParticipantResource {
 
+    private static final String XLSX_MEDIA_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
     @Inject
     private ParticipantService participantService;
 
-    // GET /api/participants - List all participants
+    @Inject
+    private ParticipantImportService participantImportService;
+
+    @Inject
+    private ParticipantSearchService participantSearchService;
+
+    // GET /api/participants - List all participants, or a keyset page when paging/filter params are given
     @GET
-    public List<ParticipantDTO> getAllParticipants() {
-        return participantService.findAll();
+    public Response getAllParticipants(@QueryParam("cursor") String cursor,
+                                       @QueryParam("limit") Integer limit,
+                                       @QueryParam("patrolId") Long patrolId,
+                                       @QueryParam("eventId") Long eventId,
+                                       @QueryParam("allergenId") Long allergenId) {
+        if (cursor == null && limit == null && patrolId == null && eventId == null && allergenId == null) {
+            return Response.ok(participantService.findAll()).build();
+        }
+        return Response.ok(participantService.findPage(cursor, limit, patrolId, eventId, allergenId)).build();
     }
 
     // GET /api/participants/{id} - Get participant by ID
@@ -47,6 +69,34 @@ public class ParticipantResource {
         return participantService.findByEventId(eventId);
     }
 
+    // GET /api/participants/event/{eventId}/minors - Get participants under 18 on the event's start date
+    @GET
+    @Path("/event/{eventId}/minors")
+    public List<ParticipantDTO> getMinorsAtEvent(@PathParam("eventId") Long eventId) {
+        return participantService.findMinorsAtEvent(eventId);
+    }
+
+    // GET /api/participants/event/{eventId}/turning-18 - Get participants who turn 18 before the event starts
+    @GET
+    @Path("/event/{eventId}/turning-18")
+    public List<ParticipantDTO> getTurningAdultBeforeEvent(@PathParam("eventId") Long eventId) {
+        return participantService.findTurningAdultBeforeEvent(eventId);
+    }
+
+    // GET /api/participants/event/{eventId}/age-distribution - Participant counts per age group at event start
+    @GET
+    @Path("/event/{eventId}/age-distribution")
+    public AgeDistributionDTO getAgeDistribution(@PathParam("eventId") Long eventId) {
+        return participantService.getAgeDistribution(eventId);
+    }
+
+    // GET /api/participants/minors - Get participants under 18 today
+    @GET
+    @Path("/minors")
+    public List<ParticipantDTO> getMinors() {
+        return participantService.findMinors();
+    }
+
     // GET /api/participants/with-allergens - Get participants with allergens
     @GET
     @Path("/with-allergens")
@@ -54,14 +104,20 @@ public class ParticipantResource {
         return participantService.findWithAllergens();
     }
 
-    // GET /api/participants/search - Search participants by name
+    // GET /api/participants/search - Search participants by name, email or personal number, best match first;
+    // a keyset page when paging params are given
     @GET
     @Path("/search")
-    public List<ParticipantDTO> searchParticipants(@QueryParam("name") String name) {
+    public Response searchParticipants(@QueryParam("name") String name,
+                                       @QueryParam("cursor") String cursor,
+                                       @QueryParam("limit") Integer limit) {
         if (name == null || name.isBlank()) {
-            return participantService.findAll();
+            return Response.ok(participantService.findAll()).build();
+        }
+        if (cursor == null && limit == null) {
+            return Response.ok(participantSearchService.search(name)).build();
         }
-        return participantService.searchByName(name);
+        return Response.ok(participantSearchService.searchPage(name, cursor, limit)).build();
     }
 
     // POST /api/participants - Create new participant
@@ -73,6 +129,20 @@ public class ParticipantResource {
             .build();
     }
 
+    // POST /api/participants/import?eventId= - Import an event's participants from CSV or Excel (first row = headers)
+    @POST
+    @Path("/import")
+    @Consumes({"text/csv", XLSX_MEDIA_TYPE})
+    public ParticipantImportResultDTO importParticipants(InputStream file,
+                                                        @HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                        @QueryParam("eventId") Long eventId,
+                                                        @QueryParam("patrolId") Long patrolId) throws IOException {
+        ParticipantImportService.Format format = contentType != null && contentType.startsWith(XLSX_MEDIA_TYPE)
+            ? ParticipantImportService.Format.XLSX
+            : ParticipantImportService.Format.CSV;
+        return participantImportService.importParticipants(file, format, eventId, patrolId);
+    }
+
     // PUT /api/participants/{id} - Update participant
     @PUT
     @Path("/{id}")
@@ -1,5 +1,7 @@
 package com.eventmanager.rest;
 
+import com.eventmanager.dto.PageDTO;
+import com.eventmanager.dto.ParticipantDTO;
 import com.eventmanager.dto.PatrolDTO;
 import com.eventmanager.service.PatrolService;
 import jakarta.inject.Inject;
@@ -19,10 +21,15 @@ public class PatrolResource {
     @Inject
     private PatrolService patrolService;
 
-    // GET /api/patrols - List all patrols
+    // GET /api/patrols - List all patrols, or a keyset page when paging/filter params are given
     @GET
-    public List<PatrolDTO> getAllPatrols() {
-        return patrolService.findAll();
+    public Response getAllPatrols(@QueryParam("cursor") String cursor,
+                                  @QueryParam("limit") Integer limit,
+                                  @QueryParam("eventId") Long eventId) {
+        if (cursor == null && limit == null && eventId == null) {
+            return Response.ok(patrolService.findAll()).build();
+        }
+        return Response.ok(patrolService.findPage(cursor, limit, eventId)).build();
     }
 
     // GET /api/patrols/{id} - Get patrol by ID
@@ -32,11 +39,13 @@ public class PatrolResource {
         return patrolService.findById(id);
     }
 
-    // GET /api/patrols/{id}/with-participants - Get patrol with participants
+    // GET /api/patrols/{id}/participants - One keyset page of the patrol's participants
     @GET
-    @Path("/{id}/with-participants")
-    public PatrolDTO getPatrolWithParticipants(@PathParam("id") Long id) {
-        return patrolService.findByIdWithParticipants(id);
+    @Path("/{id}/participants")
+    public PageDTO<ParticipantDTO> getPatrolParticipants(@PathParam("id") Long id,
+                                                        @QueryParam("cursor") String cursor,
+                                                        @QueryParam("limit") Integer limit) {
+        return patrolService.findParticipants(id, cursor, limit);
     }
 
     // GET /api/patrols/event/{eventId} - Get patrols by event
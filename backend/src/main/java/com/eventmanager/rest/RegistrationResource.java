@@ -1,12 +1,25 @@
 package com.eventmanager.rest;
 
+import com.eventmanager.dto.BulkRegistrationRequest;
+import com.eventmanager.dto.BulkRegistrationResultDTO;
 import com.eventmanager.dto.RegistrationDTO;
+import com.eventmanager.dto.WaitlistPositionDTO;
+import com.eventmanager.entity.RegistrationStatus;
 import com.eventmanager.service.RegistrationService;
+import com.eventmanager.service.WaitlistService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.inject.Inject;
+import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
-import java.util.List;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.ext.Providers;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * REST resource for Registration endpoints
@@ -19,19 +32,74 @@ public class RegistrationResource {
     @Inject
     private RegistrationService registrationService;
 
-    // GET /api/events/{eventId}/registrations - Get all registrations for an event
+    @Inject
+    private WaitlistService waitlistService;
+
+    @Context
+    private Request request;
+
+    @Context
+    private HttpHeaders headers;
+
+    @Context
+    private Providers providers;
+
+    // GET /api/events/{eventId}/registrations - Get all registrations for an event (streamed),
+    // or a keyset page when paging/filter params are given
     @GET
-    public List<RegistrationDTO> getRegistrations(@PathParam("eventId") Long eventId) {
-        return registrationService.getRegistrationsForEvent(eventId);
+    public Response getRegistrations(@PathParam("eventId") Long eventId,
+                                     @QueryParam("cursor") String cursor,
+                                     @QueryParam("limit") Integer limit,
+                                     @QueryParam("status") RegistrationStatus status,
+                                     @QueryParam("patrolId") Long patrolId) {
+        boolean paged = cursor != null || limit != null || status != null || patrolId != null;
+        Supplier<Object> body = () -> paged
+                ? registrationService.getRegistrationsPage(eventId, status, patrolId, cursor, limit)
+                : streamRegistrations(eventId);
+        return registrationService.getRegistrationsVersion(eventId)
+                .map(version -> ConditionalGet.respond(request, headers, version,
+                        ConditionalGet.privateRevalidate(), body))
+                .orElseGet(() -> Response.ok(body.get()).build());
+    }
+
+    // Full roster written row by row while the response is sent, with the application's ObjectMapper
+    private StreamingOutput streamRegistrations(Long eventId) {
+        ObjectMapper objectMapper = providers
+                .getContextResolver(ObjectMapper.class, MediaType.APPLICATION_JSON_TYPE)
+                .getContext(RegistrationDTO.class);
+        return output -> registrationService.writeRegistrations(eventId, objectMapper, output);
     }
 
     // GET /api/events/{eventId}/registrations/count - Get registration count
     @GET
     @Path("/count")
-    public String getRegistrationCount(@PathParam("eventId") Long eventId) {
-        int total = registrationService.countRegistrationsForEvent(eventId);
-        int confirmed = registrationService.countConfirmedRegistrations(eventId);
-        return "{\"total\": " + total + ", \"confirmed\": " + confirmed + "}";
+    public Response getRegistrationCount(@PathParam("eventId") Long eventId) {
+        Supplier<String> body = () -> {
+            int total = registrationService.countRegistrationsForEvent(eventId);
+            int confirmed = registrationService.countConfirmedRegistrations(eventId);
+            return "{\"total\": " + total + ", \"confirmed\": " + confirmed + "}";
+        };
+        return registrationService.getRegistrationsVersion(eventId)
+                .map(version -> ConditionalGet.respond(request, headers, version,
+                        ConditionalGet.privateRevalidate(), body))
+                .orElseGet(() -> Response.ok(body.get()).build());
+    }
+
+    // GET /api/events/{eventId}/registrations/{registrationId}/waitlist-position - Place on the waitlist
+    @GET
+    @Path("/{registrationId}/waitlist-position")
+    public WaitlistPositionDTO getWaitlistPosition(
+            @PathParam("eventId") Long eventId,
+            @PathParam("registrationId") Long registrationId) {
+        return waitlistService.getPosition(eventId, registrationId);
+    }
+
+    // POST /api/events/{eventId}/registrations/bulk - Confirm, cancel, waitlist or delete many registrations
+    @POST
+    @Path("/bulk")
+    public BulkRegistrationResultDTO bulkUpdate(@PathParam("eventId") Long eventId,
+                                                @Valid BulkRegistrationRequest bulkRequest) {
+        return registrationService.applyBulkAction(eventId, bulkRequest);
     }
 
     // DELETE /api/events/{eventId}/registrations/{registrationId} - Delete a registration
@@ -57,18 +125,41 @@ public class RegistrationResource {
     @Path("/excel")
     @Produces("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
     public Response exportExcel(@PathParam("eventId") Long eventId) {
-        try {
-            byte[] excelData = registrationService.generateExcel(eventId);
-            String filename = "deltagare-event-" + eventId + ".xlsx";
-
-            return Response.ok(excelData)
-                    .header("Content-Disposition", "attachment; filename=\"" + filename + "\"")
+        Optional<String> eventName = registrationService.findEventName(eventId);
+        if (eventName.isEmpty()) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("{\"error\": \"Event not found\"}")
+                    .type(MediaType.APPLICATION_JSON)
                     .build();
-        } catch (Exception e) {
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                    .entity("{\"error\": \"Failed to generate Excel file\"}")
+        }
+
+        // Workbook is produced while the response is written, in its own service call
+        StreamingOutput excelData = output ->
+                registrationService.writeExcel(eventId, eventName.get(), output);
+        String filename = "deltagare-event-" + eventId + ".xlsx";
+
+        return Response.ok(excelData)
+                .header("Content-Disposition", "attachment; filename=\"" + filename + "\"")
+                .build();
+    }
+
+    // GET /api/events/{eventId}/registrations/csv - Export registrations to CSV
+    @GET
+    @Path("/csv")
+    @Produces("text/csv; charset=UTF-8")
+    public Response exportCsv(@PathParam("eventId") Long eventId) {
+        if (registrationService.findEventName(eventId).isEmpty()) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("{\"error\": \"Event not found\"}")
                     .type(MediaType.APPLICATION_JSON)
                     .build();
         }
+
+        StreamingOutput csvData = output -> registrationService.writeCsv(eventId, output);
+        String filename = "deltagare-event-" + eventId + ".csv";
+
+        return Response.ok(csvData)
+                .header("Content-Disposition", "attachment; filename=\"" + filename + "\"")
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,43 @@
+package com.eventmanager.rest;
+
+import com.eventmanager.dto.SeasonAllergyReportDTO;
+import com.eventmanager.service.SeasonAllergyReportService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * REST resource for reports spanning several events
+ */
+@Path("/reports")
+@Produces(MediaType.APPLICATION_JSON)
+public class ReportResource {
+
+    @Inject
+    private SeasonAllergyReportService seasonAllergyReportService;
+
+    // GET /api/reports/allergies?from=2026-06-01&to=2026-08-31 - Allergies of all events in the date range
+    @GET
+    @Path("/allergies")
+    public SeasonAllergyReportDTO getAllergyReport(@QueryParam("from") String from,
+                                                   @QueryParam("to") String to) {
+        return seasonAllergyReportService.getReport(parseDate("from", from), parseDate("to", to));
+    }
+
+    private LocalDate parseDate(String name, String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Query parameter '" + name + "' is required (yyyy-MM-dd)");
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date: " + value);
+        }
+    }
+}
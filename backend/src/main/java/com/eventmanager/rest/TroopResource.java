@@ -2,10 +2,15 @@ package com.eventmanager.rest;
 
 import com.eventmanager.entity.Troop;
 import com.eventmanager.repository.TroopRepository;
+import com.eventmanager.service.CatalogChanged;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import java.util.List;
 import java.util.Map;
@@ -19,11 +24,23 @@ public class TroopResource {
     @Inject
     private TroopRepository troopRepository;
 
+    @Inject
+    private Event<CatalogChanged> catalogChangedEvent;
+
+    @Context
+    private Request request;
+
+    @Context
+    private HttpHeaders headers;
+
     // Get all troops
     @GET
     public Response getAllTroops() {
-        List<Troop> troops = troopRepository.findAll();
-        return Response.ok(troops.stream().map(this::toDTO).toList()).build();
+        return ConditionalGet.respond(request, headers, troopRepository.findVersion(),
+                ConditionalGet.referenceData(), () -> {
+            List<Troop> troops = troopRepository.findAll();
+            return troops.stream().map(this::toDTO).toList();
+        });
     }
 
     // Get troop by ID
@@ -60,6 +77,7 @@ public class TroopResource {
         troop.setSortOrder(troopRepository.getMaxSortOrder() + 1);
 
         Troop saved = troopRepository.save(troop);
+        catalogChangedEvent.fire(new CatalogChanged());
         return Response.status(Response.Status.CREATED).entity(toDTO(saved)).build();
     }
 
@@ -91,6 +109,7 @@ public class TroopResource {
                     }
 
                     Troop updated = troopRepository.update(troop);
+                    catalogChangedEvent.fire(new CatalogChanged());
                     return Response.ok(toDTO(updated)).build();
                 })
                 .orElse(Response.status(Response.Status.NOT_FOUND)
@@ -104,6 +123,7 @@ public class TroopResource {
     @Transactional
     public Response deleteTroop(@PathParam("id") Long id) {
         if (troopRepository.deleteById(id)) {
+            catalogChangedEvent.fire(new CatalogChanged());
             return Response.noContent().build();
         }
         return Response.status(Response.Status.NOT_FOUND)
@@ -0,0 +1,200 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.AllergenCombinationDTO;
+import com.eventmanager.dto.MenuCheckDTO;
+import com.eventmanager.dto.MenuCheckDTO.AffectedParticipantDTO;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable allergen index of one event's roster (CONFIRMED and PENDING registrations).
+ *
+ * Every allergen gets a bit; each participant is stored with the bit set of their allergens,
+ * and every distinct non-empty set is counted in the combination matrix. A menu check is a
+ * bit set intersection per participant and combination, without touching the database.
+ * Changes produce a new index; registrationVersion is the event version the index reflects.
+ */
+final class AllergenIndex {
+
+    private final Long eventId;
+    private final long registrationVersion;
+
+    // Allergen id -> bit, and bit -> allergen id / name
+    private final Map<Long, Integer> bits;
+    private final List<Long> allergenIds;
+    private final List<String> allergenNames;
+
+    // Roster in last name, first name order
+    private final Map<Long, Member> members;
+
+    // Distinct allergen combinations -> number of participants with exactly that combination
+    private final Map<BitSet, Integer> combinations;
+
+    private AllergenIndex(Long eventId, long registrationVersion, Map<Long, Integer> bits, List<Long> allergenIds,
+                          List<String> allergenNames, Map<Long, Member> members, Map<BitSet, Integer> combinations) {
+        this.eventId = eventId;
+        this.registrationVersion = registrationVersion;
+        this.bits = bits;
+        this.allergenIds = allergenIds;
+        this.allergenNames = allergenNames;
+        this.members = members;
+        this.combinations = combinations;
+    }
+
+    /**
+     * Build an index from roster rows of (participant_id, last_name, first_name, allergen_id, allergen_name),
+     * grouped by participant; allergen columns are null for participants without allergens
+     */
+    static AllergenIndex build(Long eventId, long registrationVersion, List<Object[]> rows) {
+        AllergenIndex index = new AllergenIndex(eventId, registrationVersion, new HashMap<>(), new ArrayList<>(),
+                new ArrayList<>(), new LinkedHashMap<>(), new HashMap<>());
+        for (Object[] row : rows) {
+            Long participantId = ((Number) row[0]).longValue();
+            Member member = index.members.computeIfAbsent(participantId,
+                    id -> new Member(id, row[1] + " " + row[2], new BitSet()));
+            if (row[3] != null) {
+                member.allergens.set(index.bitFor(((Number) row[3]).longValue(), (String) row[4]));
+            }
+        }
+        for (Member member : index.members.values()) {
+            index.count(member.allergens, 1);
+        }
+        return index;
+    }
+
+    long getRegistrationVersion() {
+        return registrationVersion;
+    }
+
+    boolean contains(Long participantId) {
+        return members.containsKey(participantId);
+    }
+
+    /**
+     * Copy of this index with a participant's allergens replaced (allergen id -> name)
+     */
+    AllergenIndex withAllergens(Long participantId, Map<Long, String> allergens, long newVersion) {
+        Member member = members.get(participantId);
+        if (member == null) {
+            return withVersion(newVersion);
+        }
+
+        AllergenIndex copy = new AllergenIndex(eventId, newVersion, new HashMap<>(bits),
+                new ArrayList<>(allergenIds), new ArrayList<>(allergenNames), new LinkedHashMap<>(members),
+                new HashMap<>(combinations));
+        BitSet updated = new BitSet();
+        allergens.forEach((id, name) -> updated.set(copy.bitFor(id, name)));
+
+        copy.count(member.allergens, -1);
+        copy.count(updated, 1);
+        copy.members.put(participantId, new Member(participantId, member.fullName, updated));
+        return copy;
+    }
+
+    // Copy of this index for a newer version whose change did not affect the roster's allergens
+    AllergenIndex withVersion(long newVersion) {
+        return new AllergenIndex(eventId, newVersion, bits, allergenIds, allergenNames, members, combinations);
+    }
+
+    /**
+     * Participants who cannot eat a dish containing the given allergens, and their allergen combinations
+     */
+    MenuCheckDTO check(Collection<Long> dishAllergenIds) {
+        BitSet dish = new BitSet();
+        for (Long allergenId : dishAllergenIds) {
+            Integer bit = bits.get(allergenId);
+            if (bit != null) {
+                dish.set(bit);
+            }
+        }
+
+        List<AffectedParticipantDTO> affected = new ArrayList<>();
+        if (!dish.isEmpty()) {
+            for (Member member : members.values()) {
+                if (member.allergens.intersects(dish)) {
+                    BitSet hit = (BitSet) member.allergens.clone();
+                    hit.and(dish);
+                    affected.add(new AffectedParticipantDTO(member.id, member.fullName, names(hit)));
+                }
+            }
+        }
+
+        List<AllergenCombinationDTO> affectedCombinations = new ArrayList<>();
+        combinations.forEach((combination, count) -> {
+            if (combination.intersects(dish)) {
+                affectedCombinations.add(toDTO(combination, count));
+            }
+        });
+        affectedCombinations.sort(LARGEST_FIRST);
+
+        return new MenuCheckDTO(eventId, List.copyOf(dishAllergenIds), members.size(), affected, affectedCombinations);
+    }
+
+    /**
+     * All distinct allergen combinations on the roster with their head counts, largest group first
+     */
+    List<AllergenCombinationDTO> combinations() {
+        List<AllergenCombinationDTO> result = new ArrayList<>(combinations.size());
+        combinations.forEach((combination, count) -> result.add(toDTO(combination, count)));
+        result.sort(LARGEST_FIRST);
+        return result;
+    }
+
+    private static final Comparator<AllergenCombinationDTO> LARGEST_FIRST =
+            Comparator.comparingInt(AllergenCombinationDTO::getCount).reversed()
+                    .thenComparing(combination -> String.join(", ", combination.getAllergenNames()));
+
+    private int bitFor(Long allergenId, String name) {
+        Integer bit = bits.get(allergenId);
+        if (bit == null) {
+            bit = allergenIds.size();
+            bits.put(allergenId, bit);
+            allergenIds.add(allergenId);
+            allergenNames.add(name);
+        }
+        return bit;
+    }
+
+    // Only called while building or on a fresh copy; participants without allergens are not counted
+    private void count(BitSet combination, int delta) {
+        if (!combination.isEmpty()) {
+            combinations.merge(combination, delta, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+
+    private AllergenCombinationDTO toDTO(BitSet combination, int count) {
+        List<Long> ids = new ArrayList<>(combination.cardinality());
+        for (int bit = combination.nextSetBit(0); bit >= 0; bit = combination.nextSetBit(bit + 1)) {
+            ids.add(allergenIds.get(bit));
+        }
+        return new AllergenCombinationDTO(ids, names(combination), count);
+    }
+
+    private List<String> names(BitSet set) {
+        List<String> names = new ArrayList<>(set.cardinality());
+        for (int bit = set.nextSetBit(0); bit >= 0; bit = set.nextSetBit(bit + 1)) {
+            names.add(allergenNames.get(bit));
+        }
+        return names;
+    }
+
+    // A participant on the roster; allergens is never modified once the index is published
+    private static final class Member {
+        final Long id;
+        final String fullName;
+        final BitSet allergens;
+
+        Member(Long id, String fullName, BitSet allergens) {
+            this.id = id;
+            this.fullName = fullName;
+            this.allergens = allergens;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.AllergenCombinationDTO;
+import com.eventmanager.dto.MenuCheckDTO;
+import com.eventmanager.exception.ResourceNotFoundException;
+import com.eventmanager.repository.EventRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Menu safety queries ("who cannot eat a dish with milk, egg and nuts?") answered from a
+ * per-event in-memory AllergenIndex instead of joins over participant_allergens.
+ *
+ * An index is built on first use and is valid for the event's registration version, which every
+ * registration, participant, patrol and allergen change bumps; a query only reads that version
+ * by primary key and rebuilds the index when it moved. Allergen changes made through
+ * ParticipantService are applied to the cached indexes after commit instead, so they do not
+ * cause a rebuild.
+ */
+@ApplicationScoped
+public class AllergenIndexService {
+
+    private static final String ROSTER_ALLERGENS_SQL = """
+        SELECT
+            p.id,
+            p.last_name,
+            p.first_name,
+            a.id AS allergen_id,
+            a.name AS allergen_name
+        FROM registrations r
+        JOIN participants p ON r.participant_id = p.id
+        LEFT JOIN participant_allergens pa ON pa.participant_id = p.id
+        LEFT JOIN allergens a ON pa.allergen_id = a.id
+        WHERE r.event_id = ? AND r.status IN ('CONFIRMED', 'PENDING')
+        ORDER BY p.last_name ASC, p.first_name ASC, p.id ASC, a.name ASC
+        """;
+
+    @PersistenceContext(unitName = "eventPU")
+    private EntityManager em;
+
+    @Inject
+    private EventRepository eventRepository;
+
+    private final VersionedCache<Long, AllergenIndex> indexes = new VersionedCache<>();
+
+    /**
+     * Find the participants of an event who cannot eat a dish containing the given allergens,
+     * with head counts per allergen combination
+     */
+    public MenuCheckDTO checkMenu(Long eventId, Collection<Long> allergenIds) {
+        return getIndex(eventId).check(allergenIds);
+    }
+
+    /**
+     * Get the distinct allergen combinations of an event's participants with their head counts
+     */
+    public List<AllergenCombinationDTO> getCombinations(Long eventId) {
+        return getIndex(eventId).combinations();
+    }
+
+    // Apply a committed allergen change to the cached indexes of the participant's events
+    void onAllergensChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) ParticipantAllergensChanged change) {
+        change.getRegistrationVersions().forEach((eventId, version) ->
+                indexes.update(eventId, (id, index) ->
+                        // Only an index that was current right before this change can be patched;
+                        // any other index misses a change and is dropped to be rebuilt
+                        index.getRegistrationVersion() == version - 1
+                                ? index.withAllergens(change.getParticipantId(), change.getAllergens(), version)
+                                : null));
+    }
+
+    AllergenIndex getIndex(Long eventId) {
+        long version = eventRepository.findRegistrationVersion(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", eventId));
+        return indexes.get(eventId, index -> index.getRegistrationVersion() >= version, () -> {
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = em.createNativeQuery(ROSTER_ALLERGENS_SQL)
+                    .setParameter(1, eventId)
+                    .getResultList();
+            return AllergenIndex.build(eventId, version, rows);
+        });
+    }
+}
@@ -1,16 +1,26 @@
 package com.eventmanager.service;
 
 import com.eventmanager.dto.AllergenDTO;
+import com.eventmanager.dto.AllergenUsageDTO;
+import com.eventmanager.dto.PageCursor;
+import com.eventmanager.dto.PageDTO;
+import com.eventmanager.dto.ParticipantDTO;
 import com.eventmanager.entity.Allergen;
 import com.eventmanager.entity.AllergenSeverity;
 import com.eventmanager.entity.Event;
+import com.eventmanager.entity.RegistrationStatus;
 import com.eventmanager.exception.ResourceNotFoundException;
 import com.eventmanager.repository.AllergenRepository;
 import com.eventmanager.repository.EventRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 // Service layer for Allergen business logic
 @ApplicationScoped
@@ -22,6 +32,12 @@ public class AllergenService {
     @Inject
     private EventRepository eventRepository;
 
+    @Inject
+    private ParticipantService participantService;
+
+    @Inject
+    private jakarta.enterprise.event.Event<CatalogChanged> catalogChangedEvent;
+
     // Get all allergens as DTOs
     public List<AllergenDTO> findAll() {
         return allergenRepository.findAll().stream()
@@ -29,13 +45,66 @@ public class AllergenService {
             .toList();
     }
 
-    // Get allergen by ID as DTO
+    // Get one keyset page of allergens, optionally filtered by event and severity
+    @Transactional
+    public PageDTO<AllergenDTO> findPage(String cursor, Integer limit, Long eventId, AllergenSeverity severity) {
+        int pageSize = PageDTO.normalizeLimit(limit);
+        PageCursor after = PageCursor.decode(cursor, 2);
+        List<Allergen> rows = allergenRepository.findPage(
+            eventId,
+            severity,
+            after != null ? after.getString(0) : null,
+            after != null ? after.getLong(1) : null,
+            pageSize);
+        return PageDTO.of(rows, pageSize, AllergenDTO::new,
+            a -> PageCursor.encode(a.getName(), a.getId()));
+    }
+
+    // Get allergen by ID as DTO, without its participants (see getUsage and findParticipants)
     public AllergenDTO findById(Long id) {
-        Allergen allergen = allergenRepository.findByIdWithParticipants(id)
+        Allergen allergen = allergenRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Allergen", id));
         return new AllergenDTO(allergen);
     }
 
+    /**
+     * Get every allergen with its participant count in total and per registration status,
+     * most severe first. The counts come from one grouped query; with an event only
+     * participants registered to it are counted.
+     */
+    public List<AllergenUsageDTO> getUsage(Long eventId) {
+        if (eventId != null && !eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event", eventId);
+        }
+
+        RegistrationStatus[] statuses = RegistrationStatus.values();
+        Map<Long, Object[]> usageByAllergen = new HashMap<>();
+        for (Object[] row : allergenRepository.countUsage(eventId)) {
+            usageByAllergen.put(((Number) row[0]).longValue(), row);
+        }
+
+        List<AllergenUsageDTO> usage = new ArrayList<>();
+        for (Allergen allergen : allergenRepository.findAll()) {
+            Object[] row = usageByAllergen.get(allergen.getId());
+            Map<RegistrationStatus, Long> statusCounts = new EnumMap<>(RegistrationStatus.class);
+            for (int i = 0; i < statuses.length; i++) {
+                statusCounts.put(statuses[i], row != null ? ((Number) row[i + 2]).longValue() : 0L);
+            }
+            usage.add(new AllergenUsageDTO(allergen, row != null ? ((Number) row[1]).longValue() : 0L, statusCounts));
+        }
+        // Stable sort keeps allergens of the same severity in name order
+        usage.sort(Comparator.comparing(AllergenUsageDTO::getSeverity).reversed());
+        return usage;
+    }
+
+    // Get one keyset page of an allergen's participants, optionally only those registered to an event
+    public PageDTO<ParticipantDTO> findParticipants(Long id, Long eventId, String cursor, Integer limit) {
+        if (!allergenRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Allergen", id);
+        }
+        return participantService.findPage(cursor, limit, null, eventId, id);
+    }
+
     // Get allergen entity by ID (for internal use)
     public Allergen getEntityById(Long id) {
         return allergenRepository.findById(id)
@@ -83,6 +152,7 @@ public class AllergenService {
         }
 
         Allergen savedAllergen = allergenRepository.save(allergen);
+        catalogChangedEvent.fire(new CatalogChanged());
         return new AllergenDTO(savedAllergen);
     }
 
@@ -104,6 +174,9 @@ public class AllergenService {
         }
 
         Allergen updatedAllergen = allergenRepository.update(existingAllergen);
+        // Allergy reports of events with this allergen change with its name/description
+        eventRepository.touchRegistrationVersionForAllergen(id);
+        catalogChangedEvent.fire(new CatalogChanged());
         return new AllergenDTO(updatedAllergen);
     }
 
@@ -113,7 +186,9 @@ public class AllergenService {
         if (!allergenRepository.existsById(id)) {
             throw new ResourceNotFoundException("Allergen", id);
         }
+        eventRepository.touchRegistrationVersionForAllergen(id);
         allergenRepository.deleteById(id);
+        catalogChangedEvent.fire(new CatalogChanged());
     }
 
     // Search allergens by name
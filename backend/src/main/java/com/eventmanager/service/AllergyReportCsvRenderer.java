@@ -0,0 +1,37 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.AllergyReportDTO;
+import com.eventmanager.dto.AllergyReportDTO.AllergyGroupDTO;
+import com.eventmanager.dto.AllergyReportDTO.AllergyParticipantDTO;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Renders the allergy report as a ';'-separated CSV file, one row per participant and allergy
+@ApplicationScoped
+public class AllergyReportCsvRenderer implements AllergyReportRenderer {
+
+    @Override
+    public String getFormat() {
+        return "csv";
+    }
+
+    @Override
+    public String getMediaType() {
+        return "text/csv; charset=UTF-8";
+    }
+
+    @Override
+    public void render(AllergyReportDTO report, OutputStream output) throws IOException {
+        CsvWriter csv = new CsvWriter(output, ';');
+        csv.row("Allergi", "Namn", "Kår/Patrull");
+
+        for (AllergyGroupDTO group : report.getAllergies()) {
+            for (AllergyParticipantDTO participant : group.getParticipants()) {
+                csv.row(group.getAllergyName(), participant.getFullName(), participant.getPatrol());
+            }
+        }
+
+        csv.flush();
+    }
+}
@@ -0,0 +1,150 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.AllergyReportDTO;
+import com.eventmanager.dto.AllergyReportDTO.AllergyGroupDTO;
+import com.eventmanager.dto.AllergyReportDTO.AllergyParticipantDTO;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * Renders the allergy report as an Excel workbook: one titled block per allergy
+ * listing the participants' names and patrols.
+ */
+@ApplicationScoped
+public class AllergyReportExcelRenderer implements AllergyReportRenderer {
+
+    @Override
+    public String getFormat() {
+        return "xlsx";
+    }
+
+    @Override
+    public String getMediaType() {
+        return "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    }
+
+    @Override
+    public void render(AllergyReportDTO report, OutputStream output) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Allergirapport");
+
+            // Create styles
+            CellStyle headerStyle = createHeaderStyle(workbook);
+            CellStyle titleStyle = createTitleStyle(workbook);
+            CellStyle dataStyle = createDataStyle(workbook);
+            CellStyle allergyHeaderStyle = createAllergyHeaderStyle(workbook);
+
+            int rowNum = 0;
+
+            // Title
+            Row titleRow = sheet.createRow(rowNum++);
+            Cell titleCell = titleRow.createCell(0);
+            titleCell.setCellValue("Allergirapport - " + report.getEventName());
+            titleCell.setCellStyle(titleStyle);
+            sheet.addMergedRegion(new CellRangeAddress(0, 0, 0, 1));
+
+            // Generated date
+            Row dateRow = sheet.createRow(rowNum++);
+            dateRow.createCell(0).setCellValue("Genererad: " + 
+                report.getGeneratedAt().toLocalDate().toString() + " " +
+                report.getGeneratedAt().toLocalTime().toString().substring(0, 5));
+
+            // Empty row
+            rowNum++;
+
+            // Summary
+            Row summaryRow = sheet.createRow(rowNum++);
+            summaryRow.createCell(0).setCellValue("Totalt antal deltagare med allergier:");
+            Cell countCell = summaryRow.createCell(1);
+            countCell.setCellValue(report.getTotalParticipantsWithAllergies());
+
+            // Empty row
+            rowNum++;
+
+            // Check if there are any allergies
+            if (report.getAllergies().isEmpty()) {
+                Row noDataRow = sheet.createRow(rowNum++);
+                noDataRow.createCell(0).setCellValue("Inga allergier registrerade för detta event.");
+            } else {
+                // For each allergy group
+                for (AllergyGroupDTO group : report.getAllergies()) {
+                    // Allergy header
+                    Row allergyRow = sheet.createRow(rowNum++);
+                    Cell allergyCell = allergyRow.createCell(0);
+                    allergyCell.setCellValue(group.getAllergyName() + " " + group.getCount() + " st.");
+                    allergyCell.setCellStyle(allergyHeaderStyle);
+                    sheet.addMergedRegion(new CellRangeAddress(rowNum - 1, rowNum - 1, 0, 1));
+
+                    // Participants (no column headers - matches the design)
+                    for (AllergyParticipantDTO participant : group.getParticipants()) {
+                        Row dataRow = sheet.createRow(rowNum++);
+                        
+                        Cell nameCell = dataRow.createCell(0);
+                        nameCell.setCellValue(participant.getFullName());
+                        nameCell.setCellStyle(dataStyle);
+                        
+                        Cell patrolCell = dataRow.createCell(1);
+                        patrolCell.setCellValue(participant.getPatrol() != null ? participant.getPatrol() : "");
+                        patrolCell.setCellStyle(dataStyle);
+                    }
+
+                    // Empty row after each group
+                    rowNum++;
+                }
+            }
+
+            // Auto-size columns
+            sheet.setColumnWidth(0, 8000);
+            sheet.setColumnWidth(1, 8000);
+
+            workbook.write(output);
+        }
+    }
+
+    private CellStyle createTitleStyle(Workbook workbook) {
+        CellStyle style = workbook.createCellStyle();
+        Font font = workbook.createFont();
+        font.setBold(true);
+        font.setFontHeightInPoints((short) 16);
+        style.setFont(font);
+        return style;
+    }
+
+    private CellStyle createHeaderStyle(Workbook workbook) {
+        CellStyle style = workbook.createCellStyle();
+        Font font = workbook.createFont();
+        font.setBold(true);
+        style.setFont(font);
+        style.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        return style;
+    }
+
+    private CellStyle createAllergyHeaderStyle(Workbook workbook) {
+        CellStyle style = workbook.createCellStyle();
+        Font font = workbook.createFont();
+        font.setBold(true);
+        font.setFontHeightInPoints((short) 12);
+        font.setColor(IndexedColors.WHITE.getIndex());
+        style.setFont(font);
+        // Dark blue/teal color matching the design
+        style.setFillForegroundColor(IndexedColors.DARK_TEAL.getIndex());
+        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        return style;
+    }
+
+    private CellStyle createDataStyle(Workbook workbook) {
+        CellStyle style = workbook.createCellStyle();
+        style.setBorderBottom(BorderStyle.THIN);
+        style.setBorderTop(BorderStyle.THIN);
+        style.setBorderLeft(BorderStyle.THIN);
+        style.setBorderRight(BorderStyle.THIN);
+        return style;
+    }
+}
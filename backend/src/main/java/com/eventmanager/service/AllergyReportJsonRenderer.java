@@ -0,0 +1,34 @@
+package com.eventmanager.service;
+
+import com.eventmanager.config.JacksonConfig;
+import com.eventmanager.dto.AllergyReportDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.core.MediaType;
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Renders the allergy report as JSON, with the same settings as the REST API
+@ApplicationScoped
+public class AllergyReportJsonRenderer implements AllergyReportRenderer {
+
+    private final ObjectWriter writer = JacksonConfig.createObjectMapper()
+            .writerFor(AllergyReportDTO.class)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    @Override
+    public String getFormat() {
+        return "json";
+    }
+
+    @Override
+    public String getMediaType() {
+        return MediaType.APPLICATION_JSON;
+    }
+
+    @Override
+    public void render(AllergyReportDTO report, OutputStream output) throws IOException {
+        writer.writeValue(output, report);
+    }
+}
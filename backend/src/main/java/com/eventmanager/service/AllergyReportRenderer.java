@@ -0,0 +1,22 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.AllergyReportDTO;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a built allergy report in one output format.
+ * Implementations are CDI beans picked up by AllergyReportService, so a new format
+ * only needs a new renderer class.
+ */
+public interface AllergyReportRenderer {
+
+    // Format name used to select the renderer, e.g. "xlsx"
+    String getFormat();
+
+    // Content type of the rendered output
+    String getMediaType();
+
+    // Write the report; the output stream is left open
+    void render(AllergyReportDTO report, OutputStream output) throws IOException;
+}
@@ -3,31 +3,95 @@ package com.eventmanager.service;
 import com.eventmanager.dto.AllergyReportDTO;
 import com.eventmanager.dto.AllergyReportDTO.AllergyGroupDTO;
 import com.eventmanager.dto.AllergyReportDTO.AllergyParticipantDTO;
-import jakarta.ejb.Stateless;
+import com.eventmanager.dto.DataVersion;
+import com.eventmanager.repository.EventRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
 
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.ss.util.CellRangeAddress;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-
 /**
  * Service for generating allergy reports.
  * Only shows participants WITH allergies, sorted by lastName, firstName.
+ *
+ * A report is built once per event data version and kept for REPORT_TTL; JSON, Excel
+ * and CSV output are rendered from that one report by the AllergyReportRenderer beans.
+ * Registration, participant, patrol and allergen changes bump the event's data version,
+ * so a cached report is never served for changed data.
  */
-@Stateless
+@ApplicationScoped
 public class AllergyReportService {
 
+    static final Duration REPORT_TTL = Duration.ofMinutes(5);
+
     @PersistenceContext(unitName = "eventPU")
     private EntityManager em;
 
+    @Inject
+    private EventRepository eventRepository;
+
+    @Inject
+    private Instance<AllergyReportRenderer> renderers;
+
+    private final VersionedCache<Long, CachedReport> reports = new VersionedCache<>();
+
+    /**
+     * Get the allergy report for the event's current data, building it only if the
+     * cached one is missing, outdated or older than REPORT_TTL
+     */
+    public AllergyReportDTO getReport(Long eventId) {
+        DataVersion version = getReportVersion(eventId)
+            .orElseThrow(() -> new IllegalArgumentException("Event not found: " + eventId));
+        return getReport(eventId, version);
+    }
+
+    /**
+     * Get the allergy report for a data version just read with getReportVersion
+     */
+    public AllergyReportDTO getReport(Long eventId, DataVersion version) {
+        return reports.get(eventId, cached -> cached.isValidFor(version), () -> {
+            reports.removeIf(CachedReport::isExpired);
+            return new CachedReport(version.getTag(), generateReport(eventId));
+        }).report;
+    }
+
+    /**
+     * Get the data version the event's allergy report is built from (for conditional GET).
+     * Empty if the event does not exist.
+     */
+    public Optional<DataVersion> getReportVersion(Long eventId) {
+        return eventRepository.findVersion(eventId);
+    }
+
+    /**
+     * Find the renderer for an output format ("json", "xlsx", "csv"), ignoring case
+     */
+    public Optional<AllergyReportRenderer> findRenderer(String format) {
+        for (AllergyReportRenderer renderer : renderers) {
+            if (renderer.getFormat().equalsIgnoreCase(format)) {
+                return Optional.of(renderer);
+            }
+        }
+        return Optional.empty();
+    }
+
     /**
-     * Generate allergy report data for an event
+     * Write the event's (cached) allergy report with the given renderer
+     */
+    public void render(Long eventId, AllergyReportRenderer renderer, OutputStream output) throws IOException {
+        renderer.render(getReport(eventId), output);
+    }
+
+    /**
+     * Build allergy report data for an event from the database (uncached)
      */
     public AllergyReportDTO generateReport(Long eventId) {
         // Get event name
@@ -100,163 +164,23 @@ public class AllergyReportService {
         return new AllergyReportDTO(eventId, eventName, groups, uniqueParticipantIds.size());
     }
 
-    /**
-     * Generate Excel file for allergy report
-     */
-    public byte[] generateExcel(Long eventId) throws IOException {
-        AllergyReportDTO report = generateReport(eventId);
-        
-        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Allergirapport");
+    // A built report and the data version it was built from
+    private static class CachedReport {
+        final String versionTag;
+        final AllergyReportDTO report;
+        final Instant builtAt = Instant.now();
 
-            // Create styles
-            CellStyle headerStyle = createHeaderStyle(workbook);
-            CellStyle titleStyle = createTitleStyle(workbook);
-            CellStyle dataStyle = createDataStyle(workbook);
-            CellStyle allergyHeaderStyle = createAllergyHeaderStyle(workbook);
-
-            int rowNum = 0;
-
-            // Title
-            Row titleRow = sheet.createRow(rowNum++);
-            Cell titleCell = titleRow.createCell(0);
-            titleCell.setCellValue("Allergirapport - " + report.getEventName());
-            titleCell.setCellStyle(titleStyle);
-            sheet.addMergedRegion(new CellRangeAddress(0, 0, 0, 1));
-
-            // Generated date
-            Row dateRow = sheet.createRow(rowNum++);
-            dateRow.createCell(0).setCellValue("Genererad: " + 
-                report.getGeneratedAt().toLocalDate().toString() + " " +
-                report.getGeneratedAt().toLocalTime().toString().substring(0, 5));
-
-            // Empty row
-            rowNum++;
-
-            // Summary
-            Row summaryRow = sheet.createRow(rowNum++);
-            summaryRow.createCell(0).setCellValue("Totalt antal deltagare med allergier:");
-            Cell countCell = summaryRow.createCell(1);
-            countCell.setCellValue(report.getTotalParticipantsWithAllergies());
-
-            // Empty row
-            rowNum++;
-
-            // Check if there are any allergies
-            if (report.getAllergies().isEmpty()) {
-                Row noDataRow = sheet.createRow(rowNum++);
-                noDataRow.createCell(0).setCellValue("Inga allergier registrerade för detta event.");
-            } else {
-                // For each allergy group
-                for (AllergyGroupDTO group : report.getAllergies()) {
-                    // Allergy header
-                    Row allergyRow = sheet.createRow(rowNum++);
-                    Cell allergyCell = allergyRow.createCell(0);
-                    allergyCell.setCellValue(group.getAllergyName() + " " + group.getCount() + " st.");
-                    allergyCell.setCellStyle(allergyHeaderStyle);
-                    sheet.addMergedRegion(new CellRangeAddress(rowNum - 1, rowNum - 1, 0, 1));
-
-                    // Participants (no column headers - matches the design)
-                    for (AllergyParticipantDTO participant : group.getParticipants()) {
-                        Row dataRow = sheet.createRow(rowNum++);
-                        
-                        Cell nameCell = dataRow.createCell(0);
-                        nameCell.setCellValue(participant.getFullName());
-                        nameCell.setCellStyle(dataStyle);
-                        
-                        Cell patrolCell = dataRow.createCell(1);
-                        patrolCell.setCellValue(participant.getPatrol() != null ? participant.getPatrol() : "");
-                        patrolCell.setCellStyle(dataStyle);
-                    }
-
-                    // Empty row after each group
-                    rowNum++;
-                }
-            }
-
-            // Auto-size columns
-            sheet.setColumnWidth(0, 8000);
-            sheet.setColumnWidth(1, 8000);
-
-            // Write to byte array
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            return outputStream.toByteArray();
+        CachedReport(String versionTag, AllergyReportDTO report) {
+            this.versionTag = versionTag;
+            this.report = report;
         }
-    }
 
-    /**
-     * Generate CSV file for allergy report
-     */
-    public String generateCSV(Long eventId) {
-        AllergyReportDTO report = generateReport(eventId);
-        StringBuilder csv = new StringBuilder();
-
-        // BOM for Excel UTF-8 compatibility
-        csv.append("\uFEFF");
-
-        // Header
-        csv.append("Allergi;Namn;Kår/Patrull\n");
-
-        // Data
-        for (AllergyGroupDTO group : report.getAllergies()) {
-            for (AllergyParticipantDTO participant : group.getParticipants()) {
-                csv.append(escapeCsv(group.getAllergyName())).append(";");
-                csv.append(escapeCsv(participant.getFullName())).append(";");
-                csv.append(escapeCsv(participant.getPatrol() != null ? participant.getPatrol() : ""));
-                csv.append("\n");
-            }
+        boolean isExpired() {
+            return builtAt.plus(REPORT_TTL).isBefore(Instant.now());
         }
 
-        return csv.toString();
-    }
-
-    private String escapeCsv(String value) {
-        if (value == null) return "";
-        if (value.contains(";") || value.contains("\"") || value.contains("\n")) {
-            return "\"" + value.replace("\"", "\"\"") + "\"";
+        boolean isValidFor(DataVersion version) {
+            return versionTag.equals(version.getTag()) && !isExpired();
         }
-        return value;
-    }
-
-    private CellStyle createTitleStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        Font font = workbook.createFont();
-        font.setBold(true);
-        font.setFontHeightInPoints((short) 16);
-        style.setFont(font);
-        return style;
-    }
-
-    private CellStyle createHeaderStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        Font font = workbook.createFont();
-        font.setBold(true);
-        style.setFont(font);
-        style.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        return style;
-    }
-
-    private CellStyle createAllergyHeaderStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        Font font = workbook.createFont();
-        font.setBold(true);
-        font.setFontHeightInPoints((short) 12);
-        font.setColor(IndexedColors.WHITE.getIndex());
-        style.setFont(font);
-        // Dark blue/teal color matching the design
-        style.setFillForegroundColor(IndexedColors.DARK_TEAL.getIndex());
-        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        return style;
-    }
-
-    private CellStyle createDataStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBorderTop(BorderStyle.THIN);
-        style.setBorderLeft(BorderStyle.THIN);
-        style.setBorderRight(BorderStyle.THIN);
-        return style;
     }
 }
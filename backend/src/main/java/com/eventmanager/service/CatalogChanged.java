@@ -0,0 +1,11 @@
+package com.eventmanager.service;
+
+/**
+ * CDI event fired when troops, food allergies or allergens were created, updated or deleted.
+ * CatalogService drops its snapshot once the change commits.
+ */
+public final class CatalogChanged {
+
+    public CatalogChanged() {
+    }
+}
@@ -0,0 +1,107 @@
+package com.eventmanager.service;
+
+import com.eventmanager.config.JacksonConfig;
+import com.eventmanager.dto.AllergenDTO;
+import com.eventmanager.dto.CatalogDTO;
+import com.eventmanager.dto.CatalogDTO.CatalogItemDTO;
+import com.eventmanager.repository.AllergenRepository;
+import com.eventmanager.repository.FoodAllergyRepository;
+import com.eventmanager.repository.TroopRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reference data the frontend loads on startup (troops, food allergies and global allergens),
+ * served as one pre-serialized JSON snapshot instead of three queries per client.
+ *
+ * Snapshots are immutable and built on first use. Changes made through TroopResource,
+ * FoodAllergyResource and AllergenService fire CatalogChanged; once such a change commits the
+ * current snapshot is outdated, and the next read builds a new one and swaps it in. Data changed
+ * outside the application (e.g. by a migration) is picked up on restart.
+ */
+@ApplicationScoped
+public class CatalogService {
+
+    private final ObjectWriter writer = JacksonConfig.createObjectMapper().writerFor(CatalogDTO.class);
+
+    @Inject
+    private TroopRepository troopRepository;
+
+    @Inject
+    private FoodAllergyRepository foodAllergyRepository;
+
+    @Inject
+    private AllergenRepository allergenRepository;
+
+    // Bumped by every committed change; a snapshot is current while its generation matches
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile CatalogSnapshot snapshot;
+
+    // Only one snapshot is built at a time, so a change does not make every waiting reader query
+    private final Object buildLock = new Object();
+
+    /**
+     * Get the current catalog snapshot, building it when there is none or a change made it outdated
+     */
+    public CatalogSnapshot getSnapshot() {
+        CatalogSnapshot current = snapshot;
+        if (current != null && current.getGeneration() == generation.get()) {
+            return current;
+        }
+        synchronized (buildLock) {
+            long builtFrom = generation.get();
+            current = snapshot;
+            if (current != null && current.getGeneration() == builtFrom) {
+                return current;
+            }
+            current = build(builtFrom);
+            snapshot = current;
+            return current;
+        }
+    }
+
+    // Outdate the snapshot once a change to the catalog data has committed
+    void onCatalogChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) CatalogChanged change) {
+        generation.incrementAndGet();
+    }
+
+    private CatalogSnapshot build(long builtFrom) {
+        CatalogDTO catalog = new CatalogDTO(
+            troopRepository.findAll().stream()
+                .map(troop -> new CatalogItemDTO(troop.getId(), troop.getName(), troop.getSortOrder()))
+                .toList(),
+            foodAllergyRepository.findAll().stream()
+                .map(allergy -> new CatalogItemDTO(allergy.getId(), allergy.getName(), allergy.getSortOrder()))
+                .toList(),
+            allergenRepository.findGlobal().stream()
+                .map(AllergenDTO::new)
+                .toList());
+        try {
+            byte[] json = writer.writeValueAsBytes(catalog);
+            return new CatalogSnapshot(json, "catalog-" + hash(json), builtFrom);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // First 16 bytes of the SHA-256 of the JSON, as hex
+    private static String hash(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
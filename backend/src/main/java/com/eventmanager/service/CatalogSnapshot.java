@@ -0,0 +1,34 @@
+package com.eventmanager.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An immutable, serialized CatalogDTO with an ETag derived from its content, so the tag is the
+ * same on every node and across restarts as long as the data is
+ */
+public final class CatalogSnapshot {
+
+    private final byte[] json;
+    private final String tag;
+    private final long generation;
+
+    CatalogSnapshot(byte[] json, String tag, long generation) {
+        this.json = json;
+        this.tag = tag;
+        this.generation = generation;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    // Write the JSON; the bytes themselves are never handed out, so they cannot be changed
+    public void writeTo(OutputStream output) throws IOException {
+        output.write(json);
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+}
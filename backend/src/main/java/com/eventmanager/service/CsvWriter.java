@@ -0,0 +1,119 @@
+package com.eventmanager.service;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes CSV rows as UTF-8 (with BOM, for Excel) straight to an output stream.
+ *
+ * Characters are collected in one reusable buffer and handed to the encoder a buffer at a time.
+ * Each value is scanned once: values without separator, quote or line break are copied as is,
+ * others are quoted with their quotes doubled while they are copied.
+ * The underlying stream is flushed but never closed.
+ */
+final class CsvWriter implements Flushable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Writer out;
+    private final char separator;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private boolean rowStarted;
+
+    CsvWriter(OutputStream output, char separator) throws IOException {
+        this.out = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+        this.separator = separator;
+        write('\uFEFF');
+    }
+
+    // Write a complete row
+    CsvWriter row(String... values) throws IOException {
+        for (String value : values) {
+            field(value);
+        }
+        return endRow();
+    }
+
+    // Append a value to the current row; null is written as an empty field
+    CsvWriter field(String value) throws IOException {
+        if (rowStarted) {
+            write(separator);
+        }
+        rowStarted = true;
+        if (value != null) {
+            writeEscaped(value);
+        }
+        return this;
+    }
+
+    CsvWriter endRow() throws IOException {
+        write('\n');
+        rowStarted = false;
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+        out.flush();
+    }
+
+    private void writeEscaped(String value) throws IOException {
+        int length = value.length();
+        int special = 0;
+        while (special < length && !needsQuoting(value.charAt(special))) {
+            special++;
+        }
+        if (special == length) {
+            write(value, 0, length);
+            return;
+        }
+
+        // Copy the plain prefix, then the rest character by character
+        write('"');
+        write(value, 0, special);
+        for (int i = special; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                write('"');
+            }
+            write(c);
+        }
+        write('"');
+    }
+
+    private boolean needsQuoting(char c) {
+        return c == separator || c == '"' || c == '\n' || c == '\r';
+    }
+
+    private void write(char c) throws IOException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = c;
+    }
+
+    private void write(String value, int start, int end) throws IOException {
+        while (start < end) {
+            if (position == buffer.length) {
+                drain();
+            }
+            int count = Math.min(end - start, buffer.length - position);
+            value.getChars(start, start + count, buffer, position);
+            position += count;
+            start += count;
+        }
+    }
+
+    // Hand the buffered characters to the encoder without flushing the stream
+    private void drain() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+}
@@ -1,15 +1,18 @@
 package com.eventmanager.service;
 
+import com.eventmanager.dto.DataVersion;
 import com.eventmanager.dto.EventDTO;
 import com.eventmanager.dto.EventPatchDTO;
+import com.eventmanager.dto.EventSummary;
+import com.eventmanager.dto.PageCursor;
+import com.eventmanager.dto.PageDTO;
 import com.eventmanager.entity.Event;
 import com.eventmanager.exception.ResourceNotFoundException;
 import com.eventmanager.repository.EventRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,17 +23,41 @@ public class EventService {
     @Inject
     private EventRepository eventRepository;
 
-    @PersistenceContext(unitName = "eventPU")
-    private EntityManager em;
-
-    // Get all events as DTOs with registration counts
+    // Get all events as DTOs with registration counts (single aggregate query)
     @Transactional
     public List<EventDTO> findAll() {
-        return eventRepository.findAll().stream()
-                .map(event -> toEventDTOWithCount(event))
+        return eventRepository.findAllSummaries().stream()
+                .map(this::toEventDTO)
                 .toList();
     }
 
+    // Get the data version of the event list (for conditional GET)
+    public DataVersion getListVersion() {
+        return eventRepository.findListVersion();
+    }
+
+    // Get the data version of one event, empty if the event does not exist
+    public Optional<DataVersion> getVersion(Long id) {
+        return eventRepository.findVersion(id);
+    }
+
+    // Get one keyset page of events, optionally filtered by active flag and start date range
+    @Transactional
+    public PageDTO<EventDTO> findPage(String cursor, Integer limit, Boolean active,
+                                      LocalDateTime from, LocalDateTime to) {
+        int pageSize = PageDTO.normalizeLimit(limit);
+        PageCursor after = PageCursor.decode(cursor, 2);
+        List<Event> rows = eventRepository.findPage(
+                active,
+                from,
+                to,
+                after != null ? after.getDateTime(0) : null,
+                after != null ? after.getLong(1) : null,
+                pageSize);
+        return PageDTO.of(rows, pageSize, this::toEventDTOWithCount,
+                e -> PageCursor.encode(e.getStartDate(), e.getId()));
+    }
+
     // Get event by ID as DTO with registration count
     @Transactional
     public EventDTO findById(Long id) {
@@ -56,16 +83,16 @@ public class EventService {
     // Get upcoming events
     @Transactional
     public List<EventDTO> findUpcoming() {
-        return eventRepository.findUpcoming().stream()
-                .map(event -> toEventDTOWithCount(event))
+        return eventRepository.findUpcomingSummaries().stream()
+                .map(this::toEventDTO)
                 .toList();
     }
 
     // Get active events
     @Transactional
     public List<EventDTO> findActive() {
-        return eventRepository.findActive().stream()
-                .map(event -> toEventDTOWithCount(event))
+        return eventRepository.findActiveSummaries().stream()
+                .map(this::toEventDTO)
                 .toList();
     }
 
@@ -83,8 +110,10 @@ public class EventService {
         Event existingEvent = eventRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Event", id));
 
+        Integer previousCapacity = existingEvent.getCapacity();
         eventDTO.updateEntity(existingEvent);
         Event updatedEvent = eventRepository.update(existingEvent);
+        promoteIfCapacityGrew(id, previousCapacity, updatedEvent.getCapacity());
         return toEventDTOWithCount(updatedEvent);
     }
 
@@ -93,8 +122,10 @@ public class EventService {
     public Optional<EventDTO> updateOptional(Long id, EventDTO eventDTO) {
         return eventRepository.findById(id)
                 .map(existingEvent -> {
+                    Integer previousCapacity = existingEvent.getCapacity();
                     eventDTO.updateEntity(existingEvent);
                     Event updatedEvent = eventRepository.update(existingEvent);
+                    promoteIfCapacityGrew(id, previousCapacity, updatedEvent.getCapacity());
                     return toEventDTOWithCount(updatedEvent);
                 });
     }
@@ -139,22 +170,22 @@ public class EventService {
         return true;
     }
 
-    // Check if event has available capacity
+    // Check if event has available capacity (reads the denormalized counters)
+    // Same rule as admission (EventRepository.tryReserveSeat): pending and confirmed registrations
+    // hold a seat, and a capacity of null or 0 means unlimited
     @Transactional
     public boolean hasAvailableCapacity(Long eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event", eventId));
-        int count = getRegistrationCount(eventId);
-        return event.getCapacity() == null || count < event.getCapacity();
+        return isUnlimited(event) || getActiveCount(event) < event.getCapacity();
     }
 
-    // Get remaining spots for an event
+    // Get remaining spots for an event (reads the denormalized counters)
     @Transactional
     public int getRemainingSpots(Long eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event", eventId));
-        int count = getRegistrationCount(eventId);
-        return event.getCapacity() != null ? event.getCapacity() - count : Integer.MAX_VALUE;
+        return isUnlimited(event) ? Integer.MAX_VALUE : remainingSpots(event.getCapacity(), getActiveCount(event));
     }
 
     // Count total events
@@ -162,17 +193,52 @@ public class EventService {
         return eventRepository.count();
     }
 
-    // Helper method to get registration count for an event
-    private int getRegistrationCount(Long eventId) {
-        Long count = em.createQuery(
-                        "SELECT COUNT(r) FROM Registration r WHERE r.event.id = :eventId", Long.class)
-                .setParameter("eventId", eventId)
-                .getSingleResult();
-        return count != null ? count.intValue() : 0;
+    // Raising (or removing) the capacity frees seats for waitlisted registrations
+    private void promoteIfCapacityGrew(Long eventId, Integer previousCapacity, Integer newCapacity) {
+        boolean wasLimited = previousCapacity != null && previousCapacity > 0;
+        boolean unlimited = newCapacity == null || newCapacity <= 0;
+        if (wasLimited && (unlimited || newCapacity > previousCapacity)) {
+            eventRepository.promoteWaitlisted(eventId);
+        }
+    }
+
+    // Helper method to get registration count for an event from its counter column
+    private int getRegistrationCount(Event event) {
+        Integer count = event.getRegistrationCount();
+        return count != null ? count : 0;
     }
 
-    // Helper method to create EventDTO with proper registration count
+    // Helper method to get the number of seat-holding (pending + confirmed) registrations
+    private int getActiveCount(Event event) {
+        int confirmed = event.getConfirmedCount() != null ? event.getConfirmedCount() : 0;
+        int pending = event.getPendingCount() != null ? event.getPendingCount() : 0;
+        return confirmed + pending;
+    }
+
+    // A capacity of null or 0 means unlimited
+    private static boolean isUnlimited(Event event) {
+        return event.getCapacity() == null || event.getCapacity() == 0;
+    }
+
+    // Seats left; never negative, e.g. after the capacity was lowered below the active registrations
+    private static int remainingSpots(int capacity, int activeCount) {
+        return Math.max(capacity - activeCount, 0);
+    }
+
+    // Helper method to create EventDTO with proper registration counts
     private EventDTO toEventDTOWithCount(Event event) {
+        return toEventDTO(event, getRegistrationCount(event), getActiveCount(event));
+    }
+
+    // Helper method to create EventDTO from a summary projection (no extra queries)
+    private EventDTO toEventDTO(EventSummary summary) {
+        return toEventDTO(summary.getEvent(), (int) summary.getTotalCount(),
+                (int) (summary.getConfirmedCount() + summary.getPendingCount()));
+    }
+
+    // Helper method to create EventDTO with known registration counts;
+    // remainingSpots is null when the capacity is unlimited
+    private EventDTO toEventDTO(Event event, int count, int activeCount) {
         EventDTO dto = new EventDTO();
         dto.setId(event.getId());
         dto.setName(event.getName());
@@ -186,12 +252,9 @@ public class EventService {
         dto.setActive(event.getActive());
         dto.setCreatedAt(event.getCreatedAt());
         dto.setUpdatedAt(event.getUpdatedAt());
-
-        // Get registration count with separate query (avoids lazy loading issues)
-        int count = getRegistrationCount(event.getId());
         dto.setRegistrationCount(count);
-        dto.setRemainingSpots(event.getCapacity() != null ? event.getCapacity() - count : null);
+        dto.setRemainingSpots(isUnlimited(event) ? null : remainingSpots(event.getCapacity(), activeCount));
 
         return dto;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,331 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.DataVersion;
+import com.eventmanager.dto.ExportJobDTO;
+import com.eventmanager.dto.ExportType;
+import com.eventmanager.exception.ExportQueueFullException;
+import com.eventmanager.exception.ResourceNotFoundException;
+import com.eventmanager.repository.EventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.Singleton;
+import jakarta.enterprise.concurrent.ManagedExecutorDefinition;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.inject.Inject;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs spreadsheet exports in the background and keeps their results on local disk.
+ *
+ * A job is submitted for an event and export type, polled until it is COMPLETED and its file
+ * is then downloaded. Files are named after a hash of (event, export type, event data version),
+ * so an export of unchanged data is answered from disk without running again, and concurrent
+ * requests for the same export share one running job. Registration, participant, patrol and
+ * allergen changes bump the event's data version, so the next request builds a fresh file.
+ *
+ * Jobs run on their own managed executor with at most MAX_CONCURRENT_EXPORTS at a time.
+ * Job records live in memory only; files survive restarts and are removed after FILE_RETENTION.
+ */
+@ManagedExecutorDefinition(name = ExportJobService.EXECUTOR, maxAsync = ExportJobService.MAX_CONCURRENT_EXPORTS)
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class ExportJobService {
+
+    private static final Logger LOGGER = Logger.getLogger(ExportJobService.class.getName());
+
+    static final String EXECUTOR = "java:app/concurrent/ExportExecutor";
+    static final int MAX_CONCURRENT_EXPORTS = 2;
+    static final int MAX_ACTIVE_JOBS = 20;
+    static final Duration JOB_RETENTION = Duration.ofHours(1);
+    static final Duration FILE_RETENTION = Duration.ofDays(1);
+
+    @Resource(lookup = EXECUTOR)
+    private ManagedExecutorService executor;
+
+    @Inject
+    private EventRepository eventRepository;
+
+    @Inject
+    private RegistrationService registrationService;
+
+    @Inject
+    private AllergyReportService allergyReportService;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    // Queued or running jobs by cache key, so identical requests share one job
+    private final Map<String, Job> activeJobs = new ConcurrentHashMap<>();
+
+    private Path cacheDirectory;
+
+    @PostConstruct
+    void init() {
+        String dataDir = System.getProperty("jboss.server.data.dir", System.getProperty("java.io.tmpdir"));
+        setCacheDirectory(Path.of(dataDir, "eventmanager-exports"));
+    }
+
+    void setCacheDirectory(Path directory) {
+        try {
+            cacheDirectory = Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create export cache directory " + directory, e);
+        }
+    }
+
+    /**
+     * Start an export of the event's current data, or join an identical one that is already running.
+     * If the file for the current data version is cached the returned job is already COMPLETED.
+     * Throws ExportQueueFullException when MAX_ACTIVE_JOBS exports are waiting or running.
+     */
+    public ExportJobDTO submit(Long eventId, ExportType type) {
+        DataVersion version = eventRepository.findVersion(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", eventId));
+        String key = cacheKey(eventId, type, version);
+        Path file = cacheDirectory.resolve(key + "." + type.getExtension());
+
+        if (touch(file)) {
+            Job job = new Job(eventId, type, key);
+            job.complete(file);
+            jobs.put(job.id, job);
+            return toDTO(job);
+        }
+
+        synchronized (activeJobs) {
+            Job running = activeJobs.get(key);
+            if (running != null) {
+                return toDTO(running);
+            }
+            if (activeJobs.size() >= MAX_ACTIVE_JOBS) {
+                throw new ExportQueueFullException("Too many exports in progress, please try again shortly");
+            }
+
+            Job job = new Job(eventId, type, key);
+            jobs.put(job.id, job);
+            activeJobs.put(key, job);
+            try {
+                executor.execute(() -> run(job, file));
+            } catch (RejectedExecutionException e) {
+                activeJobs.remove(key);
+                jobs.remove(job.id);
+                throw new ExportQueueFullException("Export could not be started, please try again shortly");
+            }
+            return toDTO(job);
+        }
+    }
+
+    // Get a job's current state, empty if unknown, expired or of another event
+    public Optional<ExportJobDTO> getJob(Long eventId, String jobId) {
+        return findJob(eventId, jobId).map(this::toDTO);
+    }
+
+    // Get the result file of a completed job, empty if the job is not completed or its file was purged
+    public Optional<Path> getFile(Long eventId, String jobId) {
+        return findJob(eventId, jobId)
+                .map(job -> job.file)
+                .filter(Files::exists);
+    }
+
+    // Drop finished job records after JOB_RETENTION and cached files not requested for FILE_RETENTION
+    @Schedule(hour = "*", minute = "*/10", persistent = false)
+    public void purgeExpired() {
+        Instant jobCutoff = Instant.now().minus(JOB_RETENTION);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(jobCutoff));
+
+        Instant fileCutoff = Instant.now().minus(FILE_RETENTION);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheDirectory)) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(fileCutoff)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not purge export cache " + cacheDirectory, e);
+        }
+    }
+
+    // Produce the export into a temp file and move it into place under its cache key
+    void run(Job job, Path file) {
+        job.state = ExportJobDTO.State.RUNNING;
+        Path partial = null;
+        try {
+            partial = Files.createTempFile(cacheDirectory, job.key, ".part");
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                write(job.eventId, job.type, output);
+            }
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (isCurrentVersion(job)) {
+                deleteOtherVersions(job.eventId, job.type, file);
+            }
+            job.complete(file);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Export " + job.type + " for event " + job.eventId + " failed", e);
+            deleteQuietly(partial);
+            job.fail(e instanceof ResourceNotFoundException ? e.getMessage() : "Export could not be created");
+        } finally {
+            activeJobs.remove(job.key);
+        }
+    }
+
+    private void write(Long eventId, ExportType type, OutputStream output) throws IOException {
+        switch (type) {
+            case REGISTRATIONS_XLSX -> {
+                String eventName = registrationService.findEventName(eventId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Event", eventId));
+                registrationService.writeExcel(eventId, eventName, output);
+            }
+            case REGISTRATIONS_CSV -> {
+                if (registrationService.findEventName(eventId).isEmpty()) {
+                    throw new ResourceNotFoundException("Event", eventId);
+                }
+                registrationService.writeCsv(eventId, output);
+            }
+            case ALLERGY_REPORT_XLSX -> renderAllergyReport(eventId, "xlsx", output);
+            case ALLERGY_REPORT_CSV -> renderAllergyReport(eventId, "csv", output);
+        }
+    }
+
+    private void renderAllergyReport(Long eventId, String format, OutputStream output) throws IOException {
+        AllergyReportRenderer renderer = allergyReportService.findRenderer(format)
+                .orElseThrow(() -> new IllegalStateException("No allergy report renderer for " + format));
+        allergyReportService.render(eventId, renderer, output);
+    }
+
+    // Whether the job's data version is still the event's current one. A job for an older version
+    // can finish after one for a newer version; its cleanup would delete the newer file, so it
+    // leaves its own outdated file to purgeExpired instead
+    private boolean isCurrentVersion(Job job) {
+        return eventRepository.findVersion(job.eventId)
+                .map(version -> cacheKey(job.eventId, job.type, version).equals(job.key))
+                .orElse(false);
+    }
+
+    // Files of the same event and type built from older data versions are no longer served
+    private void deleteOtherVersions(Long eventId, ExportType type, Path current) throws IOException {
+        String glob = filePrefix(eventId, type) + "*." + type.getExtension();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheDirectory, glob)) {
+            for (Path file : files) {
+                if (!file.equals(current)) {
+                    deleteQuietly(file);
+                }
+            }
+        }
+    }
+
+    // Mark a cached file as used so purgeExpired keeps it; false if it does not exist
+    private boolean touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Could not delete " + file, e);
+        }
+    }
+
+    private Optional<Job> findJob(Long eventId, String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null || !job.eventId.equals(eventId)) {
+            return Optional.empty();
+        }
+        return Optional.of(job);
+    }
+
+    // e<eventId>-<type>-<hash of the data version>
+    static String cacheKey(Long eventId, ExportType type, DataVersion version) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(version.getTag().getBytes(StandardCharsets.UTF_8));
+            return filePrefix(eventId, type) + HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String filePrefix(Long eventId, ExportType type) {
+        return "e" + eventId + "-" + type.name().toLowerCase() + "-";
+    }
+
+    private ExportJobDTO toDTO(Job job) {
+        Long size = null;
+        if (job.state == ExportJobDTO.State.COMPLETED) {
+            try {
+                size = Files.size(job.file);
+            } catch (IOException e) {
+                // Purged since completion; the download will report it as gone
+            }
+        }
+        return new ExportJobDTO(job.id, job.eventId, job.type, job.state, toLocalDateTime(job.createdAt),
+                toLocalDateTime(job.finishedAt), size, job.error);
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return instant != null ? LocalDateTime.ofInstant(instant, ZoneId.systemDefault()) : null;
+    }
+
+    // An export request and, once finished, its result file or error
+    static class Job {
+        final String id = UUID.randomUUID().toString();
+        final Long eventId;
+        final ExportType type;
+        final String key;
+        final Instant createdAt = Instant.now();
+        volatile ExportJobDTO.State state = ExportJobDTO.State.QUEUED;
+        volatile Path file;
+        volatile String error;
+        volatile Instant finishedAt;
+
+        Job(Long eventId, ExportType type, String key) {
+            this.eventId = eventId;
+            this.type = type;
+            this.key = key;
+        }
+
+        void complete(Path result) {
+            file = result;
+            finishedAt = Instant.now();
+            state = ExportJobDTO.State.COMPLETED;
+        }
+
+        void fail(String message) {
+            error = message;
+            finishedAt = Instant.now();
+            state = ExportJobDTO.State.FAILED;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.eventmanager.service;
 
+import com.eventmanager.dto.DataVersion;
 import com.eventmanager.dto.FormFieldDTO;
 import com.eventmanager.dto.FormFieldDTO.FieldOptionDTO;
 import com.eventmanager.entity.Event;
@@ -34,6 +35,11 @@ public class FormFieldService {
                 .collect(Collectors.toList());
     }
 
+    // Get the data version of an event's form fields (for conditional GET)
+    public DataVersion getFieldsVersion(Long eventId) {
+        return formFieldRepository.findVersionByEventId(eventId);
+    }
+
     // Get a single field by ID
     public FormFieldDTO getFieldById(Long id) {
         FormField field = formFieldRepository.findById(id)
@@ -0,0 +1,34 @@
+package com.eventmanager.service;
+
+import java.util.Map;
+
+/**
+ * CDI event fired when a participant's allergens were changed.
+ * Carries the new allergens (id -> name) and the registration versions the change gave
+ * the participant's events, read inside the changing transaction.
+ */
+public final class ParticipantAllergensChanged {
+
+    private final Long participantId;
+    private final Map<Long, String> allergens;
+    private final Map<Long, Long> registrationVersions;
+
+    public ParticipantAllergensChanged(Long participantId, Map<Long, String> allergens,
+                                       Map<Long, Long> registrationVersions) {
+        this.participantId = participantId;
+        this.allergens = Map.copyOf(allergens);
+        this.registrationVersions = Map.copyOf(registrationVersions);
+    }
+
+    public Long getParticipantId() {
+        return participantId;
+    }
+
+    public Map<Long, String> getAllergens() {
+        return allergens;
+    }
+
+    public Map<Long, Long> getRegistrationVersions() {
+        return registrationVersions;
+    }
+}
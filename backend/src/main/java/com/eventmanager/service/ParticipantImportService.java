@@ -0,0 +1,304 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.ParticipantImportResultDTO;
+import com.eventmanager.dto.ParticipantImportResultDTO.RowError;
+import com.eventmanager.entity.Participant;
+import com.eventmanager.exception.ResourceNotFoundException;
+import com.eventmanager.repository.AllergenRepository;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.ParticipantRepository;
+import com.eventmanager.repository.PatrolRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Imports participants from an uploaded CSV or XLSX file.
+ * The file is read row by row; valid rows are inserted in batches and invalid rows
+ * are reported with their row number, so memory use stays flat for large files.
+ */
+@ApplicationScoped
+public class ParticipantImportService {
+
+    // Supported upload formats
+    public enum Format {
+        CSV,
+        XLSX
+    }
+
+    // Rows inserted per JDBC batch
+    private static final int CHUNK_SIZE = 500;
+
+    // Row errors listed in the result; further errors are only counted
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    // Lookup value for a name shared by several patrols (or allergens)
+    private static final Long AMBIGUOUS = -1L;
+
+    private static final DateTimeFormatter COMPACT_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    // Importable columns and the header names (Swedish and English) they are recognised by
+    private enum Column {
+        FIRST_NAME(Participant::setFirstName, "firstname", "förnamn"),
+        LAST_NAME(Participant::setLastName, "lastname", "efternamn"),
+        EMAIL(Participant::setEmail, "email", "epost", "mail"),
+        PHONE(Participant::setPhone, "phone", "mobil", "telefon", "mobile"),
+        BIRTH_DATE(null, "birthdate", "födelsedatum"),
+        PERSONAL_NUMBER(Participant::setPersonalNumber, "personalnumber", "personnummer"),
+        STREET_ADDRESS(Participant::setStreetAddress, "streetaddress", "address", "adress", "gatuadress"),
+        POSTAL_CODE(Participant::setPostalCode, "postalcode", "postnummer", "zip"),
+        CITY(Participant::setCity, "city", "ort", "postort"),
+        GUARDIAN_NAME(Participant::setGuardianName, "guardianname", "målsman", "vårdnadshavare"),
+        GUARDIAN_EMAIL(Participant::setGuardianEmail, "guardianemail", "målsmanepost", "vårdnadshavareepost"),
+        GUARDIAN_PHONE(Participant::setGuardianPhone, "guardianphone", "målsmanmobil", "målsmantelefon",
+                "vårdnadshavaretelefon"),
+        PATROL(null, "patrol", "patrull", "kårpatrull"),
+        ALLERGENS(null, "allergens", "allergies", "allergier", "allergener");
+
+        private final BiConsumer<Participant, String> setter;
+        private final String[] aliases;
+
+        Column(BiConsumer<Participant, String> setter, String... aliases) {
+            this.setter = setter;
+            this.aliases = aliases;
+        }
+    }
+
+    @Inject
+    private ParticipantRepository participantRepository;
+
+    @Inject
+    private EventRepository eventRepository;
+
+    @Inject
+    private PatrolRepository patrolRepository;
+
+    @Inject
+    private AllergenRepository allergenRepository;
+
+    @Inject
+    private Validator validator;
+
+    /**
+     * Import participants for an event from a file whose first row holds the column headers.
+     * Patrol names are looked up among the event's patrols and allergen names among the global
+     * allergens and the event's own. Rows without a patrol column value get the default patrol, if one is given.
+     */
+    @Transactional
+    public ParticipantImportResultDTO importParticipants(InputStream input, Format format, Long eventId,
+                                                         Long defaultPatrolId) throws IOException {
+        if (eventId == null) {
+            throw new IllegalArgumentException("An event is required for an import");
+        }
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event", eventId);
+        }
+
+        List<Object[]> patrols = patrolRepository.findIdsAndNames(eventId);
+        if (defaultPatrolId != null
+                && patrols.stream().noneMatch(row -> defaultPatrolId.equals(((Number) row[0]).longValue()))) {
+            if (!patrolRepository.existsById(defaultPatrolId)) {
+                throw new ResourceNotFoundException("Patrol", defaultPatrolId);
+            }
+            throw new IllegalArgumentException("Patrol " + defaultPatrolId + " does not belong to event " + eventId);
+        }
+
+        Import run = new Import(defaultPatrolId, lookup(patrols), lookup(allergenRepository.findIdsAndNames(eventId)));
+        if (format == Format.XLSX) {
+            SpreadsheetRowReader.readXlsx(input, run::row);
+        } else {
+            SpreadsheetRowReader.readCsv(input, run::row);
+        }
+        return run.finish();
+    }
+
+    // Case-insensitive name -> id table; names used more than once map to AMBIGUOUS
+    private static Map<String, Long> lookup(List<Object[]> idsAndNames) {
+        Map<String, Long> byName = new HashMap<>();
+        for (Object[] row : idsAndNames) {
+            byName.merge(normalize((String) row[1]), ((Number) row[0]).longValue(), (a, b) -> AMBIGUOUS);
+        }
+        return byName;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Header cell -> column key: lower case letters and digits only ("Kår/Patrull" -> "kårpatrull")
+    private static String headerKey(String header) {
+        StringBuilder key = new StringBuilder();
+        for (char c : header.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (Character.isLetterOrDigit(c)) {
+                key.append(c);
+            }
+        }
+        return key.toString();
+    }
+
+    // State of one import: column layout, current chunk and the result so far
+    private class Import {
+
+        private final Long defaultPatrolId;
+        private final Map<String, Long> patrolIds;
+        private final Map<String, Long> allergenIds;
+        private final ParticipantImportResultDTO result = new ParticipantImportResultDTO();
+        private final List<Participant> chunk = new ArrayList<>(CHUNK_SIZE);
+        private Map<Column, Integer> columns;
+
+        Import(Long defaultPatrolId, Map<String, Long> patrolIds, Map<String, Long> allergenIds) {
+            this.defaultPatrolId = defaultPatrolId;
+            this.patrolIds = patrolIds;
+            this.allergenIds = allergenIds;
+        }
+
+        void row(int rowNumber, List<String> cells) {
+            if (columns == null) {
+                columns = readHeader(cells);
+                return;
+            }
+            if (cells.stream().allMatch(String::isBlank)) {
+                return;
+            }
+
+            result.setRowsRead(result.getRowsRead() + 1);
+            List<String> errors = new ArrayList<>();
+            Participant participant = toParticipant(cells, errors);
+            if (!errors.isEmpty()) {
+                reject(rowNumber, errors);
+                return;
+            }
+
+            chunk.add(participant);
+            if (chunk.size() == CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        ParticipantImportResultDTO finish() {
+            if (columns == null) {
+                throw new IllegalArgumentException("The file is empty");
+            }
+            flush();
+            return result;
+        }
+
+        private Map<Column, Integer> readHeader(List<String> cells) {
+            Map<Column, Integer> found = new EnumMap<>(Column.class);
+            for (int i = 0; i < cells.size(); i++) {
+                String key = headerKey(cells.get(i));
+                for (Column column : Column.values()) {
+                    if (!found.containsKey(column) && List.of(column.aliases).contains(key)) {
+                        found.put(column, i);
+                    }
+                }
+            }
+            if (!found.containsKey(Column.FIRST_NAME) || !found.containsKey(Column.LAST_NAME)) {
+                throw new IllegalArgumentException("The first row must name the columns, "
+                        + "including first name (Förnamn) and last name (Efternamn)");
+            }
+            return found;
+        }
+
+        private String cell(List<String> cells, Column column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= cells.size()) {
+                return null;
+            }
+            String value = cells.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private Participant toParticipant(List<String> cells, List<String> errors) {
+            Participant participant = new Participant();
+            for (Column column : columns.keySet()) {
+                if (column.setter != null) {
+                    column.setter.accept(participant, cell(cells, column));
+                }
+            }
+
+            String birthDate = cell(cells, Column.BIRTH_DATE);
+            if (birthDate != null) {
+                try {
+                    participant.setBirthDate(birthDate.length() == 8
+                            ? LocalDate.parse(birthDate, COMPACT_DATE)
+                            : LocalDate.parse(birthDate));
+                } catch (DateTimeParseException e) {
+                    errors.add("birthDate: '" + birthDate + "' is not a date (yyyy-MM-dd)");
+                }
+            }
+
+            String patrol = cell(cells, Column.PATROL);
+            Long patrolId = patrol != null ? resolve(patrolIds, patrol, "patrol", errors) : defaultPatrolId;
+            if (patrolId != null) {
+                participant.setPatrol(patrolRepository.getReference(patrolId));
+            }
+
+            String allergens = cell(cells, Column.ALLERGENS);
+            if (allergens != null) {
+                for (String name : allergens.split("[;,|]")) {
+                    if (!name.isBlank()) {
+                        Long allergenId = resolve(allergenIds, name, "allergen", errors);
+                        if (allergenId != null) {
+                            participant.getAllergens().add(allergenRepository.getReference(allergenId));
+                        }
+                    }
+                }
+            }
+
+            Set<ConstraintViolation<Participant>> violations = validator.validate(participant);
+            for (ConstraintViolation<Participant> violation : violations) {
+                errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+            return participant;
+        }
+
+        // Look a patrol or allergen up by name, recording an error when it is unknown or ambiguous
+        private Long resolve(Map<String, Long> ids, String name, String kind, List<String> errors) {
+            Long id = ids.get(normalize(name));
+            if (id == null) {
+                errors.add(kind + ": unknown " + kind + " '" + name.trim() + "'");
+                return null;
+            }
+            if (AMBIGUOUS.equals(id)) {
+                errors.add(kind + ": more than one " + kind + " is named '" + name.trim() + "'");
+                return null;
+            }
+            return id;
+        }
+
+        private void reject(int rowNumber, List<String> errors) {
+            result.setFailed(result.getFailed() + 1);
+            if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+                result.getErrors().add(new RowError(rowNumber, errors));
+            } else {
+                result.setErrorsTruncated(true);
+            }
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            participantRepository.insertBatch(chunk);
+            result.setImported(result.getImported() + chunk.size());
+            chunk.clear();
+        }
+    }
+}
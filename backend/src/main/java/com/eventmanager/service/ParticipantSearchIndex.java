@@ -0,0 +1,348 @@
+package com.eventmanager.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory search index over participant names, emails and personal numbers.
+ *
+ * Values are folded (lower case, diacritics removed: "Åsa Östberg" is found by "asa ostberg")
+ * and split into words. Words are kept in a sorted map for prefix lookups and their trigrams
+ * in posting sets for substring lookups, so a query never scans all participants.
+ * Every query word must match; hits are ranked by how well the words match
+ * (exact word, word prefix, substring) with names weighing more than email and personal number.
+ */
+final class ParticipantSearchIndex {
+
+    // Match levels and field weights; a query word scores level * weight of its best match
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int SUBSTRING = 1;
+    private static final int NAME_WEIGHT = 2;
+    private static final int OTHER_WEIGHT = 1;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[\\s,;]+");
+    private static final Pattern NAME_SEPARATORS = Pattern.compile("[\\s\\-']+");
+    private static final Pattern EMAIL_SEPARATORS = Pattern.compile("[@._+\\-]+");
+    private static final Pattern PERSONAL_NUMBER = Pattern.compile("[0-9][0-9\\-+ ]*");
+
+    // Ranking order: score descending, then name, then id
+    static final Comparator<Hit> RANKING = Comparator.comparingInt((Hit hit) -> hit.score).reversed()
+            .thenComparing(hit -> hit.sortKey)
+            .thenComparingLong(hit -> hit.id);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final NavigableMap<String, Set<Long>> words = new TreeMap<>();
+    private final Map<String, Set<Long>> trigrams = new HashMap<>();
+    private boolean loaded;
+
+    // A participant's searchable values
+    static final class Entry {
+        final Long id;
+        final String firstName;
+        final String lastName;
+        final String email;
+        final String personalNumber;
+
+        Entry(Long id, String firstName, String lastName, String email, String personalNumber) {
+            this.id = id;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.email = email;
+            this.personalNumber = personalNumber;
+        }
+    }
+
+    // A ranked search result
+    static final class Hit {
+        final Long id;
+        final int score;
+        final String sortKey;
+
+        Hit(Long id, int score, String sortKey) {
+            this.id = id;
+            this.score = score;
+            this.sortKey = sortKey;
+        }
+    }
+
+    // Folded words of one participant
+    private static final class Document {
+        final String sortKey;
+        final List<String> nameWords;
+        final List<String> otherWords;
+
+        Document(String sortKey, List<String> nameWords, List<String> otherWords) {
+            this.sortKey = sortKey;
+            this.nameWords = nameWords;
+            this.otherWords = otherWords;
+        }
+    }
+
+    boolean isLoaded() {
+        lock.readLock().lock();
+        try {
+            return loaded;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Fill the index, unless it already is; the loader runs under the write lock, so changes
+     * committed while it reads are applied (by put/remove) after it, never lost
+     */
+    void loadIfNeeded(Iterable<Entry> loader) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            for (Entry entry : loader) {
+                add(entry);
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Add or replace a participant; ignored until the index is loaded, as the load reads it anyway
+    void put(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                removeDocument(entry.id);
+                add(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * All participants matching every word of the query, in RANKING order
+     */
+    List<Hit> search(String query) {
+        List<String> terms = queryTerms(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> scores = null;
+            for (String term : terms) {
+                Map<Long, Integer> termScores = new HashMap<>();
+                for (Long id : candidates(term)) {
+                    if (scores != null && !scores.containsKey(id)) {
+                        continue;
+                    }
+                    int score = score(documents.get(id), term);
+                    if (score > 0) {
+                        termScores.put(id, score + (scores != null ? scores.get(id) : 0));
+                    }
+                }
+                scores = termScores;
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(scores.size());
+            scores.forEach((id, score) -> hits.add(new Hit(id, score, documents.get(id).sortKey)));
+            hits.sort(RANKING);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower case without diacritics: "Åsa Östberg-Ek" -> "asa ostberg-ek"
+     */
+    static String fold(String value) {
+        if (value == null) {
+            return "";
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(value.toLowerCase(Locale.ROOT), Normalizer.Form.NFD))
+                .replaceAll("");
+        return folded.replace("æ", "ae").replace("ø", "o").replace("ß", "ss").trim();
+    }
+
+    // Participants possibly containing the term: prefix lookup for short terms, trigram intersection otherwise
+    private Set<Long> candidates(String term) {
+        if (term.length() < 3) {
+            Set<Long> ids = new HashSet<>();
+            for (Set<Long> posting : words.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                ids.addAll(posting);
+            }
+            return ids;
+        }
+
+        List<Set<Long>> postings = new ArrayList<>();
+        for (String trigram : trigramsOf(term)) {
+            Set<Long> posting = trigrams.get(trigram);
+            if (posting == null) {
+                return Set.of();
+            }
+            postings.add(posting);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+        Set<Long> ids = new HashSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !ids.isEmpty(); i++) {
+            ids.retainAll(postings.get(i));
+        }
+        return ids;
+    }
+
+    private static int score(Document document, String term) {
+        return Math.max(bestMatch(document.nameWords, term) * NAME_WEIGHT,
+                bestMatch(document.otherWords, term) * OTHER_WEIGHT);
+    }
+
+    private static int bestMatch(List<String> words, String term) {
+        int best = 0;
+        for (String word : words) {
+            if (word.equals(term)) {
+                return EXACT;
+            }
+            if (word.startsWith(term)) {
+                best = PREFIX;
+            } else if (best == 0 && word.contains(term)) {
+                best = SUBSTRING;
+            }
+        }
+        return best;
+    }
+
+    private void add(Entry entry) {
+        List<String> nameWords = new ArrayList<>();
+        splitInto(nameWords, fold(entry.firstName), NAME_SEPARATORS);
+        splitInto(nameWords, fold(entry.lastName), NAME_SEPARATORS);
+
+        List<String> otherWords = new ArrayList<>();
+        String email = fold(entry.email);
+        if (!email.isEmpty()) {
+            otherWords.add(email);
+            splitInto(otherWords, email, EMAIL_SEPARATORS);
+        }
+        String personalNumber = digits(entry.personalNumber);
+        if (!personalNumber.isEmpty()) {
+            otherWords.add(personalNumber);
+        }
+
+        String sortKey = fold(entry.lastName) + " " + fold(entry.firstName);
+        documents.put(entry.id, new Document(sortKey, nameWords, otherWords));
+        for (String word : allWords(nameWords, otherWords)) {
+            words.computeIfAbsent(word, w -> new HashSet<>()).add(entry.id);
+            for (String trigram : trigramsOf(word)) {
+                trigrams.computeIfAbsent(trigram, t -> new HashSet<>()).add(entry.id);
+            }
+        }
+    }
+
+    private void removeDocument(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String word : allWords(document.nameWords, document.otherWords)) {
+            removePosting(words, word, id);
+            for (String trigram : trigramsOf(word)) {
+                removePosting(trigrams, trigram, id);
+            }
+        }
+    }
+
+    private static void removePosting(Map<String, Set<Long>> postings, String key, Long id) {
+        Set<Long> posting = postings.get(key);
+        if (posting != null && posting.remove(id) && posting.isEmpty()) {
+            postings.remove(key);
+        }
+    }
+
+    private static Set<String> allWords(List<String> nameWords, List<String> otherWords) {
+        Set<String> all = new HashSet<>(nameWords);
+        all.addAll(otherWords);
+        return all;
+    }
+
+    private static Set<String> trigramsOf(String word) {
+        if (word.length() < 3) {
+            return Collections.emptySet();
+        }
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= word.length(); i++) {
+            result.add(word.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    // Query words, folded; personal numbers are matched on their digits ("20100515-1234")
+    private static List<String> queryTerms(String query) {
+        List<String> terms = new ArrayList<>();
+        for (String word : WORD_SEPARATORS.split(fold(query))) {
+            if (PERSONAL_NUMBER.matcher(word).matches()) {
+                addTerm(terms, digits(word));
+            } else {
+                // Split like names, so "Östberg-Ek" finds both name parts
+                for (String part : NAME_SEPARATORS.split(word)) {
+                    addTerm(terms, part);
+                }
+            }
+        }
+        return terms;
+    }
+
+    private static void addTerm(List<String> terms, String term) {
+        if (!term.isEmpty() && !terms.contains(term)) {
+            terms.add(term);
+        }
+    }
+
+    private static void splitInto(List<String> target, String value, Pattern separators) {
+        for (String word : separators.split(value)) {
+            if (!word.isEmpty()) {
+                target.add(word);
+            }
+        }
+    }
+
+    private static String digits(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+}
@@ -0,0 +1,106 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.PageCursor;
+import com.eventmanager.dto.PageDTO;
+import com.eventmanager.dto.ParticipantDTO;
+import com.eventmanager.entity.Participant;
+import com.eventmanager.entity.ParticipantWritten;
+import com.eventmanager.repository.ParticipantRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Participant search by name, email or personal number, answered from an in-memory
+ * ParticipantSearchIndex instead of LIKE '%term%' scans over the participants table.
+ *
+ * The index is loaded on first use and follows participant writes: ParticipantWriteListener
+ * announces every insert, update and delete, and the change is applied once its transaction
+ * commits. Hits are ranked by the index; only the participants on the requested page are loaded.
+ */
+@ApplicationScoped
+public class ParticipantSearchService {
+
+    @Inject
+    private ParticipantRepository participantRepository;
+
+    private final ParticipantSearchIndex index = new ParticipantSearchIndex();
+
+    /**
+     * Search participants, best match first
+     */
+    public List<ParticipantDTO> search(String query) {
+        return load(hits(query));
+    }
+
+    /**
+     * Get one keyset page of search results, best match first; the cursor holds the
+     * rank (score, name, id) of the last hit on the previous page
+     */
+    public PageDTO<ParticipantDTO> searchPage(String query, String cursor, Integer limit) {
+        int pageSize = PageDTO.normalizeLimit(limit);
+        PageCursor after = PageCursor.decode(cursor, 3);
+        List<ParticipantSearchIndex.Hit> hits = hits(query);
+
+        int start = 0;
+        if (after != null) {
+            ParticipantSearchIndex.Hit last = new ParticipantSearchIndex.Hit(after.getLong(2),
+                    after.getLong(0).intValue(), after.getString(1));
+            int position = Collections.binarySearch(hits, last, ParticipantSearchIndex.RANKING);
+            start = position >= 0 ? position + 1 : -position - 1;
+        }
+
+        int end = Math.min(start + pageSize, hits.size());
+        List<ParticipantSearchIndex.Hit> page = hits.subList(Math.min(start, end), end);
+        boolean hasMore = end < hits.size();
+        String nextCursor = hasMore ? cursorOf(page.get(page.size() - 1)) : null;
+        return new PageDTO<>(load(page), pageSize, hasMore, nextCursor);
+    }
+
+    // Apply a committed participant write to the index
+    void onParticipantWritten(@Observes(during = TransactionPhase.AFTER_SUCCESS) ParticipantWritten written) {
+        if (written.isRemoved()) {
+            index.remove(written.getParticipantId());
+        } else {
+            index.put(new ParticipantSearchIndex.Entry(written.getParticipantId(), written.getFirstName(),
+                    written.getLastName(), written.getEmail(), written.getPersonalNumber()));
+        }
+    }
+
+    private List<ParticipantSearchIndex.Hit> hits(String query) {
+        if (!index.isLoaded()) {
+            index.loadIfNeeded(() -> participantRepository.findSearchValues().stream()
+                    .map(row -> new ParticipantSearchIndex.Entry(((Number) row[0]).longValue(), (String) row[1],
+                            (String) row[2], (String) row[3], (String) row[4]))
+                    .iterator());
+        }
+        return index.search(query);
+    }
+
+    // Load the hits' participants in rank order; hits deleted since they were indexed are skipped
+    private List<ParticipantDTO> load(List<ParticipantSearchIndex.Hit> hits) {
+        Map<Long, Participant> participants = participantRepository.findByIds(
+                hits.stream().map(hit -> hit.id).toList()).stream()
+                .collect(Collectors.toMap(Participant::getId, Function.identity()));
+        List<ParticipantDTO> result = new ArrayList<>(hits.size());
+        for (ParticipantSearchIndex.Hit hit : hits) {
+            Participant participant = participants.get(hit.id);
+            if (participant != null) {
+                result.add(new ParticipantDTO(participant));
+            }
+        }
+        return result;
+    }
+
+    private static String cursorOf(ParticipantSearchIndex.Hit hit) {
+        return PageCursor.encode(hit.score, hit.sortKey, hit.id);
+    }
+}
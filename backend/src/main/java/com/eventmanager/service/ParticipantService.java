@@ -1,23 +1,38 @@
 package com.eventmanager.service;
 
+import com.eventmanager.dto.AgeDistributionDTO;
+import com.eventmanager.dto.PageCursor;
+import com.eventmanager.dto.PageDTO;
 import com.eventmanager.dto.ParticipantDTO;
 import com.eventmanager.entity.Allergen;
 import com.eventmanager.entity.Participant;
 import com.eventmanager.entity.Patrol;
 import com.eventmanager.exception.ResourceNotFoundException;
 import com.eventmanager.repository.AllergenRepository;
+import com.eventmanager.repository.EventRepository;
 import com.eventmanager.repository.ParticipantRepository;
 import com.eventmanager.repository.PatrolRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 // Service layer for Participant business logic
 @ApplicationScoped
 public class ParticipantService {
 
+    private static final int ADULT_AGE = 18;
+
+    // Lower age bounds of the distribution brackets: scout age groups, then leaders
+    private static final int[] AGE_BRACKETS = {0, 8, 10, 12, 15, 19, 26};
+
     @Inject
     private ParticipantRepository participantRepository;
 
@@ -27,6 +42,12 @@ public class ParticipantService {
     @Inject
     private AllergenRepository allergenRepository;
 
+    @Inject
+    private EventRepository eventRepository;
+
+    @Inject
+    private Event<ParticipantAllergensChanged> allergensChangedEvent;
+
     // Get all participants as DTOs
     public List<ParticipantDTO> findAll() {
         return participantRepository.findAll().stream()
@@ -34,6 +55,23 @@ public class ParticipantService {
             .toList();
     }
 
+    // Get one keyset page of participants, optionally filtered by patrol, event and/or allergen
+    @Transactional
+    public PageDTO<ParticipantDTO> findPage(String cursor, Integer limit, Long patrolId, Long eventId, Long allergenId) {
+        int pageSize = PageDTO.normalizeLimit(limit);
+        PageCursor after = PageCursor.decode(cursor, 3);
+        List<Participant> rows = participantRepository.findPage(
+            patrolId,
+            eventId,
+            allergenId,
+            after != null ? after.getString(0) : null,
+            after != null ? after.getString(1) : null,
+            after != null ? after.getLong(2) : null,
+            pageSize);
+        return PageDTO.of(rows, pageSize, ParticipantDTO::new,
+            p -> PageCursor.encode(p.getLastName(), p.getFirstName(), p.getId()));
+    }
+
     // Get participant by ID as DTO
     public ParticipantDTO findById(Long id) {
         Participant participant = participantRepository.findByIdWithAllergens(id)
@@ -68,6 +106,75 @@ public class ParticipantService {
             .toList();
     }
 
+    // Get participants who are under 18 today
+    public List<ParticipantDTO> findMinors() {
+        return toDTOs(participantRepository.findByBirthDateRange(null, LocalDate.now().minusYears(ADULT_AGE), null));
+    }
+
+    // Get an event's participants who are under 18 when the event starts
+    public List<ParticipantDTO> findMinorsAtEvent(Long eventId) {
+        LocalDate startDate = getEventStartDate(eventId);
+        return toDTOs(participantRepository.findByBirthDateRange(eventId, startDate.minusYears(ADULT_AGE), null));
+    }
+
+    // Get an event's participants who are under 18 today but turn 18 before the event starts
+    public List<ParticipantDTO> findTurningAdultBeforeEvent(Long eventId) {
+        LocalDate startDate = getEventStartDate(eventId);
+        LocalDate today = LocalDate.now();
+        if (!startDate.isAfter(today)) {
+            return List.of();
+        }
+        return toDTOs(participantRepository.findByBirthDateRange(eventId,
+            today.minusYears(ADULT_AGE), startDate.minusYears(ADULT_AGE)));
+    }
+
+    /**
+     * Get the age distribution of an event's participants on the event's start date, in scout age groups.
+     * Participants are counted per birth date in the database; the counts are then bucketed by comparing
+     * birth dates to each bracket's cut-off date, so no participant is loaded
+     */
+    public AgeDistributionDTO getAgeDistribution(Long eventId) {
+        LocalDate ageDate = getEventStartDate(eventId);
+        Map<LocalDate, Long> countsByBirthDate = participantRepository.countByBirthDate(eventId);
+
+        // Born on or before cutOffs[i] means at least AGE_BRACKETS[i] years old on the age date
+        LocalDate[] cutOffs = new LocalDate[AGE_BRACKETS.length];
+        for (int i = 0; i < AGE_BRACKETS.length; i++) {
+            cutOffs[i] = ageDate.minusYears(AGE_BRACKETS[i]);
+        }
+        LocalDate adultCutOff = ageDate.minusYears(ADULT_AGE);
+
+        long[] bracketCounts = new long[AGE_BRACKETS.length];
+        long total = 0;
+        long minors = 0;
+        long unknown = 0;
+        for (Map.Entry<LocalDate, Long> entry : countsByBirthDate.entrySet()) {
+            LocalDate birthDate = entry.getKey();
+            long count = entry.getValue();
+            total += count;
+            if (birthDate == null) {
+                unknown += count;
+                continue;
+            }
+            if (birthDate.isAfter(adultCutOff)) {
+                minors += count;
+            }
+            // Participants born after the age date are counted in the youngest bracket
+            int bracket = 0;
+            while (bracket + 1 < cutOffs.length && !birthDate.isAfter(cutOffs[bracket + 1])) {
+                bracket++;
+            }
+            bracketCounts[bracket] += count;
+        }
+
+        List<AgeDistributionDTO.AgeBracketDTO> brackets = new ArrayList<>(AGE_BRACKETS.length);
+        for (int i = 0; i < AGE_BRACKETS.length; i++) {
+            Integer maxAge = i + 1 < AGE_BRACKETS.length ? AGE_BRACKETS[i + 1] - 1 : null;
+            brackets.add(new AgeDistributionDTO.AgeBracketDTO(AGE_BRACKETS[i], maxAge, bracketCounts[i]));
+        }
+        return new AgeDistributionDTO(eventId, ageDate, total, minors, unknown, brackets);
+    }
+
     // Create a new participant
     @Transactional
     public ParticipantDTO create(ParticipantDTO participantDTO) {
@@ -102,6 +209,7 @@ public class ParticipantService {
         }
 
         Participant updatedParticipant = participantRepository.update(existingParticipant);
+        eventRepository.touchRegistrationVersionForParticipant(updatedParticipant.getId());
         return new ParticipantDTO(updatedParticipant);
     }
 
@@ -111,58 +219,101 @@ public class ParticipantService {
         if (!participantRepository.existsById(id)) {
             throw new ResourceNotFoundException("Participant", id);
         }
+        List<Long> freedEventIds = eventRepository.findEventIdsWithActiveRegistration(id);
+        eventRepository.releaseRegistrationsOfParticipant(id);
         participantRepository.deleteById(id);
+
+        // Promote only after the participant's own waitlist entries are gone
+        eventRepository.flush();
+        freedEventIds.forEach(eventRepository::promoteWaitlisted);
     }
 
-    // Add allergen to participant
+    // Add allergen to participant; a single insert, unless the participant already has it
     @Transactional
     public ParticipantDTO addAllergen(Long participantId, Long allergenId) {
-        Participant participant = participantRepository.findByIdWithAllergens(participantId)
-            .orElseThrow(() -> new ResourceNotFoundException("Participant", participantId));
-        Allergen allergen = allergenRepository.findById(allergenId)
-            .orElseThrow(() -> new ResourceNotFoundException("Allergen", allergenId));
-
-        participant.addAllergen(allergen);
-        Participant updatedParticipant = participantRepository.update(participant);
-        return new ParticipantDTO(updatedParticipant);
+        if (!allergenRepository.existsById(allergenId)) {
+            throw new ResourceNotFoundException("Allergen", allergenId);
+        }
+        if (!participantRepository.insertAllergen(participantId, allergenId)) {
+            // Unknown participant (404) or allergen already assigned
+            return findById(participantId);
+        }
+        return allergensChanged(participantId);
     }
 
-    // Remove allergen from participant
+    // Remove allergen from participant; a single delete
     @Transactional
     public ParticipantDTO removeAllergen(Long participantId, Long allergenId) {
-        Participant participant = participantRepository.findByIdWithAllergens(participantId)
-            .orElseThrow(() -> new ResourceNotFoundException("Participant", participantId));
-        Allergen allergen = allergenRepository.findById(allergenId)
-            .orElseThrow(() -> new ResourceNotFoundException("Allergen", allergenId));
-
-        participant.removeAllergen(allergen);
-        Participant updatedParticipant = participantRepository.update(participant);
-        return new ParticipantDTO(updatedParticipant);
+        if (participantRepository.deleteAllergen(participantId, allergenId)) {
+            return allergensChanged(participantId);
+        }
+        ParticipantDTO unchanged = findById(participantId);
+        if (!allergenRepository.existsById(allergenId)) {
+            throw new ResourceNotFoundException("Allergen", allergenId);
+        }
+        return unchanged;
     }
 
-    // Set allergens for participant
+    /**
+     * Set the allergens of a participant. Only the difference to the current allergens is written:
+     * added allergens are loaded in one query, and Hibernate flushes one batched insert or delete
+     * per added or removed link instead of rewriting the whole set
+     */
     @Transactional
     public ParticipantDTO setAllergens(Long participantId, Set<Long> allergenIds) {
         Participant participant = participantRepository.findByIdWithAllergens(participantId)
             .orElseThrow(() -> new ResourceNotFoundException("Participant", participantId));
+        Set<Allergen> allergens = participant.getAllergens();
 
-        // Clear existing allergens
-        participant.getAllergens().clear();
+        Set<Long> addedIds = new HashSet<>(allergenIds);
+        for (Allergen allergen : allergens) {
+            addedIds.remove(allergen.getId());
+        }
+        List<Allergen> added = allergenRepository.findByIds(addedIds);
+        if (added.size() < addedIds.size()) {
+            for (Allergen allergen : added) {
+                addedIds.remove(allergen.getId());
+            }
+            throw new ResourceNotFoundException("Allergen", addedIds.iterator().next());
+        }
 
-        // Add new allergens
-        for (Long allergenId : allergenIds) {
-            Allergen allergen = allergenRepository.findById(allergenId)
-                .orElseThrow(() -> new ResourceNotFoundException("Allergen", allergenId));
-            participant.addAllergen(allergen);
+        // The inverse Allergen.participants side is left alone, loading it would read all of the allergen's participants
+        boolean removed = allergens.removeIf(allergen -> !allergenIds.contains(allergen.getId()));
+        allergens.addAll(added);
+        if (removed || !added.isEmpty()) {
+            allergensChanged(participant);
         }
+        return new ParticipantDTO(participant);
+    }
 
-        Participant updatedParticipant = participantRepository.update(participant);
-        return new ParticipantDTO(updatedParticipant);
+    // Load a participant whose allergens were changed with SQL and announce the change
+    private ParticipantDTO allergensChanged(Long participantId) {
+        Participant participant = participantRepository.findByIdWithAllergens(participantId)
+            .orElseThrow(() -> new ResourceNotFoundException("Participant", participantId));
+        allergensChanged(participant);
+        return new ParticipantDTO(participant);
+    }
+
+    // Bump the participant's event versions and let the allergen indexes apply the change once it commits
+    private void allergensChanged(Participant participant) {
+        eventRepository.touchRegistrationVersionForParticipant(participant.getId());
+        Map<Long, String> allergens = new HashMap<>();
+        for (Allergen allergen : participant.getAllergens()) {
+            allergens.put(allergen.getId(), allergen.getName());
+        }
+        allergensChangedEvent.fire(new ParticipantAllergensChanged(participant.getId(), allergens,
+            eventRepository.findRegistrationVersionsForParticipant(participant.getId())));
+    }
+
+    // Start date of an event, the day ages are counted on for event age queries
+    private LocalDate getEventStartDate(Long eventId) {
+        return eventRepository.findById(eventId)
+            .map(event -> event.getStartDate().toLocalDate())
+            .orElseThrow(() -> new ResourceNotFoundException("Event", eventId));
     }
 
-    // Search participants by name
-    public List<ParticipantDTO> searchByName(String searchTerm) {
-        return participantRepository.searchByName(searchTerm).stream()
+    private static List<ParticipantDTO> toDTOs(List<Participant> participants) {
+        return participants.stream()
             .map(ParticipantDTO::new)
             .toList();
     }
@@ -1,6 +1,10 @@
 package com.eventmanager.service;
 
+import com.eventmanager.dto.PageCursor;
+import com.eventmanager.dto.PageDTO;
+import com.eventmanager.dto.ParticipantDTO;
 import com.eventmanager.dto.PatrolDTO;
+import com.eventmanager.dto.PatrolSummary;
 import com.eventmanager.entity.Event;
 import com.eventmanager.entity.Patrol;
 import com.eventmanager.exception.ResourceNotFoundException;
@@ -21,18 +25,35 @@ public class PatrolService {
     @Inject
     private EventRepository eventRepository;
 
+    @Inject
+    private ParticipantService participantService;
+
     // Get all patrols as DTOs
     public List<PatrolDTO> findAll() {
-        return patrolRepository.findAll().stream()
+        return patrolRepository.findAllSummaries().stream()
             .map(PatrolDTO::new)
             .toList();
     }
 
+    // Get one keyset page of patrols, optionally filtered by event
+    @Transactional
+    public PageDTO<PatrolDTO> findPage(String cursor, Integer limit, Long eventId) {
+        int pageSize = PageDTO.normalizeLimit(limit);
+        PageCursor after = PageCursor.decode(cursor, 2);
+        List<PatrolSummary> rows = patrolRepository.findSummaryPage(
+            eventId,
+            after != null ? after.getString(0) : null,
+            after != null ? after.getLong(1) : null,
+            pageSize);
+        return PageDTO.of(rows, pageSize, PatrolDTO::new,
+            p -> PageCursor.encode(p.getPatrol().getName(), p.getPatrol().getId()));
+    }
+
     // Get patrol by ID as DTO
     public PatrolDTO findById(Long id) {
-        Patrol patrol = patrolRepository.findById(id)
+        PatrolSummary summary = patrolRepository.findSummaryById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Patrol", id));
-        return new PatrolDTO(patrol);
+        return new PatrolDTO(summary);
     }
 
     // Get patrol entity by ID (for internal use)
@@ -43,16 +64,17 @@ public class PatrolService {
 
     // Get patrols by event ID
     public List<PatrolDTO> findByEventId(Long eventId) {
-        return patrolRepository.findByEventId(eventId).stream()
+        return patrolRepository.findSummariesByEventId(eventId).stream()
             .map(PatrolDTO::new)
             .toList();
     }
 
-    // Get patrol with participants
-    public PatrolDTO findByIdWithParticipants(Long id) {
-        Patrol patrol = patrolRepository.findByIdWithParticipants(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Patrol", id));
-        return new PatrolDTO(patrol);
+    // Get one keyset page of a patrol's participants
+    public PageDTO<ParticipantDTO> findParticipants(Long id, String cursor, Integer limit) {
+        if (!patrolRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Patrol", id);
+        }
+        return participantService.findPage(cursor, limit, id, null, null);
     }
 
     // Create a new patrol
@@ -87,7 +109,8 @@ public class PatrolService {
         }
 
         Patrol updatedPatrol = patrolRepository.update(existingPatrol);
-        return new PatrolDTO(updatedPatrol);
+        eventRepository.touchRegistrationVersionForPatrol(updatedPatrol.getId());
+        return findById(updatedPatrol.getId());
     }
 
     // Delete a patrol
@@ -96,12 +119,13 @@ public class PatrolService {
         if (!patrolRepository.existsById(id)) {
             throw new ResourceNotFoundException("Patrol", id);
         }
+        eventRepository.touchRegistrationVersionForPatrol(id);
         patrolRepository.deleteById(id);
     }
 
     // Search patrols by name
     public List<PatrolDTO> searchByName(String searchTerm) {
-        return patrolRepository.searchByName(searchTerm).stream()
+        return patrolRepository.searchSummariesByName(searchTerm).stream()
             .map(PatrolDTO::new)
             .toList();
     }
@@ -0,0 +1,44 @@
+package com.eventmanager.service;
+
+import com.eventmanager.repository.EventRepository;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.Singleton;
+import jakarta.inject.Inject;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Periodically compares the denormalized registration counters on events
+ * with the registrations table and repairs any drift.
+ */
+@Singleton
+public class RegistrationCounterReconciler {
+
+    private static final Logger LOGGER = Logger.getLogger(RegistrationCounterReconciler.class.getName());
+
+    @Inject
+    private EventRepository eventRepository;
+
+    /**
+     * Detect and repair counter drift every 15 minutes
+     */
+    @Schedule(hour = "*", minute = "*/15", persistent = false)
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * Recompute drifted counters, returns number of repaired events
+     */
+    public int reconcile() {
+        List<Long> driftedEventIds = eventRepository.findEventIdsWithCounterDrift();
+        if (driftedEventIds.isEmpty()) {
+            return 0;
+        }
+
+        LOGGER.warning("Registration counter drift detected for events " + driftedEventIds);
+        int repaired = eventRepository.reconcileRegistrationCounters();
+        LOGGER.info("Repaired registration counters for " + repaired + " event(s)");
+        return repaired;
+    }
+}
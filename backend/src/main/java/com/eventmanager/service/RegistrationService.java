@@ -1,24 +1,47 @@
 package com.eventmanager.service;
 
+import com.eventmanager.dto.BulkRegistrationRequest;
+import com.eventmanager.dto.BulkRegistrationResultDTO;
+import com.eventmanager.dto.BulkRegistrationResultDTO.Outcome;
+import com.eventmanager.dto.BulkRegistrationResultDTO.Result;
+import com.eventmanager.dto.DataVersion;
+import com.eventmanager.dto.PageCursor;
+import com.eventmanager.dto.PageDTO;
 import com.eventmanager.dto.RegistrationDTO;
 import com.eventmanager.dto.RegistrationDTO.AllergyInfo;
+import com.eventmanager.entity.RegistrationStatus;
+import com.eventmanager.exception.ResourceNotFoundException;
+import com.eventmanager.repository.EventRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.ejb.Stateless;
+import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
 import jakarta.transaction.Transactional;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.hibernate.jpa.HibernateHints;
 
 /**
  * Service for managing registrations and fetching participant data
@@ -26,17 +49,9 @@ import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 @Stateless
 public class RegistrationService {
 
-    @PersistenceContext(unitName = "eventPU")
-    private EntityManager em;
-
-    /**
-     * Get all registrations for an event with participant details and allergies
-     * Sorted by lastName, firstName
-     */
-    public List<RegistrationDTO> getRegistrationsForEvent(Long eventId) {
-        // Get all registrations with participant info - sorted by lastName, firstName
-        String sql = """
-            SELECT 
+    // Registration rows joined with participant and patrol, mapped by toRegistrationDTO
+    private static final String REGISTRATION_SELECT = """
+            SELECT
                 r.id as reg_id,
                 r.status,
                 r.registration_date,
@@ -59,88 +74,203 @@ public class RegistrationService {
             FROM registrations r
             JOIN participants p ON r.participant_id = p.id
             LEFT JOIN patrols pat ON p.patrol_id = pat.id
+            """;
+
+    // Registrations with their allergies in one ordered pass, one row per allergy (or one row
+    // without allergy). Rows of a participant are adjacent, allergies sorted by severity and name.
+    private static final String ROSTER_SQL = "SELECT reg.*, a.id as allergy_id, a.name as allergy_name, a.severity FROM ("
+            + REGISTRATION_SELECT + """
             WHERE r.event_id = ?
-            ORDER BY p.last_name ASC, p.first_name ASC
+            ) reg
+            LEFT JOIN participant_allergens pa ON pa.participant_id = reg.participant_id
+            LEFT JOIN allergens a ON a.id = pa.allergen_id
+            ORDER BY reg.last_name ASC, reg.first_name ASC, reg.participant_id ASC,
+                     a.severity DESC, a.name
             """;
 
-        Query query = em.createNativeQuery(sql);
+    // Registration ids per IN list in bulk statements
+    private static final int BULK_CHUNK_SIZE = 1000;
+
+    // Rows kept in memory by the Excel export, older rows are flushed to a temp file
+    private static final int EXCEL_ROW_WINDOW = 100;
+
+    // Data rows inspected when estimating Excel column widths
+    private static final int EXCEL_WIDTH_SAMPLE = 200;
+
+    // Widest Excel column, in characters
+    private static final int MAX_COLUMN_CHARS = 60;
+
+    // Rows fetched per round trip when streaming an export
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    // Participant list of an event for the Excel and CSV exports, one column per ROSTER_EXPORT_HEADERS entry
+    private static final String ROSTER_EXPORT_SQL = """
+        SELECT
+            p.last_name,
+            p.first_name,
+            p.street_address,
+            p.postal_code,
+            p.city,
+            pat.name as patrol_name,
+            p.email,
+            p.phone,
+            p.guardian_name
+        FROM registrations r
+        JOIN participants p ON r.participant_id = p.id
+        LEFT JOIN patrols pat ON p.patrol_id = pat.id
+        WHERE r.event_id = ?
+        ORDER BY p.last_name ASC, p.first_name ASC
+        """;
+
+    private static final String[] ROSTER_EXPORT_HEADERS =
+            {"Efternamn", "Förnamn", "Adress", "Postnummer", "Ort", "Kår/Patrull", "E-post", "Mobil", "Målsman"};
+
+    @PersistenceContext(unitName = "eventPU")
+    private EntityManager em;
+
+    @Inject
+    private EventRepository eventRepository;
+
+    /**
+     * Get the data version of an event's registrations (for conditional GET).
+     * Empty if the event does not exist.
+     */
+    public Optional<DataVersion> getRegistrationsVersion(Long eventId) {
+        return eventRepository.findVersion(eventId);
+    }
+
+    /**
+     * Get all registrations for an event with participant details and allergies
+     * Sorted by lastName, firstName
+     */
+    public List<RegistrationDTO> getRegistrationsForEvent(Long eventId) {
+        Query query = em.createNativeQuery(ROSTER_SQL);
         query.setParameter(1, eventId);
 
         @SuppressWarnings("unchecked")
         List<Object[]> results = query.getResultList();
 
-        // Build map of registrations
-        Map<Long, RegistrationDTO> registrationMap = new LinkedHashMap<>();
+        List<RegistrationDTO> registrations = new ArrayList<>();
+        new RosterReader(results.iterator(), eventId).forEachRemaining(registrations::add);
+        return registrations;
+    }
+
+    /**
+     * Write all registrations for an event as a JSON array, same content and order as
+     * getRegistrationsForEvent. Rows are read through a database cursor and each
+     * registration is written once its allergies are read.
+     */
+    public void writeRegistrations(Long eventId, ObjectMapper objectMapper, OutputStream outputStream)
+            throws IOException {
+        Query query = em.createNativeQuery(ROSTER_SQL);
+        query.setParameter(1, eventId);
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+
+        // Buffered by the generator, flushed when its buffer fills rather than per registration
+        ObjectWriter writer = objectMapper.writerFor(RegistrationDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        @SuppressWarnings("unchecked")
+        Stream<Object[]> rows = query.getResultStream();
+        try (rows; JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.writeStartArray();
 
+            RosterReader roster = new RosterReader(rows.iterator(), eventId);
+            while (roster.hasNext()) {
+                writer.writeValue(generator, roster.next());
+            }
+
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Get one keyset page of registrations for an event, sorted by lastName, firstName, participant id.
+     * Optionally filtered by registration status and patrol.
+     */
+    public PageDTO<RegistrationDTO> getRegistrationsPage(Long eventId, RegistrationStatus status, Long patrolId,
+                                                          String cursor, Integer limit) {
+        int pageSize = PageDTO.normalizeLimit(limit);
+        PageCursor after = PageCursor.decode(cursor, 3);
+
+        StringBuilder sql = new StringBuilder(REGISTRATION_SELECT + """
+            WHERE r.event_id = :eventId
+            """);
+        if (status != null) {
+            sql.append(" AND r.status = :status");
+        }
+        if (patrolId != null) {
+            sql.append(" AND p.patrol_id = :patrolId");
+        }
+        if (after != null) {
+            sql.append(" AND (p.last_name > :afterLastName OR (p.last_name = :afterLastName AND")
+               .append(" (p.first_name > :afterFirstName OR (p.first_name = :afterFirstName AND p.id > :afterId))))");
+        }
+        sql.append(" ORDER BY p.last_name ASC, p.first_name ASC, p.id ASC LIMIT :limit");
+
+        Query query = em.createNativeQuery(sql.toString());
+        query.setParameter("eventId", eventId);
+        if (status != null) {
+            query.setParameter("status", status.name());
+        }
+        if (patrolId != null) {
+            query.setParameter("patrolId", patrolId);
+        }
+        if (after != null) {
+            query.setParameter("afterLastName", after.getString(0));
+            query.setParameter("afterFirstName", after.getString(1));
+            query.setParameter("afterId", after.getLong(2));
+        }
+        query.setParameter("limit", pageSize + 1);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> results = query.getResultList();
+
+        List<RegistrationDTO> rows = new ArrayList<>(results.size());
         for (Object[] row : results) {
-            Long regId = ((Number) row[0]).longValue();
-
-            RegistrationDTO dto = new RegistrationDTO();
-            dto.setId(regId);
-            dto.setEventId(eventId);
-            dto.setStatus((String) row[1]);
-            dto.setRegistrationDate(toLocalDateTime(row[2]));
-            dto.setConfirmationDate(toLocalDateTime(row[3]));
-            dto.setNotes((String) row[4]);
-            dto.setParticipantId(((Number) row[5]).longValue());
-            dto.setFirstName((String) row[6]);
-            dto.setLastName((String) row[7]);
-            dto.setEmail((String) row[8]);
-            dto.setPhone((String) row[9]);
-            dto.setBirthDate(row[10] != null ? row[10].toString() : null);
-            dto.setPersonalNumber((String) row[11]);
-            dto.setStreetAddress((String) row[12]);
-            dto.setPostalCode((String) row[13]);
-            dto.setCity((String) row[14]);
-            dto.setGuardianName((String) row[15]);
-            dto.setGuardianEmail((String) row[16]);
-            dto.setGuardianPhone((String) row[17]);
-            dto.setPatrolName((String) row[18]);
-            dto.setAllergies(new ArrayList<>());
-
-            registrationMap.put(dto.getParticipantId(), dto);
+            rows.add(toRegistrationDTO(row, eventId));
         }
 
-        // Get allergies for all participants in this event
-        if (!registrationMap.isEmpty()) {
-            String allergySql = """
-                SELECT 
+        PageDTO<RegistrationDTO> page = PageDTO.of(rows, pageSize, dto -> dto,
+                dto -> PageCursor.encode(dto.getLastName(), dto.getFirstName(), dto.getParticipantId()));
+
+        // Load allergies only for the participants on this page
+        if (!page.getItems().isEmpty()) {
+            Map<Long, RegistrationDTO> byParticipant = new LinkedHashMap<>();
+            for (RegistrationDTO dto : page.getItems()) {
+                byParticipant.put(dto.getParticipantId(), dto);
+            }
+
+            Query allergyQuery = em.createNativeQuery("""
+                SELECT
                     pa.participant_id,
                     a.id as allergy_id,
                     a.name,
                     a.severity
                 FROM participant_allergens pa
                 JOIN allergens a ON pa.allergen_id = a.id
-                WHERE pa.participant_id IN (
-                    SELECT p.id FROM participants p
-                    JOIN registrations r ON r.participant_id = p.id
-                    WHERE r.event_id = ?
-                )
+                WHERE pa.participant_id IN (:participantIds)
                 ORDER BY a.severity DESC, a.name
-                """;
-
-            Query allergyQuery = em.createNativeQuery(allergySql);
-            allergyQuery.setParameter(1, eventId);
+                """);
+            allergyQuery.setParameter("participantIds", byParticipant.keySet());
 
             @SuppressWarnings("unchecked")
             List<Object[]> allergyResults = allergyQuery.getResultList();
 
             for (Object[] row : allergyResults) {
-                Long participantId = ((Number) row[0]).longValue();
-                RegistrationDTO dto = registrationMap.get(participantId);
-
+                RegistrationDTO dto = byParticipant.get(((Number) row[0]).longValue());
                 if (dto != null) {
-                    AllergyInfo allergy = new AllergyInfo(
+                    dto.getAllergies().add(new AllergyInfo(
                             ((Number) row[1]).longValue(),
                             (String) row[2],
                             (String) row[3]
-                    );
-                    dto.getAllergies().add(allergy);
+                    ));
                 }
             }
         }
 
-        return new ArrayList<>(registrationMap.values());
+        return page;
     }
 
     /**
@@ -179,17 +309,25 @@ public class RegistrationService {
             return false;
         }
 
-        // Get participant ID before deleting registration
+        // Get participant ID and status before deleting registration
         Query participantQuery = em.createNativeQuery(
-                "SELECT participant_id FROM registrations WHERE id = ?");
+                "SELECT participant_id, status FROM registrations WHERE id = ?");
         participantQuery.setParameter(1, registrationId);
-        Long participantId = ((Number) participantQuery.getSingleResult()).longValue();
+        Object[] registrationRow = (Object[]) participantQuery.getSingleResult();
+        Long participantId = ((Number) registrationRow[0]).longValue();
+        RegistrationStatus status = RegistrationStatus.valueOf((String) registrationRow[1]);
 
-        // Delete registration
+        // Delete registration and keep the event counters in sync
         Query deleteRegQuery = em.createNativeQuery(
                 "DELETE FROM registrations WHERE id = ?");
         deleteRegQuery.setParameter(1, registrationId);
         deleteRegQuery.executeUpdate();
+        eventRepository.adjustRegistrationCounters(eventId, status, -1);
+
+        // A freed seat goes to the next registration on the waitlist
+        if (status == RegistrationStatus.PENDING || status == RegistrationStatus.CONFIRMED) {
+            eventRepository.promoteWaitlisted(eventId);
+        }
 
         // Check if participant has other registrations
         Query otherRegQuery = em.createNativeQuery(
@@ -220,17 +358,184 @@ public class RegistrationService {
     }
 
     /**
-     * Generate Excel file with participant list
+     * Apply one action to many registrations of an event in a single transaction.
+     * Registrations are selected by id and/or filter and locked with one query per id chunk;
+     * the action runs as one set-based statement per chunk and the event counters are
+     * adjusted with one UPDATE. Every selected (or requested) registration gets an outcome.
+     * Waitlisted registrations are confirmed only while the event has seats left, in the
+     * order they are listed; the rest are rejected.
      */
-    public byte[] generateExcel(Long eventId) throws IOException {
-        List<RegistrationDTO> registrations = getRegistrationsForEvent(eventId);
+    public BulkRegistrationResultDTO applyBulkAction(Long eventId, BulkRegistrationRequest request) {
+        if (!request.hasRegistrationIds() && request.getStatus() == null && request.getPatrolId() == null) {
+            throw new IllegalArgumentException("Either registrationIds or a status/patrolId filter is required");
+        }
+        // Event row first, like signups, so bulk changes and signups queue instead of deadlocking
+        if (!eventRepository.lockForRegistrationChange(eventId)) {
+            throw new ResourceNotFoundException("Event", eventId);
+        }
 
-        // Get event name
-        Query eventQuery = em.createNativeQuery("SELECT name FROM events WHERE id = ?");
-        eventQuery.setParameter(1, eventId);
-        String eventName = (String) eventQuery.getSingleResult();
+        Map<Long, RegistrationStatus> current = lockBulkTargets(eventId, request);
+        BulkRegistrationRequest.Action action = request.getAction();
+        RegistrationStatus target = switch (action) {
+            case CONFIRM -> RegistrationStatus.CONFIRMED;
+            case CANCEL -> RegistrationStatus.CANCELLED;
+            case WAITLIST -> RegistrationStatus.WAITLIST;
+            case DELETE -> null;
+        };
+
+        BulkRegistrationResultDTO result = new BulkRegistrationResultDTO(action);
+        List<Long> changedIds = new ArrayList<>();
+        Map<RegistrationStatus, Integer> deltas = new EnumMap<>(RegistrationStatus.class);
+        boolean seatsFreed = false;
+        // Confirming a waitlisted registration takes a seat, so it is limited by the capacity left
+        int freeSeats = action == BulkRegistrationRequest.Action.CONFIRM ? eventRepository.countFreeSeats(eventId) : 0;
+
+        Collection<Long> ids = request.hasRegistrationIds()
+                ? new LinkedHashSet<>(request.getRegistrationIds())
+                : current.keySet();
+        for (Long id : ids) {
+            RegistrationStatus status = current.get(id);
+            if (status == null) {
+                result.add(new Outcome(id, Result.NOT_FOUND, null, null));
+                continue;
+            }
 
-        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            boolean allowed = switch (action) {
+                case CONFIRM -> status.canBeConfirmed();
+                case CANCEL -> status.canBeCancelled();
+                case WAITLIST -> status.canBeWaitlisted();
+                case DELETE -> true;
+            };
+            if (!allowed) {
+                // Repeating an action on a registration already in the target status is not an error
+                Result outcome = status == target ? Result.UNCHANGED : Result.REJECTED;
+                result.add(new Outcome(id, outcome, status, status));
+                continue;
+            }
+            if (action == BulkRegistrationRequest.Action.CONFIRM && status == RegistrationStatus.WAITLIST) {
+                if (freeSeats == 0) {
+                    result.add(new Outcome(id, Result.REJECTED, status, status, "Event is full"));
+                    continue;
+                }
+                if (freeSeats != Integer.MAX_VALUE) {
+                    freeSeats--;
+                }
+            }
+
+            changedIds.add(id);
+            deltas.merge(status, -1, Integer::sum);
+            if (target != null) {
+                deltas.merge(target, 1, Integer::sum);
+            }
+            seatsFreed |= status == RegistrationStatus.PENDING || status == RegistrationStatus.CONFIRMED;
+            result.add(new Outcome(id, Result.CHANGED, status, target));
+        }
+
+        if (changedIds.isEmpty()) {
+            return result;
+        }
+
+        String sql = switch (action) {
+            case CONFIRM -> "UPDATE registrations SET status = 'CONFIRMED', confirmation_date = :now WHERE id IN (:ids)";
+            case CANCEL -> "UPDATE registrations SET status = 'CANCELLED', cancellation_date = :now WHERE id IN (:ids)";
+            case WAITLIST -> "UPDATE registrations SET status = 'WAITLIST' WHERE id IN (:ids)";
+            case DELETE -> "DELETE FROM registrations WHERE id IN (:ids)";
+        };
+        LocalDateTime now = LocalDateTime.now();
+        for (List<Long> chunk : chunks(changedIds)) {
+            Query query = em.createNativeQuery(sql);
+            query.setParameter("ids", chunk);
+            if (target == RegistrationStatus.CONFIRMED || target == RegistrationStatus.CANCELLED) {
+                query.setParameter("now", now);
+            }
+            query.executeUpdate();
+        }
+
+        deltas.values().removeIf(delta -> delta == 0);
+        eventRepository.applyRegistrationCounterDeltas(eventId, deltas);
+
+        // Seats given up by cancel/delete go to the waitlist; an explicit move to the
+        // waitlist is an admin decision and does not pull others up in its place
+        if (seatsFreed && (action == BulkRegistrationRequest.Action.CANCEL
+                || action == BulkRegistrationRequest.Action.DELETE)) {
+            eventRepository.promoteWaitlisted(eventId);
+        }
+        return result;
+    }
+
+    // Select and lock the registrations a bulk request applies to, ordered by id
+    private Map<Long, RegistrationStatus> lockBulkTargets(Long eventId, BulkRegistrationRequest request) {
+        StringBuilder sql = new StringBuilder("SELECT r.id, r.status FROM registrations r");
+        if (request.getPatrolId() != null) {
+            sql.append(" JOIN participants p ON p.id = r.participant_id");
+        }
+        sql.append(" WHERE r.event_id = :eventId");
+        if (request.getStatus() != null) {
+            sql.append(" AND r.status = :status");
+        }
+        if (request.getPatrolId() != null) {
+            sql.append(" AND p.patrol_id = :patrolId");
+        }
+        if (request.hasRegistrationIds()) {
+            sql.append(" AND r.id IN (:ids)");
+        }
+        sql.append(" ORDER BY r.id FOR UPDATE OF r");
+
+        List<List<Long>> idChunks = request.hasRegistrationIds()
+                ? chunks(new ArrayList<>(new LinkedHashSet<>(request.getRegistrationIds())))
+                : List.of(List.of());
+
+        Map<Long, RegistrationStatus> current = new LinkedHashMap<>();
+        for (List<Long> chunk : idChunks) {
+            Query query = em.createNativeQuery(sql.toString());
+            query.setParameter("eventId", eventId);
+            if (request.getStatus() != null) {
+                query.setParameter("status", request.getStatus().name());
+            }
+            if (request.getPatrolId() != null) {
+                query.setParameter("patrolId", request.getPatrolId());
+            }
+            if (!chunk.isEmpty()) {
+                query.setParameter("ids", chunk);
+            }
+
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = query.getResultList();
+            for (Object[] row : rows) {
+                current.put(((Number) row[0]).longValue(), RegistrationStatus.valueOf((String) row[1]));
+            }
+        }
+        return current;
+    }
+
+    // Split an id list into IN-list sized chunks
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += BULK_CHUNK_SIZE) {
+            chunks.add(ids.subList(i, Math.min(i + BULK_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Get the name of an event, empty if the event does not exist
+     */
+    public Optional<String> findEventName(Long eventId) {
+        @SuppressWarnings("unchecked")
+        List<String> names = em.createNativeQuery("SELECT name FROM events WHERE id = ?")
+                .setParameter(1, eventId)
+                .getResultList();
+        return names.stream().findFirst();
+    }
+
+    /**
+     * Write the participant list of an event as an Excel file.
+     * Rows are streamed from the database and flushed to disk by the workbook,
+     * so memory use does not depend on the number of participants.
+     */
+    public void writeExcel(Long eventId, String eventName, OutputStream outputStream) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXCEL_ROW_WINDOW);
+        try {
             Sheet sheet = workbook.createSheet("Deltagare");
 
             // Create styles
@@ -255,39 +560,79 @@ public class RegistrationService {
 
             // Header row
             Row headerRow = sheet.createRow(rowNum++);
-            String[] headers = {"Efternamn", "Förnamn", "Adress", "Postnummer", "Ort", "Kår/Patrull", "E-post", "Mobil", "Målsman"};
+            String[] headers = ROSTER_EXPORT_HEADERS;
+            int[] widths = new int[headers.length];
 
             for (int i = 0; i < headers.length; i++) {
                 Cell cell = headerRow.createCell(i);
                 cell.setCellValue(headers[i]);
                 cell.setCellStyle(headerStyle);
+                widths[i] = headers[i].length();
             }
 
-            // Data rows
-            for (RegistrationDTO reg : registrations) {
-                Row dataRow = sheet.createRow(rowNum++);
-
-                createCell(dataRow, 0, reg.getLastName(), dataStyle);
-                createCell(dataRow, 1, reg.getFirstName(), dataStyle);
-                createCell(dataRow, 2, reg.getStreetAddress(), dataStyle);
-                createCell(dataRow, 3, reg.getPostalCode(), dataStyle);
-                createCell(dataRow, 4, reg.getCity(), dataStyle);
-                createCell(dataRow, 5, reg.getPatrolName(), dataStyle);
-                createCell(dataRow, 6, reg.getEmail(), dataStyle);
-                createCell(dataRow, 7, reg.getPhone(), dataStyle);
-                createCell(dataRow, 8, reg.getGuardianName(), dataStyle);
+            // Data rows, read through a database cursor
+            int sampled = 0;
+            try (Stream<Object[]> rows = streamRosterExport(eventId)) {
+                Iterator<Object[]> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    Object[] values = iterator.next();
+                    Row dataRow = sheet.createRow(rowNum++);
+                    boolean sample = sampled++ < EXCEL_WIDTH_SAMPLE;
+
+                    for (int i = 0; i < headers.length; i++) {
+                        String value = (String) values[i];
+                        createCell(dataRow, i, value, dataStyle);
+                        if (sample && value != null) {
+                            widths[i] = Math.max(widths[i], value.length());
+                        }
+                    }
+                }
             }
 
-            // Auto-size columns
+            // Column widths estimated from the header and sampled rows;
+            // autoSizeColumn would need every row in memory
             for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
+                sheet.setColumnWidth(i, Math.min(widths[i] + 2, MAX_COLUMN_CHARS) * 256);
             }
 
-            // Write to byte array
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             workbook.write(outputStream);
-            return outputStream.toByteArray();
+        } finally {
+            // Remove the temporary files holding flushed rows
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * Write the participant list of an event as a ';'-separated UTF-8 CSV file.
+     * Rows are streamed from the database straight into the output.
+     */
+    public void writeCsv(Long eventId, OutputStream outputStream) throws IOException {
+        CsvWriter csv = new CsvWriter(outputStream, ';');
+        csv.row(ROSTER_EXPORT_HEADERS);
+
+        try (Stream<Object[]> rows = streamRosterExport(eventId)) {
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Object[] values = iterator.next();
+                for (int i = 0; i < ROSTER_EXPORT_HEADERS.length; i++) {
+                    csv.field((String) values[i]);
+                }
+                csv.endRow();
+            }
         }
+
+        csv.flush();
+    }
+
+    // Roster export rows through a read-only database cursor
+    @SuppressWarnings("unchecked")
+    private Stream<Object[]> streamRosterExport(Long eventId) {
+        Query query = em.createNativeQuery(ROSTER_EXPORT_SQL);
+        query.setParameter(1, eventId);
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return query.getResultStream();
     }
 
     private void createCell(Row row, int column, String value, CellStyle style) {
@@ -320,6 +665,33 @@ public class RegistrationService {
         return style;
     }
 
+    // Helper to map a registration/participant row (see getRegistrationsForEvent) to a DTO
+    private RegistrationDTO toRegistrationDTO(Object[] row, Long eventId) {
+        RegistrationDTO dto = new RegistrationDTO();
+        dto.setId(((Number) row[0]).longValue());
+        dto.setEventId(eventId);
+        dto.setStatus((String) row[1]);
+        dto.setRegistrationDate(toLocalDateTime(row[2]));
+        dto.setConfirmationDate(toLocalDateTime(row[3]));
+        dto.setNotes((String) row[4]);
+        dto.setParticipantId(((Number) row[5]).longValue());
+        dto.setFirstName((String) row[6]);
+        dto.setLastName((String) row[7]);
+        dto.setEmail((String) row[8]);
+        dto.setPhone((String) row[9]);
+        dto.setBirthDate(row[10] != null ? row[10].toString() : null);
+        dto.setPersonalNumber((String) row[11]);
+        dto.setStreetAddress((String) row[12]);
+        dto.setPostalCode((String) row[13]);
+        dto.setCity((String) row[14]);
+        dto.setGuardianName((String) row[15]);
+        dto.setGuardianEmail((String) row[16]);
+        dto.setGuardianPhone((String) row[17]);
+        dto.setPatrolName((String) row[18]);
+        dto.setAllergies(new ArrayList<>());
+        return dto;
+    }
+
     // Helper to convert SQL timestamp to LocalDateTime
     private LocalDateTime toLocalDateTime(Object value) {
         if (value == null) return null;
@@ -331,4 +703,44 @@ public class RegistrationService {
         }
         return null;
     }
-}
\ No newline at end of file
+
+    // Groups ROSTER_SQL rows into one RegistrationDTO per participant
+    private class RosterReader implements Iterator<RegistrationDTO> {
+
+        private final Iterator<Object[]> rows;
+        private final Long eventId;
+        private Object[] pending;
+
+        RosterReader(Iterator<Object[]> rows, Long eventId) {
+            this.rows = rows;
+            this.eventId = eventId;
+            this.pending = rows.hasNext() ? rows.next() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return pending != null;
+        }
+
+        @Override
+        public RegistrationDTO next() {
+            if (pending == null) {
+                throw new NoSuchElementException();
+            }
+            RegistrationDTO dto = toRegistrationDTO(pending, eventId);
+            Object[] row = pending;
+            do {
+                if (row[19] != null) {
+                    dto.getAllergies().add(new AllergyInfo(
+                            ((Number) row[19]).longValue(),
+                            (String) row[20],
+                            (String) row[21]
+                    ));
+                }
+                row = rows.hasNext() ? rows.next() : null;
+            } while (row != null && ((Number) row[5]).longValue() == dto.getParticipantId());
+            pending = row;
+            return dto;
+        }
+    }
+}
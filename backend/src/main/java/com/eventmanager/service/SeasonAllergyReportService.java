@@ -0,0 +1,157 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.AllergyReportDTO;
+import com.eventmanager.dto.AllergyReportDTO.AllergyGroupDTO;
+import com.eventmanager.dto.AllergyReportDTO.AllergyParticipantDTO;
+import com.eventmanager.dto.SeasonAllergyReportDTO;
+import com.eventmanager.dto.SeasonAllergyReportDTO.EventCountDTO;
+import com.eventmanager.dto.SeasonAllergyReportDTO.SeasonAllergyGroupDTO;
+import com.eventmanager.dto.SeasonAllergyReportDTO.SeasonEventDTO;
+import com.eventmanager.dto.SeasonAllergyReportDTO.SeasonParticipantDTO;
+import com.eventmanager.entity.Event;
+import com.eventmanager.repository.EventRepository;
+import jakarta.annotation.Resource;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.enterprise.concurrent.ManagedExecutorDefinition;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.inject.Inject;
+import java.text.Collator;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds one allergy report over all events in a date range, for the kitchen's season planning.
+ *
+ * The per-event reports are built in parallel on a managed executor (served from
+ * AllergyReportService's cache when the event's data is unchanged) and merged by allergy,
+ * so the report takes about as long as the slowest event rather than the sum of all events.
+ */
+@ManagedExecutorDefinition(name = SeasonAllergyReportService.EXECUTOR,
+        maxAsync = SeasonAllergyReportService.MAX_PARALLEL_EVENTS)
+@Stateless
+// Only waits for the per-event builds; no transaction or connection is held meanwhile
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class SeasonAllergyReportService {
+
+    static final String EXECUTOR = "java:app/concurrent/ReportExecutor";
+    static final int MAX_PARALLEL_EVENTS = 4;
+    static final Duration REPORT_TIMEOUT = Duration.ofMinutes(2);
+    static final long MAX_RANGE_DAYS = 366;
+
+    private static final Locale SWEDISH = Locale.forLanguageTag("sv-SE");
+
+    @Resource(lookup = EXECUTOR)
+    private ManagedExecutorService executor;
+
+    @Inject
+    private EventRepository eventRepository;
+
+    @Inject
+    private AllergyReportService allergyReportService;
+
+    /**
+     * Get allergy counts and participants of all events taking place between from and to (inclusive).
+     * Events are listed by start date; allergies are sorted by name.
+     */
+    public SeasonAllergyReportDTO getReport(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both from and to dates are required");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("to must not be before from");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("The date range may span at most " + MAX_RANGE_DAYS + " days");
+        }
+
+        List<Event> events = eventRepository.findOverlapping(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        List<Callable<AllergyReportDTO>> tasks = new ArrayList<>(events.size());
+        for (Event event : events) {
+            Long eventId = event.getId();
+            tasks.add(() -> allergyReportService.getReport(eventId));
+        }
+
+        List<Future<AllergyReportDTO>> reports;
+        try {
+            reports = executor.invokeAll(tasks, REPORT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building the season allergy report", e);
+        }
+
+        Merge merge = new Merge();
+        for (int i = 0; i < events.size(); i++) {
+            AllergyReportDTO report = result(reports.get(i));
+            if (report != null) {
+                merge.add(events.get(i), report);
+            }
+        }
+        return merge.toDTO(from, to);
+    }
+
+    // Result of one event's build; null if the event was deleted after it was listed
+    private AllergyReportDTO result(Future<AllergyReportDTO> report) {
+        try {
+            return report.get();
+        } catch (CancellationException e) {
+            throw new IllegalStateException("The season allergy report took longer than " + REPORT_TIMEOUT, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IllegalArgumentException) {
+                return null;
+            }
+            throw new IllegalStateException("Could not build the season allergy report", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building the season allergy report", e);
+        }
+    }
+
+    // Per-event reports merged by allergy name, in event start order
+    private static class Merge {
+        final List<SeasonEventDTO> events = new ArrayList<>();
+        final Map<String, SeasonAllergyGroupDTO> groups = new HashMap<>();
+        final Set<Long> participantIds = new HashSet<>();
+
+        void add(Event event, AllergyReportDTO report) {
+            events.add(new SeasonEventDTO(event.getId(), report.getEventName(), event.getStartDate(),
+                    event.getEndDate(), report.getTotalParticipantsWithAllergies()));
+
+            for (AllergyGroupDTO group : report.getAllergies()) {
+                SeasonAllergyGroupDTO merged = groups.computeIfAbsent(group.getAllergyName(),
+                        name -> new SeasonAllergyGroupDTO(name, 0, new ArrayList<>(), new ArrayList<>()));
+                merged.setCount(merged.getCount() + group.getCount());
+                merged.getEventCounts().add(new EventCountDTO(event.getId(), group.getCount()));
+
+                for (AllergyParticipantDTO participant : group.getParticipants()) {
+                    merged.getParticipants().add(new SeasonParticipantDTO(participant.getId(),
+                            participant.getFullName(), participant.getPatrol(), participant.getOtherInfo(),
+                            event.getId(), report.getEventName()));
+                    participantIds.add(participant.getId());
+                }
+            }
+        }
+
+        SeasonAllergyReportDTO toDTO(LocalDate from, LocalDate to) {
+            Comparator<Object> byName = Collator.getInstance(SWEDISH);
+            List<SeasonAllergyGroupDTO> allergies = new ArrayList<>(groups.values());
+            allergies.sort(Comparator.comparing(SeasonAllergyGroupDTO::getAllergyName, byName));
+            return new SeasonAllergyReportDTO(from, to, events, allergies, participantIds.size());
+        }
+    }
+}
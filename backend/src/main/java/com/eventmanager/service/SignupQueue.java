@@ -0,0 +1,251 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.SignupRequest;
+import com.eventmanager.dto.SignupResponse;
+import com.eventmanager.dto.SignupTicketDTO;
+import com.eventmanager.exception.ResourceNotFoundException;
+import com.eventmanager.exception.SignupQueueFullException;
+import com.eventmanager.repository.EventRepository;
+import jakarta.annotation.Resource;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.Singleton;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Intake queue for registration openings with flash crowds.
+ *
+ * Submissions are accepted into a bounded in-memory queue per event without touching the
+ * database and get a ticket back immediately. One writer per event drains the queue and
+ * commits signups in ordered micro-batches, so capacity and waitlist decisions follow
+ * arrival order and only one connection per event is busy at a time.
+ *
+ * Tickets live in memory only: queued submissions are lost on restart, and outcomes are
+ * kept for RESULT_RETENTION after completion.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class SignupQueue {
+
+    private static final Logger LOGGER = Logger.getLogger(SignupQueue.class.getName());
+
+    static final int QUEUE_CAPACITY = 5000;
+    static final int BATCH_SIZE = 50;
+    static final Duration RESULT_RETENTION = Duration.ofHours(1);
+
+    @Resource
+    private ManagedExecutorService executor;
+
+    @Inject
+    private SignupService signupService;
+
+    @Inject
+    private EventRepository eventRepository;
+
+    private final Map<Long, EventIntake> intakes = new ConcurrentHashMap<>();
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+
+    // Queue a signup and return its ticket; throws SignupQueueFullException when the event's queue is full
+    public SignupTicketDTO submit(Long eventId, SignupRequest request) {
+        while (true) {
+            EventIntake intake = intakes.get(eventId);
+            if (intake == null) {
+                // Only the submission that opens an intake touches the database
+                if (!eventRepository.existsById(eventId)) {
+                    throw new ResourceNotFoundException("Event", eventId);
+                }
+                intake = intakes.computeIfAbsent(eventId, EventIntake::new);
+            }
+
+            Ticket ticket;
+            synchronized (intake) {
+                // Evicted by its writer after we looked it up; queue on the intake that replaces it
+                if (intake.evicted) {
+                    continue;
+                }
+                ticket = new Ticket(UUID.randomUUID().toString(), eventId, request, intake.enqueued.get() + 1);
+                if (!intake.queue.offer(ticket)) {
+                    throw new SignupQueueFullException("Signup queue is full, please try again shortly");
+                }
+                intake.enqueued.incrementAndGet();
+                tickets.put(ticket.id, ticket);
+            }
+
+            startWriter(intake);
+            return toDTO(ticket);
+        }
+    }
+
+    // Get a ticket's current state, empty if unknown or expired
+    public Optional<SignupTicketDTO> getTicket(Long eventId, String ticketId) {
+        Ticket ticket = tickets.get(ticketId);
+        if (ticket == null || !ticket.eventId.equals(eventId)) {
+            return Optional.empty();
+        }
+        return Optional.of(toDTO(ticket));
+    }
+
+    // Drop outcomes older than the retention period
+    @Schedule(hour = "*", minute = "*/5", persistent = false)
+    public void purgeExpiredTickets() {
+        Instant cutoff = Instant.now().minus(RESULT_RETENTION);
+        tickets.values().removeIf(ticket -> ticket.finishedAt != null && ticket.finishedAt.isBefore(cutoff));
+    }
+
+    // Start the event's writer unless it is already running
+    private void startWriter(EventIntake intake) {
+        if (intake.writerActive.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> drain(intake));
+            } catch (RejectedExecutionException e) {
+                // Queued tickets stay put; the next submission retries starting the writer
+                intake.writerActive.set(false);
+                LOGGER.log(Level.WARNING, "Could not start signup writer for event " + intake.eventId, e);
+            }
+        }
+    }
+
+    // Writer loop: commit queued signups in arrival order until the queue is empty, then evict the idle intake
+    void drain(EventIntake intake) {
+        List<Ticket> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (true) {
+                intake.queue.drainTo(batch, BATCH_SIZE);
+                if (batch.isEmpty()) {
+                    // Submissions offer under the same lock, so none can slip in between the check and the eviction
+                    synchronized (intake) {
+                        if (intake.queue.isEmpty()) {
+                            intakes.remove(intake.eventId, intake);
+                            intake.evicted = true;
+                            intake.writerActive.set(false);
+                            return;
+                        }
+                    }
+                    continue;
+                }
+                writeBatch(intake.eventId, batch);
+                intake.completed.addAndGet(batch.size());
+                batch.clear();
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(ticket -> ticket.fail("Signup could not be processed"));
+            intake.completed.addAndGet(batch.size());
+            intake.writerActive.set(false);
+            LOGGER.log(Level.SEVERE, "Signup writer for event " + intake.eventId + " stopped", e);
+        }
+    }
+
+    // Group-commit a batch; entries turned away as full fail on their own. Any other error rolls the
+    // batch back and its entries are retried one by one, so one bad entry does not fail the rest.
+    private void writeBatch(Long eventId, List<Ticket> batch) {
+        List<SignupRequest> requests = batch.stream().map(ticket -> ticket.request).toList();
+        List<SignupResponse> responses;
+        try {
+            responses = signupService.signupBatch(eventId, requests);
+        } catch (RuntimeException batchFailure) {
+            for (Ticket ticket : batch) {
+                try {
+                    ticket.complete(signupService.signup(eventId, ticket.request));
+                } catch (RuntimeException e) {
+                    ticket.fail(rootMessage(e));
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            SignupResponse response = responses.get(i);
+            if (response.getRejectionReason() != null) {
+                batch.get(i).fail(response.getRejectionReason());
+            } else {
+                batch.get(i).complete(response);
+            }
+        }
+    }
+
+    private SignupTicketDTO toDTO(Ticket ticket) {
+        SignupResponse result = ticket.result;
+        String error = ticket.error;
+        if (result != null) {
+            return new SignupTicketDTO(ticket.id, ticket.eventId, SignupTicketDTO.State.COMPLETED, null, result, null);
+        }
+        if (error != null) {
+            return new SignupTicketDTO(ticket.id, ticket.eventId, SignupTicketDTO.State.FAILED, null, null, error);
+        }
+        EventIntake intake = intakes.get(ticket.eventId);
+        long completed = intake != null ? intake.completed.get() : 0;
+        long position = Math.max(1, ticket.sequence - completed);
+        return new SignupTicketDTO(ticket.id, ticket.eventId, SignupTicketDTO.State.QUEUED, position, null, null);
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    // Per-event queue and writer state
+    static class EventIntake {
+        final Long eventId;
+        final BlockingQueue<Ticket> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        final AtomicLong enqueued = new AtomicLong();
+        final AtomicLong completed = new AtomicLong();
+        final AtomicBoolean writerActive = new AtomicBoolean();
+
+        // Set under the intake's lock once it is removed from the map; guarded by that lock
+        boolean evicted;
+
+        EventIntake(Long eventId) {
+            this.eventId = eventId;
+        }
+    }
+
+    // A queued submission and, once processed, its outcome
+    static class Ticket {
+        final String id;
+        final Long eventId;
+        final long sequence;
+        volatile SignupRequest request;
+        volatile SignupResponse result;
+        volatile String error;
+        volatile Instant finishedAt;
+
+        Ticket(String id, Long eventId, SignupRequest request, long sequence) {
+            this.id = id;
+            this.eventId = eventId;
+            this.request = request;
+            this.sequence = sequence;
+        }
+
+        // Outcomes drop the request so personal data is not kept around until purge
+        void complete(SignupResponse response) {
+            request = null;
+            result = response;
+            finishedAt = Instant.now();
+        }
+
+        void fail(String message) {
+            request = null;
+            error = message;
+            finishedAt = Instant.now();
+        }
+    }
+}
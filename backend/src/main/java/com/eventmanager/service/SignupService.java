@@ -0,0 +1,149 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.SignupRequest;
+import com.eventmanager.dto.SignupResponse;
+import com.eventmanager.entity.Allergen;
+import com.eventmanager.entity.Event;
+import com.eventmanager.entity.Participant;
+import com.eventmanager.entity.Patrol;
+import com.eventmanager.entity.Registration;
+import com.eventmanager.entity.RegistrationStatus;
+import com.eventmanager.exception.RegistrationFullException;
+import com.eventmanager.exception.ResourceNotFoundException;
+import com.eventmanager.repository.AllergenRepository;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.ParticipantRepository;
+import com.eventmanager.repository.PatrolRepository;
+import com.eventmanager.repository.RegistrationRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One-call event signup: creates the participant, their allergens and the registration
+ * in a single transaction and admits it against the event capacity and patrol quota.
+ *
+ * Admission is decided by a conditional counter UPDATE on the event row, so concurrent
+ * signups never oversell. It is decided before anything is written, so a signup turned
+ * away leaves no rows behind.
+ */
+@ApplicationScoped
+public class SignupService {
+
+    @Inject
+    private EventRepository eventRepository;
+
+    @Inject
+    private ParticipantRepository participantRepository;
+
+    @Inject
+    private PatrolRepository patrolRepository;
+
+    @Inject
+    private AllergenRepository allergenRepository;
+
+    @Inject
+    private RegistrationRepository registrationRepository;
+
+    // Sign up a new participant for an event; overflow goes to the waitlist unless disallowed
+    @Transactional
+    public SignupResponse signup(Long eventId, SignupRequest request) {
+        return admit(findOpenEvent(eventId), request);
+    }
+
+    // Sign up several participants in one transaction (group commit), admitted in list order.
+    // An entry turned away because the event or patrol is full gets a rejected response and the
+    // rest of the batch goes on; any other failure rolls back the whole batch.
+    @Transactional
+    public List<SignupResponse> signupBatch(Long eventId, List<SignupRequest> requests) {
+        Event event = findOpenEvent(eventId);
+        List<SignupResponse> responses = new ArrayList<>(requests.size());
+        for (SignupRequest request : requests) {
+            try {
+                responses.add(admit(event, request));
+            } catch (RegistrationFullException e) {
+                SignupResponse rejected = new SignupResponse(null, null, eventId, null);
+                rejected.setRejectionReason(e.getMessage());
+                responses.add(rejected);
+            }
+        }
+        return responses;
+    }
+
+    private Event findOpenEvent(Long eventId) {
+        Event event = eventRepository.findById(eventId)
+            .orElseThrow(() -> new ResourceNotFoundException("Event", eventId));
+        if (!Boolean.TRUE.equals(event.getActive())) {
+            throw new IllegalArgumentException("Event is not open for registration");
+        }
+        return event;
+    }
+
+    // Create participant and registration and decide PENDING/WAITLIST for one signup
+    private SignupResponse admit(Event event, SignupRequest request) {
+        Long eventId = event.getId();
+        Participant participant = request.getParticipant().toEntity();
+        participant.setId(null);
+
+        // Lock a quota-limited patrol so its quota count below stays valid until commit
+        Patrol patrol = null;
+        if (request.getParticipant().getPatrolId() != null) {
+            Long patrolId = request.getParticipant().getPatrolId();
+            patrol = patrolRepository.findById(patrolId)
+                .orElseThrow(() -> new ResourceNotFoundException("Patrol", patrolId));
+            if (patrol.getEvent() != null && !eventId.equals(patrol.getEvent().getId())) {
+                throw new IllegalArgumentException("Patrol " + patrolId + " does not belong to event " + eventId);
+            }
+            if (patrol.getRegistrationQuota() != null) {
+                patrolRepository.lockForUpdate(patrol);
+            }
+            participant.setPatrol(patrol);
+        }
+
+        participant.setAllergens(loadAllergens(request.getAllergenIds(), eventId));
+
+        // Quota first, then the event seat: a patrol over quota must not consume a seat
+        boolean withinQuota = patrol == null || patrol.getRegistrationQuota() == null
+            || patrolRepository.countActiveRegistrations(patrol.getId(), eventId) < patrol.getRegistrationQuota();
+        boolean admitted = withinQuota && eventRepository.tryReserveSeat(eventId);
+
+        RegistrationStatus status = RegistrationStatus.PENDING;
+        if (!admitted) {
+            if (!request.isAllowWaitlist()) {
+                throw new RegistrationFullException(withinQuota
+                    ? "Event is full"
+                    : "Registration quota for patrol " + patrol.getName() + " is reached");
+            }
+            status = RegistrationStatus.WAITLIST;
+            eventRepository.adjustRegistrationCounters(eventId, status, 1);
+        }
+
+        participantRepository.save(participant);
+        Registration registration = new Registration(event, participant);
+        registration.setStatus(status);
+        registration.setNotes(request.getNotes());
+        registrationRepository.saveReserved(registration);
+
+        return new SignupResponse(registration.getId(), participant.getId(), eventId, status);
+    }
+
+    // Load all requested allergens in one query, failing on the first ID that is unknown
+    // or belongs to another event (only global allergens and the event's own can be chosen)
+    private Set<Allergen> loadAllergens(Set<Long> allergenIds, Long eventId) {
+        if (allergenIds == null || allergenIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        List<Allergen> allergens = allergenRepository.findByIdsForEvent(allergenIds, eventId);
+        if (allergens.size() != allergenIds.size()) {
+            Set<Long> found = new HashSet<>();
+            allergens.forEach(allergen -> found.add(allergen.getId()));
+            Long missing = allergenIds.stream().filter(id -> !found.contains(id)).findFirst().orElse(null);
+            throw new ResourceNotFoundException("Allergen", missing);
+        }
+        return new HashSet<>(allergens);
+    }
+}
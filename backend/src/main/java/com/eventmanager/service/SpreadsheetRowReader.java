@@ -0,0 +1,187 @@
+package com.eventmanager.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+/**
+ * Streaming row readers for uploaded CSV and XLSX files.
+ * Rows are handed to a callback one at a time, so memory use does not depend on the file size.
+ */
+final class SpreadsheetRowReader {
+
+    // Receives one row at a time; rowNumber is 1-based, cells are never null
+    interface RowHandler {
+        void row(int rowNumber, List<String> cells);
+    }
+
+    private SpreadsheetRowReader() {
+    }
+
+    /**
+     * Read a UTF-8 CSV file (optional BOM). Fields may be quoted with "..." and
+     * contain separators, line breaks and doubled quotes. The separator (';', ',' or tab)
+     * is the first one found in the header line.
+     */
+    static void readCsv(InputStream input, RowHandler handler) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+
+        char separator = 0;
+        int rowNumber = 0;
+        List<String> row = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean quoted = false;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (inQuotes) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        inQuotes = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0 && !quoted) {
+                inQuotes = true;
+                quoted = true;
+            } else if (c == separator || (separator == 0 && (c == ';' || c == ',' || c == '\t'))) {
+                separator = (char) c;
+                row.add(field.toString());
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                row.add(field.toString());
+                handler.row(++rowNumber, row);
+                row = new ArrayList<>();
+                field.setLength(0);
+                quoted = false;
+            } else {
+                field.append((char) c);
+            }
+        }
+
+        // Last line without a trailing line break
+        if (field.length() > 0 || quoted || !row.isEmpty()) {
+            row.add(field.toString());
+            handler.row(++rowNumber, row);
+        }
+    }
+
+    /**
+     * Read the first sheet of an XLSX file with POI's SAX-based event API.
+     * The upload is spooled to a temp file so the ZIP can be opened without loading it into memory.
+     * Date cells are returned as ISO dates (yyyy-MM-dd), other cells as displayed in Excel.
+     */
+    static void readXlsx(InputStream input, RowHandler handler) throws IOException {
+        Path file = Files.createTempFile("participant-import", ".xlsx");
+        try {
+            Files.copy(input, file, StandardCopyOption.REPLACE_EXISTING);
+            try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+                XSSFReader xssfReader = new XSSFReader(pkg);
+                ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+                StylesTable styles = xssfReader.getStylesTable();
+
+                Iterator<InputStream> sheets = xssfReader.getSheetsData();
+                if (!sheets.hasNext()) {
+                    return;
+                }
+                try (InputStream sheet = sheets.next()) {
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(
+                            styles, null, strings, new RowCollector(handler), new IsoDateFormatter(), false));
+                    parser.parse(new InputSource(sheet));
+                }
+            } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+                throw new IllegalArgumentException("Invalid Excel file: " + e.getMessage(), e);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Collects the cells of one sheet row, filling gaps left by empty cells
+    private static class RowCollector implements SheetContentsHandler {
+
+        private final RowHandler handler;
+        private List<String> cells;
+
+        RowCollector(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells = new ArrayList<>();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            handler.row(rowNum + 1, cells);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = new CellReference(cellReference).getCol();
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            cells.add(formattedValue != null ? formattedValue : "");
+        }
+    }
+
+    // Formats date cells as ISO dates regardless of the cell's display format
+    private static class IsoDateFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value).toLocalDate().toString();
+            }
+            return super.formatRawCellContents(value, formatIndex, formatString);
+        }
+    }
+}
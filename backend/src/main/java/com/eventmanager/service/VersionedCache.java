@@ -0,0 +1,64 @@
+package com.eventmanager.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Per-key cache for values built from versioned data, such as an event's registration version.
+ *
+ * Callers read the version first and pass a check for it, so a change made while a value is
+ * built leaves that value outdated rather than wrong. Callers that miss at the same time wait
+ * for one build per key; a key's lock is dropped once nobody is building or waiting for it.
+ */
+final class VersionedCache<K, V> {
+
+    private final Map<K, V> values = new ConcurrentHashMap<>();
+    private final Map<K, BuildLock> buildLocks = new ConcurrentHashMap<>();
+
+    // Number of callers holding or waiting for a key's lock; only changed inside buildLocks.compute
+    private static final class BuildLock {
+        int users;
+    }
+
+    // The cached value if it passes the check, otherwise a newly built one
+    V get(K key, Predicate<V> isCurrent, Supplier<V> build) {
+        V value = values.get(key);
+        if (value != null && isCurrent.test(value)) {
+            return value;
+        }
+        BuildLock lock = buildLocks.compute(key, (k, current) -> {
+            BuildLock used = current != null ? current : new BuildLock();
+            used.users++;
+            return used;
+        });
+        try {
+            synchronized (lock) {
+                value = values.get(key);
+                if (value != null && isCurrent.test(value)) {
+                    return value;
+                }
+                value = build.get();
+                values.put(key, value);
+                return value;
+            }
+        } finally {
+            buildLocks.computeIfPresent(key, (k, current) -> --current.users == 0 ? null : current);
+        }
+    }
+
+    // Replace a cached value in place; returning null drops it
+    void update(K key, BiFunction<K, V, V> update) {
+        values.computeIfPresent(key, update);
+    }
+
+    void removeIf(Predicate<V> filter) {
+        values.values().removeIf(filter);
+    }
+
+    int lockCount() {
+        return buildLocks.size();
+    }
+}
@@ -0,0 +1,126 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.WaitlistPositionDTO;
+import com.eventmanager.entity.RegistrationStatus;
+import com.eventmanager.exception.ResourceNotFoundException;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.RegistrationRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Waitlist position lookups.
+ *
+ * Each event's waitlist is kept as an immutable, sorted snapshot of (registration date, id)
+ * keys tagged with the event's waitlist_version. Only changes that move registrations onto or
+ * off the waitlist bump that version, so a snapshot survives ordinary signups and is reused
+ * until the waitlist may have changed; a position is answered by binary search instead of
+ * counting the registrations ahead. Snapshots are kept for at most SNAPSHOT_TTL, so events
+ * nobody asks about any more do not stay in memory.
+ */
+@ApplicationScoped
+public class WaitlistService {
+
+    static final Duration SNAPSHOT_TTL = Duration.ofMinutes(10);
+
+    @Inject
+    private EventRepository eventRepository;
+
+    @Inject
+    private RegistrationRepository registrationRepository;
+
+    private final VersionedCache<Long, WaitlistSnapshot> snapshots = new VersionedCache<>();
+
+    // Get a registration's place on the waitlist of its event
+    @Transactional
+    public WaitlistPositionDTO getPosition(Long eventId, Long registrationId) {
+        Object[] key = registrationRepository.findWaitlistKey(registrationId)
+            .filter(row -> ((Number) row[0]).longValue() == eventId)
+            .orElseThrow(() -> new ResourceNotFoundException("Registration", registrationId));
+
+        RegistrationStatus status = RegistrationStatus.valueOf((String) key[1]);
+        WaitlistSnapshot snapshot = getSnapshot(eventId);
+        if (status != RegistrationStatus.WAITLIST) {
+            return new WaitlistPositionDTO(registrationId, eventId, status, null, snapshot.size());
+        }
+
+        int index = snapshot.indexOf(toEpochNanos(key[2]), registrationId);
+        Integer position = index >= 0 ? index + 1 : null;
+        return new WaitlistPositionDTO(registrationId, eventId, status, position, snapshot.size());
+    }
+
+    // Reuse the cached snapshot while the event's waitlist version is unchanged
+    private WaitlistSnapshot getSnapshot(Long eventId) {
+        long version = eventRepository.findWaitlistVersion(eventId)
+            .orElseThrow(() -> new ResourceNotFoundException("Event", eventId));
+        return snapshots.get(eventId, cached -> cached.version == version && !cached.isExpired(), () -> {
+            snapshots.removeIf(WaitlistSnapshot::isExpired);
+            return buildSnapshot(eventId, version);
+        });
+    }
+
+    private WaitlistSnapshot buildSnapshot(Long eventId, long version) {
+        List<Object[]> rows = registrationRepository.findWaitlistOrder(eventId);
+        long[] dates = new long[rows.size()];
+        long[] ids = new long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            ids[i] = ((Number) rows.get(i)[0]).longValue();
+            dates[i] = toEpochNanos(rows.get(i)[1]);
+        }
+        return new WaitlistSnapshot(version, dates, ids);
+    }
+
+    private static long toEpochNanos(Object value) {
+        LocalDateTime dateTime = value instanceof Timestamp timestamp
+            ? timestamp.toLocalDateTime()
+            : (LocalDateTime) value;
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + dateTime.getNano();
+    }
+
+    // Waitlist keys sorted by (registration date, id), i.e. the promotion order
+    static final class WaitlistSnapshot {
+        final long version;
+        private final long[] dates;
+        private final long[] ids;
+        private final Instant builtAt = Instant.now();
+
+        WaitlistSnapshot(long version, long[] dates, long[] ids) {
+            this.version = version;
+            this.dates = dates;
+            this.ids = ids;
+        }
+
+        boolean isExpired() {
+            return builtAt.plus(SNAPSHOT_TTL).isBefore(Instant.now());
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        // Binary search for a key, -1 if it is not on the waitlist
+        int indexOf(long date, long id) {
+            int low = 0;
+            int high = ids.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = dates[mid] != date ? Long.compare(dates[mid], date) : Long.compare(ids[mid], id);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+    }
+}
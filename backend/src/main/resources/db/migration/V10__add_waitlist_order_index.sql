@@ -0,0 +1,8 @@
+-- V10: Index for FIFO waitlist promotion and position lookups
+-- Covers WHERE event_id = ? AND status = ? ORDER BY registration_date, id and
+-- replaces the (event_id, status) index from V9, which is a prefix of it
+
+CREATE INDEX idx_registrations_event_status_date
+    ON registrations (event_id, status, registration_date, id);
+
+DROP INDEX idx_registrations_event_status ON registrations;
@@ -0,0 +1,7 @@
+-- V11: The roster query reads an event's registrations through
+-- uk_registration_event_participant (event_id, participant_id), which also
+-- supplies the participant join key, and joins allergies through the
+-- participant_allergens primary key (participant_id, allergen_id).
+-- The single-column event index is a prefix of the unique key and is dropped.
+
+DROP INDEX idx_registrations_event ON registrations;
@@ -0,0 +1,21 @@
+-- V12: Pooled id generation for participants, registrations, form fields and field options
+-- IDENTITY ids force Hibernate to insert rows one by one to read the generated key,
+-- which disables JDBC insert batching. These entities now take ids from blocks of 50
+-- reserved in this table (one row per table, allocationSize on the entity).
+-- Hibernate treats next_id as the last id of the previously reserved block, so each
+-- row is seeded to MAX(id) + 50 to keep new blocks above every existing id.
+-- AUTO_INCREMENT stays on the id columns but the application no longer relies on it.
+
+CREATE TABLE id_generators (
+    entity VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_id BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO id_generators (entity, next_id)
+SELECT 'participants', COALESCE(MAX(id), 0) + 50 FROM participants
+UNION ALL
+SELECT 'registrations', COALESCE(MAX(id), 0) + 50 FROM registrations
+UNION ALL
+SELECT 'form_fields', COALESCE(MAX(id), 0) + 50 FROM form_fields
+UNION ALL
+SELECT 'field_options', COALESCE(MAX(id), 0) + 50 FROM field_options;
@@ -0,0 +1,4 @@
+-- V13: Index for age queries
+-- Minor and age bracket lookups filter participants on birth date ranges
+
+CREATE INDEX idx_participants_birth_date ON participants (birth_date);
@@ -0,0 +1,7 @@
+-- V14: Waitlist change tracking on events
+-- waitlist_version is bumped by every counter update that moves registrations
+-- onto or off an event's waitlist, so cached waitlist order (see WaitlistService)
+-- survives signups and other roster changes that bump registration_version only
+
+ALTER TABLE events
+    ADD COLUMN waitlist_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,7 @@
+-- V15: Edit tracking on events
+-- edit_version is bumped on every edit of an event's own fields. updated_at only
+-- has second precision, so two edits within a second left the event's data
+-- version (ETag) unchanged; the counter tells them apart
+
+ALTER TABLE events
+    ADD COLUMN edit_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,29 @@
+-- V7: Denormalized registration counters on events
+-- Maintained in the same transaction as registration writes so capacity
+-- checks no longer need COUNT(*) over registrations
+
+ALTER TABLE events
+    ADD COLUMN registration_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN confirmed_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN pending_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN waitlist_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN cancelled_count INT NOT NULL DEFAULT 0;
+
+-- Backfill counters from existing registrations
+UPDATE events e
+    JOIN (
+        SELECT event_id,
+               COUNT(*) AS total,
+               SUM(status = 'CONFIRMED') AS confirmed,
+               SUM(status = 'PENDING') AS pending,
+               SUM(status = 'WAITLIST') AS waitlist,
+               SUM(status = 'CANCELLED') AS cancelled
+        FROM registrations
+        GROUP BY event_id
+    ) c ON c.event_id = e.id
+SET e.registration_count = c.total,
+    e.confirmed_count = c.confirmed,
+    e.pending_count = c.pending,
+    e.waitlist_count = c.waitlist,
+    e.cancelled_count = c.cancelled,
+    e.updated_at = e.updated_at;
@@ -0,0 +1,8 @@
+-- V8: Registration change tracking on events
+-- registration_version is bumped on every change to an event's registrations
+-- (or the participants/patrols shown in its roster) and, together with
+-- updated_at, forms the event's data version used for ETag / Last-Modified
+
+ALTER TABLE events
+    ADD COLUMN registration_version BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN registrations_changed_at DATETIME(3) NULL;
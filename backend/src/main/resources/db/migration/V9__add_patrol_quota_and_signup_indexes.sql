@@ -0,0 +1,8 @@
+-- V9: Per-patrol registration quotas and indexes for signup admission
+
+-- Optional cap on active (pending/confirmed) registrations per patrol and event
+ALTER TABLE patrols
+    ADD COLUMN registration_quota INT NULL;
+
+-- Quota checks count active registrations of one event by status
+CREATE INDEX idx_registrations_event_status ON registrations (event_id, status);
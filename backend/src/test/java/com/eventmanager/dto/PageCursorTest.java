@@ -0,0 +1,81 @@
+package com.eventmanager.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PageCursor
+ */
+class PageCursorTest {
+
+    @Test
+    @DisplayName("Should decode the keys it encoded, including separators and non-ASCII text")
+    void encode_RoundTrip() {
+        // Arrange
+        LocalDateTime startDate = LocalDateTime.of(2027, 7, 15, 10, 0);
+
+        // Act
+        PageCursor cursor = PageCursor.decode(PageCursor.encode("Åberg|Öst", "Anna Ärla", 42L, startDate), 4);
+
+        // Assert
+        assertEquals("Åberg|Öst", cursor.getString(0));
+        assertEquals("Anna Ärla", cursor.getString(1));
+        assertEquals(42L, cursor.getLong(2));
+        assertEquals(startDate, cursor.getDateTime(3));
+    }
+
+    @Test
+    @DisplayName("Should encode to URL-safe text without padding")
+    void encode_UrlSafe() {
+        String cursor = PageCursor.encode("Ö?>~", "ÿÿÿ", 1L);
+
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"), cursor);
+    }
+
+    @Test
+    @DisplayName("Should encode a null key as an empty string")
+    void encode_NullKey() {
+        PageCursor cursor = PageCursor.decode(PageCursor.encode(null, 7L), 2);
+
+        assertEquals("", cursor.getString(0));
+        assertEquals(7L, cursor.getLong(1));
+    }
+
+    @Test
+    @DisplayName("Should return null for an absent cursor")
+    void decode_Absent() {
+        assertNull(PageCursor.decode(null, 2));
+        assertNull(PageCursor.decode(" ", 2));
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor that is not Base64")
+    void decode_NotBase64() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not a cursor!", 2));
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor with the wrong number of keys")
+    void decode_WrongKeyCount() {
+        String cursor = PageCursor.encode("Andersson", 1L);
+
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(cursor, 3));
+    }
+
+    @Test
+    @DisplayName("Should reject keys of the wrong type when they are read")
+    void get_WrongType() {
+        String raw = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("igår|ett".getBytes(StandardCharsets.UTF_8));
+        PageCursor cursor = PageCursor.decode(raw, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> cursor.getDateTime(0));
+        assertThrows(IllegalArgumentException.class, () -> cursor.getLong(1));
+    }
+}
@@ -0,0 +1,134 @@
+package com.eventmanager.repository;
+
+import com.eventmanager.entity.Allergen;
+import com.eventmanager.test.TestPersistence;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query count tests for AllergenRepository usage counts
+ * Runs against the H2 test persistence unit (eventTestPU)
+ */
+class AllergenRepositoryQueryCountTest {
+
+    private static EntityManagerFactory emf;
+    private static Statistics statistics;
+
+    private EntityManager em;
+    private AllergenRepository allergenRepository;
+
+    @BeforeAll
+    static void createEntityManagerFactory() {
+        emf = TestPersistence.createEntityManagerFactory();
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterAll
+    static void closeEntityManagerFactory() {
+        emf.close();
+    }
+
+    // Allergens Mjölk (1), Ägg (2) and Nötter (3, unused); events 1 and 2
+    // Participant 1 has Mjölk and Ägg, participant 2 Mjölk, participant 3 Mjölk and is registered nowhere
+    // Participant 1 is CONFIRMED at event 1 and CANCELLED at event 2, participant 2 is PENDING at event 1
+    @BeforeEach
+    void setUp() {
+        String event = "INSERT INTO events (id, name, start_date, end_date, capacity, active, created_at, "
+                + "registration_count, confirmed_count, pending_count, waitlist_count, cancelled_count) VALUES (%d, "
+                + "'Läger %d', TIMESTAMP '2027-07-15 10:00:00', TIMESTAMP '2027-07-20 16:00:00', 100, TRUE, "
+                + "CURRENT_TIMESTAMP, 0, 0, 0, 0, 0)";
+        String participant = "INSERT INTO participants (id, first_name, last_name, created_at) "
+                + "VALUES (%d, 'Förnamn', 'Efternamn%d', CURRENT_TIMESTAMP)";
+        String registration = "INSERT INTO registrations (id, event_id, participant_id, status, registration_date) "
+                + "VALUES (%d, %d, %d, '%s', CURRENT_TIMESTAMP)";
+        TestPersistence.execute(emf,
+                String.format(event, 1, 1),
+                String.format(event, 2, 2),
+                "INSERT INTO allergens (id, name, severity) VALUES (1, 'Mjölk', 'MEDIUM')",
+                "INSERT INTO allergens (id, name, severity) VALUES (2, 'Ägg', 'HIGH')",
+                "INSERT INTO allergens (id, name, severity) VALUES (3, 'Nötter', 'CRITICAL')",
+                String.format(participant, 1, 1),
+                String.format(participant, 2, 2),
+                String.format(participant, 3, 3),
+                "INSERT INTO participant_allergens (participant_id, allergen_id) VALUES (1, 1), (1, 2), (2, 1), (3, 1)",
+                String.format(registration, 1, 1, 1, "CONFIRMED"),
+                String.format(registration, 2, 2, 1, "CANCELLED"),
+                String.format(registration, 3, 1, 2, "PENDING"));
+
+        em = emf.createEntityManager();
+        allergenRepository = TestPersistence.inject(new AllergenRepository(), em);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (em.isOpen()) {
+            em.close();
+        }
+        TestPersistence.execute(emf, "DELETE FROM registrations", "DELETE FROM participant_allergens",
+                "DELETE FROM participants", "DELETE FROM allergens", "DELETE FROM events");
+    }
+
+    // Count usage in one statement; rows as allergen ID -> [participants, PENDING, CONFIRMED, CANCELLED, WAITLIST]
+    private Map<Long, List<Long>> countUsage(Long eventId) {
+        statistics.clear();
+        List<Object[]> rows = allergenRepository.countUsage(eventId);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        return rows.stream().collect(Collectors.toMap(
+                row -> ((Number) row[0]).longValue(),
+                row -> Arrays.stream(row, 1, row.length).map(count -> ((Number) count).longValue()).toList()));
+    }
+
+    @Test
+    @DisplayName("countUsage should count the participants registered to an event per status")
+    void countUsage_Event() {
+        Map<Long, List<Long>> usage = countUsage(1L);
+
+        assertEquals(Map.of(
+                1L, List.of(2L, 1L, 1L, 0L, 0L),
+                2L, List.of(1L, 0L, 1L, 0L, 0L)), usage);
+    }
+
+    @Test
+    @DisplayName("countUsage without an event should count every participant once and each status they hold")
+    void countUsage_AllEvents() {
+        Map<Long, List<Long>> usage = countUsage(null);
+
+        assertEquals(Map.of(
+                1L, List.of(3L, 1L, 1L, 1L, 0L),
+                2L, List.of(1L, 0L, 1L, 1L, 0L)), usage);
+    }
+
+    @Test
+    @DisplayName("findByIdsForEvent should only return global allergens and the event's own, in one query")
+    void findByIdsForEvent_OneQuery() {
+        // Arrange - Nötter belongs to event 2
+        TestPersistence.execute(emf, "UPDATE allergens SET event_id = 2 WHERE id = 3");
+
+        // Act
+        statistics.clear();
+        List<Long> forEvent1 = allergenRepository.findByIdsForEvent(List.of(1L, 2L, 3L), 1L).stream()
+                .map(Allergen::getId).sorted().toList();
+        assertEquals(1, statistics.getPrepareStatementCount());
+        List<Long> forEvent2 = allergenRepository.findByIdsForEvent(List.of(1L, 3L), 2L).stream()
+                .map(Allergen::getId).sorted().toList();
+
+        // Assert
+        assertEquals(List.of(1L, 2L), forEvent1);
+        assertEquals(List.of(1L, 3L), forEvent2);
+    }
+}
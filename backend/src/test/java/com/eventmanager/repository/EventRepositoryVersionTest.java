@@ -0,0 +1,100 @@
+package com.eventmanager.repository;
+
+import com.eventmanager.dto.DataVersion;
+import com.eventmanager.entity.Event;
+import com.eventmanager.test.TestPersistence;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Data version (ETag) tests for EventRepository
+ * Runs against the H2 test persistence unit (eventTestPU); edits follow each other well within
+ * the second that updated_at resolves
+ */
+class EventRepositoryVersionTest {
+
+    private static EntityManagerFactory emf;
+
+    private EntityManager em;
+    private EventRepository eventRepository;
+
+    @BeforeAll
+    static void createEntityManagerFactory() {
+        emf = TestPersistence.createEntityManagerFactory();
+    }
+
+    @AfterAll
+    static void closeEntityManagerFactory() {
+        emf.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        TestPersistence.execute(emf,
+                "INSERT INTO events (id, name, start_date, end_date, capacity, active, created_at, updated_at, "
+                        + "registration_count, confirmed_count, pending_count, waitlist_count, cancelled_count) "
+                        + "VALUES (1, 'Sommarläger', TIMESTAMP '2027-07-15 10:00:00', TIMESTAMP '2027-07-20 16:00:00', "
+                        + "100, TRUE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0, 0, 0, 0, 0)");
+
+        em = emf.createEntityManager();
+        eventRepository = TestPersistence.inject(new EventRepository(), em);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (em.getTransaction().isActive()) {
+            em.getTransaction().rollback();
+        }
+        em.close();
+        TestPersistence.execute(emf, "DELETE FROM events");
+    }
+
+    // Rename the event through EventRepository.update in its own transaction
+    private void rename(String name) {
+        em.getTransaction().begin();
+        Event event = eventRepository.findById(1L).orElseThrow();
+        event.setName(name);
+        eventRepository.update(event);
+        em.getTransaction().commit();
+        em.clear();
+    }
+
+    @Test
+    @DisplayName("findVersion should change with every edit, also within one second")
+    void findVersion_ChangesWithEveryEdit() {
+        // Act
+        String initial = eventRepository.findVersion(1L).orElseThrow().getTag();
+        rename("Sommarläger 2027");
+        DataVersion first = eventRepository.findVersion(1L).orElseThrow();
+        rename("Sommarläger 2027 (nytt datum)");
+        DataVersion second = eventRepository.findVersion(1L).orElseThrow();
+
+        // Assert
+        assertNotEquals(initial, first.getTag());
+        assertNotEquals(first.getTag(), second.getTag());
+        assertTrue(eventRepository.findVersion(99L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("findListVersion should change with every edit of an event")
+    void findListVersion_ChangesWithEveryEdit() {
+        // Act
+        String initial = eventRepository.findListVersion().getTag();
+        rename("Sommarläger 2027");
+        String first = eventRepository.findListVersion().getTag();
+        rename("Sommarläger 2027 (nytt datum)");
+        String second = eventRepository.findListVersion().getTag();
+
+        // Assert
+        assertNotEquals(initial, first);
+        assertNotEquals(first, second);
+    }
+}
@@ -0,0 +1,208 @@
+package com.eventmanager.repository;
+
+import com.eventmanager.entity.Event;
+import com.eventmanager.entity.Participant;
+import com.eventmanager.entity.Registration;
+import com.eventmanager.test.TestPersistence;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Insert throughput benchmark for participant imports and signup batches
+ * Runs against the H2 test persistence unit (eventTestPU) and compares Hibernate JDBC batching,
+ * which the pooled table ids allow, with one INSERT per round trip, which IDENTITY ids forced.
+ * The one-by-one baseline is simulated: it keeps the pooled ids and flushes after every persist,
+ * so it measures the round trips IDENTITY cost but not the id retrieval.
+ *
+ * Excluded from the default build; run it with "mvn test -Pbenchmark" and set the number of
+ * rows with -Dbenchmark.rows (default 10000). JPA callbacks are off because the participant
+ * write listener needs CDI, so the timestamps the callbacks would set are set directly.
+ */
+@Tag("benchmark")
+class InsertThroughputBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 10_000);
+    private static final int WARM_UP_ROWS = 1_000;
+
+    // Chunk size of ParticipantImportService and batch size of SignupQueue
+    private static final int IMPORT_CHUNK = 500;
+    private static final int SIGNUP_BATCH = 50;
+
+    private static final long EVENT_ID = 1L;
+
+    // Participants signed up in the signup benchmark are inserted with SQL above the generated ids
+    private static final long FIRST_SIGNUP_PARTICIPANT = 1_000_001L;
+
+    private static EntityManagerFactory emf;
+    private static Statistics statistics;
+
+    @BeforeAll
+    static void createEntityManagerFactory() {
+        // Batch settings as in persistence.xml
+        emf = TestPersistence.createEntityManagerFactory(Map.of(
+                AvailableSettings.JPA_CALLBACKS_ENABLED, false,
+                AvailableSettings.STATEMENT_BATCH_SIZE, 25,
+                AvailableSettings.ORDER_INSERTS, true));
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterAll
+    static void closeEntityManagerFactory() {
+        emf.close();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestPersistence.execute(emf, "DELETE FROM registrations", "DELETE FROM participants", "DELETE FROM events");
+    }
+
+    @Test
+    @DisplayName("Participant import: insertBatch chunks against one INSERT per participant")
+    void participantImport() {
+        importParticipants(WARM_UP_ROWS, true);
+        importParticipants(WARM_UP_ROWS, false);
+
+        Result batched = importParticipants(ROWS, true);
+        Result single = importParticipants(ROWS, false);
+
+        report("participant import", batched, single);
+    }
+
+    @Test
+    @DisplayName("Signup batches: batched registration inserts against one INSERT per registration")
+    void signupBatches() {
+        TestPersistence.execute(emf,
+                "INSERT INTO events (id, name, start_date, end_date, capacity, active, created_at, "
+                        + "registration_count, confirmed_count, pending_count, waitlist_count, cancelled_count) "
+                        + "VALUES (" + EVENT_ID + ", 'Läger', TIMESTAMP '2027-07-15 10:00:00', "
+                        + "TIMESTAMP '2027-07-20 16:00:00', 0, TRUE, CURRENT_TIMESTAMP, 0, 0, 0, 0, 0)",
+                "INSERT INTO participants (id, first_name, last_name, created_at) "
+                        + "SELECT X, 'Förnamn', 'Efternamn', CURRENT_TIMESTAMP FROM SYSTEM_RANGE("
+                        + FIRST_SIGNUP_PARTICIPANT + ", " + (FIRST_SIGNUP_PARTICIPANT + ROWS - 1) + ")");
+
+        signUp(WARM_UP_ROWS, true);
+        signUp(WARM_UP_ROWS, false);
+
+        Result batched = signUp(ROWS, true);
+        Result single = signUp(ROWS, false);
+
+        report("signup batches", batched, single);
+    }
+
+    // Insert participants in import-sized chunks within one transaction, as ParticipantImportService
+    // does for a whole file
+    private Result importParticipants(int rows, boolean batched) {
+        TestPersistence.execute(emf, "DELETE FROM participants");
+        statistics.clear();
+        long start = System.nanoTime();
+        EntityManager em = emf.createEntityManager();
+        ParticipantRepository participantRepository = TestPersistence.inject(new ParticipantRepository(), em);
+        em.getTransaction().begin();
+        for (int from = 0; from < rows; from += IMPORT_CHUNK) {
+            List<Participant> chunk = new ArrayList<>(IMPORT_CHUNK);
+            for (int i = from; i < Math.min(from + IMPORT_CHUNK, rows); i++) {
+                Participant participant = new Participant();
+                participant.setFirstName("Förnamn" + i);
+                participant.setLastName("Efternamn" + i);
+                participant.setEmail("deltagare" + i + "@example.se");
+                TestPersistence.inject(participant, "createdAt", LocalDateTime.now());
+                chunk.add(participant);
+            }
+
+            if (batched) {
+                participantRepository.insertBatch(chunk);
+            } else {
+                // insertBatch detaches its chunk; do the same so both runs keep the same context size
+                persistOneByOne(em, chunk);
+                chunk.forEach(em::detach);
+            }
+        }
+        em.getTransaction().commit();
+        em.close();
+        return new Result(rows, System.nanoTime() - start, statistics.getPrepareStatementCount());
+    }
+
+    // Register participants in signup-sized batches, one transaction per batch as in SignupQueue
+    private Result signUp(int rows, boolean batched) {
+        TestPersistence.execute(emf, "DELETE FROM registrations");
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int from = 0; from < rows; from += SIGNUP_BATCH) {
+            EntityManager em = emf.createEntityManager();
+            em.getTransaction().begin();
+            Event event = em.getReference(Event.class, EVENT_ID);
+            List<Registration> batch = new ArrayList<>(SIGNUP_BATCH);
+            for (int i = from; i < Math.min(from + SIGNUP_BATCH, rows); i++) {
+                Registration registration = new Registration(event,
+                        em.getReference(Participant.class, FIRST_SIGNUP_PARTICIPANT + i));
+                TestPersistence.inject(registration, "registrationDate", LocalDateTime.now());
+                batch.add(registration);
+            }
+            if (batched) {
+                batch.forEach(em::persist);
+            } else {
+                persistOneByOne(em, batch);
+            }
+            em.getTransaction().commit();
+            em.close();
+        }
+        return new Result(rows, System.nanoTime() - start, statistics.getPrepareStatementCount());
+    }
+
+    // Flush after every persist, so each INSERT runs on its own as it did with IDENTITY ids
+    // (ids still come from the pooled generator, so this simulates IDENTITY's round trips only)
+    private static void persistOneByOne(EntityManager em, List<?> entities) {
+        for (Object entity : entities) {
+            em.persist(entity);
+            em.flush();
+        }
+    }
+
+    private static void report(String scenario, Result batched, Result single) {
+        System.out.printf(Locale.ROOT, "%s, %d rows%n", scenario, batched.rows);
+        System.out.printf(Locale.ROOT, "  batched                          %s%n", batched);
+        System.out.printf(Locale.ROOT, "  one by one (simulated IDENTITY)  %s%n", single);
+        System.out.printf(Locale.ROOT, "  speed-up                         %.1fx%n", single.nanos / (double) batched.nanos);
+
+        // Timings depend on the machine; the statement counts show whether batching took effect
+        assertTrue(batched.statements * 5 < single.statements,
+                "batched inserts prepared " + batched.statements + " statements, one by one " + single.statements);
+    }
+
+    // Rows written, elapsed time and JDBC statements prepared by one run
+    private static final class Result {
+        final int rows;
+        final long nanos;
+        final long statements;
+
+        Result(int rows, long nanos, long statements) {
+            this.rows = rows;
+            this.nanos = nanos;
+            this.statements = statements;
+        }
+
+        @Override
+        public String toString() {
+            double seconds = nanos / 1e9;
+            return String.format(Locale.ROOT, "%8.0f rows/s  %7.1f ms  %6d statements",
+                    rows / seconds, seconds * 1000, statements);
+        }
+    }
+}
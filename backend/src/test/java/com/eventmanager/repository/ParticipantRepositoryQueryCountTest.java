@@ -0,0 +1,268 @@
+package com.eventmanager.repository;
+
+import com.eventmanager.dto.ParticipantDTO;
+import com.eventmanager.entity.Participant;
+import com.eventmanager.test.TestPersistence;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query count tests for ParticipantRepository reads that are mapped to ParticipantDTO
+ * Runs against the H2 test persistence unit (eventTestPU) and counts JDBC statements;
+ * DTOs are mapped after the EntityManager is closed, so any lazy load would fail
+ */
+class ParticipantRepositoryQueryCountTest {
+
+    private static EntityManagerFactory emf;
+    private static Statistics statistics;
+
+    private EntityManager em;
+    private ParticipantRepository participantRepository;
+
+    @BeforeAll
+    static void createEntityManagerFactory() {
+        emf = TestPersistence.createEntityManagerFactory();
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterAll
+    static void closeEntityManagerFactory() {
+        emf.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        em = emf.createEntityManager();
+        participantRepository = TestPersistence.inject(new ParticipantRepository(), em);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (em.isOpen()) {
+            em.close();
+        }
+        TestPersistence.execute(emf, "DELETE FROM participant_allergens", "DELETE FROM participants",
+                "DELETE FROM allergens", "DELETE FROM patrols");
+    }
+
+    // Two patrols and three allergens; participant n is in patrol n % 2, has allergens 1..(n % 3)
+    // and was born n months after the start of 2000
+    // Inserted with SQL, as the entity listener needs CDI to announce persisted participants
+    private void givenParticipants(int count) {
+        EntityManager setup = emf.createEntityManager();
+        setup.getTransaction().begin();
+        for (long patrol = 1; patrol <= 2; patrol++) {
+            setup.createNativeQuery("INSERT INTO patrols (id, name) VALUES (?1, ?2)")
+                    .setParameter(1, patrol).setParameter(2, "Patrull " + patrol).executeUpdate();
+        }
+        for (long allergen = 1; allergen <= 3; allergen++) {
+            setup.createNativeQuery("INSERT INTO allergens (id, name, severity) VALUES (?1, ?2, 'MEDIUM')")
+                    .setParameter(1, allergen).setParameter(2, "Allergen " + allergen).executeUpdate();
+        }
+        for (long id = 1; id <= count; id++) {
+            setup.createNativeQuery("INSERT INTO participants (id, first_name, last_name, patrol_id, birth_date, created_at) "
+                            + "VALUES (?1, ?2, ?3, ?4, ?5, CURRENT_TIMESTAMP)")
+                    .setParameter(1, id)
+                    .setParameter(2, "Förnamn" + id)
+                    .setParameter(3, String.format("Efternamn%03d", id))
+                    .setParameter(4, id % 2 + 1)
+                    .setParameter(5, LocalDate.of(2000, 1, 1).plusMonths(id))
+                    .executeUpdate();
+            for (long allergen = 1; allergen <= id % 3; allergen++) {
+                setup.createNativeQuery("INSERT INTO participant_allergens (participant_id, allergen_id) VALUES (?1, ?2)")
+                        .setParameter(1, id).setParameter(2, allergen).executeUpdate();
+            }
+        }
+        setup.getTransaction().commit();
+        setup.close();
+    }
+
+    // Run a read, close the EntityManager and map the result; returns the DTOs and checks the statement count
+    private List<ParticipantDTO> assertStatements(long expected, Function<ParticipantRepository, List<Participant>> read) {
+        statistics.clear();
+        List<Participant> participants = read.apply(participantRepository);
+        em.close();
+        List<ParticipantDTO> dtos = participants.stream().map(ParticipantDTO::new).toList();
+        assertEquals(expected, statistics.getPrepareStatementCount());
+        return dtos;
+    }
+
+    @Nested
+    @DisplayName("List read tests")
+    class ListReadTests {
+
+        @ParameterizedTest
+        @ValueSource(ints = {3, 40})
+        @DisplayName("findAll should load participants, patrols and allergens in one query")
+        void findAll_OneQuery(int count) {
+            // Arrange
+            givenParticipants(count);
+
+            // Act
+            List<ParticipantDTO> result = assertStatements(1, ParticipantRepository::findAll);
+
+            // Assert
+            assertEquals(count, result.size());
+            ParticipantDTO second = result.get(1);
+            assertEquals("Patrull 1", second.getPatrolName());
+            assertEquals(2, second.getAllergens().size());
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {3, 40})
+        @DisplayName("findByPatrolId should load the patrol's participants in one query")
+        void findByPatrolId_OneQuery(int count) {
+            givenParticipants(count);
+
+            List<ParticipantDTO> result = assertStatements(1, repository -> repository.findByPatrolId(2L));
+
+            assertEquals((count + 1) / 2, result.size());
+            assertTrue(result.stream().allMatch(dto -> "Patrull 2".equals(dto.getPatrolName())));
+        }
+
+        @Test
+        @DisplayName("findWithAllergens should return each participant once with all allergens")
+        void findWithAllergens_OneQuery() {
+            givenParticipants(40);
+
+            List<ParticipantDTO> result = assertStatements(1, ParticipantRepository::findWithAllergens);
+
+            assertEquals(27, result.size());
+            assertEquals(27, result.stream().map(ParticipantDTO::getId).distinct().count());
+        }
+
+        @Test
+        @DisplayName("findByBirthDateRange should load the participants born in the range in one query")
+        void findByBirthDateRange_OneQuery() {
+            givenParticipants(40);
+
+            List<ParticipantDTO> result = assertStatements(1, repository -> repository.findByBirthDateRange(
+                    null, LocalDate.of(2000, 6, 1), LocalDate.of(2001, 1, 1)));
+
+            assertEquals(List.of(6L, 7L, 8L, 9L, 10L, 11L, 12L), result.stream().map(ParticipantDTO::getId).toList());
+        }
+
+        @Test
+        @DisplayName("findByIds should load the requested participants in one query")
+        void findByIds_OneQuery() {
+            givenParticipants(40);
+
+            List<ParticipantDTO> result = assertStatements(1,
+                    repository -> repository.findByIds(LongStream.rangeClosed(1, 30).boxed().toList()));
+
+            assertEquals(30, result.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Page read tests")
+    class PageReadTests {
+
+        @ParameterizedTest
+        @ValueSource(ints = {5, 30})
+        @DisplayName("findPage should load a page in two queries, whatever its size")
+        void findPage_TwoQueries(int limit) {
+            // Arrange
+            givenParticipants(40);
+
+            // Act - the page itself, then all of its allergens in one batch
+            statistics.clear();
+            List<Participant> rows = participantRepository.findPage(null, null, null, null, null, null, limit);
+            List<ParticipantDTO> result = rows.subList(0, limit).stream().map(ParticipantDTO::new).toList();
+
+            // Assert
+            assertEquals(2, statistics.getPrepareStatementCount());
+            assertEquals(limit, result.size());
+            assertEquals("Efternamn001", result.get(0).getLastName());
+            assertEquals(1, result.get(0).getAllergens().size());
+        }
+
+        @Test
+        @DisplayName("findPage should only page through participants with the allergen")
+        void findPage_Allergen() {
+            // Arrange - allergen 2 belongs to participants with n % 3 == 2
+            givenParticipants(40);
+
+            // Act
+            statistics.clear();
+            List<Participant> rows = participantRepository.findPage(null, null, 2L, "Efternamn005", "Förnamn5", 5L, 3);
+
+            // Assert
+            assertEquals(1, statistics.getPrepareStatementCount());
+            assertEquals(List.of(8L, 11L, 14L, 17L), rows.stream().map(Participant::getId).toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Allergen link tests")
+    class AllergenLinkTests {
+
+        private long countLinks(long participantId) {
+            return ((Number) em.createNativeQuery("SELECT COUNT(*) FROM participant_allergens WHERE participant_id = ?")
+                    .setParameter(1, participantId)
+                    .getSingleResult()).longValue();
+        }
+
+        @Test
+        @DisplayName("insertAllergen should add one link in one statement, once")
+        void insertAllergen_OneStatement() {
+            // Arrange - participant 1 has allergen 1
+            givenParticipants(3);
+            em.getTransaction().begin();
+
+            // Act
+            statistics.clear();
+            boolean inserted = participantRepository.insertAllergen(1L, 3L);
+            long statements = statistics.getPrepareStatementCount();
+            boolean insertedAgain = participantRepository.insertAllergen(1L, 3L);
+            boolean unknownParticipant = participantRepository.insertAllergen(99L, 3L);
+            em.getTransaction().commit();
+
+            // Assert
+            assertTrue(inserted);
+            assertEquals(1, statements);
+            assertFalse(insertedAgain);
+            assertFalse(unknownParticipant);
+            assertEquals(2, countLinks(1L));
+        }
+
+        @Test
+        @DisplayName("deleteAllergen should remove one link in one statement")
+        void deleteAllergen_OneStatement() {
+            // Arrange - participant 2 has allergens 1 and 2
+            givenParticipants(3);
+            em.getTransaction().begin();
+
+            // Act
+            statistics.clear();
+            boolean deleted = participantRepository.deleteAllergen(2L, 1L);
+            long statements = statistics.getPrepareStatementCount();
+            boolean deletedAgain = participantRepository.deleteAllergen(2L, 1L);
+            em.getTransaction().commit();
+
+            // Assert
+            assertTrue(deleted);
+            assertEquals(1, statements);
+            assertFalse(deletedAgain);
+            assertEquals(1, countLinks(2L));
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.eventmanager.repository;
+
+import com.eventmanager.dto.PatrolDTO;
+import com.eventmanager.dto.PatrolSummary;
+import com.eventmanager.test.TestPersistence;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query count tests for PatrolRepository summary reads
+ * Runs against the H2 test persistence unit (eventTestPU); DTOs are mapped after the
+ * EntityManager is closed, so loading a patrol's event or participants would fail
+ */
+class PatrolRepositoryQueryCountTest {
+
+    private static EntityManagerFactory emf;
+    private static Statistics statistics;
+
+    private EntityManager em;
+    private PatrolRepository patrolRepository;
+
+    @BeforeAll
+    static void createEntityManagerFactory() {
+        emf = TestPersistence.createEntityManagerFactory();
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterAll
+    static void closeEntityManagerFactory() {
+        emf.close();
+    }
+
+    // Event 1 "Sommarläger" with patrols Ekorrarna (3 participants) and Björnarna (none);
+    // Vargarna (2 participants) belongs to no event
+    @BeforeEach
+    void setUp() {
+        List<String> statements = new ArrayList<>(List.of(
+                "INSERT INTO events (id, name, start_date, end_date, capacity, active, created_at, registration_count, "
+                        + "confirmed_count, pending_count, waitlist_count, cancelled_count) VALUES (1, 'Sommarläger', "
+                        + "TIMESTAMP '2027-07-15 10:00:00', TIMESTAMP '2027-07-20 16:00:00', 100, TRUE, CURRENT_TIMESTAMP, "
+                        + "0, 0, 0, 0, 0)",
+                "INSERT INTO patrols (id, name, event_id) VALUES (1, 'Ekorrarna', 1)",
+                "INSERT INTO patrols (id, name, event_id) VALUES (2, 'Björnarna', 1)",
+                "INSERT INTO patrols (id, name, event_id) VALUES (3, 'Vargarna', NULL)"));
+        long[] patrolIds = {1, 1, 1, 3, 3};
+        for (int i = 0; i < patrolIds.length; i++) {
+            statements.add("INSERT INTO participants (id, first_name, last_name, patrol_id, created_at) VALUES ("
+                    + (i + 1) + ", 'Förnamn', 'Efternamn" + i + "', " + patrolIds[i] + ", CURRENT_TIMESTAMP)");
+        }
+        TestPersistence.execute(emf, statements.toArray(String[]::new));
+
+        em = emf.createEntityManager();
+        patrolRepository = TestPersistence.inject(new PatrolRepository(), em);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (em.isOpen()) {
+            em.close();
+        }
+        TestPersistence.execute(emf, "DELETE FROM participants", "DELETE FROM patrols", "DELETE FROM events");
+    }
+
+    // Run a read, close the EntityManager and map the result; checks the read was one statement
+    private List<PatrolDTO> assertOneStatement(Function<PatrolRepository, List<PatrolSummary>> read) {
+        statistics.clear();
+        List<PatrolSummary> summaries = read.apply(patrolRepository);
+        em.close();
+        List<PatrolDTO> dtos = summaries.stream().map(PatrolDTO::new).toList();
+        assertEquals(1, statistics.getPrepareStatementCount());
+        return dtos;
+    }
+
+    @Test
+    @DisplayName("findAllSummaries should return event names and participant counts in one query")
+    void findAllSummaries_OneQuery() {
+        List<PatrolDTO> result = assertOneStatement(PatrolRepository::findAllSummaries);
+
+        assertEquals(List.of("Björnarna", "Ekorrarna", "Vargarna"), result.stream().map(PatrolDTO::getName).toList());
+        assertEquals(List.of(0, 3, 2), result.stream().map(PatrolDTO::getParticipantCount).toList());
+        assertEquals("Sommarläger", result.get(1).getEventName());
+        assertEquals(1L, result.get(1).getEventId());
+        assertNull(result.get(2).getEventName());
+    }
+
+    @Test
+    @DisplayName("findSummariesByEventId should only return the event's patrols")
+    void findSummariesByEventId_OneQuery() {
+        List<PatrolDTO> result = assertOneStatement(repository -> repository.findSummariesByEventId(1L));
+
+        assertEquals(List.of("Björnarna", "Ekorrarna"), result.stream().map(PatrolDTO::getName).toList());
+    }
+
+    @Test
+    @DisplayName("findSummaryPage should page grouped rows")
+    void findSummaryPage_OneQuery() {
+        List<PatrolDTO> result = assertOneStatement(repository -> repository.findSummaryPage(null, "Björnarna", 2L, 1));
+
+        assertEquals(List.of("Ekorrarna", "Vargarna"), result.stream().map(PatrolDTO::getName).toList());
+        assertEquals(3, result.get(0).getParticipantCount());
+    }
+
+    @Test
+    @DisplayName("searchSummariesByName should return counts for matching patrols")
+    void searchSummariesByName_OneQuery() {
+        List<PatrolDTO> result = assertOneStatement(repository -> repository.searchSummariesByName("ARNA"));
+
+        assertEquals(3, result.size());
+    }
+
+    @Test
+    @DisplayName("findSummaryById should return one patrol or nothing")
+    void findSummaryById() {
+        assertEquals(2, patrolRepository.findSummaryById(3L).orElseThrow().getParticipantCount());
+        assertTrue(patrolRepository.findSummaryById(99L).isEmpty());
+    }
+}
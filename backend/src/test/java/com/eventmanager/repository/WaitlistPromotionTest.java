@@ -0,0 +1,178 @@
+package com.eventmanager.repository;
+
+import com.eventmanager.entity.Registration;
+import com.eventmanager.entity.RegistrationStatus;
+import com.eventmanager.test.TestPersistence;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for waitlist promotion in EventRepository and RegistrationRepository
+ * Runs against the H2 test persistence unit (eventTestPU)
+ */
+class WaitlistPromotionTest {
+
+    private static EntityManagerFactory emf;
+
+    private EntityManager em;
+    private EventRepository eventRepository;
+    private RegistrationRepository registrationRepository;
+
+    @BeforeAll
+    static void createEntityManagerFactory() {
+        emf = TestPersistence.createEntityManagerFactory();
+    }
+
+    @AfterAll
+    static void closeEntityManagerFactory() {
+        emf.close();
+    }
+
+    // Event 1 with room for 2 more; patrol 1 (quota 1) already holds its seat through participant 1.
+    // The waitlist in FIFO order: participant 3 (patrol 1), 4 (patrol 2, no quota), 5 (no patrol)
+    @BeforeEach
+    void setUp() {
+        List<String> statements = new ArrayList<>(List.of(
+                "INSERT INTO events (id, name, start_date, end_date, capacity, active, created_at, registration_count, "
+                        + "confirmed_count, pending_count, waitlist_count, cancelled_count) VALUES (1, 'Sommarläger', "
+                        + "TIMESTAMP '2027-07-15 10:00:00', TIMESTAMP '2027-07-20 16:00:00', 4, TRUE, CURRENT_TIMESTAMP, "
+                        + "5, 1, 1, 3, 0)",
+                "INSERT INTO patrols (id, name, event_id, registration_quota) VALUES (1, 'Ekorrarna', 1, 1)",
+                "INSERT INTO patrols (id, name, event_id, registration_quota) VALUES (2, 'Björnarna', 1, NULL)"));
+        Object[][] registrations = {
+                {1, "1", "PENDING"}, {2, "2", "CONFIRMED"}, {3, "1", "WAITLIST"}, {4, "2", "WAITLIST"}, {5, "NULL", "WAITLIST"}};
+        for (Object[] registration : registrations) {
+            statements.add("INSERT INTO participants (id, first_name, last_name, patrol_id, created_at) VALUES ("
+                    + registration[0] + ", 'Förnamn', 'Efternamn', " + registration[1] + ", CURRENT_TIMESTAMP)");
+            statements.add("INSERT INTO registrations (id, event_id, participant_id, status, registration_date) VALUES ("
+                    + registration[0] + ", 1, " + registration[0] + ", '" + registration[2] + "', "
+                    + "TIMESTAMP '2027-01-01 10:00:00' + " + registration[0] + " * INTERVAL '1' MINUTE)");
+        }
+        TestPersistence.execute(emf, statements.toArray(String[]::new));
+
+        em = emf.createEntityManager();
+        eventRepository = TestPersistence.inject(new EventRepository(), em);
+        registrationRepository = TestPersistence.inject(new RegistrationRepository(), em);
+        TestPersistence.inject(registrationRepository, "eventRepository", eventRepository);
+        em.getTransaction().begin();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (em.getTransaction().isActive()) {
+            em.getTransaction().rollback();
+        }
+        em.close();
+        TestPersistence.execute(emf, "DELETE FROM registrations", "DELETE FROM participants",
+                "DELETE FROM patrols", "DELETE FROM events");
+    }
+
+    private String status(long registrationId) {
+        return (String) em.createNativeQuery("SELECT status FROM registrations WHERE id = ?")
+                .setParameter(1, registrationId)
+                .getSingleResult();
+    }
+
+    private List<Number> counters() {
+        Object[] row = (Object[]) em.createNativeQuery(
+                        "SELECT confirmed_count, pending_count, waitlist_count FROM events WHERE id = 1")
+                .getSingleResult();
+        return List.of((Number) row[0], (Number) row[1], (Number) row[2]);
+    }
+
+    @Test
+    @DisplayName("promoteWaitlisted should skip the head of the waitlist when its patrol is at quota")
+    void promoteWaitlisted_SkipsPatrolAtQuota() {
+        // Act
+        int promoted = eventRepository.promoteWaitlisted(1L);
+
+        // Assert
+        assertEquals(2, promoted);
+        assertEquals("WAITLIST", status(3));
+        assertEquals("PENDING", status(4));
+        assertEquals("PENDING", status(5));
+        assertEquals(List.of(1, 3, 1), counters().stream().map(Number::intValue).toList());
+    }
+
+    @Test
+    @DisplayName("promoteWaitlisted should count promotions against the patrol's quota")
+    void promoteWaitlisted_CountsPromotionsAgainstQuota() {
+        // Arrange - patrol 1 gets room for one more, patrol 2 a quota of one
+        em.createNativeQuery("UPDATE patrols SET registration_quota = 2 WHERE id = 1").executeUpdate();
+        em.createNativeQuery("UPDATE patrols SET registration_quota = 1 WHERE id = 2").executeUpdate();
+        em.createNativeQuery("INSERT INTO participants (id, first_name, last_name, patrol_id, created_at) "
+                + "VALUES (6, 'Förnamn', 'Efternamn', 1, CURRENT_TIMESTAMP)").executeUpdate();
+        em.createNativeQuery("INSERT INTO registrations (id, event_id, participant_id, status, registration_date) "
+                + "VALUES (6, 1, 6, 'WAITLIST', TIMESTAMP '2027-01-01 10:00:00')").executeUpdate();
+        em.createNativeQuery("UPDATE events SET capacity = 0, waitlist_count = 4 WHERE id = 1").executeUpdate();
+
+        // Act - unlimited capacity: only the quotas hold anyone back
+        int promoted = eventRepository.promoteWaitlisted(1L);
+
+        // Assert - 6 takes patrol 1's last place before 3; patrol 2 is full with participant 2
+        assertEquals(2, promoted);
+        assertEquals("PENDING", status(6));
+        assertEquals("WAITLIST", status(3));
+        assertEquals("WAITLIST", status(4));
+        assertEquals("PENDING", status(5));
+    }
+
+    @Test
+    @DisplayName("The waitlist version should move only with changes onto or off the waitlist")
+    void waitlistVersion_OnlyWaitlistChanges() {
+        // Act & Assert - a confirmed signup and a pending confirmation leave the waitlist alone
+        long initial = eventRepository.findWaitlistVersion(1L).orElseThrow();
+        eventRepository.adjustRegistrationCounters(1L, RegistrationStatus.CONFIRMED, 1);
+        eventRepository.moveRegistrationCounter(1L, RegistrationStatus.PENDING, RegistrationStatus.CONFIRMED);
+        assertEquals(initial, eventRepository.findWaitlistVersion(1L).orElseThrow());
+
+        // Act & Assert - a waitlisted signup and a promotion change it
+        eventRepository.adjustRegistrationCounters(1L, RegistrationStatus.WAITLIST, 1);
+        assertEquals(initial + 1, eventRepository.findWaitlistVersion(1L).orElseThrow());
+        em.createNativeQuery("UPDATE events SET capacity = 0 WHERE id = 1").executeUpdate();
+        eventRepository.promoteWaitlisted(1L);
+        assertEquals(initial + 2, eventRepository.findWaitlistVersion(1L).orElseThrow());
+        assertTrue(eventRepository.findWaitlistVersion(99L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("update should keep a registration moved to the waitlist there")
+    void update_ToWaitlist_DoesNotPromote() {
+        // Act
+        Registration registration = em.find(Registration.class, 2L);
+        registration.setStatus(RegistrationStatus.WAITLIST);
+        Registration updated = registrationRepository.update(registration);
+
+        // Assert
+        assertEquals(RegistrationStatus.WAITLIST, updated.getStatus());
+        assertEquals("WAITLIST", status(2));
+        assertEquals("WAITLIST", status(4));
+        assertEquals(List.of(0, 1, 4), counters().stream().map(Number::intValue).toList());
+    }
+
+    @Test
+    @DisplayName("update should give a cancelled seat to the waitlist")
+    void update_ToCancelled_Promotes() {
+        // Act
+        Registration registration = em.find(Registration.class, 2L);
+        registration.cancel();
+        registrationRepository.update(registration);
+
+        // Assert - three free seats, but 3 is held back by its patrol's quota
+        assertEquals("CANCELLED", status(2));
+        assertEquals("WAITLIST", status(3));
+        assertEquals("PENDING", status(4));
+        assertEquals("PENDING", status(5));
+    }
+}
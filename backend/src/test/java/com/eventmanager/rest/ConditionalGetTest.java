@@ -0,0 +1,104 @@
+package com.eventmanager.rest;
+
+import com.eventmanager.dto.DataVersion;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.jboss.resteasy.specimpl.RequestImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URISyntaxException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ConditionalGet, with the JAX-RS precondition evaluation of RESTEasy
+ */
+class ConditionalGetTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2027, 7, 15, 10, 0, 0);
+
+    // Event 1 before and after an edit made within the same second of updated_at
+    private static final DataVersion VERSION = DataVersion.of(UPDATED_AT, "e1", UPDATED_AT, 3, 5);
+    private static final DataVersion EDITED = DataVersion.of(UPDATED_AT, "e1", UPDATED_AT, 4, 5);
+
+    private final AtomicInteger bodiesBuilt = new AtomicInteger();
+    private final Supplier<String> body = () -> "body " + bodiesBuilt.incrementAndGet();
+
+    // Respond to a GET request with the given conditional headers, as a resource does
+    private Response respond(Map<String, String> headers, DataVersion version) throws URISyntaxException {
+        MockHttpRequest request = MockHttpRequest.get("/events/1");
+        headers.forEach(request::header);
+        return ConditionalGet.respond(new RequestImpl(request, new MockHttpResponse()), request.getHttpHeaders(),
+                version, ConditionalGet.privateRevalidate(), body);
+    }
+
+    private static String httpDate(LocalDateTime dateTime) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                dateTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC));
+    }
+
+    private static String etag(DataVersion version) {
+        return new EntityTag(version.getTag()).toString();
+    }
+
+    @Test
+    @DisplayName("Should answer 200 with ETag and Last-Modified without conditional headers")
+    void noConditions_Returns200() throws URISyntaxException {
+        // Act
+        Response response = respond(Map.of(), VERSION);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals("body 1", response.getEntity());
+        assertEquals(new EntityTag(VERSION.getTag()), response.getEntityTag());
+        assertNotNull(response.getLastModified());
+    }
+
+    @Test
+    @DisplayName("Should answer 304 without building the body when If-None-Match matches")
+    void matchingETag_Returns304() throws URISyntaxException {
+        // Act
+        Response response = respond(Map.of(HttpHeaders.IF_NONE_MATCH, etag(VERSION)), VERSION);
+
+        // Assert
+        assertEquals(304, response.getStatus());
+        assertEquals(0, bodiesBuilt.get());
+    }
+
+    @Test
+    @DisplayName("Should answer 304 when not modified since If-Modified-Since")
+    void notModifiedSince_Returns304() throws URISyntaxException {
+        // Act
+        Response response = respond(Map.of(HttpHeaders.IF_MODIFIED_SINCE, httpDate(UPDATED_AT)), VERSION);
+
+        // Assert
+        assertEquals(304, response.getStatus());
+        assertEquals(0, bodiesBuilt.get());
+    }
+
+    @Test
+    @DisplayName("Should answer 200 with the new tag after an edit within the same second")
+    void changedETag_Returns200() throws URISyntaxException {
+        // Act - the client sends the tag and date of its copy from before the edit
+        Response response = respond(Map.of(
+                HttpHeaders.IF_NONE_MATCH, etag(VERSION),
+                HttpHeaders.IF_MODIFIED_SINCE, httpDate(UPDATED_AT)), EDITED);
+
+        // Assert
+        assertNotEquals(VERSION.getTag(), EDITED.getTag());
+        assertEquals(200, response.getStatus());
+        assertEquals("body 1", response.getEntity());
+        assertEquals(new EntityTag(EDITED.getTag()), response.getEntityTag());
+    }
+}
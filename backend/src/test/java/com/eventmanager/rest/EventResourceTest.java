@@ -0,0 +1,77 @@
+package com.eventmanager.rest;
+
+import com.eventmanager.dto.SignupRequest;
+import com.eventmanager.exception.GlobalExceptionHandler;
+import com.eventmanager.exception.ResourceNotFoundException;
+import com.eventmanager.exception.SignupQueueFullException;
+import com.eventmanager.service.EventService;
+import com.eventmanager.service.SignupQueue;
+import com.eventmanager.service.SignupService;
+import jakarta.ejb.EJBException;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EventResource error responses
+ * Services are mocked; exceptions thrown by EJBs reach GlobalExceptionHandler wrapped in an EJBException,
+ * as the container delivers them
+ */
+@ExtendWith(MockitoExtension.class)
+class EventResourceTest {
+
+    @Mock
+    private EventService eventService;
+
+    @Mock
+    private SignupService signupService;
+
+    @Mock
+    private SignupQueue signupQueue;
+
+    @InjectMocks
+    private EventResource eventResource;
+
+    private final GlobalExceptionHandler exceptionHandler = new GlobalExceptionHandler();
+
+    // Call the resource and map what it throws, as JAX-RS does
+    private Response queueSignup(Long eventId) {
+        Exception thrown = assertThrows(Exception.class, () -> eventResource.queueSignup(eventId, new SignupRequest()));
+        return exceptionHandler.toResponse(thrown);
+    }
+
+    @Nested
+    @DisplayName("queueSignup error tests")
+    class QueueSignupErrorTests {
+
+        @Test
+        @DisplayName("Should answer 503 when the signup queue is full")
+        void queueFull_Returns503() {
+            when(signupQueue.submit(eq(1L), any())).thenThrow(
+                    new EJBException(new SignupQueueFullException("Signup queue is full, please try again shortly")));
+
+            Response response = queueSignup(1L);
+
+            assertEquals(503, response.getStatus());
+            assertTrue(response.getEntity().toString().contains("Signup queue is full"));
+        }
+
+        @Test
+        @DisplayName("Should answer 404 for an unknown event")
+        void unknownEvent_Returns404() {
+            when(signupQueue.submit(eq(99L), any())).thenThrow(
+                    new EJBException(new ResourceNotFoundException("Event", 99L)));
+
+            assertEquals(404, queueSignup(99L).getStatus());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.eventmanager.rest;
+
+import com.eventmanager.dto.ExportType;
+import com.eventmanager.exception.ExportQueueFullException;
+import com.eventmanager.exception.GlobalExceptionHandler;
+import com.eventmanager.exception.ResourceNotFoundException;
+import com.eventmanager.service.ExportJobService;
+import jakarta.ejb.EJBException;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ExportJobResource error responses
+ * ExportJobService is mocked; its exceptions reach GlobalExceptionHandler wrapped in an EJBException,
+ * as the container delivers them
+ */
+@ExtendWith(MockitoExtension.class)
+class ExportJobResourceTest {
+
+    @Mock
+    private ExportJobService exportJobService;
+
+    @InjectMocks
+    private ExportJobResource exportJobResource;
+
+    private final GlobalExceptionHandler exceptionHandler = new GlobalExceptionHandler();
+
+    // Call the resource and map what it throws, as JAX-RS does
+    private Response submit(Long eventId, ExportType type) {
+        Exception thrown = assertThrows(Exception.class, () -> exportJobResource.submit(eventId, type));
+        return exceptionHandler.toResponse(thrown);
+    }
+
+    @Nested
+    @DisplayName("submit error tests")
+    class SubmitErrorTests {
+
+        @Test
+        @DisplayName("Should answer 503 when too many exports are in progress")
+        void queueFull_Returns503() {
+            when(exportJobService.submit(1L, ExportType.REGISTRATIONS_CSV)).thenThrow(new EJBException(
+                    new ExportQueueFullException("Too many exports in progress, please try again shortly")));
+
+            assertEquals(503, submit(1L, ExportType.REGISTRATIONS_CSV).getStatus());
+        }
+
+        @Test
+        @DisplayName("Should answer 404 for an unknown event")
+        void unknownEvent_Returns404() {
+            when(exportJobService.submit(99L, ExportType.REGISTRATIONS_CSV)).thenThrow(
+                    new EJBException(new ResourceNotFoundException("Event", 99L)));
+
+            assertEquals(404, submit(99L, ExportType.REGISTRATIONS_CSV).getStatus());
+        }
+
+        @Test
+        @DisplayName("Should answer 400 without an export type")
+        void missingType_Returns400() {
+            assertEquals(400, submit(1L, null).getStatus());
+            verifyNoInteractions(exportJobService);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.eventmanager.rest;
+
+import com.eventmanager.dto.BulkRegistrationRequest;
+import com.eventmanager.exception.GlobalExceptionHandler;
+import com.eventmanager.exception.ResourceNotFoundException;
+import com.eventmanager.service.RegistrationService;
+import com.eventmanager.service.WaitlistService;
+import jakarta.ejb.EJBException;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.function.Executable;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RegistrationResource error responses
+ * Services are mocked; exceptions thrown by EJBs reach GlobalExceptionHandler wrapped in an EJBException,
+ * as the container delivers them
+ */
+@ExtendWith(MockitoExtension.class)
+class RegistrationResourceTest {
+
+    @Mock
+    private RegistrationService registrationService;
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @InjectMocks
+    private RegistrationResource registrationResource;
+
+    private final GlobalExceptionHandler exceptionHandler = new GlobalExceptionHandler();
+
+    // Call the resource and map what it throws, as JAX-RS does
+    private Response call(Executable resourceCall) {
+        Exception thrown = assertThrows(Exception.class, resourceCall);
+        return exceptionHandler.toResponse(thrown);
+    }
+
+    @Nested
+    @DisplayName("getRegistrations error tests")
+    class GetRegistrationsErrorTests {
+
+        @Test
+        @DisplayName("Should answer 400 for a malformed page cursor")
+        void malformedCursor_Returns400() {
+            // Arrange
+            when(registrationService.getRegistrationsPage(1L, null, null, "not a cursor!", null)).thenThrow(
+                    new EJBException(new IllegalArgumentException("Invalid cursor")));
+
+            // Act
+            Response response = call(() -> registrationResource.getRegistrations(1L, "not a cursor!", null, null, null));
+
+            // Assert
+            assertEquals(400, response.getStatus());
+            assertTrue(response.getEntity().toString().contains("Invalid cursor"));
+        }
+    }
+
+    @Nested
+    @DisplayName("bulkUpdate error tests")
+    class BulkUpdateErrorTests {
+
+        @Test
+        @DisplayName("Should answer 400 for a bulk request without ids or filter")
+        void noSelection_Returns400() {
+            // Arrange
+            BulkRegistrationRequest request = new BulkRegistrationRequest(BulkRegistrationRequest.Action.CONFIRM, null);
+            when(registrationService.applyBulkAction(1L, request)).thenThrow(new EJBException(
+                    new IllegalArgumentException("Either registrationIds or a status/patrolId filter is required")));
+
+            // Act
+            Response response = call(() -> registrationResource.bulkUpdate(1L, request));
+
+            // Assert
+            assertEquals(400, response.getStatus());
+            assertTrue(response.getEntity().toString().contains("registrationIds"));
+        }
+
+        @Test
+        @DisplayName("Should answer 404 for an unknown event")
+        void unknownEvent_Returns404() {
+            // Arrange
+            when(registrationService.applyBulkAction(eq(99L), any())).thenThrow(
+                    new EJBException(new ResourceNotFoundException("Event", 99L)));
+
+            // Act
+            Response response = call(() -> registrationResource.bulkUpdate(99L,
+                    new BulkRegistrationRequest(BulkRegistrationRequest.Action.CANCEL, List.of(1L))));
+
+            // Assert
+            assertEquals(404, response.getStatus());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.eventmanager.rest;
+
+import com.eventmanager.exception.GlobalExceptionHandler;
+import com.eventmanager.service.SeasonAllergyReportService;
+import jakarta.ejb.EJBException;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReportResource error responses
+ * SeasonAllergyReportService is mocked; its exceptions reach GlobalExceptionHandler wrapped in an
+ * EJBException, as the container delivers them
+ */
+@ExtendWith(MockitoExtension.class)
+class ReportResourceTest {
+
+    @Mock
+    private SeasonAllergyReportService seasonAllergyReportService;
+
+    @InjectMocks
+    private ReportResource reportResource;
+
+    private final GlobalExceptionHandler exceptionHandler = new GlobalExceptionHandler();
+
+    // Call the resource and map what it throws, as JAX-RS does
+    private Response getAllergyReport(String from, String to) {
+        Exception thrown = assertThrows(Exception.class, () -> reportResource.getAllergyReport(from, to));
+        return exceptionHandler.toResponse(thrown);
+    }
+
+    @Nested
+    @DisplayName("getAllergyReport error tests")
+    class GetAllergyReportErrorTests {
+
+        @Test
+        @DisplayName("Should answer 400 for a reversed date range")
+        void reversedRange_Returns400() {
+            // Arrange
+            when(seasonAllergyReportService.getReport(LocalDate.of(2026, 8, 31), LocalDate.of(2026, 6, 1)))
+                    .thenThrow(new EJBException(new IllegalArgumentException("to must not be before from")));
+
+            // Act
+            Response response = getAllergyReport("2026-08-31", "2026-06-01");
+
+            // Assert
+            assertEquals(400, response.getStatus());
+            assertTrue(response.getEntity().toString().contains("to must not be before from"));
+        }
+
+        @Test
+        @DisplayName("Should answer 400 for a range longer than a year")
+        void tooLongRange_Returns400() {
+            // Arrange
+            when(seasonAllergyReportService.getReport(any(), any())).thenThrow(new EJBException(
+                    new IllegalArgumentException("The date range may span at most 366 days")));
+
+            // Act & Assert
+            assertEquals(400, getAllergyReport("2026-01-01", "2027-06-01").getStatus());
+        }
+
+        @Test
+        @DisplayName("Should answer 400 for a malformed date without calling the service")
+        void malformedDate_Returns400() {
+            assertEquals(400, getAllergyReport("2026-13-01", "2026-08-31").getStatus());
+            verifyNoInteractions(seasonAllergyReportService);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.AllergenCombinationDTO;
+import com.eventmanager.dto.MenuCheckDTO;
+import com.eventmanager.exception.ResourceNotFoundException;
+import com.eventmanager.repository.EventRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AllergenIndexService
+ * Uses Mockito to mock the EntityManager and EventRepository
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AllergenIndexServiceTest {
+
+    @Mock
+    private EntityManager em;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private Query rosterQuery;
+
+    @InjectMocks
+    private AllergenIndexService allergenIndexService;
+
+    private static final Long EVENT_ID = 1L;
+    private static final long MILK = 1L;
+    private static final long EGG = 2L;
+    private static final long NUTS = 3L;
+
+    @BeforeEach
+    void setUp() {
+        when(em.createNativeQuery(contains("FROM registrations r"))).thenReturn(rosterQuery);
+        when(rosterQuery.setParameter(eq(1), eq(EVENT_ID))).thenReturn(rosterQuery);
+        // Anna: milk + egg, Bengt: milk + egg, Carl: nuts, David: none
+        when(rosterQuery.getResultList()).thenReturn(List.of(
+                row(10L, "Andersson", "Anna", MILK, "Mjölk"),
+                row(10L, "Andersson", "Anna", EGG, "Ägg"),
+                row(11L, "Björk", "Bengt", MILK, "Mjölk"),
+                row(11L, "Björk", "Bengt", EGG, "Ägg"),
+                row(12L, "Carlsson", "Carl", NUTS, "Nötter"),
+                row(13L, "Dahl", "David", null, null)));
+        givenVersion(5);
+    }
+
+    private static Object[] row(Long participantId, String lastName, String firstName, Long allergenId, String name) {
+        return new Object[]{participantId, lastName, firstName, allergenId, name};
+    }
+
+    private void givenVersion(long version) {
+        when(eventRepository.findRegistrationVersion(EVENT_ID)).thenReturn(Optional.of(version));
+    }
+
+    @Nested
+    @DisplayName("checkMenu tests")
+    class CheckMenuTests {
+
+        @Test
+        @DisplayName("Should list participants who cannot eat the dish with their combinations")
+        void checkMenu_FindsAffectedParticipants() {
+            // Act
+            MenuCheckDTO result = allergenIndexService.checkMenu(EVENT_ID, List.of(EGG, NUTS));
+
+            // Assert
+            assertEquals(4, result.getParticipantCount());
+            assertEquals(3, result.getAffectedCount());
+            assertEquals(1, result.getSafeCount());
+            assertEquals("Andersson Anna", result.getAffected().get(0).getFullName());
+            assertEquals(List.of("Ägg"), result.getAffected().get(0).getAllergens());
+
+            assertEquals(2, result.getCombinations().size());
+            AllergenCombinationDTO largest = result.getCombinations().get(0);
+            assertEquals(List.of(MILK, EGG), largest.getAllergenIds());
+            assertEquals(2, largest.getCount());
+        }
+
+        @Test
+        @DisplayName("Should answer repeated checks from the index")
+        void checkMenu_ReusesIndex() {
+            // Act
+            allergenIndexService.checkMenu(EVENT_ID, List.of(MILK));
+            MenuCheckDTO result = allergenIndexService.checkMenu(EVENT_ID, List.of(NUTS));
+
+            // Assert
+            assertEquals(1, result.getAffectedCount());
+            verify(rosterQuery, times(1)).getResultList();
+        }
+
+        @Test
+        @DisplayName("Should rebuild the index when the event's registrations changed")
+        void checkMenu_RebuildsForNewVersion() {
+            // Arrange
+            allergenIndexService.checkMenu(EVENT_ID, List.of(MILK));
+            givenVersion(6);
+
+            // Act
+            allergenIndexService.checkMenu(EVENT_ID, List.of(MILK));
+
+            // Assert
+            verify(rosterQuery, times(2)).getResultList();
+        }
+
+        @Test
+        @DisplayName("Should find nobody for allergens nobody has")
+        void checkMenu_UnknownAllergen() {
+            MenuCheckDTO result = allergenIndexService.checkMenu(EVENT_ID, List.of(99L));
+
+            assertEquals(0, result.getAffectedCount());
+            assertEquals(4, result.getSafeCount());
+            assertTrue(result.getCombinations().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException for an unknown event")
+        void checkMenu_UnknownEvent() {
+            when(eventRepository.findRegistrationVersion(99L)).thenReturn(Optional.empty());
+
+            assertThrows(ResourceNotFoundException.class, () -> allergenIndexService.checkMenu(99L, List.of(MILK)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Incremental update tests")
+    class IncrementalUpdateTests {
+
+        @Test
+        @DisplayName("Should apply a committed allergen change without rebuilding")
+        void onAllergensChanged_PatchesIndex() {
+            // Arrange
+            allergenIndexService.getCombinations(EVENT_ID);
+
+            // Act - Bengt drops egg and adds gluten, which the index has not seen yet
+            allergenIndexService.onAllergensChanged(new ParticipantAllergensChanged(11L,
+                    Map.of(MILK, "Mjölk", 4L, "Gluten"), Map.of(EVENT_ID, 6L)));
+            givenVersion(6);
+            List<AllergenCombinationDTO> combinations = allergenIndexService.getCombinations(EVENT_ID);
+            MenuCheckDTO gluten = allergenIndexService.checkMenu(EVENT_ID, List.of(4L));
+
+            // Assert
+            assertEquals(3, combinations.size());
+            assertTrue(combinations.stream().allMatch(combination -> combination.getCount() == 1));
+            assertEquals(List.of("Björk Bengt"), gluten.getAffected().stream()
+                    .map(MenuCheckDTO.AffectedParticipantDTO::getFullName).toList());
+            verify(rosterQuery, times(1)).getResultList();
+        }
+
+        @Test
+        @DisplayName("Should drop an index that missed an earlier change")
+        void onAllergensChanged_DropsOutdatedIndex() {
+            // Arrange - version 6 was another change the index never saw
+            allergenIndexService.getCombinations(EVENT_ID);
+
+            // Act
+            allergenIndexService.onAllergensChanged(new ParticipantAllergensChanged(11L,
+                    Map.of(), Map.of(EVENT_ID, 7L)));
+            givenVersion(7);
+            allergenIndexService.getCombinations(EVENT_ID);
+
+            // Assert
+            verify(rosterQuery, times(2)).getResultList();
+        }
+
+        @Test
+        @DisplayName("Should only move the version for participants not on the roster")
+        void onAllergensChanged_OtherParticipant() {
+            // Arrange
+            allergenIndexService.getCombinations(EVENT_ID);
+
+            // Act
+            allergenIndexService.onAllergensChanged(new ParticipantAllergensChanged(42L,
+                    Map.of(NUTS, "Nötter"), Map.of(EVENT_ID, 6L)));
+            givenVersion(6);
+            MenuCheckDTO result = allergenIndexService.checkMenu(EVENT_ID, List.of(NUTS));
+
+            // Assert
+            assertEquals(1, result.getAffectedCount());
+            verify(rosterQuery, times(1)).getResultList();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.AllergenUsageDTO;
+import com.eventmanager.entity.Allergen;
+import com.eventmanager.entity.AllergenSeverity;
+import com.eventmanager.entity.RegistrationStatus;
+import com.eventmanager.exception.ResourceNotFoundException;
+import com.eventmanager.repository.AllergenRepository;
+import com.eventmanager.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AllergenService
+ * Uses Mockito to mock the repositories and ParticipantService
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AllergenServiceTest {
+
+    @Mock
+    private AllergenRepository allergenRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private ParticipantService participantService;
+
+    @Mock
+    private jakarta.enterprise.event.Event<CatalogChanged> catalogChangedEvent;
+
+    @InjectMocks
+    private AllergenService allergenService;
+
+    private static final Long EVENT_ID = 1L;
+
+    @BeforeEach
+    void setUp() {
+        when(eventRepository.existsById(EVENT_ID)).thenReturn(true);
+        when(allergenRepository.findAll()).thenReturn(List.of(
+                allergen(1L, "Gluten", AllergenSeverity.MEDIUM),
+                allergen(2L, "Jordnötter", AllergenSeverity.CRITICAL),
+                allergen(3L, "Mjölk", AllergenSeverity.MEDIUM)));
+    }
+
+    private Allergen allergen(Long id, String name, AllergenSeverity severity) {
+        Allergen allergen = new Allergen(name, severity);
+        allergen.setId(id);
+        return allergen;
+    }
+
+    @Nested
+    @DisplayName("getUsage tests")
+    class UsageTests {
+
+        @Test
+        @DisplayName("Should combine grouped counts with every allergen, most severe first")
+        void getUsage_CombinesCounts() {
+            // Arrange - rows: allergen ID, participants, PENDING, CONFIRMED, CANCELLED, WAITLIST
+            when(allergenRepository.countUsage(EVENT_ID)).thenReturn(List.<Object[]>of(
+                    new Object[]{3L, 4L, 1L, 2L, 0L, 1L},
+                    new Object[]{2L, 1L, 0L, 1L, 0L, 0L}));
+
+            // Act
+            List<AllergenUsageDTO> result = allergenService.getUsage(EVENT_ID);
+
+            // Assert
+            assertEquals(List.of("Jordnötter", "Gluten", "Mjölk"), result.stream().map(AllergenUsageDTO::getName).toList());
+            AllergenUsageDTO milk = result.get(2);
+            assertEquals(4, milk.getParticipantCount());
+            assertEquals(Map.of(RegistrationStatus.PENDING, 1L, RegistrationStatus.CONFIRMED, 2L,
+                    RegistrationStatus.CANCELLED, 0L, RegistrationStatus.WAITLIST, 1L), milk.getStatusCounts());
+            assertEquals(0, result.get(1).getParticipantCount());
+            assertEquals(0L, result.get(1).getStatusCounts().get(RegistrationStatus.CONFIRMED));
+            verify(allergenRepository, times(1)).countUsage(EVENT_ID);
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException for an unknown event")
+        void getUsage_UnknownEvent() {
+            assertThrows(ResourceNotFoundException.class, () -> allergenService.getUsage(99L));
+
+            verify(allergenRepository, never()).countUsage(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("findParticipants tests")
+    class FindParticipantsTests {
+
+        @Test
+        @DisplayName("Should page the allergen's participants at the event")
+        void findParticipants_DelegatesToParticipantPage() {
+            when(allergenRepository.existsById(3L)).thenReturn(true);
+
+            allergenService.findParticipants(3L, EVENT_ID, "cursor", 20);
+
+            verify(participantService).findPage("cursor", 20, null, EVENT_ID, 3L);
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException for an unknown allergen")
+        void findParticipants_UnknownAllergen() {
+            assertThrows(ResourceNotFoundException.class,
+                    () -> allergenService.findParticipants(99L, null, null, null));
+
+            verify(participantService, never()).findPage(any(), any(), any(), any(), any());
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.eventmanager.service;
 
 import com.eventmanager.dto.AllergyReportDTO;
 import com.eventmanager.dto.AllergyReportDTO.AllergyGroupDTO;
+import com.eventmanager.dto.DataVersion;
+import com.eventmanager.repository.EventRepository;
+import jakarta.enterprise.inject.Instance;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,11 +16,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Arrays;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -39,6 +45,12 @@ class AllergyReportServiceTest {
     @Mock
     private Query allergyQuery;
 
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private Instance<AllergyReportRenderer> renderers;
+
     @InjectMocks
     private AllergyReportService allergyReportService;
 
@@ -258,13 +270,26 @@ class AllergyReportServiceTest {
         }
     }
 
+    // Build the report and render it as the export endpoints do
+    private String renderCsv(Long eventId) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new AllergyReportCsvRenderer().render(allergyReportService.generateReport(eventId), output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private byte[] renderExcel(Long eventId) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new AllergyReportExcelRenderer().render(allergyReportService.generateReport(eventId), output);
+        return output.toByteArray();
+    }
+
     @Nested
-    @DisplayName("generateCSV tests")
+    @DisplayName("CSV renderer tests")
     class GenerateCSVTests {
 
         @Test
         @DisplayName("Should generate CSV with correct format")
-        void generateCSV_Success() {
+        void generateCSV_Success() throws IOException {
             // Arrange
             Long eventId = 1L;
 
@@ -277,7 +302,7 @@ class AllergyReportServiceTest {
             when(allergyQuery.getResultList()).thenReturn(mockAllergyResults);
 
             // Act
-            String csv = allergyReportService.generateCSV(eventId);
+            String csv = renderCsv(eventId);
 
             // Assert
             assertNotNull(csv);
@@ -289,7 +314,7 @@ class AllergyReportServiceTest {
 
         @Test
         @DisplayName("Should return only header when no allergies")
-        void generateCSV_NoAllergies() {
+        void generateCSV_NoAllergies() throws IOException {
             // Arrange
             Long eventId = 1L;
 
@@ -302,7 +327,7 @@ class AllergyReportServiceTest {
             when(allergyQuery.getResultList()).thenReturn(Collections.emptyList());
 
             // Act
-            String csv = allergyReportService.generateCSV(eventId);
+            String csv = renderCsv(eventId);
 
             // Assert
             assertNotNull(csv);
@@ -314,7 +339,7 @@ class AllergyReportServiceTest {
 
         @Test
         @DisplayName("Should escape special characters in CSV")
-        void generateCSV_EscapesSpecialChars() {
+        void generateCSV_EscapesSpecialChars() throws IOException {
             // Arrange
             Long eventId = 1L;
 
@@ -337,7 +362,7 @@ class AllergyReportServiceTest {
             when(allergyQuery.getResultList()).thenReturn(Arrays.asList(new Object[][]{specialChars}));
 
             // Act
-            String csv = allergyReportService.generateCSV(eventId);
+            String csv = renderCsv(eventId);
 
             // Assert
             // Values with semicolons or quotes should be quoted and escaped
@@ -347,7 +372,7 @@ class AllergyReportServiceTest {
     }
 
     @Nested
-    @DisplayName("generateExcel tests")
+    @DisplayName("Excel renderer tests")
     class GenerateExcelTests {
 
         @Test
@@ -365,7 +390,7 @@ class AllergyReportServiceTest {
             when(allergyQuery.getResultList()).thenReturn(mockAllergyResults);
 
             // Act
-            byte[] excelBytes = allergyReportService.generateExcel(eventId);
+            byte[] excelBytes = renderExcel(eventId);
 
             // Assert
             assertNotNull(excelBytes);
@@ -391,7 +416,7 @@ class AllergyReportServiceTest {
             when(allergyQuery.getResultList()).thenReturn(Collections.emptyList());
 
             // Act
-            byte[] excelBytes = allergyReportService.generateExcel(eventId);
+            byte[] excelBytes = renderExcel(eventId);
 
             // Assert
             assertNotNull(excelBytes);
@@ -428,4 +453,64 @@ class AllergyReportServiceTest {
             assertEquals(4, result.getTotalParticipantsWithAllergies());
         }
     }
+
+    @Nested
+    @DisplayName("getReport cache tests")
+    class GetReportCacheTests {
+
+        private void givenReportData(Long eventId) {
+            when(em.createNativeQuery(contains("SELECT name FROM events"))).thenReturn(eventQuery);
+            when(eventQuery.setParameter(eq(1), eq(eventId))).thenReturn(eventQuery);
+            when(eventQuery.getResultList()).thenReturn(List.of("Test Event"));
+
+            when(em.createNativeQuery(contains("participant_allergens"))).thenReturn(allergyQuery);
+            when(allergyQuery.setParameter(eq(1), eq(eventId))).thenReturn(allergyQuery);
+            when(allergyQuery.getResultList()).thenReturn(mockAllergyResults);
+        }
+
+        @Test
+        @DisplayName("Should run the report query once per data version")
+        void getReport_BuildsOncePerVersion() {
+            // Arrange
+            Long eventId = 1L;
+            givenReportData(eventId);
+            when(eventRepository.findVersion(eventId)).thenReturn(
+                    Optional.of(DataVersion.of(null, "e1", 7)),
+                    Optional.of(DataVersion.of(null, "e1", 7)),
+                    Optional.of(DataVersion.of(null, "e1", 8)));
+
+            // Act
+            AllergyReportDTO first = allergyReportService.getReport(eventId);
+            AllergyReportDTO second = allergyReportService.getReport(eventId);
+            AllergyReportDTO afterChange = allergyReportService.getReport(eventId);
+
+            // Assert
+            assertSame(first, second);
+            assertNotSame(first, afterChange);
+            verify(allergyQuery, times(2)).getResultList();
+        }
+
+        @Test
+        @DisplayName("Should throw IllegalArgumentException for an unknown event")
+        void getReport_UnknownEvent() {
+            when(eventRepository.findVersion(999L)).thenReturn(Optional.empty());
+
+            assertThrows(IllegalArgumentException.class, () -> allergyReportService.getReport(999L));
+            verifyNoInteractions(em);
+        }
+
+        @Test
+        @DisplayName("Should pick a renderer by format name")
+        void findRenderer_ByFormat() {
+            // Arrange
+            List<AllergyReportRenderer> available = List.of(
+                    new AllergyReportCsvRenderer(), new AllergyReportExcelRenderer());
+            when(renderers.iterator()).thenAnswer(invocation -> available.iterator());
+
+            // Act & Assert
+            assertInstanceOf(AllergyReportExcelRenderer.class, allergyReportService.findRenderer("XLSX").orElseThrow());
+            assertInstanceOf(AllergyReportCsvRenderer.class, allergyReportService.findRenderer("csv").orElseThrow());
+            assertTrue(allergyReportService.findRenderer("pdf").isEmpty());
+        }
+    }
 }
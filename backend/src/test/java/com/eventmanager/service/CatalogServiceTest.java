@@ -0,0 +1,147 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.Allergen;
+import com.eventmanager.entity.AllergenSeverity;
+import com.eventmanager.entity.FoodAllergy;
+import com.eventmanager.entity.Troop;
+import com.eventmanager.repository.AllergenRepository;
+import com.eventmanager.repository.FoodAllergyRepository;
+import com.eventmanager.repository.TroopRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CatalogService
+ * Uses Mockito to mock the repositories
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CatalogServiceTest {
+
+    @Mock
+    private TroopRepository troopRepository;
+
+    @Mock
+    private FoodAllergyRepository foodAllergyRepository;
+
+    @Mock
+    private AllergenRepository allergenRepository;
+
+    @InjectMocks
+    private CatalogService catalogService;
+
+    @BeforeEach
+    void setUp() {
+        when(troopRepository.findAll()).thenReturn(List.of(troop(1L, "Ekorrarna")));
+        when(foodAllergyRepository.findAll()).thenReturn(List.of(foodAllergy(2L, "Laktos")));
+        Allergen nuts = new Allergen("Jordnötter", AllergenSeverity.CRITICAL);
+        nuts.setId(3L);
+        when(allergenRepository.findGlobal()).thenReturn(List.of(nuts));
+    }
+
+    private Troop troop(Long id, String name) {
+        Troop troop = new Troop(name);
+        troop.setId(id);
+        troop.setSortOrder(1);
+        return troop;
+    }
+
+    private FoodAllergy foodAllergy(Long id, String name) {
+        FoodAllergy allergy = new FoodAllergy(name);
+        allergy.setId(id);
+        return allergy;
+    }
+
+    private static String json(CatalogSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        snapshot.writeTo(output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    @DisplayName("getSnapshot tests")
+    class SnapshotTests {
+
+        @Test
+        @DisplayName("Should serialize troops, food allergies and global allergens")
+        void getSnapshot_Serializes() throws IOException {
+            String json = json(catalogService.getSnapshot());
+
+            assertTrue(json.contains("\"troops\":[{\"id\":1,\"name\":\"Ekorrarna\",\"sortOrder\":1}]"));
+            assertTrue(json.contains("\"foodAllergies\":[{\"id\":2,\"name\":\"Laktos\",\"sortOrder\":0}]"));
+            assertTrue(json.contains("\"name\":\"Jordnötter\""));
+        }
+
+        @Test
+        @DisplayName("Should build the snapshot only once")
+        void getSnapshot_BuildsOnce() {
+            CatalogSnapshot first = catalogService.getSnapshot();
+            CatalogSnapshot second = catalogService.getSnapshot();
+
+            assertSame(first, second);
+            verify(troopRepository, times(1)).findAll();
+            verify(allergenRepository, times(1)).findGlobal();
+        }
+
+        @Test
+        @DisplayName("Should rebuild after a committed change and tag the new content")
+        void getSnapshot_RebuildsAfterChange() throws IOException {
+            // Arrange
+            CatalogSnapshot before = catalogService.getSnapshot();
+            when(troopRepository.findAll()).thenReturn(List.of(troop(1L, "Ekorrarna"), troop(4L, "Vargarna")));
+
+            // Act
+            catalogService.onCatalogChanged(new CatalogChanged());
+            CatalogSnapshot after = catalogService.getSnapshot();
+
+            // Assert
+            assertNotEquals(before.getTag(), after.getTag());
+            assertTrue(json(after).contains("Vargarna"));
+            verify(troopRepository, times(2)).findAll();
+        }
+
+        @Test
+        @DisplayName("Should keep the tag when a change leaves the content the same")
+        void getSnapshot_SameContentSameTag() {
+            String before = catalogService.getSnapshot().getTag();
+
+            catalogService.onCatalogChanged(new CatalogChanged());
+
+            assertEquals(before, catalogService.getSnapshot().getTag());
+        }
+
+        @Test
+        @DisplayName("Should not keep a snapshot built while a change committed")
+        void getSnapshot_ChangeDuringBuild() {
+            // Arrange - the change commits after the troops were read
+            when(troopRepository.findAll()).thenAnswer(invocation -> {
+                catalogService.onCatalogChanged(new CatalogChanged());
+                return List.of(troop(1L, "Ekorrarna"));
+            }).thenReturn(List.of(troop(1L, "Ekorrarna")));
+
+            // Act
+            catalogService.getSnapshot();
+            catalogService.getSnapshot();
+            catalogService.getSnapshot();
+
+            // Assert
+            verify(troopRepository, times(2)).findAll();
+        }
+    }
+}
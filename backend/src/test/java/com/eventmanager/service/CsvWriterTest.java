@@ -0,0 +1,86 @@
+package com.eventmanager.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CsvWriter
+ */
+class CsvWriterTest {
+
+    private static String write(CsvRows rows) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        CsvWriter csv = new CsvWriter(output, ';');
+        rows.write(csv);
+        csv.flush();
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface CsvRows {
+        void write(CsvWriter csv) throws IOException;
+    }
+
+    @Test
+    @DisplayName("Should start with a BOM and separate fields and rows")
+    void writesRows() throws IOException {
+        // Act
+        String csv = write(writer -> writer.row("a", null, "").row("b"));
+
+        // Assert
+        assertEquals("\uFEFFa;;\nb\n", csv);
+    }
+
+    @Test
+    @DisplayName("Should quote values with separator, quote or line break")
+    void quotesSpecialValues() throws IOException {
+        // Act
+        String csv = write(writer -> writer.row("x;y", "say \"hi\"", "two\nlines", "cr\r", "plain, comma"));
+
+        // Assert
+        assertEquals("\uFEFF\"x;y\";\"say \"\"hi\"\"\";\"two\nlines\";\"cr\r\";plain, comma\n", csv);
+    }
+
+    @Test
+    @DisplayName("Should write values longer than the buffer intact")
+    void writesAcrossBufferBoundaries() throws IOException {
+        // Arrange - non-ASCII and surrogate pairs split across buffer drains
+        String longPlain = "åäö😀".repeat(5000);
+        String longQuoted = "\"" + "ö;".repeat(6000);
+
+        // Act
+        String csv = write(writer -> writer.row(longPlain, longQuoted));
+
+        // Assert
+        String expectedQuoted = "\"\"\"" + "ö;".repeat(6000) + "\"";
+        assertEquals("\uFEFF" + longPlain + ";" + expectedQuoted + "\n", csv);
+    }
+
+    @Test
+    @DisplayName("Should not close the underlying stream")
+    void leavesStreamOpen() throws IOException {
+        // Arrange
+        boolean[] closed = {false};
+        ByteArrayOutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        // Act
+        CsvWriter csv = new CsvWriter(output, ',');
+        csv.row("a", "b,c");
+        csv.flush();
+
+        // Assert
+        assertFalse(closed[0]);
+        assertEquals("\uFEFFa,\"b,c\"\n", output.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,253 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.DataVersion;
+import com.eventmanager.dto.ExportJobDTO;
+import com.eventmanager.dto.ExportType;
+import com.eventmanager.exception.ExportQueueFullException;
+import com.eventmanager.exception.ResourceNotFoundException;
+import com.eventmanager.repository.EventRepository;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ExportJobService
+ * The managed executor is mocked so export jobs can be run on the test thread
+ */
+@ExtendWith(MockitoExtension.class)
+class ExportJobServiceTest {
+
+    @Mock
+    private ManagedExecutorService executor;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private RegistrationService registrationService;
+
+    @Mock
+    private AllergyReportService allergyReportService;
+
+    @InjectMocks
+    private ExportJobService exportJobService;
+
+    @TempDir
+    Path cacheDirectory;
+
+    @BeforeEach
+    void setUp() {
+        exportJobService.setCacheDirectory(cacheDirectory);
+    }
+
+    private void givenVersion(Long eventId, long registrationVersion) {
+        when(eventRepository.findVersion(eventId))
+                .thenReturn(Optional.of(DataVersion.of(null, "e" + eventId, registrationVersion)));
+    }
+
+    // Run the export tasks handed to the executor so far
+    private void runJobs() {
+        ArgumentCaptor<Runnable> tasks = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor, atLeastOnce()).execute(tasks.capture());
+        tasks.getAllValues().forEach(Runnable::run);
+        clearInvocations(executor);
+    }
+
+    private List<Path> cachedFiles() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            return files.toList();
+        }
+    }
+
+    @Nested
+    @DisplayName("submit tests")
+    class SubmitTests {
+
+        @Test
+        @DisplayName("Should run the export once and serve unchanged data from the cache")
+        void submit_CachesResultPerDataVersion() throws IOException {
+            // Arrange
+            givenVersion(1L, 7);
+            when(registrationService.findEventName(1L)).thenReturn(Optional.of("Hajk"));
+            doAnswer(invocation -> {
+                OutputStream output = invocation.getArgument(2);
+                output.write("xlsx".getBytes(StandardCharsets.UTF_8));
+                return null;
+            }).when(registrationService).writeExcel(eq(1L), eq("Hajk"), any(OutputStream.class));
+
+            // Act
+            ExportJobDTO first = exportJobService.submit(1L, ExportType.REGISTRATIONS_XLSX);
+            runJobs();
+            ExportJobDTO second = exportJobService.submit(1L, ExportType.REGISTRATIONS_XLSX);
+
+            // Assert
+            assertEquals(ExportJobDTO.State.QUEUED, first.getState());
+            assertEquals(ExportJobDTO.State.COMPLETED,
+                    exportJobService.getJob(1L, first.getJobId()).orElseThrow().getState());
+            assertEquals(ExportJobDTO.State.COMPLETED, second.getState());
+            assertEquals(4L, second.getSize());
+            assertEquals("xlsx", Files.readString(exportJobService.getFile(1L, second.getJobId()).orElseThrow()));
+            verify(registrationService, times(1)).writeExcel(anyLong(), anyString(), any());
+            verifyNoInteractions(executor);
+        }
+
+        @Test
+        @DisplayName("Should let identical concurrent requests share one job")
+        void submit_SharesRunningJob() {
+            // Arrange
+            givenVersion(1L, 7);
+
+            // Act
+            ExportJobDTO first = exportJobService.submit(1L, ExportType.ALLERGY_REPORT_CSV);
+            ExportJobDTO second = exportJobService.submit(1L, ExportType.ALLERGY_REPORT_CSV);
+            ExportJobDTO otherType = exportJobService.submit(1L, ExportType.ALLERGY_REPORT_XLSX);
+
+            // Assert
+            assertEquals(first.getJobId(), second.getJobId());
+            assertNotEquals(first.getJobId(), otherType.getJobId());
+            verify(executor, times(2)).execute(any(Runnable.class));
+        }
+
+        @Test
+        @DisplayName("Should rebuild after a data change and drop the outdated file")
+        void submit_RebuildsForNewVersion() throws IOException {
+            // Arrange
+            givenVersion(1L, 7);
+            AllergyReportRenderer csv = mock(AllergyReportRenderer.class);
+            when(allergyReportService.findRenderer("csv")).thenReturn(Optional.of(csv));
+            String[] contents = {"old", "new"};
+            int[] calls = {0};
+            doAnswer(invocation -> {
+                OutputStream output = invocation.getArgument(2);
+                output.write(contents[calls[0]++].getBytes(StandardCharsets.UTF_8));
+                return null;
+            }).when(allergyReportService).render(eq(1L), eq(csv), any(OutputStream.class));
+            exportJobService.submit(1L, ExportType.ALLERGY_REPORT_CSV);
+            runJobs();
+
+            // Act
+            givenVersion(1L, 8);
+            ExportJobDTO job = exportJobService.submit(1L, ExportType.ALLERGY_REPORT_CSV);
+            runJobs();
+
+            // Assert
+            assertEquals("new", Files.readString(exportJobService.getFile(1L, job.getJobId()).orElseThrow()));
+            assertEquals(1, cachedFiles().size());
+        }
+
+        @Test
+        @DisplayName("Should keep the newer file when an export of older data finishes last")
+        void submit_OlderVersionFinishesLast() throws IOException {
+            // Arrange - exports of versions 7 and 8 are queued at the same time
+            AllergyReportRenderer csv = mock(AllergyReportRenderer.class);
+            when(allergyReportService.findRenderer("csv")).thenReturn(Optional.of(csv));
+            doAnswer(invocation -> {
+                OutputStream output = invocation.getArgument(2);
+                output.write("csv".getBytes(StandardCharsets.UTF_8));
+                return null;
+            }).when(allergyReportService).render(eq(1L), eq(csv), any(OutputStream.class));
+            givenVersion(1L, 7);
+            ExportJobDTO older = exportJobService.submit(1L, ExportType.ALLERGY_REPORT_CSV);
+            givenVersion(1L, 8);
+            ExportJobDTO newer = exportJobService.submit(1L, ExportType.ALLERGY_REPORT_CSV);
+            ArgumentCaptor<Runnable> tasks = ArgumentCaptor.forClass(Runnable.class);
+            verify(executor, times(2)).execute(tasks.capture());
+
+            // Act - the newer export finishes first
+            tasks.getAllValues().get(1).run();
+            tasks.getAllValues().get(0).run();
+
+            // Assert
+            assertTrue(exportJobService.getFile(1L, newer.getJobId()).isPresent());
+            assertTrue(exportJobService.getFile(1L, older.getJobId()).isPresent());
+            assertEquals(2, cachedFiles().size());
+        }
+
+        @Test
+        @DisplayName("Should report a failed export and leave no partial file")
+        void submit_FailedExport() throws IOException {
+            // Arrange
+            givenVersion(1L, 7);
+            AllergyReportRenderer xlsx = mock(AllergyReportRenderer.class);
+            when(allergyReportService.findRenderer("xlsx")).thenReturn(Optional.of(xlsx));
+            doThrow(new IOException("disk full"))
+                    .when(allergyReportService).render(eq(1L), eq(xlsx), any(OutputStream.class));
+
+            // Act
+            ExportJobDTO job = exportJobService.submit(1L, ExportType.ALLERGY_REPORT_XLSX);
+            runJobs();
+
+            // Assert
+            ExportJobDTO failed = exportJobService.getJob(1L, job.getJobId()).orElseThrow();
+            assertEquals(ExportJobDTO.State.FAILED, failed.getState());
+            assertNotNull(failed.getError());
+            assertTrue(exportJobService.getFile(1L, job.getJobId()).isEmpty());
+            assertTrue(cachedFiles().isEmpty());
+
+            // A new request starts a new job
+            assertNotEquals(job.getJobId(), exportJobService.submit(1L, ExportType.ALLERGY_REPORT_XLSX).getJobId());
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException for an unknown event")
+        void submit_UnknownEvent() {
+            when(eventRepository.findVersion(99L)).thenReturn(Optional.empty());
+
+            assertThrows(ResourceNotFoundException.class,
+                    () -> exportJobService.submit(99L, ExportType.REGISTRATIONS_XLSX));
+            verifyNoInteractions(executor);
+        }
+
+        @Test
+        @DisplayName("Should refuse new jobs while too many are active")
+        void submit_TooManyActiveJobs() {
+            // Arrange
+            for (long eventId = 1; eventId <= ExportJobService.MAX_ACTIVE_JOBS; eventId++) {
+                givenVersion(eventId, 1);
+                exportJobService.submit(eventId, ExportType.ALLERGY_REPORT_CSV);
+            }
+            givenVersion(100L, 1);
+
+            // Act & Assert
+            assertThrows(ExportQueueFullException.class,
+                    () -> exportJobService.submit(100L, ExportType.ALLERGY_REPORT_CSV));
+        }
+    }
+
+    @Nested
+    @DisplayName("getJob tests")
+    class GetJobTests {
+
+        @Test
+        @DisplayName("Should not expose a job through another event")
+        void getJob_OtherEvent() {
+            givenVersion(1L, 7);
+            ExportJobDTO job = exportJobService.submit(1L, ExportType.ALLERGY_REPORT_CSV);
+
+            assertTrue(exportJobService.getJob(1L, job.getJobId()).isPresent());
+            assertTrue(exportJobService.getJob(2L, job.getJobId()).isEmpty());
+            assertTrue(exportJobService.getFile(1L, job.getJobId()).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.AllergenDTO;
+import com.eventmanager.dto.EventDTO;
+import com.eventmanager.dto.PageDTO;
+import com.eventmanager.dto.ParticipantDTO;
+import com.eventmanager.dto.PatrolDTO;
+import com.eventmanager.dto.RegistrationDTO;
+import com.eventmanager.entity.AllergenSeverity;
+import com.eventmanager.entity.RegistrationStatus;
+import com.eventmanager.repository.AllergenRepository;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.ParticipantRepository;
+import com.eventmanager.repository.PatrolRepository;
+import com.eventmanager.test.TestPersistence;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keyset paging through the services against the H2 test persistence unit (eventTestPU),
+ * with the real repositories. Pages of two are followed by their cursors until hasMore is false;
+ * the sort keys have ties so the id tie-breaker in each keyset predicate is exercised.
+ */
+class KeysetPagingTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    private static EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    @BeforeAll
+    static void createEntityManagerFactory() {
+        emf = TestPersistence.createEntityManagerFactory();
+    }
+
+    @AfterAll
+    static void closeEntityManagerFactory() {
+        emf.close();
+    }
+
+    // Events 1 and 2 start at the same time, 3 later and 4 earlier; patrols 1 and 2 share a name;
+    // participants 1 and 2 share both names, all five are registered to event 1 and 3 is waitlisted;
+    // allergens 1 and 3 share a name and 3 belongs to event 1
+    @BeforeEach
+    void setUp() {
+        List<String> statements = new ArrayList<>();
+        String[][] events = {
+                {"1", "2027-07-15 10:00:00"}, {"2", "2027-07-15 10:00:00"},
+                {"3", "2027-08-01 10:00:00"}, {"4", "2027-06-01 10:00:00"}};
+        for (String[] event : events) {
+            statements.add("INSERT INTO events (id, name, start_date, end_date, capacity, active, created_at, "
+                    + "registration_count, confirmed_count, pending_count, waitlist_count, cancelled_count) "
+                    + "VALUES (" + event[0] + ", 'Läger " + event[0] + "', TIMESTAMP '" + event[1] + "', "
+                    + "TIMESTAMP '2027-08-20 16:00:00', 100, TRUE, CURRENT_TIMESTAMP, 0, 0, 0, 0, 0)");
+        }
+        statements.addAll(List.of(
+                "INSERT INTO patrols (id, name, event_id) VALUES (1, 'Ekorrarna', 1)",
+                "INSERT INTO patrols (id, name, event_id) VALUES (2, 'Ekorrarna', 1)",
+                "INSERT INTO patrols (id, name, event_id) VALUES (3, 'Björnarna', 1)"));
+        String[][] participants = {
+                {"1", "Anna", "Andersson"}, {"2", "Anna", "Andersson"}, {"3", "Bo", "Andersson"},
+                {"4", "Anna", "Berg"}, {"5", "Cid", "Ek"}};
+        for (String[] participant : participants) {
+            String id = participant[0];
+            statements.add("INSERT INTO participants (id, first_name, last_name, patrol_id, created_at) VALUES ("
+                    + id + ", '" + participant[1] + "', '" + participant[2] + "', 1, CURRENT_TIMESTAMP)");
+            statements.add("INSERT INTO registrations (id, event_id, participant_id, status, registration_date) "
+                    + "VALUES (" + id + ", 1, " + id + ", '" + ("3".equals(id) ? "WAITLIST" : "CONFIRMED")
+                    + "', CURRENT_TIMESTAMP)");
+        }
+        statements.addAll(List.of(
+                "INSERT INTO allergens (id, name, severity) VALUES (1, 'Mjölk', 'MEDIUM')",
+                "INSERT INTO allergens (id, name, severity) VALUES (2, 'Soja', 'LOW')",
+                "INSERT INTO allergens (id, name, severity, event_id) VALUES (3, 'Mjölk', 'HIGH', 1)",
+                "INSERT INTO allergens (id, name, severity) VALUES (4, 'Gluten', 'HIGH')"));
+        TestPersistence.execute(emf, statements.toArray(String[]::new));
+
+        em = emf.createEntityManager();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (em.isOpen()) {
+            em.close();
+        }
+        TestPersistence.execute(emf, "DELETE FROM registrations", "DELETE FROM participants",
+                "DELETE FROM allergens", "DELETE FROM patrols", "DELETE FROM events");
+    }
+
+    // Follow next cursors from the first page until hasMore is false, returning the ids in page order
+    private static <T> List<Long> allPages(BiFunction<String, Integer, PageDTO<T>> findPage, Function<T, Long> idOf) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageDTO<T> page = findPage.apply(cursor, PAGE_SIZE);
+            assertEquals(page.isHasMore(), page.getNextCursor() != null);
+            assertEquals(page.isHasMore() ? PAGE_SIZE : page.getItems().size(), page.getItems().size());
+            page.getItems().forEach(item -> ids.add(idOf.apply(item)));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    @Test
+    @DisplayName("Event pages should follow start date descending, then id descending")
+    void eventPages() {
+        EventService eventService = TestPersistence.inject(new EventService(), "eventRepository",
+                TestPersistence.inject(new EventRepository(), em));
+
+        assertEquals(List.of(3L, 2L, 1L, 4L),
+                allPages((cursor, limit) -> eventService.findPage(cursor, limit, null, null, null), EventDTO::getId));
+    }
+
+    @Test
+    @DisplayName("Participant pages should follow last name, first name and id, also when filtered by event")
+    void participantPages() {
+        ParticipantService participantService = TestPersistence.inject(new ParticipantService(),
+                "participantRepository", TestPersistence.inject(new ParticipantRepository(), em));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), allPages(
+                (cursor, limit) -> participantService.findPage(cursor, limit, null, null, null), ParticipantDTO::getId));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), allPages(
+                (cursor, limit) -> participantService.findPage(cursor, limit, null, 1L, null), ParticipantDTO::getId));
+    }
+
+    @Test
+    @DisplayName("Patrol pages should follow name, then id")
+    void patrolPages() {
+        PatrolService patrolService = TestPersistence.inject(new PatrolService(), "patrolRepository",
+                TestPersistence.inject(new PatrolRepository(), em));
+
+        assertEquals(List.of(3L, 1L, 2L),
+                allPages((cursor, limit) -> patrolService.findPage(cursor, limit, 1L), PatrolDTO::getId));
+    }
+
+    @Test
+    @DisplayName("Allergen pages should follow name, then id, also when filtered by severity")
+    void allergenPages() {
+        AllergenService allergenService = TestPersistence.inject(new AllergenService(), "allergenRepository",
+                TestPersistence.inject(new AllergenRepository(), em));
+
+        assertEquals(List.of(4L, 1L, 3L, 2L),
+                allPages((cursor, limit) -> allergenService.findPage(cursor, limit, null, null), AllergenDTO::getId));
+        assertEquals(List.of(4L, 3L), allPages(
+                (cursor, limit) -> allergenService.findPage(cursor, limit, null, AllergenSeverity.HIGH),
+                AllergenDTO::getId));
+    }
+
+    @Test
+    @DisplayName("Registration pages should follow last name, first name and participant id, also when filtered")
+    void registrationPages() {
+        RegistrationService registrationService = TestPersistence.inject(new RegistrationService(), em);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), allPages(
+                (cursor, limit) -> registrationService.getRegistrationsPage(1L, null, null, cursor, limit),
+                RegistrationDTO::getParticipantId));
+        assertEquals(List.of(1L, 2L, 4L, 5L), allPages(
+                (cursor, limit) -> registrationService.getRegistrationsPage(
+                        1L, RegistrationStatus.CONFIRMED, null, cursor, limit),
+                RegistrationDTO::getParticipantId));
+    }
+
+    @Test
+    @DisplayName("A malformed or foreign cursor should be rejected as a bad request")
+    void malformedCursor() {
+        RegistrationService registrationService = TestPersistence.inject(new RegistrationService(), em);
+        EventService eventService = TestPersistence.inject(new EventService(), "eventRepository",
+                TestPersistence.inject(new EventRepository(), em));
+        // A patrol cursor (name, id) handed to the registration list (last name, first name, id)
+        PatrolService patrolService = TestPersistence.inject(new PatrolService(), "patrolRepository",
+                TestPersistence.inject(new PatrolRepository(), em));
+        String patrolCursor = patrolService.findPage(null, 1, 1L).getNextCursor();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> registrationService.getRegistrationsPage(1L, null, null, "not a cursor!", 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> registrationService.getRegistrationsPage(1L, null, null, patrolCursor, 2));
+        // The key count matches, but the start date does not parse
+        assertThrows(IllegalArgumentException.class, () -> eventService.findPage(patrolCursor, 2, null, null, null));
+    }
+}
@@ -0,0 +1,123 @@
+package com.eventmanager.service;
+
+import com.eventmanager.repository.AllergenRepository;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.ParticipantRepository;
+import com.eventmanager.test.TestPersistence;
+import jakarta.enterprise.event.Event;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Allergen changes through ParticipantService against the H2 test persistence unit (eventTestPU),
+ * with the real repositories, so the native SQL behind the announced change runs end to end
+ */
+class ParticipantAllergenChangeTest {
+
+    private static EntityManagerFactory emf;
+
+    private EntityManager em;
+    private ParticipantService participantService;
+    private Event<ParticipantAllergensChanged> allergensChangedEvent;
+
+    @BeforeAll
+    static void createEntityManagerFactory() {
+        // The participant write listener needs CDI
+        emf = TestPersistence.createEntityManagerFactory(Map.of(AvailableSettings.JPA_CALLBACKS_ENABLED, false));
+    }
+
+    @AfterAll
+    static void closeEntityManagerFactory() {
+        emf.close();
+    }
+
+    // Event 1 with participant 1 registered; allergens Mjölk (1) and Ägg (2), none assigned
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        TestPersistence.execute(emf,
+                "INSERT INTO events (id, name, start_date, end_date, capacity, active, created_at, "
+                        + "registration_count, confirmed_count, pending_count, waitlist_count, cancelled_count) "
+                        + "VALUES (1, 'Läger', TIMESTAMP '2027-07-15 10:00:00', TIMESTAMP '2027-07-20 16:00:00', "
+                        + "100, TRUE, CURRENT_TIMESTAMP, 1, 1, 0, 0, 0)",
+                "INSERT INTO participants (id, first_name, last_name, created_at) "
+                        + "VALUES (1, 'Anna', 'Andersson', CURRENT_TIMESTAMP)",
+                "INSERT INTO registrations (id, event_id, participant_id, status, registration_date) "
+                        + "VALUES (1, 1, 1, 'CONFIRMED', CURRENT_TIMESTAMP)",
+                "INSERT INTO allergens (id, name, severity) VALUES (1, 'Mjölk', 'MEDIUM')",
+                "INSERT INTO allergens (id, name, severity) VALUES (2, 'Ägg', 'HIGH')");
+
+        em = emf.createEntityManager();
+        allergensChangedEvent = mock(Event.class);
+        participantService = new ParticipantService();
+        TestPersistence.inject(participantService, "participantRepository",
+                TestPersistence.inject(new ParticipantRepository(), em));
+        TestPersistence.inject(participantService, "allergenRepository",
+                TestPersistence.inject(new AllergenRepository(), em));
+        TestPersistence.inject(participantService, "eventRepository",
+                TestPersistence.inject(new EventRepository(), em));
+        TestPersistence.inject(participantService, "allergensChangedEvent", allergensChangedEvent);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (em.isOpen()) {
+            em.close();
+        }
+        TestPersistence.execute(emf, "DELETE FROM registrations", "DELETE FROM participant_allergens",
+                "DELETE FROM participants", "DELETE FROM allergens", "DELETE FROM events");
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        em.getTransaction().begin();
+        T result = work.get();
+        em.getTransaction().commit();
+        em.clear();
+        return result;
+    }
+
+    private ParticipantAllergensChanged lastAnnounced() {
+        ArgumentCaptor<ParticipantAllergensChanged> captor = ArgumentCaptor.forClass(ParticipantAllergensChanged.class);
+        verify(allergensChangedEvent, atLeastOnce()).fire(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("Should write each allergen change and announce it with the bumped event version")
+    void allergenChanges_AnnounceBumpedVersions() {
+        // Act & Assert - add
+        inTransaction(() -> participantService.addAllergen(1L, 1L));
+        ParticipantAllergensChanged added = lastAnnounced();
+        assertEquals(Map.of(1L, "Mjölk"), added.getAllergens());
+        assertEquals(Map.of(1L, 1L), added.getRegistrationVersions());
+
+        // Act & Assert - replace the set
+        inTransaction(() -> participantService.setAllergens(1L, Set.of(2L)));
+        ParticipantAllergensChanged replaced = lastAnnounced();
+        assertEquals(Map.of(2L, "Ägg"), replaced.getAllergens());
+        assertEquals(Map.of(1L, 2L), replaced.getRegistrationVersions());
+
+        // Act & Assert - remove
+        inTransaction(() -> participantService.removeAllergen(1L, 2L));
+        ParticipantAllergensChanged removed = lastAnnounced();
+        assertEquals(Map.of(), removed.getAllergens());
+        assertEquals(Map.of(1L, 3L), removed.getRegistrationVersions());
+        assertEquals(0L, ((Number) em.createNativeQuery(
+                "SELECT COUNT(*) FROM participant_allergens WHERE participant_id = 1").getSingleResult()).longValue());
+    }
+}
@@ -0,0 +1,309 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.ParticipantImportResultDTO;
+import com.eventmanager.entity.Allergen;
+import com.eventmanager.entity.Participant;
+import com.eventmanager.entity.Patrol;
+import com.eventmanager.exception.ResourceNotFoundException;
+import com.eventmanager.repository.AllergenRepository;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.ParticipantRepository;
+import com.eventmanager.repository.PatrolRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Path;
+import jakarta.validation.Validator;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ParticipantImportService
+ * Uses Mockito to mock repositories and the bean validator
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ParticipantImportServiceTest {
+
+    @Mock
+    private ParticipantRepository participantRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private PatrolRepository patrolRepository;
+
+    @Mock
+    private AllergenRepository allergenRepository;
+
+    @Mock
+    private Validator validator;
+
+    @InjectMocks
+    private ParticipantImportService importService;
+
+    private static final Long EVENT_ID = 1L;
+
+    // Copies of every inserted participant (the service reuses its chunk list)
+    private List<Participant> inserted;
+    private List<Integer> batchSizes;
+
+    @BeforeEach
+    void setUp() {
+        inserted = new ArrayList<>();
+        batchSizes = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<Participant> chunk = invocation.getArgument(0);
+            batchSizes.add(chunk.size());
+            inserted.addAll(chunk);
+            return null;
+        }).when(participantRepository).insertBatch(anyList());
+
+        when(eventRepository.existsById(EVENT_ID)).thenReturn(true);
+        when(patrolRepository.findIdsAndNames(EVENT_ID)).thenReturn(List.of(
+                new Object[]{1L, "Vargpatrullen"},
+                new Object[]{2L, "Örnpatrullen"},
+                new Object[]{3L, "Örnpatrullen"}));
+        when(allergenRepository.findIdsAndNames(EVENT_ID)).thenReturn(List.of(
+                new Object[]{10L, "Jordnötter"},
+                new Object[]{11L, "Gluten"}));
+        when(patrolRepository.getReference(anyLong())).thenAnswer(invocation -> {
+            Patrol patrol = new Patrol();
+            patrol.setId(invocation.getArgument(0));
+            return patrol;
+        });
+        when(allergenRepository.getReference(anyLong())).thenAnswer(invocation -> {
+            Allergen allergen = new Allergen();
+            allergen.setId(invocation.getArgument(0));
+            return allergen;
+        });
+        // Only the required-name constraint is simulated
+        when(validator.validate(any(Participant.class))).thenAnswer(invocation -> {
+            Participant participant = invocation.getArgument(0);
+            return participant.getFirstName() == null
+                    ? Set.of(violation("firstName", "First name is required"))
+                    : Set.of();
+        });
+    }
+
+    private static ConstraintViolation<Participant> violation(String property, String message) {
+        @SuppressWarnings("unchecked")
+        ConstraintViolation<Participant> violation = mock(ConstraintViolation.class);
+        Path path = mock(Path.class);
+        when(path.toString()).thenReturn(property);
+        when(violation.getPropertyPath()).thenReturn(path);
+        when(violation.getMessage()).thenReturn(message);
+        return violation;
+    }
+
+    private ParticipantImportResultDTO importCsv(String csv) throws IOException {
+        InputStream input = new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+        return importService.importParticipants(input, ParticipantImportService.Format.CSV, EVENT_ID, null);
+    }
+
+    @Nested
+    @DisplayName("CSV import tests")
+    class CsvImportTests {
+
+        @Test
+        @DisplayName("Should import rows with Swedish headers, quoting and lookups")
+        void importsRowsWithLookups() throws IOException {
+            // Arrange - BOM, ';' separator, quoted separator and line break
+            String csv = "\uFEFFFörnamn;Efternamn;Adress;Födelsedatum;Kår/Patrull;Allergier\r\n"
+                    + "Anna;Andersson;\"Storgatan 1; lgh 2\";2010-05-15;vargpatrullen;\"Jordnötter, Gluten\"\r\n"
+                    + "Bengt;\"Björk\";\"Rad ett\nRad två\";20120820;;\r\n"
+                    + ";;;;;\r\n";
+
+            // Act
+            ParticipantImportResultDTO result = importCsv(csv);
+
+            // Assert
+            assertEquals(2, result.getRowsRead());
+            assertEquals(2, result.getImported());
+            assertEquals(0, result.getFailed());
+
+            Participant anna = inserted.get(0);
+            assertEquals("Anna", anna.getFirstName());
+            assertEquals("Storgatan 1; lgh 2", anna.getStreetAddress());
+            assertEquals(LocalDate.of(2010, 5, 15), anna.getBirthDate());
+            assertEquals(1L, anna.getPatrol().getId());
+            assertEquals(2, anna.getAllergens().size());
+
+            Participant bengt = inserted.get(1);
+            assertEquals("Björk", bengt.getLastName());
+            assertEquals("Rad ett\nRad två", bengt.getStreetAddress());
+            assertEquals(LocalDate.of(2012, 8, 20), bengt.getBirthDate());
+            assertNull(bengt.getPatrol());
+        }
+
+        @Test
+        @DisplayName("Should report invalid rows and import the rest")
+        void reportsRowErrors() throws IOException {
+            // Arrange
+            String csv = "firstName,lastName,birthDate,patrol,allergens\n"
+                    + "Anna,Andersson,2010-05-15,,\n"
+                    + "Carl,Carlsson,15/5,Örnpatrullen,Räkor\n";
+
+            // Act
+            ParticipantImportResultDTO result = importCsv(csv);
+
+            // Assert
+            assertEquals(1, result.getImported());
+            assertEquals(1, result.getFailed());
+            ParticipantImportResultDTO.RowError error = result.getErrors().get(0);
+            assertEquals(3, error.getRow());
+            assertEquals(3, error.getMessages().size());
+            assertTrue(error.getMessages().get(0).startsWith("birthDate"));
+            assertTrue(error.getMessages().get(1).contains("more than one patrol"));
+            assertTrue(error.getMessages().get(2).contains("unknown allergen 'Räkor'"));
+        }
+
+        @Test
+        @DisplayName("Should report bean validation failures")
+        void reportsConstraintViolations() throws IOException {
+            // Arrange
+            ConstraintViolation<Participant> violation = violation("email", "Invalid email format");
+            when(validator.validate(argThat((Participant p) -> "not-an-email".equals(p.getEmail()))))
+                    .thenReturn(Set.of(violation));
+
+            // Act
+            ParticipantImportResultDTO result = importCsv("Förnamn;Efternamn;E-post\nAnna;Andersson;not-an-email\n");
+
+            // Assert
+            assertEquals(0, result.getImported());
+            assertEquals(List.of("email: Invalid email format"), result.getErrors().get(0).getMessages());
+            verify(participantRepository, never()).insertBatch(anyList());
+        }
+
+        @Test
+        @DisplayName("Should insert in fixed-size chunks")
+        void insertsInChunks() throws IOException {
+            // Arrange
+            StringBuilder csv = new StringBuilder("Förnamn;Efternamn\n");
+            for (int i = 0; i < 1200; i++) {
+                csv.append("F").append(i).append(";L").append(i).append('\n');
+            }
+
+            // Act
+            ParticipantImportResultDTO result = importCsv(csv.toString());
+
+            // Assert
+            assertEquals(1200, result.getImported());
+            assertEquals(List.of(500, 500, 200), batchSizes);
+            verify(patrolRepository, times(1)).findIdsAndNames(EVENT_ID);
+        }
+
+        @Test
+        @DisplayName("Should give rows without a patrol the default patrol of the event")
+        void usesDefaultPatrol() throws IOException {
+            // Act
+            ParticipantImportResultDTO result = importService.importParticipants(
+                    new ByteArrayInputStream("Förnamn;Efternamn\nAnna;Andersson\n".getBytes(StandardCharsets.UTF_8)),
+                    ParticipantImportService.Format.CSV, EVENT_ID, 2L);
+
+            // Assert
+            assertEquals(1, result.getImported());
+            assertEquals(2L, inserted.get(0).getPatrol().getId());
+        }
+
+        @Test
+        @DisplayName("Should reject a default patrol from another event")
+        void rejectsDefaultPatrolOfOtherEvent() {
+            // Arrange
+            when(patrolRepository.existsById(7L)).thenReturn(true);
+            InputStream input = new ByteArrayInputStream("Förnamn;Efternamn\n".getBytes(StandardCharsets.UTF_8));
+
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class, () -> importService.importParticipants(
+                    input, ParticipantImportService.Format.CSV, EVENT_ID, 7L));
+            verify(participantRepository, never()).insertBatch(anyList());
+        }
+
+        @Test
+        @DisplayName("Should require an existing event")
+        void requiresEvent() {
+            InputStream input = new ByteArrayInputStream("Förnamn;Efternamn\n".getBytes(StandardCharsets.UTF_8));
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> importService.importParticipants(input, ParticipantImportService.Format.CSV, null, null));
+            assertThrows(ResourceNotFoundException.class,
+                    () -> importService.importParticipants(input, ParticipantImportService.Format.CSV, 99L, null));
+            verify(patrolRepository, never()).findIdsAndNames(any());
+        }
+
+        @Test
+        @DisplayName("Should reject a file without name columns")
+        void rejectsMissingNameColumns() {
+            assertThrows(IllegalArgumentException.class, () -> importCsv("email;phone\na@b.se;0701234567\n"));
+        }
+    }
+
+    @Nested
+    @DisplayName("XLSX import tests")
+    class XlsxImportTests {
+
+        @Test
+        @DisplayName("Should read the first sheet with the streaming reader")
+        void importsFirstSheet() throws IOException {
+            // Arrange
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+                CellStyle dateStyle = workbook.createCellStyle();
+                dateStyle.setDataFormat(workbook.createDataFormat().getFormat("d/m/yyyy"));
+
+                Sheet sheet = workbook.createSheet("Deltagare");
+                Row header = sheet.createRow(0);
+                header.createCell(0).setCellValue("Efternamn");
+                header.createCell(1).setCellValue("Förnamn");
+                header.createCell(3).setCellValue("Födelsedatum");
+
+                Row anna = sheet.createRow(1);
+                anna.createCell(0).setCellValue("Andersson");
+                anna.createCell(1).setCellValue("Anna");
+                anna.createCell(3).setCellValue(LocalDate.of(2010, 5, 15));
+                anna.getCell(3).setCellStyle(dateStyle);
+
+                // Row 3 left empty, row 4 has only a last name
+                sheet.createRow(3).createCell(0).setCellValue("Björk");
+                workbook.write(output);
+            }
+
+            // Act
+            ParticipantImportResultDTO result = importService.importParticipants(
+                    new ByteArrayInputStream(output.toByteArray()), ParticipantImportService.Format.XLSX, EVENT_ID, null);
+
+            // Assert
+            assertEquals(1, result.getImported());
+            assertEquals("Anna", inserted.get(0).getFirstName());
+            assertEquals(LocalDate.of(2010, 5, 15), inserted.get(0).getBirthDate());
+            assertEquals(1, result.getFailed());
+            assertEquals(4, result.getErrors().get(0).getRow());
+            assertEquals(List.of("firstName: First name is required"), result.getErrors().get(0).getMessages());
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.PageDTO;
+import com.eventmanager.dto.ParticipantDTO;
+import com.eventmanager.entity.Participant;
+import com.eventmanager.entity.ParticipantWritten;
+import com.eventmanager.repository.ParticipantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ParticipantSearchService
+ * Uses Mockito to mock the ParticipantRepository
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ParticipantSearchServiceTest {
+
+    @Mock
+    private ParticipantRepository participantRepository;
+
+    @InjectMocks
+    private ParticipantSearchService participantSearchService;
+
+    private final Map<Long, Participant> participants = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        add(1L, "Åsa", "Östberg", "asa.ostberg@example.se", "20100515-1234");
+        add(2L, "Anna", "Andersson", "anna@example.se", "20110203-4321");
+        add(3L, "Johan", "Annerfeldt", "johan@example.se", null);
+        add(4L, "Hanna", "Björk", null, null);
+
+        when(participantRepository.findSearchValues()).thenAnswer(invocation -> {
+            List<Object[]> rows = new ArrayList<>();
+            participants.values().forEach(participant -> rows.add(new Object[]{participant.getId(),
+                    participant.getFirstName(), participant.getLastName(), participant.getEmail(),
+                    participant.getPersonalNumber()}));
+            return rows;
+        });
+        when(participantRepository.findByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(participants::get).filter(participant -> participant != null).toList();
+        });
+    }
+
+    private Participant add(Long id, String firstName, String lastName, String email, String personalNumber) {
+        Participant participant = new Participant();
+        participant.setId(id);
+        participant.setFirstName(firstName);
+        participant.setLastName(lastName);
+        participant.setEmail(email);
+        participant.setPersonalNumber(personalNumber);
+        participants.put(id, participant);
+        return participant;
+    }
+
+    private static List<Long> ids(List<ParticipantDTO> results) {
+        return results.stream().map(ParticipantDTO::getId).toList();
+    }
+
+    @Nested
+    @DisplayName("search tests")
+    class SearchTests {
+
+        @Test
+        @DisplayName("Should match without case and Swedish diacritics")
+        void search_FoldsDiacritics() {
+            assertEquals(List.of(1L), ids(participantSearchService.search("asa OSTBERG")));
+            assertEquals(List.of(1L), ids(participantSearchService.search("Östb")));
+        }
+
+        @Test
+        @DisplayName("Should rank exact and prefix name matches above substrings")
+        void search_RanksMatches() {
+            // Act - "ann" is a name prefix for Anna Andersson and Johan Annerfeldt, a substring for Hanna
+            List<ParticipantDTO> results = participantSearchService.search("ann");
+
+            // Assert
+            assertEquals(List.of(2L, 3L, 4L), ids(results));
+        }
+
+        @Test
+        @DisplayName("Should find participants by personal number and email")
+        void search_OtherFields() {
+            assertEquals(List.of(1L), ids(participantSearchService.search("20100515-1234")));
+            assertEquals(List.of(1L), ids(participantSearchService.search("0515")));
+            assertEquals(List.of(3L), ids(participantSearchService.search("johan@example.se")));
+        }
+
+        @Test
+        @DisplayName("Should require every query word to match")
+        void search_AllWords() {
+            assertEquals(List.of(2L), ids(participantSearchService.search("anna andersson")));
+            assertTrue(participantSearchService.search("anna östberg").isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should load the index only once")
+        void search_LoadsOnce() {
+            participantSearchService.search("anna");
+            participantSearchService.search("johan");
+
+            verify(participantRepository, times(1)).findSearchValues();
+        }
+    }
+
+    @Nested
+    @DisplayName("searchPage tests")
+    class SearchPageTests {
+
+        @Test
+        @DisplayName("Should page through ranked results with a cursor")
+        void searchPage_FollowsCursor() {
+            // Act
+            PageDTO<ParticipantDTO> first = participantSearchService.searchPage("ann", null, 2);
+            PageDTO<ParticipantDTO> second = participantSearchService.searchPage("ann", first.getNextCursor(), 2);
+
+            // Assert
+            assertEquals(List.of(2L, 3L), ids(first.getItems()));
+            assertTrue(first.isHasMore());
+            assertEquals(List.of(4L), ids(second.getItems()));
+            assertFalse(second.isHasMore());
+            assertNull(second.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Should only load the participants on the page")
+        void searchPage_LoadsPageOnly() {
+            participantSearchService.searchPage("ann", null, 1);
+
+            verify(participantRepository).findByIds(List.of(2L));
+        }
+
+        @Test
+        @DisplayName("Should throw IllegalArgumentException for an invalid cursor")
+        void searchPage_InvalidCursor() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> participantSearchService.searchPage("ann", "not-a-cursor", 2));
+        }
+    }
+
+    @Nested
+    @DisplayName("Index update tests")
+    class IndexUpdateTests {
+
+        @Test
+        @DisplayName("Should apply committed inserts, renames and deletes")
+        void onParticipantWritten_UpdatesIndex() {
+            // Arrange
+            participantSearchService.search("anna");
+            Participant karin = add(5L, "Karin", "Ågren", null, null);
+            Participant anna = participants.get(2L);
+            anna.setLastName("Lind");
+
+            // Act
+            participantSearchService.onParticipantWritten(new ParticipantWritten(karin, false));
+            participantSearchService.onParticipantWritten(new ParticipantWritten(anna, false));
+            participantSearchService.onParticipantWritten(new ParticipantWritten(participants.remove(4L), true));
+
+            // Assert
+            assertEquals(List.of(5L), ids(participantSearchService.search("agren")));
+            assertEquals(List.of(2L), ids(participantSearchService.search("anna lind")));
+            assertTrue(participantSearchService.search("andersson").isEmpty());
+            assertTrue(participantSearchService.search("hanna").isEmpty());
+            verify(participantRepository, times(1)).findSearchValues();
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.AgeDistributionDTO;
+import com.eventmanager.dto.AgeDistributionDTO.AgeBracketDTO;
+import com.eventmanager.dto.AllergenDTO;
+import com.eventmanager.dto.ParticipantDTO;
+import com.eventmanager.entity.Allergen;
+import com.eventmanager.entity.Event;
+import com.eventmanager.entity.Participant;
+import com.eventmanager.exception.ResourceNotFoundException;
+import com.eventmanager.repository.AllergenRepository;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.ParticipantRepository;
+import com.eventmanager.test.TestDataFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ParticipantService
+ * Uses Mockito to mock the repositories
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ParticipantServiceTest {
+
+    @Mock
+    private ParticipantRepository participantRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private AllergenRepository allergenRepository;
+
+    @Mock
+    private jakarta.enterprise.event.Event<ParticipantAllergensChanged> allergensChangedEvent;
+
+    @InjectMocks
+    private ParticipantService participantService;
+
+    private static final Long EVENT_ID = 1L;
+
+    private LocalDate startDate;
+
+    @BeforeEach
+    void setUp() {
+        givenEventStartingOn(LocalDate.now().plusMonths(3));
+        when(participantRepository.findByBirthDateRange(any(), any(), any())).thenReturn(List.of());
+    }
+
+    private void givenEventStartingOn(LocalDate date) {
+        startDate = date;
+        Event event = TestDataFactory.createEvent(EVENT_ID, "Sommarläger");
+        event.setStartDate(date.atTime(10, 0));
+        event.setEndDate(date.plusDays(5).atTime(16, 0));
+        when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(event));
+    }
+
+    @Nested
+    @DisplayName("Age list tests")
+    class AgeListTests {
+
+        @Test
+        @DisplayName("findMinors should select participants born less than 18 years ago")
+        void findMinors_BirthDateRange() {
+            participantService.findMinors();
+
+            verify(participantRepository).findByBirthDateRange(null, LocalDate.now().minusYears(18), null);
+        }
+
+        @Test
+        @DisplayName("findMinorsAtEvent should count ages on the event's start date")
+        void findMinorsAtEvent_BirthDateRange() {
+            participantService.findMinorsAtEvent(EVENT_ID);
+
+            verify(participantRepository).findByBirthDateRange(EVENT_ID, startDate.minusYears(18), null);
+        }
+
+        @Test
+        @DisplayName("findTurningAdultBeforeEvent should select minors who are adults at the start date")
+        void findTurningAdultBeforeEvent_BirthDateRange() {
+            participantService.findTurningAdultBeforeEvent(EVENT_ID);
+
+            verify(participantRepository).findByBirthDateRange(EVENT_ID,
+                    LocalDate.now().minusYears(18), startDate.minusYears(18));
+        }
+
+        @Test
+        @DisplayName("findTurningAdultBeforeEvent should not query for an event that has started")
+        void findTurningAdultBeforeEvent_PastEvent() {
+            // Arrange
+            givenEventStartingOn(LocalDate.now().minusDays(1));
+
+            // Act & Assert
+            assertTrue(participantService.findTurningAdultBeforeEvent(EVENT_ID).isEmpty());
+            verify(participantRepository, never()).findByBirthDateRange(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException for an unknown event")
+        void findMinorsAtEvent_UnknownEvent() {
+            when(eventRepository.findById(99L)).thenReturn(Optional.empty());
+
+            assertThrows(ResourceNotFoundException.class, () -> participantService.findMinorsAtEvent(99L));
+        }
+    }
+
+    @Nested
+    @DisplayName("getAgeDistribution tests")
+    class AgeDistributionTests {
+
+        @Test
+        @DisplayName("Should bucket birth date counts by age on the start date")
+        void getAgeDistribution_Brackets() {
+            // Arrange
+            Map<LocalDate, Long> counts = new HashMap<>();
+            counts.put(startDate.minusYears(18), 2L);             // just 18: adult, 15-18
+            counts.put(startDate.minusYears(18).plusDays(1), 3L); // 17: minor, 15-18
+            counts.put(startDate.minusYears(8), 4L);              // just 8: 8-9
+            counts.put(startDate.minusYears(8).plusDays(1), 1L);  // 7: 0-7
+            counts.put(startDate.minusYears(40), 5L);             // 26+
+            counts.put(null, 6L);                                 // no birth date
+            when(participantRepository.countByBirthDate(EVENT_ID)).thenReturn(counts);
+
+            // Act
+            AgeDistributionDTO result = participantService.getAgeDistribution(EVENT_ID);
+
+            // Assert
+            assertEquals(startDate, result.getAgeDate());
+            assertEquals(21, result.getParticipantCount());
+            assertEquals(8, result.getMinorCount());
+            assertEquals(6, result.getUnknownCount());
+
+            List<AgeBracketDTO> brackets = result.getBrackets();
+            assertEquals(List.of(0, 8, 10, 12, 15, 19, 26), brackets.stream().map(AgeBracketDTO::getMinAge).toList());
+            assertEquals(List.of(1L, 4L, 0L, 0L, 5L, 0L, 5L), brackets.stream().map(AgeBracketDTO::getCount).toList());
+            assertEquals(18, brackets.get(4).getMaxAge());
+            assertNull(brackets.get(6).getMaxAge());
+        }
+    }
+
+    @Nested
+    @DisplayName("Allergen assignment tests")
+    class AllergenAssignmentTests {
+
+        private static final Long PARTICIPANT_ID = 10L;
+
+        private Allergen milk;
+        private Allergen egg;
+        private Allergen nuts;
+        private Participant participant;
+
+        @BeforeEach
+        void setUp() {
+            milk = allergen(1L, "Mjölk");
+            egg = allergen(2L, "Ägg");
+            nuts = allergen(3L, "Nötter");
+            participant = TestDataFactory.createParticipant(PARTICIPANT_ID, "Anna", "Andersson");
+            participant.getAllergens().addAll(Set.of(milk, egg));
+            when(participantRepository.findByIdWithAllergens(PARTICIPANT_ID)).thenReturn(Optional.of(participant));
+            when(allergenRepository.findByIds(any())).thenReturn(List.of());
+        }
+
+        private Allergen allergen(Long id, String name) {
+            Allergen allergen = new Allergen(name);
+            allergen.setId(id);
+            when(allergenRepository.existsById(id)).thenReturn(true);
+            return allergen;
+        }
+
+        private Set<Long> allergenIds(ParticipantDTO dto) {
+            return dto.getAllergens().stream().map(AllergenDTO::getId).collect(Collectors.toSet());
+        }
+
+        @Test
+        @DisplayName("setAllergens should only load and apply the difference")
+        void setAllergens_AppliesDifference() {
+            // Arrange
+            when(allergenRepository.findByIds(Set.of(3L))).thenReturn(List.of(nuts));
+
+            // Act
+            ParticipantDTO result = participantService.setAllergens(PARTICIPANT_ID, Set.of(2L, 3L));
+
+            // Assert
+            assertEquals(Set.of(2L, 3L), allergenIds(result));
+            assertEquals(Set.of(egg, nuts), participant.getAllergens());
+            verify(allergenRepository).findByIds(Set.of(3L));
+            verify(allergenRepository, never()).findById(any());
+            verify(participantRepository, never()).update(any());
+            verify(allergensChangedEvent).fire(any(ParticipantAllergensChanged.class));
+        }
+
+        @Test
+        @DisplayName("setAllergens should not announce an unchanged set")
+        void setAllergens_Unchanged() {
+            participantService.setAllergens(PARTICIPANT_ID, Set.of(1L, 2L));
+
+            assertEquals(Set.of(milk, egg), participant.getAllergens());
+            verify(eventRepository, never()).touchRegistrationVersionForParticipant(any());
+            verify(allergensChangedEvent, never()).fire(any());
+        }
+
+        @Test
+        @DisplayName("setAllergens should throw ResourceNotFoundException for an unknown allergen and keep the set")
+        void setAllergens_UnknownAllergen() {
+            ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                    () -> participantService.setAllergens(PARTICIPANT_ID, Set.of(99L)));
+
+            assertTrue(exception.getMessage().contains("99"));
+            assertEquals(Set.of(milk, egg), participant.getAllergens());
+        }
+
+        @Test
+        @DisplayName("addAllergen should insert one link and announce it")
+        void addAllergen_InsertsLink() {
+            // Arrange
+            when(participantRepository.insertAllergen(PARTICIPANT_ID, 3L)).thenReturn(true);
+
+            // Act
+            participantService.addAllergen(PARTICIPANT_ID, 3L);
+
+            // Assert
+            verify(participantRepository).insertAllergen(PARTICIPANT_ID, 3L);
+            verify(participantRepository, never()).update(any());
+            verify(eventRepository).touchRegistrationVersionForParticipant(PARTICIPANT_ID);
+            verify(allergensChangedEvent).fire(any(ParticipantAllergensChanged.class));
+        }
+
+        @Test
+        @DisplayName("addAllergen should not announce an allergen the participant already has")
+        void addAllergen_AlreadyAssigned() {
+            when(participantRepository.insertAllergen(PARTICIPANT_ID, 1L)).thenReturn(false);
+
+            participantService.addAllergen(PARTICIPANT_ID, 1L);
+
+            verify(allergensChangedEvent, never()).fire(any());
+        }
+
+        @Test
+        @DisplayName("addAllergen should throw ResourceNotFoundException for an unknown allergen")
+        void addAllergen_UnknownAllergen() {
+            assertThrows(ResourceNotFoundException.class, () -> participantService.addAllergen(PARTICIPANT_ID, 99L));
+
+            verify(participantRepository, never()).insertAllergen(any(), any());
+        }
+
+        @Test
+        @DisplayName("removeAllergen should delete one link and announce it")
+        void removeAllergen_DeletesLink() {
+            when(participantRepository.deleteAllergen(PARTICIPANT_ID, 1L)).thenReturn(true);
+
+            participantService.removeAllergen(PARTICIPANT_ID, 1L);
+
+            verify(participantRepository).deleteAllergen(PARTICIPANT_ID, 1L);
+            verify(allergensChangedEvent).fire(any(ParticipantAllergensChanged.class));
+        }
+
+        @Test
+        @DisplayName("removeAllergen should throw ResourceNotFoundException for an unknown participant")
+        void removeAllergen_UnknownParticipant() {
+            when(participantRepository.findByIdWithAllergens(99L)).thenReturn(Optional.empty());
+
+            assertThrows(ResourceNotFoundException.class, () -> participantService.removeAllergen(99L, 1L));
+        }
+    }
+}
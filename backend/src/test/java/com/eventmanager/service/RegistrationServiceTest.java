@@ -1,8 +1,17 @@
 package com.eventmanager.service;
 
+import com.eventmanager.config.JacksonConfig;
+import com.eventmanager.dto.BulkRegistrationRequest;
+import com.eventmanager.dto.BulkRegistrationResultDTO;
 import com.eventmanager.dto.RegistrationDTO;
+import com.eventmanager.entity.RegistrationStatus;
+import com.eventmanager.exception.ResourceNotFoundException;
+import com.eventmanager.repository.EventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -12,11 +21,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -33,10 +49,10 @@ class RegistrationServiceTest {
     private EntityManager em;
 
     @Mock
-    private Query registrationQuery;
+    private EventRepository eventRepository;
 
     @Mock
-    private Query allergyQuery;
+    private Query registrationQuery;
 
     @Mock
     private Query countQuery;
@@ -50,11 +66,14 @@ class RegistrationServiceTest {
     @Mock
     private Query eventNameQuery;
 
+    @Mock
+    private Query rosterQuery;
+
     @InjectMocks
     private RegistrationService registrationService;
 
     private List<Object[]> mockRegistrationResults;
-    private List<Object[]> mockAllergyResults;
+    private List<Object[]> mockRosterResults;
 
     @BeforeEach
     void setUp() {
@@ -95,16 +114,30 @@ class RegistrationServiceTest {
         mockRegistrationResults.add(reg1);
         mockRegistrationResults.add(reg2);
 
-        // Create mock allergy result data
-        mockAllergyResults = new ArrayList<>();
+        // Joined roster rows: one per allergy, allergy columns null when there is none
+        mockRosterResults = new ArrayList<>();
+        // Participant 101 has peanut allergy and gluten intolerance
+        mockRosterResults.add(joinedRow(reg1, 1L, "Jordnötter", "SEVERE"));
+        mockRosterResults.add(joinedRow(reg1, 2L, "Gluten", "MODERATE"));
+        mockRosterResults.add(joinedRow(reg2, null, null, null));
+    }
 
-        // Participant 101 has peanut allergy
-        Object[] allergy1 = new Object[]{101L, 1L, "Jordnötter", "SEVERE"};
-        // Participant 101 also has gluten intolerance
-        Object[] allergy2 = new Object[]{101L, 2L, "Gluten", "MODERATE"};
+    // Registration row followed by allergy_id, allergy_name, severity
+    private static Object[] joinedRow(Object[] registration, Object id, Object name, Object severity) {
+        Object[] row = Arrays.copyOf(registration, 22);
+        row[19] = id;
+        row[20] = name;
+        row[21] = severity;
+        return row;
+    }
 
-        mockAllergyResults.add(allergy1);
-        mockAllergyResults.add(allergy2);
+    // Roster rows for registrations without any allergies
+    private static List<Object[]> withoutAllergies(List<Object[]> registrations) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Object[] registration : registrations) {
+            rows.add(joinedRow(registration, null, null, null));
+        }
+        return rows;
     }
 
     @Nested
@@ -119,11 +152,7 @@ class RegistrationServiceTest {
 
             when(em.createNativeQuery(contains("FROM registrations r"))).thenReturn(registrationQuery);
             when(registrationQuery.setParameter(eq(1), eq(eventId))).thenReturn(registrationQuery);
-            when(registrationQuery.getResultList()).thenReturn(mockRegistrationResults);
-
-            when(em.createNativeQuery(contains("participant_allergens"))).thenReturn(allergyQuery);
-            when(allergyQuery.setParameter(eq(1), eq(eventId))).thenReturn(allergyQuery);
-            when(allergyQuery.getResultList()).thenReturn(mockAllergyResults);
+            when(registrationQuery.getResultList()).thenReturn(mockRosterResults);
 
             // Act
             List<RegistrationDTO> result = registrationService.getRegistrationsForEvent(eventId);
@@ -167,8 +196,8 @@ class RegistrationServiceTest {
 
             // Assert
             assertTrue(result.isEmpty());
-            // Verify allergy query is not called when no registrations
-            verify(em, never()).createNativeQuery(contains("participant_allergens"));
+            // Registrations and allergies come from a single query
+            verify(em, times(1)).createNativeQuery(anyString());
         }
 
         @Test
@@ -179,11 +208,7 @@ class RegistrationServiceTest {
 
             when(em.createNativeQuery(contains("FROM registrations r"))).thenReturn(registrationQuery);
             when(registrationQuery.setParameter(eq(1), eq(eventId))).thenReturn(registrationQuery);
-            when(registrationQuery.getResultList()).thenReturn(mockRegistrationResults);
-
-            when(em.createNativeQuery(contains("participant_allergens"))).thenReturn(allergyQuery);
-            when(allergyQuery.setParameter(eq(1), eq(eventId))).thenReturn(allergyQuery);
-            when(allergyQuery.getResultList()).thenReturn(Collections.emptyList());
+            when(registrationQuery.getResultList()).thenReturn(withoutAllergies(mockRegistrationResults));
 
             // Act
             List<RegistrationDTO> result = registrationService.getRegistrationsForEvent(eventId);
@@ -275,10 +300,10 @@ class RegistrationServiceTest {
             when(checkQuery.setParameter(eq(2), eq(eventId))).thenReturn(checkQuery);
             when(checkQuery.getSingleResult()).thenReturn(1L);
 
-            // Mock get participant ID query
+            // Mock get participant ID and status query
             when(em.createNativeQuery(contains("SELECT participant_id"))).thenReturn(participantQuery);
             when(participantQuery.setParameter(eq(1), eq(registrationId))).thenReturn(participantQuery);
-            when(participantQuery.getSingleResult()).thenReturn(participantId);
+            when(participantQuery.getSingleResult()).thenReturn(new Object[]{participantId, "CONFIRMED"});
 
             // Mock delete registration query
             Query deleteRegQuery = mock(Query.class);
@@ -298,6 +323,8 @@ class RegistrationServiceTest {
             // Assert
             assertTrue(result);
             verify(deleteRegQuery).executeUpdate();
+            verify(eventRepository).adjustRegistrationCounters(eventId, RegistrationStatus.CONFIRMED, -1);
+            verify(eventRepository).promoteWaitlisted(eventId);
         }
 
         @Test
@@ -318,6 +345,7 @@ class RegistrationServiceTest {
 
             // Assert
             assertFalse(result);
+            verifyNoInteractions(eventRepository);
         }
 
         @Test
@@ -338,6 +366,7 @@ class RegistrationServiceTest {
 
             // Assert
             assertFalse(result);
+            verifyNoInteractions(eventRepository);
         }
     }
 
@@ -353,11 +382,7 @@ class RegistrationServiceTest {
 
             when(em.createNativeQuery(contains("FROM registrations r"))).thenReturn(registrationQuery);
             when(registrationQuery.setParameter(eq(1), eq(eventId))).thenReturn(registrationQuery);
-            when(registrationQuery.getResultList()).thenReturn(mockRegistrationResults);
-
-            when(em.createNativeQuery(contains("participant_allergens"))).thenReturn(allergyQuery);
-            when(allergyQuery.setParameter(eq(1), eq(eventId))).thenReturn(allergyQuery);
-            when(allergyQuery.getResultList()).thenReturn(Collections.emptyList());
+            when(registrationQuery.getResultList()).thenReturn(withoutAllergies(mockRegistrationResults));
 
             // Act
             List<RegistrationDTO> result = registrationService.getRegistrationsForEvent(eventId);
@@ -404,11 +429,7 @@ class RegistrationServiceTest {
             when(registrationQuery.setParameter(eq(1), eq(eventId))).thenReturn(registrationQuery);
             List<Object[]> resultList = new ArrayList<>();
             resultList.add(regWithNulls);
-            when(registrationQuery.getResultList()).thenReturn(resultList);
-
-            when(em.createNativeQuery(contains("participant_allergens"))).thenReturn(allergyQuery);
-            when(allergyQuery.setParameter(eq(1), eq(eventId))).thenReturn(allergyQuery);
-            when(allergyQuery.getResultList()).thenReturn(Collections.emptyList());
+            when(registrationQuery.getResultList()).thenReturn(withoutAllergies(resultList));
 
             // Act
             List<RegistrationDTO> result = registrationService.getRegistrationsForEvent(eventId);
@@ -437,11 +458,7 @@ class RegistrationServiceTest {
 
             when(em.createNativeQuery(contains("FROM registrations r"))).thenReturn(registrationQuery);
             when(registrationQuery.setParameter(eq(1), eq(eventId))).thenReturn(registrationQuery);
-            when(registrationQuery.getResultList()).thenReturn(mockRegistrationResults);
-
-            when(em.createNativeQuery(contains("participant_allergens"))).thenReturn(allergyQuery);
-            when(allergyQuery.setParameter(eq(1), eq(eventId))).thenReturn(allergyQuery);
-            when(allergyQuery.getResultList()).thenReturn(mockAllergyResults);
+            when(registrationQuery.getResultList()).thenReturn(mockRosterResults);
 
             // Act
             List<RegistrationDTO> result = registrationService.getRegistrationsForEvent(eventId);
@@ -470,11 +487,7 @@ class RegistrationServiceTest {
 
             when(em.createNativeQuery(contains("FROM registrations r"))).thenReturn(registrationQuery);
             when(registrationQuery.setParameter(eq(1), eq(eventId))).thenReturn(registrationQuery);
-            when(registrationQuery.getResultList()).thenReturn(mockRegistrationResults);
-
-            when(em.createNativeQuery(contains("participant_allergens"))).thenReturn(allergyQuery);
-            when(allergyQuery.setParameter(eq(1), eq(eventId))).thenReturn(allergyQuery);
-            when(allergyQuery.getResultList()).thenReturn(mockAllergyResults);
+            when(registrationQuery.getResultList()).thenReturn(mockRosterResults);
 
             // Act
             List<RegistrationDTO> result = registrationService.getRegistrationsForEvent(eventId);
@@ -488,4 +501,285 @@ class RegistrationServiceTest {
             assertEquals("SEVERE", peanutAllergy.getSeverity());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Excel export tests")
+    class ExcelExportTests {
+
+        @Test
+        @DisplayName("Should stream participant rows into the workbook")
+        void shouldStreamRowsIntoWorkbook() throws IOException {
+            // Arrange
+            Long eventId = 1L;
+            Object[] row1 = {"Andersson", "Anna", "Storgatan 1", "12345", "Stockholm",
+                    "Vargpatrullen", "anna@example.com", "070-1234567", "Erik Andersson"};
+            Object[] row2 = {"Björk", "Bengt", null, null, null, null, null, null, null};
+
+            when(em.createNativeQuery(contains("FROM registrations r"))).thenReturn(registrationQuery);
+            when(registrationQuery.setParameter(eq(1), eq(eventId))).thenReturn(registrationQuery);
+            when(registrationQuery.getResultStream()).thenReturn(Stream.of(row1, row2));
+
+            // Act
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            registrationService.writeExcel(eventId, "Sommarläger", output);
+
+            // Assert
+            try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(output.toByteArray()))) {
+                Sheet sheet = workbook.getSheet("Deltagare");
+                assertEquals("Deltagarlista - Sommarläger", sheet.getRow(0).getCell(0).getStringCellValue());
+                assertEquals("Efternamn", sheet.getRow(2).getCell(0).getStringCellValue());
+                assertEquals("Andersson", sheet.getRow(3).getCell(0).getStringCellValue());
+                assertEquals("Erik Andersson", sheet.getRow(3).getCell(8).getStringCellValue());
+                assertEquals("Björk", sheet.getRow(4).getCell(0).getStringCellValue());
+                assertEquals("", sheet.getRow(4).getCell(2).getStringCellValue());
+                assertEquals(4, sheet.getLastRowNum());
+
+                // Width follows the longest sampled value ("anna@example.com")
+                assertEquals(("anna@example.com".length() + 2) * 256, sheet.getColumnWidth(6));
+            }
+            verify(registrationQuery, never()).getResultList();
+        }
+
+        @Test
+        @DisplayName("Should return empty name for missing event")
+        void shouldReturnEmptyNameForMissingEvent() {
+            // Arrange
+            when(em.createNativeQuery(contains("FROM events"))).thenReturn(eventNameQuery);
+            when(eventNameQuery.setParameter(eq(1), eq(99L))).thenReturn(eventNameQuery);
+            when(eventNameQuery.getResultList()).thenReturn(Collections.emptyList());
+
+            // Act & Assert
+            assertTrue(registrationService.findEventName(99L).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("CSV export tests")
+    class CsvExportTests {
+
+        @Test
+        @DisplayName("Should stream participant rows as UTF-8 CSV with BOM")
+        void shouldStreamRowsAsCsv() throws IOException {
+            // Arrange
+            Long eventId = 1L;
+            Object[] row1 = {"Andersson", "Anna", "Storgatan 1; lgh 2", "12345", "Stockholm",
+                    "Vargpatrullen", "anna@example.com", "070-1234567", "Erik \"Ecke\" Andersson"};
+            Object[] row2 = {"Björk", "Bengt", null, null, null, null, null, null, null};
+
+            when(em.createNativeQuery(contains("FROM registrations r"))).thenReturn(registrationQuery);
+            when(registrationQuery.setParameter(eq(1), eq(eventId))).thenReturn(registrationQuery);
+            when(registrationQuery.getResultStream()).thenReturn(Stream.of(row1, row2));
+
+            // Act
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            registrationService.writeCsv(eventId, output);
+
+            // Assert
+            String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+            assertEquals(3, lines.length);
+            assertEquals("\uFEFFEfternamn;Förnamn;Adress;Postnummer;Ort;Kår/Patrull;E-post;Mobil;Målsman", lines[0]);
+            assertEquals("Andersson;Anna;\"Storgatan 1; lgh 2\";12345;Stockholm;Vargpatrullen;"
+                    + "anna@example.com;070-1234567;\"Erik \"\"Ecke\"\" Andersson\"", lines[1]);
+            assertEquals("Björk;Bengt;;;;;;;", lines[2]);
+            verify(registrationQuery, never()).getResultList();
+        }
+    }
+
+    @Nested
+    @DisplayName("Streaming roster tests")
+    class StreamingRosterTests {
+
+        @Test
+        @DisplayName("Should write the same JSON as the materialized roster")
+        void shouldMatchMaterializedRoster() throws IOException {
+            // Arrange
+            Long eventId = 1L;
+            ObjectMapper objectMapper = new JacksonConfig().getContext(RegistrationDTO.class);
+
+            when(em.createNativeQuery(contains("SELECT reg.*"))).thenReturn(rosterQuery);
+            when(rosterQuery.setParameter(eq(1), eq(eventId))).thenReturn(rosterQuery);
+            when(rosterQuery.getResultList()).thenReturn(mockRosterResults);
+            when(rosterQuery.getResultStream()).thenReturn(mockRosterResults.stream());
+
+            // Act
+            String expected = objectMapper.writeValueAsString(registrationService.getRegistrationsForEvent(eventId));
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            registrationService.writeRegistrations(eventId, objectMapper, output);
+
+            // Assert
+            assertEquals(expected, output.toString(StandardCharsets.UTF_8));
+            verify(rosterQuery, times(1)).getResultStream();
+        }
+
+        @Test
+        @DisplayName("Should write an empty array when there are no registrations")
+        void shouldWriteEmptyArray() throws IOException {
+            // Arrange
+            when(em.createNativeQuery(contains("SELECT reg.*"))).thenReturn(rosterQuery);
+            when(rosterQuery.setParameter(eq(1), eq(1L))).thenReturn(rosterQuery);
+            when(rosterQuery.getResultStream()).thenReturn(Stream.empty());
+
+            // Act
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            registrationService.writeRegistrations(1L, new JacksonConfig().getContext(RegistrationDTO.class), output);
+
+            // Assert
+            assertEquals("[]", output.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk action tests")
+    class BulkActionTests {
+
+        private Query selectQuery;
+        private Query changeQuery;
+
+        private void stubTargets(List<Object[]> rows) {
+            selectQuery = mock(Query.class);
+            when(eventRepository.lockForRegistrationChange(1L)).thenReturn(true);
+            lenient().when(eventRepository.countFreeSeats(1L)).thenReturn(Integer.MAX_VALUE);
+            when(em.createNativeQuery(startsWith("SELECT r.id, r.status"))).thenReturn(selectQuery);
+            when(selectQuery.setParameter(anyString(), any())).thenReturn(selectQuery);
+            when(selectQuery.getResultList()).thenReturn(rows);
+        }
+
+        private void stubChange(String prefix) {
+            changeQuery = mock(Query.class);
+            when(em.createNativeQuery(startsWith(prefix))).thenReturn(changeQuery);
+            when(changeQuery.setParameter(anyString(), any())).thenReturn(changeQuery);
+        }
+
+        @Test
+        @DisplayName("Should confirm eligible registrations and report every id")
+        void confirm_ReportsPerIdOutcomes() {
+            // Arrange
+            stubTargets(List.of(
+                    new Object[]{10L, "PENDING"},
+                    new Object[]{11L, "CONFIRMED"},
+                    new Object[]{12L, "CANCELLED"},
+                    new Object[]{13L, "WAITLIST"}));
+            stubChange("UPDATE registrations SET status = 'CONFIRMED'");
+            BulkRegistrationRequest request = new BulkRegistrationRequest(
+                    BulkRegistrationRequest.Action.CONFIRM, List.of(10L, 11L, 12L, 13L, 99L));
+
+            // Act
+            BulkRegistrationResultDTO result = registrationService.applyBulkAction(1L, request);
+
+            // Assert
+            assertEquals(2, result.getChanged());
+            List<BulkRegistrationResultDTO.Result> outcomes = result.getOutcomes().stream()
+                    .map(BulkRegistrationResultDTO.Outcome::getResult)
+                    .toList();
+            assertEquals(List.of(
+                    BulkRegistrationResultDTO.Result.CHANGED,
+                    BulkRegistrationResultDTO.Result.UNCHANGED,
+                    BulkRegistrationResultDTO.Result.REJECTED,
+                    BulkRegistrationResultDTO.Result.CHANGED,
+                    BulkRegistrationResultDTO.Result.NOT_FOUND), outcomes);
+
+            // One set-based UPDATE for the eligible ids, one counter UPDATE
+            verify(changeQuery).setParameter("ids", List.of(10L, 13L));
+            verify(changeQuery, times(1)).executeUpdate();
+            verify(eventRepository).applyRegistrationCounterDeltas(1L, Map.of(
+                    RegistrationStatus.PENDING, -1,
+                    RegistrationStatus.WAITLIST, -1,
+                    RegistrationStatus.CONFIRMED, 2));
+            verify(eventRepository, never()).promoteWaitlisted(anyLong());
+        }
+
+        @Test
+        @DisplayName("Should confirm waitlisted registrations only while seats are left")
+        void confirmWaitlisted_LimitedByFreeSeats() {
+            // Arrange
+            stubTargets(List.of(
+                    new Object[]{13L, "WAITLIST"},
+                    new Object[]{14L, "WAITLIST"},
+                    new Object[]{15L, "PENDING"}));
+            when(eventRepository.countFreeSeats(1L)).thenReturn(1);
+            stubChange("UPDATE registrations SET status = 'CONFIRMED'");
+            BulkRegistrationRequest request = new BulkRegistrationRequest(
+                    BulkRegistrationRequest.Action.CONFIRM, List.of(14L, 13L, 15L));
+
+            // Act
+            BulkRegistrationResultDTO result = registrationService.applyBulkAction(1L, request);
+
+            // Assert - the first listed waitlisted row takes the seat; the pending one already holds its own
+            assertEquals(2, result.getChanged());
+            BulkRegistrationResultDTO.Outcome rejected = result.getOutcomes().get(1);
+            assertEquals(13L, rejected.getRegistrationId());
+            assertEquals(BulkRegistrationResultDTO.Result.REJECTED, rejected.getResult());
+            assertEquals(RegistrationStatus.WAITLIST, rejected.getStatus());
+            assertEquals("Event is full", rejected.getReason());
+            verify(changeQuery).setParameter("ids", List.of(14L, 15L));
+            verify(eventRepository).applyRegistrationCounterDeltas(1L, Map.of(
+                    RegistrationStatus.WAITLIST, -1,
+                    RegistrationStatus.PENDING, -1,
+                    RegistrationStatus.CONFIRMED, 2));
+        }
+
+        @Test
+        @DisplayName("Should cancel by filter and promote the waitlist")
+        void cancelByFilter_PromotesWaitlist() {
+            // Arrange
+            stubTargets(List.of(new Object[]{20L, "PENDING"}, new Object[]{21L, "PENDING"}));
+            stubChange("UPDATE registrations SET status = 'CANCELLED'");
+            BulkRegistrationRequest request = new BulkRegistrationRequest(BulkRegistrationRequest.Action.CANCEL, null);
+            request.setStatus(RegistrationStatus.PENDING);
+
+            // Act
+            BulkRegistrationResultDTO result = registrationService.applyBulkAction(1L, request);
+
+            // Assert
+            assertEquals(2, result.getChanged());
+            verify(selectQuery).setParameter("status", "PENDING");
+            verify(selectQuery, never()).setParameter(eq("ids"), any());
+            verify(eventRepository).applyRegistrationCounterDeltas(1L, Map.of(
+                    RegistrationStatus.PENDING, -2,
+                    RegistrationStatus.CANCELLED, 2));
+            verify(eventRepository).promoteWaitlisted(1L);
+        }
+
+        @Test
+        @DisplayName("Should delete registrations and lower the totals")
+        void delete_AdjustsTotals() {
+            // Arrange
+            stubTargets(List.of(new Object[]{30L, "CANCELLED"}, new Object[]{31L, "WAITLIST"}));
+            stubChange("DELETE FROM registrations WHERE id IN");
+            BulkRegistrationRequest request = new BulkRegistrationRequest(
+                    BulkRegistrationRequest.Action.DELETE, List.of(30L, 31L));
+
+            // Act
+            BulkRegistrationResultDTO result = registrationService.applyBulkAction(1L, request);
+
+            // Assert
+            assertEquals(2, result.getChanged());
+            assertNull(result.getOutcomes().get(0).getStatus());
+            verify(eventRepository).applyRegistrationCounterDeltas(1L, Map.of(
+                    RegistrationStatus.CANCELLED, -1,
+                    RegistrationStatus.WAITLIST, -1));
+            // No seat was freed
+            verify(eventRepository, never()).promoteWaitlisted(anyLong());
+        }
+
+        @Test
+        @DisplayName("Should require ids or a filter")
+        void requiresIdsOrFilter() {
+            BulkRegistrationRequest request = new BulkRegistrationRequest(BulkRegistrationRequest.Action.DELETE, List.of());
+
+            assertThrows(IllegalArgumentException.class, () -> registrationService.applyBulkAction(1L, request));
+            verifyNoInteractions(em);
+        }
+
+        @Test
+        @DisplayName("Should throw when the event does not exist")
+        void throwsWhenEventMissing() {
+            when(eventRepository.lockForRegistrationChange(99L)).thenReturn(false);
+            BulkRegistrationRequest request = new BulkRegistrationRequest(
+                    BulkRegistrationRequest.Action.CANCEL, List.of(1L));
+
+            assertThrows(ResourceNotFoundException.class, () -> registrationService.applyBulkAction(99L, request));
+            verifyNoInteractions(em);
+        }
+    }
+}
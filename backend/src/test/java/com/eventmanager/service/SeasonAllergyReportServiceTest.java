@@ -0,0 +1,203 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.AllergyReportDTO;
+import com.eventmanager.dto.AllergyReportDTO.AllergyGroupDTO;
+import com.eventmanager.dto.AllergyReportDTO.AllergyParticipantDTO;
+import com.eventmanager.dto.SeasonAllergyReportDTO;
+import com.eventmanager.dto.SeasonAllergyReportDTO.SeasonAllergyGroupDTO;
+import com.eventmanager.entity.Event;
+import com.eventmanager.repository.EventRepository;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SeasonAllergyReportService
+ * The managed executor is backed by a plain thread pool
+ */
+@ExtendWith(MockitoExtension.class)
+class SeasonAllergyReportServiceTest {
+
+    @Mock
+    private ManagedExecutorService executor;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private AllergyReportService allergyReportService;
+
+    @InjectMocks
+    private SeasonAllergyReportService seasonAllergyReportService;
+
+    private ExecutorService threads;
+
+    private static final LocalDate FROM = LocalDate.of(2026, 6, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 8, 31);
+
+    @BeforeEach
+    void setUp() {
+        threads = Executors.newFixedThreadPool(SeasonAllergyReportService.MAX_PARALLEL_EVENTS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenThreadPoolExecutor() throws InterruptedException {
+        when(executor.invokeAll(anyCollection(), anyLong(), any(TimeUnit.class))).thenAnswer(invocation ->
+                threads.invokeAll((List<Callable<Object>>) invocation.getArgument(0),
+                        invocation.getArgument(1), invocation.getArgument(2)));
+    }
+
+    private static Event event(Long id, String name, int month) {
+        Event event = new Event(name, LocalDateTime.of(2026, month, 1, 10, 0), LocalDateTime.of(2026, month, 5, 14, 0));
+        event.setId(id);
+        return event;
+    }
+
+    private static AllergyReportDTO report(Long eventId, String eventName, AllergyGroupDTO... groups) {
+        return new AllergyReportDTO(eventId, eventName, List.of(groups), groups.length);
+    }
+
+    private static AllergyGroupDTO group(String allergyName, AllergyParticipantDTO... participants) {
+        return new AllergyGroupDTO(allergyName, participants.length, List.of(participants));
+    }
+
+    private static AllergyParticipantDTO participant(Long id, String fullName) {
+        return new AllergyParticipantDTO(id, fullName, "Vargpatrullen", null);
+    }
+
+    @Nested
+    @DisplayName("getReport tests")
+    class GetReportTests {
+
+        @Test
+        @DisplayName("Should merge the events' reports by allergy")
+        void getReport_MergesEvents() throws InterruptedException {
+            // Arrange
+            givenThreadPoolExecutor();
+            when(eventRepository.findOverlapping(FROM.atStartOfDay(), TO.plusDays(1).atStartOfDay()))
+                    .thenReturn(List.of(event(1L, "Sommarläger", 6), event(2L, "Hajk", 7)));
+            when(allergyReportService.getReport(1L)).thenReturn(report(1L, "Sommarläger",
+                    group("Gluten", participant(10L, "Andersson Anna"), participant(11L, "Björk Bengt")),
+                    group("Ägg", participant(12L, "Carlsson Carl"))));
+            when(allergyReportService.getReport(2L)).thenReturn(report(2L, "Hajk",
+                    group("Gluten", participant(10L, "Andersson Anna")),
+                    group("Jordnötter", participant(13L, "Dahl David"))));
+
+            // Act
+            SeasonAllergyReportDTO result = seasonAllergyReportService.getReport(FROM, TO);
+
+            // Assert
+            assertEquals(List.of(1L, 2L), result.getEvents().stream().map(e -> e.getEventId()).toList());
+            assertEquals("Hajk", result.getEvents().get(1).getEventName());
+
+            // Swedish order: Å, Ä, Ö sort after Z
+            assertEquals(List.of("Gluten", "Jordnötter", "Ägg"),
+                    result.getAllergies().stream().map(SeasonAllergyGroupDTO::getAllergyName).toList());
+
+            SeasonAllergyGroupDTO gluten = result.getAllergies().get(0);
+            assertEquals(3, gluten.getCount());
+            assertEquals(2, gluten.getEventCounts().get(0).getCount());
+            assertEquals(1, gluten.getEventCounts().get(1).getCount());
+            assertEquals("Hajk", gluten.getParticipants().get(2).getEventName());
+
+            // Anna attends both events but is one participant
+            assertEquals(4, result.getTotalParticipantsWithAllergies());
+        }
+
+        @Test
+        @DisplayName("Should build the events' reports in parallel")
+        void getReport_BuildsInParallel() throws InterruptedException {
+            // Arrange - each build waits until all three are running
+            givenThreadPoolExecutor();
+            when(eventRepository.findOverlapping(any(), any()))
+                    .thenReturn(List.of(event(1L, "A", 6), event(2L, "B", 7), event(3L, "C", 8)));
+            CountDownLatch running = new CountDownLatch(3);
+            when(allergyReportService.getReport(anyLong())).thenAnswer(invocation -> {
+                running.countDown();
+                if (!running.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Reports were built one at a time");
+                }
+                Long eventId = invocation.getArgument(0);
+                return report(eventId, "E" + eventId, group("Gluten", participant(eventId, "P" + eventId)));
+            });
+
+            // Act
+            SeasonAllergyReportDTO result = seasonAllergyReportService.getReport(FROM, TO);
+
+            // Assert
+            assertEquals(3, result.getAllergies().get(0).getCount());
+            assertEquals(3, result.getEvents().size());
+        }
+
+        @Test
+        @DisplayName("Should skip an event deleted while the report is built")
+        void getReport_SkipsDeletedEvent() throws InterruptedException {
+            // Arrange
+            givenThreadPoolExecutor();
+            when(eventRepository.findOverlapping(any(), any()))
+                    .thenReturn(List.of(event(1L, "Sommarläger", 6), event(2L, "Hajk", 7)));
+            when(allergyReportService.getReport(1L))
+                    .thenThrow(new IllegalArgumentException("Event not found: 1"));
+            when(allergyReportService.getReport(2L))
+                    .thenReturn(report(2L, "Hajk", group("Gluten", participant(10L, "Andersson Anna"))));
+
+            // Act
+            SeasonAllergyReportDTO result = seasonAllergyReportService.getReport(FROM, TO);
+
+            // Assert
+            assertEquals(1, result.getEvents().size());
+            assertEquals(2L, result.getEvents().get(0).getEventId());
+        }
+
+        @Test
+        @DisplayName("Should fail when the per-event builds time out")
+        void getReport_TimesOut() throws InterruptedException {
+            // Arrange - invokeAll cancels the builds that did not finish in time
+            when(eventRepository.findOverlapping(any(), any())).thenReturn(List.of(event(1L, "Sommarläger", 6)));
+            FutureTask<Object> cancelled = new FutureTask<>(() -> null);
+            cancelled.cancel(true);
+            when(executor.invokeAll(anyCollection(), anyLong(), any(TimeUnit.class)))
+                    .thenReturn(List.<Future<Object>>of(cancelled));
+
+            // Act & Assert
+            assertThrows(IllegalStateException.class, () -> seasonAllergyReportService.getReport(FROM, TO));
+        }
+
+        @Test
+        @DisplayName("Should reject a missing, reversed or too long date range")
+        void getReport_InvalidRange() {
+            assertThrows(IllegalArgumentException.class, () -> seasonAllergyReportService.getReport(null, TO));
+            assertThrows(IllegalArgumentException.class, () -> seasonAllergyReportService.getReport(TO, FROM));
+            assertThrows(IllegalArgumentException.class,
+                    () -> seasonAllergyReportService.getReport(FROM, FROM.plusYears(2)));
+            verifyNoInteractions(eventRepository, executor);
+        }
+    }
+}
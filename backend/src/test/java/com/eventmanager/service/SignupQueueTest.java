@@ -0,0 +1,200 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.ParticipantDTO;
+import com.eventmanager.dto.SignupRequest;
+import com.eventmanager.dto.SignupResponse;
+import com.eventmanager.dto.SignupTicketDTO;
+import com.eventmanager.entity.RegistrationStatus;
+import com.eventmanager.exception.ResourceNotFoundException;
+import com.eventmanager.exception.SignupQueueFullException;
+import com.eventmanager.repository.EventRepository;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SignupQueue
+ * The managed executor is mocked so the writer can be run on the test thread
+ */
+@ExtendWith(MockitoExtension.class)
+class SignupQueueTest {
+
+    @Mock
+    private ManagedExecutorService executor;
+
+    @Mock
+    private SignupService signupService;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @InjectMocks
+    private SignupQueue signupQueue;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(eventRepository.existsById(1L)).thenReturn(true);
+    }
+
+    private SignupRequest createRequest(String firstName) {
+        ParticipantDTO participant = new ParticipantDTO();
+        participant.setFirstName(firstName);
+        participant.setLastName("Andersson");
+        SignupRequest request = new SignupRequest();
+        request.setParticipant(participant);
+        return request;
+    }
+
+    // Run the writer task handed to the executor
+    private void runWriter() {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).execute(task.capture());
+        task.getValue().run();
+    }
+
+    @Nested
+    @DisplayName("submit tests")
+    class SubmitTests {
+
+        @Test
+        @DisplayName("Should return queued tickets with increasing positions and start one writer")
+        void submit_ReturnsQueuedTickets() {
+            SignupTicketDTO first = signupQueue.submit(1L, createRequest("Anna"));
+            SignupTicketDTO second = signupQueue.submit(1L, createRequest("Bertil"));
+
+            assertEquals(SignupTicketDTO.State.QUEUED, first.getState());
+            assertEquals(1L, first.getPosition());
+            assertEquals(2L, second.getPosition());
+            assertNotEquals(first.getTicketId(), second.getTicketId());
+            verify(executor, times(1)).execute(any());
+            verify(eventRepository, times(1)).existsById(1L);
+            verifyNoInteractions(signupService);
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException for unknown event")
+        void submit_UnknownEvent_ThrowsException() {
+            when(eventRepository.existsById(99L)).thenReturn(false);
+
+            assertThrows(ResourceNotFoundException.class, () -> signupQueue.submit(99L, createRequest("Anna")));
+            verifyNoInteractions(executor);
+        }
+
+        @Test
+        @DisplayName("Should reject submissions when the queue is full")
+        void submit_QueueFull_ThrowsException() {
+            for (int i = 0; i < SignupQueue.QUEUE_CAPACITY; i++) {
+                signupQueue.submit(1L, createRequest("Anna"));
+            }
+
+            assertThrows(SignupQueueFullException.class, () -> signupQueue.submit(1L, createRequest("Bertil")));
+        }
+    }
+
+    @Nested
+    @DisplayName("writer tests")
+    class WriterTests {
+
+        @Test
+        @DisplayName("Should commit queued signups as one batch in arrival order")
+        void drain_CommitsBatchInOrder() {
+            SignupRequest anna = createRequest("Anna");
+            SignupRequest bertil = createRequest("Bertil");
+            SignupTicketDTO first = signupQueue.submit(1L, anna);
+            SignupTicketDTO second = signupQueue.submit(1L, bertil);
+            when(signupService.signupBatch(1L, List.of(anna, bertil))).thenReturn(List.of(
+                    new SignupResponse(10L, 100L, 1L, RegistrationStatus.PENDING),
+                    new SignupResponse(11L, 101L, 1L, RegistrationStatus.WAITLIST)));
+
+            runWriter();
+
+            SignupTicketDTO firstResult = signupQueue.getTicket(1L, first.getTicketId()).orElseThrow();
+            SignupTicketDTO secondResult = signupQueue.getTicket(1L, second.getTicketId()).orElseThrow();
+            assertEquals(SignupTicketDTO.State.COMPLETED, firstResult.getState());
+            assertEquals(RegistrationStatus.PENDING, firstResult.getResult().getStatus());
+            assertEquals(RegistrationStatus.WAITLIST, secondResult.getResult().getStatus());
+            assertNull(secondResult.getPosition());
+            verify(signupService, never()).signup(anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("Should fail only the entries the batch turned away as full")
+        void drain_RejectedEntry_FailsOnlyThatTicket() {
+            SignupRequest anna = createRequest("Anna");
+            SignupRequest bertil = createRequest("Bertil");
+            SignupTicketDTO first = signupQueue.submit(1L, anna);
+            SignupTicketDTO second = signupQueue.submit(1L, bertil);
+            SignupResponse rejected = new SignupResponse(null, null, 1L, null);
+            rejected.setRejectionReason("Event is full");
+            when(signupService.signupBatch(1L, List.of(anna, bertil))).thenReturn(List.of(
+                    new SignupResponse(10L, 100L, 1L, RegistrationStatus.PENDING), rejected));
+
+            runWriter();
+
+            assertEquals(SignupTicketDTO.State.COMPLETED,
+                    signupQueue.getTicket(1L, first.getTicketId()).orElseThrow().getState());
+            SignupTicketDTO failed = signupQueue.getTicket(1L, second.getTicketId()).orElseThrow();
+            assertEquals(SignupTicketDTO.State.FAILED, failed.getState());
+            assertEquals("Event is full", failed.getError());
+            verify(signupService, never()).signup(anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("Should retry entries one by one when the batch fails unexpectedly")
+        void drain_BatchFails_RetriesIndividually() {
+            SignupRequest anna = createRequest("Anna");
+            SignupRequest bertil = createRequest("Bertil");
+            SignupTicketDTO first = signupQueue.submit(1L, anna);
+            SignupTicketDTO second = signupQueue.submit(1L, bertil);
+            when(signupService.signupBatch(eq(1L), anyList())).thenThrow(new ResourceNotFoundException("Patrol", 5L));
+            when(signupService.signup(1L, anna)).thenReturn(new SignupResponse(10L, 100L, 1L, RegistrationStatus.PENDING));
+            when(signupService.signup(1L, bertil)).thenThrow(new ResourceNotFoundException("Patrol", 5L));
+
+            runWriter();
+
+            assertEquals(SignupTicketDTO.State.COMPLETED,
+                    signupQueue.getTicket(1L, first.getTicketId()).orElseThrow().getState());
+            SignupTicketDTO failed = signupQueue.getTicket(1L, second.getTicketId()).orElseThrow();
+            assertEquals(SignupTicketDTO.State.FAILED, failed.getState());
+        }
+
+        @Test
+        @DisplayName("Should evict the intake once its writer has drained it")
+        void drain_Idle_EvictsIntake() {
+            SignupRequest anna = createRequest("Anna");
+            SignupTicketDTO first = signupQueue.submit(1L, anna);
+            when(signupService.signupBatch(eq(1L), anyList())).thenReturn(List.of(
+                    new SignupResponse(10L, 100L, 1L, RegistrationStatus.PENDING)));
+            runWriter();
+
+            SignupTicketDTO second = signupQueue.submit(1L, createRequest("Bertil"));
+
+            assertEquals(SignupTicketDTO.State.COMPLETED,
+                    signupQueue.getTicket(1L, first.getTicketId()).orElseThrow().getState());
+            assertEquals(1L, second.getPosition());
+            verify(eventRepository, times(2)).existsById(1L);
+            verify(executor, times(2)).execute(any());
+        }
+
+        @Test
+        @DisplayName("Should not expose tickets under another event")
+        void getTicket_WrongEvent_ReturnsEmpty() {
+            SignupTicketDTO ticket = signupQueue.submit(1L, createRequest("Anna"));
+
+            assertTrue(signupQueue.getTicket(2L, ticket.getTicketId()).isEmpty());
+        }
+    }
+}
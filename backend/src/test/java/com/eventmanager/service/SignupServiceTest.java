@@ -0,0 +1,226 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.ParticipantDTO;
+import com.eventmanager.dto.SignupRequest;
+import com.eventmanager.dto.SignupResponse;
+import com.eventmanager.entity.Allergen;
+import com.eventmanager.entity.Event;
+import com.eventmanager.entity.Patrol;
+import com.eventmanager.entity.Registration;
+import com.eventmanager.entity.RegistrationStatus;
+import com.eventmanager.exception.RegistrationFullException;
+import com.eventmanager.exception.ResourceNotFoundException;
+import com.eventmanager.repository.AllergenRepository;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.ParticipantRepository;
+import com.eventmanager.repository.PatrolRepository;
+import com.eventmanager.repository.RegistrationRepository;
+import com.eventmanager.test.TestDataFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SignupService
+ * Uses Mockito to mock repository dependencies
+ */
+@ExtendWith(MockitoExtension.class)
+class SignupServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private ParticipantRepository participantRepository;
+
+    @Mock
+    private PatrolRepository patrolRepository;
+
+    @Mock
+    private AllergenRepository allergenRepository;
+
+    @Mock
+    private RegistrationRepository registrationRepository;
+
+    @InjectMocks
+    private SignupService signupService;
+
+    private Event testEvent;
+    private SignupRequest request;
+
+    @BeforeEach
+    void setUp() {
+        testEvent = TestDataFactory.createScoutCampEvent();
+
+        ParticipantDTO participant = new ParticipantDTO();
+        participant.setFirstName("Anna");
+        participant.setLastName("Andersson");
+
+        request = new SignupRequest();
+        request.setParticipant(participant);
+    }
+
+    private void mockEventFound() {
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+    }
+
+    private Registration captureRegistration() {
+        ArgumentCaptor<Registration> captor = ArgumentCaptor.forClass(Registration.class);
+        verify(registrationRepository).saveReserved(captor.capture());
+        return captor.getValue();
+    }
+
+    @Nested
+    @DisplayName("Admission tests")
+    class AdmissionTests {
+
+        @Test
+        @DisplayName("Should register as PENDING when a seat is reserved")
+        void signup_SeatAvailable_ReturnsPending() {
+            mockEventFound();
+            when(eventRepository.tryReserveSeat(1L)).thenReturn(true);
+
+            SignupResponse response = signupService.signup(1L, request);
+
+            assertEquals(RegistrationStatus.PENDING, response.getStatus());
+            assertEquals(RegistrationStatus.PENDING, captureRegistration().getStatus());
+            verify(participantRepository).save(any());
+            verify(eventRepository, never()).adjustRegistrationCounters(anyLong(), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should put signup on WAITLIST when the event is full")
+        void signup_EventFull_ReturnsWaitlist() {
+            mockEventFound();
+            when(eventRepository.tryReserveSeat(1L)).thenReturn(false);
+
+            SignupResponse response = signupService.signup(1L, request);
+
+            assertEquals(RegistrationStatus.WAITLIST, response.getStatus());
+            assertEquals(RegistrationStatus.WAITLIST, captureRegistration().getStatus());
+            verify(eventRepository).adjustRegistrationCounters(1L, RegistrationStatus.WAITLIST, 1);
+        }
+
+        @Test
+        @DisplayName("Should throw RegistrationFullException when full and waitlist is not allowed")
+        void signup_EventFullNoWaitlist_ThrowsException() {
+            mockEventFound();
+            when(eventRepository.tryReserveSeat(1L)).thenReturn(false);
+            request.setAllowWaitlist(false);
+
+            assertThrows(RegistrationFullException.class, () -> signupService.signup(1L, request));
+            verify(participantRepository, never()).save(any());
+            verify(registrationRepository, never()).saveReserved(any());
+        }
+
+        @Test
+        @DisplayName("Should reject a full batch entry on its own and admit the rest")
+        void signupBatch_EntryFull_RejectsOnlyThatEntry() {
+            mockEventFound();
+            when(eventRepository.tryReserveSeat(1L)).thenReturn(true, false);
+            SignupRequest second = new SignupRequest();
+            second.setParticipant(request.getParticipant());
+            second.setAllowWaitlist(false);
+
+            List<SignupResponse> responses = signupService.signupBatch(1L, List.of(request, second));
+
+            assertEquals(RegistrationStatus.PENDING, responses.get(0).getStatus());
+            assertNull(responses.get(0).getRejectionReason());
+            assertNull(responses.get(1).getStatus());
+            assertEquals("Event is full", responses.get(1).getRejectionReason());
+            verify(participantRepository, times(1)).save(any());
+            verify(registrationRepository, times(1)).saveReserved(any());
+        }
+
+        @Test
+        @DisplayName("Should waitlist without taking a seat when the patrol quota is reached")
+        void signup_PatrolQuotaReached_ReturnsWaitlist() {
+            mockEventFound();
+            Patrol patrol = new Patrol("Vargarna", testEvent);
+            patrol.setId(5L);
+            patrol.setRegistrationQuota(2);
+            request.getParticipant().setPatrolId(5L);
+            when(patrolRepository.findById(5L)).thenReturn(Optional.of(patrol));
+            when(patrolRepository.countActiveRegistrations(5L, 1L)).thenReturn(2L);
+
+            SignupResponse response = signupService.signup(1L, request);
+
+            assertEquals(RegistrationStatus.WAITLIST, response.getStatus());
+            verify(patrolRepository).lockForUpdate(patrol);
+            verify(eventRepository, never()).tryReserveSeat(anyLong());
+        }
+    }
+
+    @Nested
+    @DisplayName("Validation tests")
+    class ValidationTests {
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException for unknown event")
+        void signup_UnknownEvent_ThrowsException() {
+            when(eventRepository.findById(99L)).thenReturn(Optional.empty());
+
+            assertThrows(ResourceNotFoundException.class, () -> signupService.signup(99L, request));
+            verifyNoInteractions(participantRepository, registrationRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject a patrol of another event without taking a seat")
+        void signup_PatrolOfOtherEvent_ThrowsException() {
+            mockEventFound();
+            Event otherEvent = TestDataFactory.createScoutCampEvent();
+            otherEvent.setId(2L);
+            Patrol patrol = new Patrol("Vargarna", otherEvent);
+            patrol.setId(5L);
+            patrol.setRegistrationQuota(2);
+            request.getParticipant().setPatrolId(5L);
+            when(patrolRepository.findById(5L)).thenReturn(Optional.of(patrol));
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> signupService.signup(1L, request));
+            assertTrue(exception.getMessage().contains("does not belong to event 1"));
+            verify(patrolRepository, never()).lockForUpdate(any());
+            verify(eventRepository, never()).tryReserveSeat(anyLong());
+            verifyNoInteractions(participantRepository, registrationRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject signup for inactive event")
+        void signup_InactiveEvent_ThrowsException() {
+            testEvent.setActive(false);
+            mockEventFound();
+
+            assertThrows(IllegalArgumentException.class, () -> signupService.signup(1L, request));
+            verifyNoInteractions(participantRepository, registrationRepository);
+        }
+
+        @Test
+        @DisplayName("Should load allergens in one query and fail on an unknown or other event's ID")
+        void signup_UnknownAllergen_ThrowsException() {
+            mockEventFound();
+            Allergen milk = new Allergen("Mjölk");
+            milk.setId(1L);
+            request.setAllergenIds(Set.of(1L, 2L));
+            when(allergenRepository.findByIdsForEvent(Set.of(1L, 2L), 1L)).thenReturn(List.of(milk));
+
+            ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                    () -> signupService.signup(1L, request));
+            assertEquals(2L, exception.getResourceId());
+            verify(allergenRepository, never()).findById(anyLong());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.eventmanager.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for VersionedCache
+ */
+class VersionedCacheTest {
+
+    private final VersionedCache<Long, Long> cache = new VersionedCache<>();
+
+    @Test
+    @DisplayName("Should serve a current value and rebuild an outdated one")
+    void get_RebuildsWhenOutdated() {
+        // Act
+        Long first = cache.get(1L, value -> value >= 3L, () -> 3L);
+        Long cached = cache.get(1L, value -> value >= 3L, () -> fail("current value rebuilt"));
+        Long rebuilt = cache.get(1L, value -> value >= 4L, () -> 4L);
+
+        // Assert
+        assertEquals(3L, first);
+        assertEquals(3L, cached);
+        assertEquals(4L, rebuilt);
+        assertEquals(0, cache.lockCount());
+    }
+
+    @Test
+    @DisplayName("Should build once for callers missing at the same time and then drop the lock")
+    void get_ConcurrentMisses_BuildOnce() throws Exception {
+        // Arrange
+        AtomicInteger builds = new AtomicInteger();
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+
+        try {
+            // Act
+            Future<Long> first = pool.submit(() -> cache.get(1L, value -> value >= 7L, () -> {
+                builds.incrementAndGet();
+                building.countDown();
+                await(release);
+                return 7L;
+            }));
+            assertTrue(building.await(5, TimeUnit.SECONDS));
+            Future<Long> second = pool.submit(() -> cache.get(1L, value -> value >= 7L, () -> {
+                builds.incrementAndGet();
+                return 8L;
+            }));
+            release.countDown();
+
+            // Assert
+            assertEquals(7L, first.get(5, TimeUnit.SECONDS));
+            assertEquals(7L, second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, builds.get());
+            assertEquals(0, cache.lockCount());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop a value when an update returns null")
+    void update_NullDrops() {
+        cache.get(1L, value -> true, () -> 1L);
+
+        cache.update(1L, (key, value) -> null);
+
+        assertEquals(2L, cache.get(1L, value -> true, () -> 2L));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.WaitlistPositionDTO;
+import com.eventmanager.entity.RegistrationStatus;
+import com.eventmanager.exception.ResourceNotFoundException;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.RegistrationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WaitlistService
+ * Uses Mockito to mock repository dependencies
+ */
+@ExtendWith(MockitoExtension.class)
+class WaitlistServiceTest {
+
+    private static final LocalDateTime OPENING = LocalDateTime.of(2026, 3, 1, 18, 0);
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private RegistrationRepository registrationRepository;
+
+    @InjectMocks
+    private WaitlistService waitlistService;
+
+    private List<Object[]> waitlist;
+
+    @BeforeEach
+    void setUp() {
+        // Three waitlisted registrations; 12 and 11 share a timestamp so id breaks the tie
+        waitlist = new ArrayList<>();
+        waitlist.add(new Object[]{11L, Timestamp.valueOf(OPENING)});
+        waitlist.add(new Object[]{12L, Timestamp.valueOf(OPENING)});
+        waitlist.add(new Object[]{10L, Timestamp.valueOf(OPENING.plusSeconds(5))});
+    }
+
+    private void mockRegistration(Long id, Long eventId, String status, LocalDateTime date) {
+        when(registrationRepository.findWaitlistKey(id))
+                .thenReturn(Optional.of(new Object[]{eventId, status, Timestamp.valueOf(date)}));
+    }
+
+    @Test
+    @DisplayName("Should return 1-based position in FIFO order")
+    void getPosition_ReturnsFifoPosition() {
+        when(eventRepository.findWaitlistVersion(1L)).thenReturn(Optional.of(7L));
+        when(registrationRepository.findWaitlistOrder(1L)).thenReturn(waitlist);
+        mockRegistration(12L, 1L, "WAITLIST", OPENING);
+        mockRegistration(10L, 1L, "WAITLIST", OPENING.plusSeconds(5));
+
+        WaitlistPositionDTO second = waitlistService.getPosition(1L, 12L);
+        WaitlistPositionDTO third = waitlistService.getPosition(1L, 10L);
+
+        assertEquals(2, second.getPosition());
+        assertEquals(3, third.getPosition());
+        assertEquals(3, third.getWaitlistSize());
+        // Snapshot is reused while the waitlist version is unchanged
+        verify(registrationRepository, times(1)).findWaitlistOrder(1L);
+    }
+
+    @Test
+    @DisplayName("Should rebuild the snapshot when the waitlist version changes")
+    void getPosition_RebuildsSnapshot_WhenVersionChanges() {
+        when(eventRepository.findWaitlistVersion(1L)).thenReturn(Optional.of(7L), Optional.of(8L));
+        when(registrationRepository.findWaitlistOrder(1L))
+                .thenReturn(waitlist, List.<Object[]>of(waitlist.get(1), waitlist.get(2)));
+        mockRegistration(10L, 1L, "WAITLIST", OPENING.plusSeconds(5));
+
+        assertEquals(3, waitlistService.getPosition(1L, 10L).getPosition());
+        assertEquals(2, waitlistService.getPosition(1L, 10L).getPosition());
+        verify(registrationRepository, times(2)).findWaitlistOrder(1L);
+    }
+
+    @Test
+    @DisplayName("Should return no position for a registration that is not waitlisted")
+    void getPosition_NotWaitlisted_ReturnsNullPosition() {
+        when(eventRepository.findWaitlistVersion(1L)).thenReturn(Optional.of(7L));
+        when(registrationRepository.findWaitlistOrder(1L)).thenReturn(waitlist);
+        mockRegistration(20L, 1L, "CONFIRMED", OPENING);
+
+        WaitlistPositionDTO result = waitlistService.getPosition(1L, 20L);
+
+        assertEquals(RegistrationStatus.CONFIRMED, result.getStatus());
+        assertNull(result.getPosition());
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException for a registration of another event")
+    void getPosition_OtherEvent_ThrowsException() {
+        mockRegistration(12L, 2L, "WAITLIST", OPENING);
+
+        assertThrows(ResourceNotFoundException.class, () -> waitlistService.getPosition(1L, 12L));
+        verifyNoInteractions(eventRepository);
+    }
+}